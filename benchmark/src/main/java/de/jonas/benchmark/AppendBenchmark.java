@@ -0,0 +1,122 @@
+package de.jonas.benchmark;
+
+import de.jonas.object.Coupon;
+import de.jonas.object.RenderMode;
+import de.jonas.object.SequentialSerialGenerator;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vermisst, wie lange es dauert, eine feste Anzahl an Gutscheinen an ein bereits generiertes PDF-Dokument anzuhängen,
+ * im Vergleich dazu, das gesamte Dokument mit allen Gutscheinen neu zu generieren. Vor jedem Aufruf wird das
+ * ursprüngliche Dokument wiederhergestellt, damit es nicht mit jedem Aufruf wächst.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AppendBenchmark {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Anzahl an Gutscheinen, die bereits im Dokument stehen. */
+    @Param({"1000", "10000", "50000"})
+    public int existing;
+    /** Die Anzahl an Gutscheinen, die angehängt werden. */
+    @Param({"200"})
+    public int added;
+    /** Das ursprünglich generierte Dokument. */
+    private File original;
+    /** Die Kopie des Dokuments, an welche die Gutscheine angehängt werden. */
+    private File file;
+    //</editor-fold>
+
+
+    /**
+     * Generiert das ursprüngliche Dokument.
+     *
+     * @throws IOException Wenn die Dateien nicht angelegt werden können.
+     */
+    @Setup
+    public void setup() throws IOException {
+        this.original = Files.createTempFile("coupon-append", ".pdf").toFile();
+        this.file = Files.createTempFile("coupon-append", ".pdf").toFile();
+
+        createCoupon(this.existing).generate(this.original);
+
+        System.out.printf("%nDokument: %d Bytes%n", this.original.length());
+    }
+
+    /**
+     * Stellt vor jedem Aufruf das ursprüngliche Dokument wieder her.
+     *
+     * @throws IOException Wenn das Dokument nicht kopiert werden kann.
+     */
+    @Setup(Level.Invocation)
+    public void restore() throws IOException {
+        Files.copy(this.original.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Löscht beide Dokumente.
+     *
+     * @throws IOException Wenn die Dokumente nicht gelöscht werden können.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.original.toPath());
+        Files.deleteIfExists(this.file.toPath());
+    }
+
+    /**
+     * Hängt die Gutscheine an das bereits generierte Dokument an.
+     */
+    @Benchmark
+    public void append() {
+        createCoupon(this.added).append(this.file);
+    }
+
+    /**
+     * Generiert das gesamte Dokument mit allen Gutscheinen neu.
+     */
+    @Benchmark
+    public void regenerate() {
+        createCoupon(this.existing + this.added).generate(NullOutputStream.INSTANCE);
+    }
+
+    /**
+     * Erzeugt einen {@link Coupon} mit fortlaufenden Seriennummern, welcher direkt in das Raster gesetzt wird.
+     *
+     * @param amount Die Anzahl an Gutscheinen.
+     *
+     * @return Der erzeugte {@link Coupon}.
+     */
+    @NotNull
+    private static Coupon createCoupon(final int amount) {
+        final Coupon coupon = CouponGenerationBenchmark.createCoupon("150x100", amount, 1);
+        coupon.setRenderMode(RenderMode.GRID);
+        coupon.setSerialGenerator(new SequentialSerialGenerator(1));
+
+        return coupon;
+    }
+
+}
@@ -0,0 +1,310 @@
+package de.jonas.benchmark;
+
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import de.jonas.batch.BatchCommand;
+import de.jonas.batch.BatchJob;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>Prüft, ob ein abgestürzter Durchlauf der Stapelverarbeitung mit {@code --journal} vollständig und korrekt
+ * fortgesetzt wird. Die Jar-Datei wird dafür in einer neuen JVM gestartet und mehrfach hart beendet, sobald das
+ * Journal neue Einträge enthält. Anschließend wird derselbe Aufruf bis zum Ende wiederholt und jedes Dokument Seite für
+ * Seite mit einem Dokument verglichen, welches ohne Unterbrechung generiert wurde:</p>
+ * <pre>java -cp benchmark/target/benchmarks.jar de.jonas.benchmark.BatchRecoveryCheck
+ *     target/CouponGenerator-jar-with-dependencies.jar [Abbrüche]</pre>
+ * <p>Die Prüfung endet mit dem Exit-Code {@code 1}, sobald sich ein Dokument unterscheidet, Abschnitte oder temporäre
+ * Dateien übrig bleiben oder die Arbeit vor einem Abbruch nicht wiederverwendet wurde. Im Gegensatz zum
+ * {@code BatchRecoveryTest}, der einen Abbruch innerhalb derselben JVM nachstellt, wird die JVM hier tatsächlich hart
+ * beendet.</p>
+ */
+@NotNull
+public final class BatchRecoveryCheck {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Anzahl an Seiten eines gesicherten Abschnitts, klein genug für viele Abschnitte pro Dokument. */
+    private static final int CHECKPOINT_PAGES = 5;
+    /** Die Zeit in Millisekunden, nach der das Journal erneut auf neue Einträge geprüft wird. */
+    private static final long POLL_MILLIS = 20;
+    /** Die Anzahl an neuen Abschnitten, nach denen ein Durchlauf abgebrochen wird. */
+    private static final int SEGMENTS_PER_KILL = 40;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Der Konstruktor dieser Klasse ist privat, da es sich um eine reine Hilfsklasse handelt.
+     */
+    private BatchRecoveryCheck() {
+        throw new UnsupportedOperationException();
+    }
+    //</editor-fold>
+
+
+    //<editor-fold desc="main">
+
+    /**
+     * Führt die Prüfung aus.
+     *
+     * @param args Die Jar-Datei und optional die Anzahl an Abbrüchen.
+     *
+     * @throws Exception Wenn eine JVM nicht gestartet oder ein Dokument nicht gelesen werden kann.
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    public static void main(@NotNull final String @NotNull [] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Nutzung: BatchRecoveryCheck <Jar-Datei> [Abbrüche]");
+            return;
+        }
+
+        final File jar = new File(args[0]);
+        final int kills = (args.length > 1) ? Integer.parseInt(args[1]) : 3;
+
+        final File directory = Files.createTempDirectory("coupon-recovery").toFile();
+        final File referenceDirectory = new File(directory, "reference");
+        final File recoveredDirectory = new File(directory, "recovered");
+        final File journal = new File(directory, "batch.journal");
+        final File jobFile = new File(directory, "jobs.csv");
+
+        Files.createDirectories(referenceDirectory.toPath());
+        Files.createDirectories(recoveredDirectory.toPath());
+
+        // a few large documents with many segments and some small ones that are finished before each kill
+        final String[] jobs = {
+            "Max Mustermann,Geburtstag,Jonas,60,40,6000,1,",
+            "Erika Mustermann,Hochzeit,Jonas,80,50,4000,1,",
+            "Anna Beispiel,Jubiläum,Jonas,150,200,12,1,",
+            "Tom Beispiel,Weihnachten,Jonas,50,30,8000,1,",
+            "Lea Beispiel,Ostern,Jonas,100,100,3,1,",
+        };
+
+        final List<String> reference = new ArrayList<>();
+        final List<String> recovered = new ArrayList<>();
+        reference.add(String.join(",", BatchJob.COLUMNS));
+        recovered.add(String.join(",", BatchJob.COLUMNS));
+
+        for (int i = 0; i < jobs.length; i++) {
+            reference.add(jobs[i] + new File(referenceDirectory, i + ".pdf").getAbsolutePath());
+            recovered.add(jobs[i] + new File(recoveredDirectory, i + ".pdf").getAbsolutePath());
+        }
+
+        // generate the reference in one go without a journal
+        Files.write(jobFile.toPath(), reference, StandardCharsets.UTF_8);
+        if (BatchCommand.execute(new String[] {BatchCommand.BATCH_ARGUMENT, jobFile.getPath()}) != 0) {
+            throw new IllegalStateException("Die Referenz konnte nicht generiert werden.");
+        }
+
+        Files.write(jobFile.toPath(), recovered, StandardCharsets.UTF_8);
+
+        int segmentsBeforeLastKill = 0;
+
+        for (int kill = 1; kill <= kills; kill++) {
+            final int entries = countEntries(journal, "SEGMENT");
+            final Process process = start(jar, jobFile, journal);
+
+            // wait until the run has made some progress
+            while (process.isAlive() && countEntries(journal, "SEGMENT") < entries + SEGMENTS_PER_KILL) {
+                Thread.sleep(POLL_MILLIS);
+            }
+
+            if (!process.isAlive()) {
+                System.out.println("Durchlauf " + kill + " wurde vor dem Abbruch beendet.");
+                break;
+            }
+
+            process.destroyForcibly().waitFor();
+            segmentsBeforeLastKill = countEntries(journal, "SEGMENT");
+            System.out.printf(
+                "Abbruch %d: %d Abschnitte, %d Dokumente gesichert%n",
+                kill,
+                segmentsBeforeLastKill,
+                countEntries(journal, "DOCUMENT")
+            );
+        }
+
+        final Process process = start(jar, jobFile, journal);
+        if (process.waitFor() != 0) throw new IllegalStateException("Der letzte Durchlauf ist fehlgeschlagen.");
+
+        final int segments = countEntries(journal, "SEGMENT");
+        final int regenerated = segments - countDistinctSegments(journal);
+        System.out.printf(
+            "Fortsetzung: %d weitere Abschnitte generiert, %d gesicherte Abschnitte erneut generiert%n",
+            segments - segmentsBeforeLastKill,
+            regenerated
+        );
+
+        // a killed jvm does not lose written files, so every journaled segment has to be reused
+        boolean correct = regenerated == 0;
+
+        for (int i = 0; i < jobs.length; i++) {
+            final File expected = new File(referenceDirectory, i + ".pdf");
+            final File actual = new File(recoveredDirectory, i + ".pdf");
+            final String result = compare(expected, actual);
+
+            System.out.println(actual.getName() + ": " + result);
+            correct &= result.startsWith("identisch");
+        }
+
+        final String[] leftovers = recoveredDirectory.list((dir, name) -> !name.endsWith(".pdf"));
+
+        if (leftovers == null || leftovers.length > 0) {
+            System.out.println("Übrig gebliebene Dateien: " + Arrays.toString(leftovers));
+            correct = false;
+        }
+
+        deleteRecursively(directory);
+
+        System.out.println(
+            correct ? "Alle Dokumente sind vollständig und korrekt." : "Die Prüfung ist fehlgeschlagen."
+        );
+        if (!correct) System.exit(1);
+    }
+    //</editor-fold>
+
+    /**
+     * Startet die Stapelverarbeitung mit einem Journal in einer neuen JVM.
+     *
+     * @param jar     Die Jar-Datei.
+     * @param jobFile Die Auftragsdatei.
+     * @param journal Die Datei des Journals.
+     *
+     * @return Der gestartete Prozess.
+     *
+     * @throws IOException Wenn die JVM nicht gestartet werden kann.
+     */
+    @NotNull
+    private static Process start(
+        @NotNull final File jar,
+        @NotNull final File jobFile,
+        @NotNull final File journal
+    ) throws IOException {
+        return new ProcessBuilder(
+            new File(System.getProperty("java.home"), "bin/java").getPath(),
+            "-jar",
+            jar.getPath(),
+            BatchCommand.BATCH_ARGUMENT,
+            jobFile.getPath(),
+            BatchCommand.JOURNAL_ARGUMENT,
+            journal.getPath(),
+            BatchCommand.CHECKPOINT_ARGUMENT,
+            String.valueOf(CHECKPOINT_PAGES)
+        ).inheritIO().start();
+    }
+
+    /**
+     * Zählt die Einträge einer bestimmten Art im Journal.
+     *
+     * @param journal Die Datei des Journals.
+     * @param type    Die Art der Einträge.
+     *
+     * @return Die Anzahl an Einträgen dieser Art.
+     *
+     * @throws IOException Wenn das Journal nicht gelesen werden kann.
+     */
+    private static int countEntries(@NotNull final File journal, @NotNull final String type) throws IOException {
+        if (!journal.isFile()) return 0;
+
+        final String content = new String(Files.readAllBytes(journal.toPath()), StandardCharsets.UTF_8);
+        int count = 0;
+
+        for (@NotNull final String line : content.split("\n")) {
+            if (line.startsWith(type + ' ')) count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Zählt die unterschiedlichen Abschnitte im Journal, also ohne Abschnitte, die mehrfach gesichert wurden.
+     *
+     * @param journal Die Datei des Journals.
+     *
+     * @return Die Anzahl an unterschiedlichen Abschnitten.
+     *
+     * @throws IOException Wenn das Journal nicht gelesen werden kann.
+     */
+    private static int countDistinctSegments(@NotNull final File journal) throws IOException {
+        final Set<String> segments = new HashSet<>();
+
+        for (@NotNull final String line : Files.readAllLines(journal.toPath(), StandardCharsets.UTF_8)) {
+            final String[] fields = line.split(" ");
+            if (fields[0].equals("SEGMENT")) segments.add(fields[1] + ' ' + fields[2]);
+        }
+
+        return segments.size();
+    }
+
+    /**
+     * Vergleicht zwei Dokumente anhand ihrer Anzahl an Seiten, der Größe jeder Seite und des Textes jeder Seite.
+     *
+     * @param expected Das ohne Unterbrechung generierte Dokument.
+     * @param actual   Das fortgesetzte Dokument.
+     *
+     * @return Das Ergebnis des Vergleichs, beginnend mit {@code identisch}, falls beide Dokumente übereinstimmen.
+     *
+     * @throws IOException Wenn ein Dokument nicht gelesen werden kann.
+     */
+    @NotNull
+    private static String compare(@NotNull final File expected, @NotNull final File actual) throws IOException {
+        if (!actual.isFile()) return "fehlt";
+
+        final PdfReader expectedReader = new PdfReader(expected.getAbsolutePath());
+        final PdfReader actualReader = new PdfReader(actual.getAbsolutePath());
+
+        try {
+            final int pages = expectedReader.getNumberOfPages();
+
+            if (actualReader.getNumberOfPages() != pages) {
+                return actualReader.getNumberOfPages() + " statt " + pages + " Seiten";
+            }
+
+            for (int page = 1; page <= pages; page++) {
+                if (!expectedReader.getPageSize(page).toString().equals(actualReader.getPageSize(page).toString())) {
+                    return "Seite " + page + " hat eine andere Größe";
+                }
+
+                final String expectedText = PdfTextExtractor.getTextFromPage(expectedReader, page);
+                final String actualText = PdfTextExtractor.getTextFromPage(actualReader, page);
+
+                if (!expectedText.equals(actualText)) return "Seite " + page + " hat einen anderen Text";
+            }
+
+            return "identisch (" + pages + " Seiten)";
+        } finally {
+            expectedReader.close();
+            actualReader.close();
+        }
+    }
+
+    /**
+     * Löscht einen Ordner mit allen enthaltenen Dateien.
+     *
+     * @param directory Der Ordner.
+     *
+     * @throws IOException Wenn eine Datei nicht gelöscht werden kann.
+     */
+    private static void deleteRecursively(@NotNull final File directory) throws IOException {
+        @Nullable final File[] files = directory.listFiles();
+
+        if (files != null) {
+            for (@NotNull final File file : files) {
+                deleteRecursively(file);
+            }
+        }
+
+        Files.deleteIfExists(directory.toPath());
+    }
+
+}
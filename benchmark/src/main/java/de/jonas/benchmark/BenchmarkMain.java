@@ -0,0 +1,49 @@
+package de.jonas.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>Der Einstiegspunkt, um alle Benchmarks auszuführen. Zusätzlich zu den Argumenten, die JMH selbst versteht (z.B.
+ * {@code -p amount=1000} oder ein regulärer Ausdruck für die auszuführenden Benchmarks), wird immer der
+ * {@link GCProfiler} aktiviert, damit neben dem Durchsatz auch die Allokationsrate gemessen wird:</p>
+ * <pre>java -jar benchmark/target/benchmarks.jar CouponGenerationBenchmark -p amount=1,10000</pre>
+ */
+@NotNull
+public final class BenchmarkMain {
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Der Konstruktor dieser Klasse ist privat, da es sich um eine reine Hilfsklasse handelt.
+     */
+    private BenchmarkMain() {
+        throw new UnsupportedOperationException();
+    }
+    //</editor-fold>
+
+
+    //<editor-fold desc="main">
+
+    /**
+     * Führt alle Benchmarks, bzw. alle durch die Argumente ausgewählten Benchmarks, mit dem {@link GCProfiler} aus.
+     *
+     * @param args Die Argumente für JMH.
+     *
+     * @throws Exception Wenn die Benchmarks nicht ausgeführt werden können.
+     */
+    public static void main(@NotNull final String @NotNull [] args) throws Exception {
+        final Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .build();
+
+        new Runner(options).run();
+    }
+    //</editor-fold>
+
+}
@@ -0,0 +1,103 @@
+package de.jonas.benchmark;
+
+import de.jonas.object.Coupon;
+import de.jonas.object.GenerationMetrics;
+import de.jonas.object.RenderMode;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Vermisst die vollständige Generierung eines {@link Coupon} für verschiedene Anzahlen, Größen, Skalierungen und
+ * {@link RenderMode RenderModes}. Das PDF-Dokument wird dabei in einen {@link NullOutputStream} geschrieben, damit
+ * die Messung weder von der Festplatte noch von Systemaufrufen abhängt. Über {@link #metrics} lässt sich zudem
+ * vergleichen, wie viel die Erfassung der {@link GenerationMetrics} kostet.</p>
+ * <p>Standardmäßig werden nur alle {@link RenderMode RenderModes} für zwei Anzahlen verglichen, damit ein Durchlauf
+ * wenige Minuten dauert. Große Anzahlen und die übrigen Parameter werden gezielt über JMH ausgewählt:</p>
+ * <pre>java -jar benchmark/target/benchmarks.jar CouponGenerationBenchmark -p amount=1000000 -p renderMode=GRID
+ *     -p size=150x200,400x700 -p scaling=1,3,6 -p metrics=false,true</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CouponGenerationBenchmark {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Anzahl an Gutscheinen. */
+    @Param({"100", "10000"})
+    public int amount;
+    /** Die Größe eines Gutscheins im Format {@code Breite x Höhe}. */
+    @Param({"150x200"})
+    public String size;
+    /** Die Skalierung des Gutscheins. */
+    @Param({"1"})
+    public int scaling;
+    /** Die Art und Weise, auf welche die Gutscheine in das PDF-Dokument geschrieben werden. */
+    @Param({"TABLE", "TEMPLATE", "GRID"})
+    public RenderMode renderMode;
+    /** Ob die {@link GenerationMetrics} während der Generierung erfasst werden. */
+    @Param({"false"})
+    public boolean metrics;
+    /** Der {@link Coupon}, welcher generiert wird. */
+    private Coupon coupon;
+    //</editor-fold>
+
+
+    /**
+     * Erzeugt den {@link Coupon}, welcher in jeder Iteration generiert wird.
+     */
+    @Setup
+    public void setup() {
+        this.coupon = createCoupon(this.size, this.amount, this.scaling);
+        this.coupon.setRenderMode(this.renderMode);
+
+        GenerationMetrics.setEnabled(this.metrics);
+    }
+
+    /**
+     * Generiert das vollständige PDF-Dokument.
+     */
+    @Benchmark
+    public void generate() {
+        this.coupon.generate(NullOutputStream.INSTANCE);
+    }
+
+    /**
+     * Erzeugt einen {@link Coupon} mit festen Texten anhand der Parameter eines Benchmarks.
+     *
+     * @param size    Die Größe eines Gutscheins im Format {@code Breite x Höhe}.
+     * @param amount  Die Anzahl an Gutscheinen.
+     * @param scaling Die Skalierung des Gutscheins.
+     *
+     * @return Der erzeugte {@link Coupon}.
+     */
+    @NotNull
+    static Coupon createCoupon(@NotNull final String size, final int amount, final int scaling) {
+        final String[] dimensions = size.split("x");
+
+        return new Coupon(
+            "Max Mustermann",
+            "Geburtstag",
+            "Jonas",
+            Integer.parseInt(dimensions[0]),
+            Integer.parseInt(dimensions[1]),
+            amount,
+            scaling
+        );
+    }
+
+}
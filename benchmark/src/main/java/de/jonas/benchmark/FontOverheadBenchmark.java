@@ -0,0 +1,71 @@
+package de.jonas.benchmark;
+
+import de.jonas.object.Coupon;
+import de.jonas.object.CouponFont;
+import de.jonas.object.RenderMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vermisst, wie viel eine eigene {@link CouponFont} pro Dokument im Vergleich zu den eingebauten Schriftarten kostet.
+ * Die Schriftart wird dabei nur einmal gelesen, sodass jedes Dokument nur noch seine Teilmenge der Schriftart
+ * einbettet. Die Größe eines jeden Dokuments wird vor der Messung ausgegeben. Die Schriftdatei wird über die
+ * Systemeigenschaft {@code benchmark.font} angegeben.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FontOverheadBenchmark {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Anzahl an Gutscheinen pro Dokument. */
+    @Param({"1", "100"})
+    public int amount;
+    /** Ob die eigene Schriftart anstelle der eingebauten Schriftarten genutzt wird. */
+    @Param({"false", "true"})
+    public boolean font;
+    /** Der {@link Coupon}, welcher generiert wird. */
+    private Coupon coupon;
+    //</editor-fold>
+
+
+    /**
+     * Erzeugt den {@link Coupon} und liest die Schriftart.
+     *
+     * @throws IOException Wenn die Schriftart nicht gelesen werden kann.
+     */
+    @Setup
+    public void setup() throws IOException {
+        this.coupon = CouponGenerationBenchmark.createCoupon("150x100", this.amount, 1);
+        this.coupon.setRenderMode(RenderMode.GRID);
+
+        if (this.font) this.coupon.setFont(CouponFont.of(new File(System.getProperty("benchmark.font", "font.ttf"))));
+
+        System.out.printf("%nDokument: %d Bytes%n", this.coupon.generateToBuffer().remaining());
+    }
+
+    /**
+     * Generiert das vollständige PDF-Dokument.
+     */
+    @Benchmark
+    public void generate() {
+        this.coupon.generate(NullOutputStream.INSTANCE);
+    }
+
+}
@@ -0,0 +1,99 @@
+package de.jonas.benchmark;
+
+import de.jonas.object.Coupon;
+import de.jonas.object.ImpositionJob;
+import de.jonas.object.ImpositionReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vermisst das Verteilen und das Generieren eines {@link ImpositionJob}, dessen Gutscheine sich in ihrer Größe
+ * unterscheiden. Die Größen werden mit einem festen Startwert zufällig gewählt, damit jede Messung dieselben Gutscheine
+ * verteilt.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ImpositionBenchmark {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Der Startwert, mit dem die Größen der Gutscheine gewählt werden. */
+    private static final long SEED = 42;
+    /** Die kleinste Breite bzw. Höhe eines Gutscheins. */
+    private static final int MIN_SIZE = 50;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Anzahl an Gutscheinen insgesamt. */
+    @Param({"1000", "100000"})
+    public int amount;
+    /** Die Anzahl an unterschiedlich großen {@link Coupon Gutscheinen}, auf welche sich die Anzahl verteilt. */
+    @Param({"1", "100"})
+    public int types;
+    /** Ob Gutscheine um 90° gedreht werden dürfen. */
+    @Param({"false", "true"})
+    public boolean rotation;
+    /** Der {@link ImpositionJob}, welcher verteilt bzw. generiert wird. */
+    private ImpositionJob job;
+    //</editor-fold>
+
+
+    /**
+     * Erzeugt den {@link ImpositionJob}, welcher in jeder Iteration verteilt bzw. generiert wird.
+     */
+    @Setup
+    public void setup() {
+        final Random random = new Random(SEED);
+        final List<Coupon> coupons = new ArrayList<>(this.types);
+
+        for (int type = 0; type < this.types; type++) {
+            final int width = MIN_SIZE + random.nextInt(Coupon.MAX_WIDTH - MIN_SIZE + 1);
+            final int height = MIN_SIZE + random.nextInt(Coupon.MAX_HEIGHT - MIN_SIZE + 1);
+            final int amount = this.amount / this.types + ((type < this.amount % this.types) ? 1 : 0);
+
+            coupons.add(new Coupon("Max Mustermann", "Geburtstag", "Jonas", width, height, amount, 1));
+        }
+
+        this.job = new ImpositionJob(coupons);
+        this.job.setRotation(this.rotation);
+    }
+
+    /**
+     * Verteilt alle Gutscheine auf die Bögen, ohne ein PDF-Dokument zu generieren.
+     *
+     * @return Das Ergebnis der Verteilung, damit es nicht wegoptimiert wird.
+     */
+    @Benchmark
+    public ImpositionReport pack() {
+        return this.job.pack();
+    }
+
+    /**
+     * Verteilt alle Gutscheine auf die Bögen und generiert das vollständige PDF-Dokument.
+     *
+     * @return Das Ergebnis der Verteilung, damit es nicht wegoptimiert wird.
+     */
+    @Benchmark
+    public ImpositionReport generate() {
+        return this.job.generate(NullOutputStream.INSTANCE);
+    }
+
+}
@@ -0,0 +1,41 @@
+package de.jonas.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.OutputStream;
+
+/**
+ * Ein {@link NullOutputStream} verwirft alle geschriebenen Bytes, ohne das Betriebssystem aufzurufen, damit eine
+ * Messung nur die Generierung und weder die Festplatte noch Systemaufrufe enthält.
+ */
+@NotNull
+final class NullOutputStream extends OutputStream {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die einzige Instanz, welche von allen Benchmarks geteilt wird, da sie keinen Zustand hat. */
+    @NotNull
+    static final NullOutputStream INSTANCE = new NullOutputStream();
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Der Konstruktor dieser Klasse ist privat, da alle Benchmarks die geteilte {@link #INSTANCE} nutzen.
+     */
+    private NullOutputStream() {
+    }
+    //</editor-fold>
+
+
+    @Override
+    public void write(final int b) {
+        // the bytes are discarded
+    }
+
+    @Override
+    public void write(final byte @NotNull [] b, final int off, final int len) {
+        // the bytes are discarded
+    }
+
+}
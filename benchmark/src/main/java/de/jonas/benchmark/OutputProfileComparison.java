@@ -0,0 +1,95 @@
+package de.jonas.benchmark;
+
+import de.jonas.object.Coupon;
+import de.jonas.object.OutputProfile;
+import de.jonas.object.RenderMode;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Vergleicht alle {@link OutputProfile Profile} miteinander und gibt für typische Anzahlen an Gutscheinen die Dauer
+ * der Generierung und die Größe des PDF-Dokuments als Tabelle aus. Jede Kombination wird zunächst einige Male zum
+ * Aufwärmen generiert, anschließend wird der Median mehrerer Durchläufe ausgegeben:</p>
+ * <pre>java -cp benchmark/target/benchmarks.jar de.jonas.benchmark.OutputProfileComparison [Anzahlen...]</pre>
+ * <p>Gemessen wird sowohl die Tabelle, mit der die grafische Oberfläche generiert, als auch das Raster, mit dem die
+ * Stapelverarbeitung und der Server generieren.</p>
+ */
+@NotNull
+public final class OutputProfileComparison {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Anzahlen an Gutscheinen, die verglichen werden, falls keine angegeben werden. */
+    private static final int @NotNull [] DEFAULT_AMOUNTS = {1, 100, 1000, 10000};
+    /** Die Anzahl an Durchläufen zum Aufwärmen. */
+    private static final int WARMUP_RUNS = 3;
+    /** Die Anzahl an gemessenen Durchläufen. */
+    private static final int MEASURED_RUNS = 7;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Der Konstruktor dieser Klasse ist privat, da es sich um eine reine Hilfsklasse handelt.
+     */
+    private OutputProfileComparison() {
+        throw new UnsupportedOperationException();
+    }
+    //</editor-fold>
+
+
+    //<editor-fold desc="main">
+
+    /**
+     * Führt den Vergleich aus und gibt die Tabelle aus.
+     *
+     * @param args Die Anzahlen an Gutscheinen, die verglichen werden.
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    public static void main(@NotNull final String @NotNull [] args) {
+        final int[] amounts = (args.length > 0)
+            ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+            : DEFAULT_AMOUNTS;
+
+        System.out.println("| Gutscheine | Modus    | Profil   | Dauer (ms) | Größe (KiB) |");
+        System.out.println("|-----------:|----------|----------|-----------:|------------:|");
+
+        for (final int amount : amounts) {
+            for (@NotNull final RenderMode renderMode : new RenderMode[]{RenderMode.TABLE, RenderMode.GRID}) {
+                for (@NotNull final OutputProfile profile : OutputProfile.values()) {
+                    final Coupon coupon = new Coupon("Max Mustermann", "Geburtstag", "Jonas", 150, 200, amount, 1);
+                    coupon.setRenderMode(renderMode);
+                    coupon.setOutputProfile(profile);
+
+                    for (int i = 0; i < WARMUP_RUNS; i++) {
+                        coupon.generateToBuffer();
+                    }
+
+                    final long[] durations = new long[MEASURED_RUNS];
+                    int size = 0;
+
+                    for (int i = 0; i < MEASURED_RUNS; i++) {
+                        final long start = System.nanoTime();
+                        size = coupon.generateToBuffer().remaining();
+                        durations[i] = System.nanoTime() - start;
+                    }
+
+                    Arrays.sort(durations);
+
+                    System.out.printf(
+                        "| %10d | %-8s | %-8s | %10.2f | %11.1f |%n",
+                        amount,
+                        renderMode.name().toLowerCase(),
+                        profile.getName(),
+                        durations[MEASURED_RUNS / 2] / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                        size / 1024.0
+                    );
+                }
+            }
+        }
+    }
+    //</editor-fold>
+
+}
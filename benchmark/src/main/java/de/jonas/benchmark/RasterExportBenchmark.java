@@ -0,0 +1,89 @@
+package de.jonas.benchmark;
+
+import de.jonas.object.Coupon;
+import de.jonas.object.CouponImage;
+import de.jonas.object.RandomSerialGenerator;
+import de.jonas.object.RasterExporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vermisst, wie viele Bilder pro Sekunde ein {@link RasterExporter} als Zip-Archiv exportiert. Jeder Gutschein hat
+ * eine eigene Seriennummer, sodass jedes Bild einzeln gezeichnet und kodiert wird. Das Zip-Archiv wird verworfen,
+ * damit die Messung nicht von der Festplatte abhängt. Über {@link #images} lassen sich zusätzlich ein Logo und ein
+ * Hintergrundbild einbinden, die über die Systemeigenschaften {@code benchmark.logo} und {@code benchmark.background}
+ * angegeben werden.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RasterExportBenchmark {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Anzahl an Bildern, die pro Aufruf exportiert werden. */
+    private static final int IMAGES = 100;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Auflösung der Bilder in Pixeln pro Zoll. */
+    @Param({"150", "300"})
+    public float dpi;
+    /** Ob ein Logo und ein Hintergrundbild eingebunden werden. */
+    @Param({"false", "true"})
+    public boolean images;
+    /** Der {@link RasterExporter}, welcher die Bilder exportiert. */
+    private RasterExporter exporter;
+    //</editor-fold>
+
+
+    /**
+     * Erzeugt den {@link Coupon} und den {@link RasterExporter}, welcher alle Prozessorkerne nutzt.
+     *
+     * @throws IOException Wenn das Logo oder das Hintergrundbild nicht gelesen werden kann.
+     */
+    @Setup
+    public void setup() throws IOException {
+        final Coupon coupon = CouponGenerationBenchmark.createCoupon("150x250", IMAGES, 1);
+        coupon.setSerialGenerator(new RandomSerialGenerator(42));
+
+        if (this.images) {
+            coupon.setLogo(CouponImage.of(new File(System.getProperty("benchmark.logo", "logo.png"))));
+            coupon.setBackground(
+                CouponImage.of(new File(System.getProperty("benchmark.background", "background.jpg")))
+            );
+        }
+
+        this.exporter = new RasterExporter(coupon, Runtime.getRuntime().availableProcessors());
+        this.exporter.setDpi(this.dpi);
+    }
+
+    /**
+     * Exportiert alle Bilder in ein Zip-Archiv, welches verworfen wird.
+     *
+     * @throws IOException Wenn das Zip-Archiv nicht geschrieben werden kann.
+     */
+    @Benchmark
+    @OperationsPerInvocation(IMAGES)
+    public void exportToZip() throws IOException {
+        this.exporter.exportToZip(NullOutputStream.INSTANCE);
+    }
+
+}
@@ -0,0 +1,118 @@
+package de.jonas.benchmark;
+
+import de.jonas.object.RandomSerialGenerator;
+import de.jonas.object.RedemptionIndex;
+import de.jonas.object.RedemptionState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vermisst die Abfrage eines einzelnen Codes in einem {@link RedemptionIndex}. Die abgefragten Codes werden vorab
+ * zufällig gewählt, damit jede Abfrage eine andere Stelle des Index trifft und nicht nur zwischengespeicherte Seiten.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RedemptionIndexBenchmark {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Der Seed des {@link RandomSerialGenerator}, dessen Codes im Index stehen. */
+    private static final long SEED = 42;
+    /** Die Anzahl an vorab gewählten Codes, die nacheinander abgefragt werden. */
+    private static final int PROBES = 1 << 16;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Anzahl an Codes im Index. */
+    @Param({"10000000"})
+    public int amount;
+    /** Die Indexdatei. */
+    private File file;
+    /** Der geöffnete {@link RedemptionIndex}. */
+    private RedemptionIndex index;
+    /** Die ausgegebenen Seriennummern, die abgefragt werden. */
+    private long[] issued;
+    /** Die nie ausgegebenen Seriennummern, die abgefragt werden. */
+    private long[] unknown;
+    /** Die Position der nächsten Abfrage. */
+    private int next;
+    //</editor-fold>
+
+
+    /**
+     * Schreibt und öffnet den Index und wählt die abgefragten Codes.
+     *
+     * @throws IOException Wenn der Index nicht geschrieben werden kann.
+     */
+    @Setup
+    public void setup() throws IOException {
+        final RandomSerialGenerator generator = new RandomSerialGenerator(SEED);
+        final Random random = new Random(SEED);
+
+        this.file = Files.createTempFile("coupon-index", ".idx").toFile();
+        RedemptionIndex.write(generator, this.amount, this.file);
+        this.index = new RedemptionIndex(this.file);
+
+        this.issued = new long[PROBES];
+        this.unknown = new long[PROBES];
+
+        for (int i = 0; i < PROBES; i++) {
+            this.issued[i] = generator.getSerial(random.nextInt(this.amount));
+            this.unknown[i] = generator.getSerial(this.amount + random.nextInt(this.amount));
+        }
+
+        System.out.printf("%nIndex: %d Codes in %.1f MB%n", this.amount, this.file.length() / 1e6);
+    }
+
+    /**
+     * Schließt und löscht den Index.
+     *
+     * @throws IOException Wenn der Index nicht gelöscht werden kann.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        this.index.close();
+        Files.deleteIfExists(this.file.toPath());
+    }
+
+    /**
+     * Fragt einen ausgegebenen Code ab.
+     *
+     * @return Der Zustand des Codes, damit die Abfrage nicht wegoptimiert wird.
+     */
+    @Benchmark
+    public RedemptionState issued() {
+        return this.index.getState(this.issued[this.next++ & (PROBES - 1)]);
+    }
+
+    /**
+     * Fragt einen nie ausgegebenen Code ab.
+     *
+     * @return Der Zustand des Codes, damit die Abfrage nicht wegoptimiert wird.
+     */
+    @Benchmark
+    public RedemptionState unknown() {
+        return this.index.getState(this.unknown[this.next++ & (PROBES - 1)]);
+    }
+
+}
@@ -0,0 +1,188 @@
+package de.jonas.benchmark;
+
+import de.jonas.server.CouponServer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Ein Lasttest für den {@link CouponServer}. Es wird ein {@link CouponServer} im selben Prozess gestartet, welcher
+ * dann von einer bestimmten Anzahl an parallelen Clients mit Anfragen belastet wird. Am Ende werden der Median und das
+ * 99. Perzentil der Antwortzeiten aller erfolgreichen Anfragen, der Durchsatz und, getrennt davon, die Anzahl und der
+ * Median der Antwortzeiten aller abgelehnten Anfragen ausgegeben:</p>
+ * <pre>java -cp benchmark/target/benchmarks.jar de.jonas.benchmark.ServerLoadTest [Clients] [Anfragen pro Client]
+ *     [Gutscheine pro Anfrage] [Unterschiedliche Anfragen]</pre>
+ * <p>Mit der Anzahl an unterschiedlichen Anfragen lässt sich steuern, wie viele gleichzeitige Anfragen identisch sind
+ * und somit gebündelt werden können.</p>
+ */
+@NotNull
+public final class ServerLoadTest {
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Der Konstruktor dieser Klasse ist privat, da es sich um eine reine Hilfsklasse handelt.
+     */
+    private ServerLoadTest() {
+        throw new UnsupportedOperationException();
+    }
+    //</editor-fold>
+
+
+    //<editor-fold desc="main">
+
+    /**
+     * Führt den Lasttest aus.
+     *
+     * @param args Die Anzahl an Clients, Anfragen pro Client, Gutscheinen pro Anfrage und unterschiedlichen Anfragen.
+     *
+     * @throws Exception Wenn der {@link CouponServer} nicht gestartet werden kann.
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    public static void main(@NotNull final String @NotNull [] args) throws Exception {
+        final int clients = (args.length > 0) ? Integer.parseInt(args[0]) : 16;
+        final int requests = (args.length > 1) ? Integer.parseInt(args[1]) : 50;
+        final int amount = (args.length > 2) ? Integer.parseInt(args[2]) : 20;
+        final int variants = (args.length > 3) ? Integer.parseInt(args[3]) : 4;
+        final int cores = Runtime.getRuntime().availableProcessors();
+
+        final CouponServer server = new CouponServer(0, cores, 4 * cores);
+        server.start();
+
+        final URL url = new URL("http://localhost:" + server.getPort() + CouponServer.PATH);
+        final ExecutorService executor = Executors.newFixedThreadPool(clients);
+        final long[] latencies = new long[clients * requests];
+        final boolean[] successful = new boolean[clients * requests];
+        final List<Future<?>> futures = new ArrayList<>(clients);
+        final long start = System.nanoTime();
+
+        for (int client = 0; client < clients; client++) {
+            final int offset = client * requests;
+
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < requests; i++) {
+                    final String body = "{\"recipient\":\"Empfänger " + ((offset + i) % variants) + "\","
+                        + "\"reason\":\"Geburtstag\",\"creator\":\"Jonas\",\"width\":150,\"height\":200,"
+                        + "\"amount\":" + amount + ",\"scaling\":1}";
+
+                    final long begin = System.nanoTime();
+                    successful[offset + i] = send(url, body) == 200;
+                    latencies[offset + i] = System.nanoTime() - begin;
+                }
+                return null;
+            }));
+        }
+
+        for (@NotNull final Future<?> future : futures) {
+            future.get();
+        }
+
+        final long duration = System.nanoTime() - start;
+        executor.shutdown();
+        server.stop(0);
+
+        // fast rejections would pull the percentiles down exactly under overload, so they are reported separately
+        final long[] accepted = select(latencies, successful, true);
+        final long[] rejected = select(latencies, successful, false);
+
+        System.out.printf(
+            "%d Anfragen (%d Clients, %d Gutscheine, %d Varianten, %s): p50 %.2f ms, p99 %.2f ms, "
+                + "%.1f erfolgreiche Anfragen/s, %d abgelehnt (p50 %.2f ms)%n",
+            latencies.length,
+            clients,
+            amount,
+            variants,
+            server.isVirtualThreads() ? "virtuelle Threads" : cores + " Threads",
+            percentile(accepted, 0.5),
+            percentile(accepted, 0.99),
+            accepted.length * (double) TimeUnit.SECONDS.toNanos(1) / duration,
+            rejected.length,
+            percentile(rejected, 0.5)
+        );
+    }
+    //</editor-fold>
+
+    /**
+     * Schickt eine einzelne Anfrage an den {@link CouponServer} und liest die gesamte Antwort.
+     *
+     * @param url  Die Adresse des {@link CouponServer}.
+     * @param body Das JSON-Objekt der Anfrage.
+     *
+     * @return Der Status-Code der Antwort.
+     *
+     * @throws Exception Wenn die Anfrage nicht geschickt werden kann.
+     */
+    private static int send(@NotNull final URL url, @NotNull final String body) throws Exception {
+        final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        final int status = connection.getResponseCode();
+        final byte[] buffer = new byte[8192];
+
+        try (InputStream in = (status == 200) ? connection.getInputStream() : connection.getErrorStream()) {
+            while (in != null && in.read(buffer) != -1) {
+                // drain the response so that the connection can be reused
+            }
+        }
+
+        return status;
+    }
+
+    /**
+     * Wählt die Antwortzeiten aller erfolgreichen oder aller abgelehnten Anfragen aus.
+     *
+     * @param latencies  Die Antwortzeiten aller Anfragen in Nanosekunden.
+     * @param successful Ob die jeweilige Anfrage erfolgreich war.
+     * @param success    Ob die Antwortzeiten der erfolgreichen oder der abgelehnten Anfragen ausgewählt werden.
+     *
+     * @return Die ausgewählten Antwortzeiten, aufsteigend sortiert.
+     */
+    private static long @NotNull [] select(
+        final long @NotNull [] latencies,
+        final boolean @NotNull [] successful,
+        final boolean success
+    ) {
+        final long[] selected = new long[latencies.length];
+        int count = 0;
+
+        for (int i = 0; i < latencies.length; i++) {
+            if (successful[i] == success) selected[count++] = latencies[i];
+        }
+
+        final long[] sorted = Arrays.copyOf(selected, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Berechnet ein Perzentil aus aufsteigend sortierten Antwortzeiten.
+     *
+     * @param sorted   Die aufsteigend sortierten Antwortzeiten in Nanosekunden.
+     * @param fraction Das Perzentil als Anteil zwischen {@code 0} und {@code 1}.
+     *
+     * @return Das Perzentil in Millisekunden oder {@link Double#NaN}, falls es keine Antwortzeiten gibt.
+     */
+    private static double percentile(final long @NotNull [] sorted, final double fraction) {
+        if (sorted.length == 0) return Double.NaN;
+
+        final int index = Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+}
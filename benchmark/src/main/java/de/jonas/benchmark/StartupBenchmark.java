@@ -0,0 +1,208 @@
+package de.jonas.benchmark;
+
+import de.jonas.batch.BatchCommand;
+import de.jonas.batch.BatchJob;
+import de.jonas.startup.StartupMilestone;
+import de.jonas.startup.StartupTiming;
+import de.jonas.startup.TrainingCommand;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.GraphicsEnvironment;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Vermisst den Kaltstart der fertigen Jar-Datei. Jeder Durchlauf startet eine neue JVM, welche mit der
+ * {@link StartupTiming} die Zeit bis zu jedem {@link StartupMilestone} ausgibt. Am Ende wird für jeden Meilenstein der
+ * Median aller Durchläufe ausgegeben, jeweils ohne und mit dem Archiv des {@link TrainingCommand}:</p>
+ * <pre>java -cp benchmark/target/benchmarks.jar de.jonas.benchmark.StartupBenchmark
+ *     target/CouponGenerator-jar-with-dependencies.jar [target/CouponGenerator.jsa] [Durchläufe]</pre>
+ * <p>Die Zeit bis zum ersten PDF wird mit der Stapelverarbeitung gemessen. Die Zeit bis zum ersten Fenster und bis
+ * iText im Hintergrund geladen wurde, wird nur gemessen, wenn ein Bildschirm vorhanden ist.</p>
+ */
+@NotNull
+public final class StartupBenchmark {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Das Muster, mit dem die Ausgabe der {@link StartupTiming} eingelesen wird. */
+    @NotNull
+    private static final Pattern OUTPUT = Pattern.compile("Startzeit: (\\w+) \\(.*\\) nach (\\d+) ms");
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Der Konstruktor dieser Klasse ist privat, da es sich um eine reine Hilfsklasse handelt.
+     */
+    private StartupBenchmark() {
+        throw new UnsupportedOperationException();
+    }
+    //</editor-fold>
+
+
+    //<editor-fold desc="main">
+
+    /**
+     * Führt die Messung aus.
+     *
+     * @param args Die Jar-Datei, optional das Archiv für Class Data Sharing und die Anzahl an Durchläufen.
+     *
+     * @throws Exception Wenn eine JVM nicht gestartet werden kann.
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    public static void main(@NotNull final String @NotNull [] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Nutzung: StartupBenchmark <Jar-Datei> [CDS-Archiv] [Durchläufe]");
+            return;
+        }
+
+        final File jar = new File(args[0]);
+        final File archive = (args.length > 1) ? new File(args[1]) : null;
+        final int runs = (args.length > 2) ? Integer.parseInt(args[2]) : 5;
+
+        final File directory = Files.createTempDirectory("coupon-startup").toFile();
+        final File jobFile = new File(directory, "startup.csv");
+        final File output = new File(directory, "startup.pdf");
+
+        Files.write(jobFile.toPath(), Arrays.asList(
+            String.join(",", BatchJob.COLUMNS),
+            "Max Mustermann,Geburtstag,Jonas,150,200,1,1," + output.getAbsolutePath()
+        ), StandardCharsets.UTF_8);
+
+        try {
+            measure(jar, null, jobFile, runs);
+            if (archive != null) measure(jar, archive, jobFile, runs);
+        } finally {
+            Files.deleteIfExists(output.toPath());
+            Files.deleteIfExists(jobFile.toPath());
+            Files.deleteIfExists(directory.toPath());
+        }
+    }
+    //</editor-fold>
+
+    /**
+     * Startet die Jar-Datei mehrfach und gibt den Median der Zeit bis zu jedem gemessenen {@link StartupMilestone} aus.
+     *
+     * @param jar     Die Jar-Datei.
+     * @param archive Das Archiv für Class Data Sharing oder {@code null}, falls ohne Archiv gestartet wird.
+     * @param jobFile Die Auftragsdatei, mit der das erste PDF generiert wird.
+     * @param runs    Die Anzahl an Durchläufen.
+     *
+     * @throws Exception Wenn eine JVM nicht gestartet werden kann.
+     */
+    private static void measure(
+        @NotNull final File jar,
+        @Nullable final File archive,
+        @NotNull final File jobFile,
+        final int runs
+    ) throws Exception {
+        final Map<StartupMilestone, long[]> times = new EnumMap<>(StartupMilestone.class);
+        final boolean display = !GraphicsEnvironment.isHeadless();
+
+        for (int run = 0; run < runs; run++) {
+            final String[] batch = {BatchCommand.BATCH_ARGUMENT, jobFile.getPath()};
+
+            collect(times, run, runs, start(jar, archive, StartupMilestone.FIRST_PDF, batch));
+            if (display) collect(times, run, runs, start(jar, archive, StartupMilestone.PRELOADED));
+        }
+
+        final StringJoiner result = new StringJoiner(", ", (archive == null) ? "ohne Archiv: " : "mit Archiv: ", "");
+
+        for (@NotNull final Map.Entry<StartupMilestone, long[]> entry : times.entrySet()) {
+            final long[] sorted = entry.getValue().clone();
+            Arrays.sort(sorted);
+
+            result.add(entry.getKey().getLabel() + " " + sorted[sorted.length / 2] + " ms");
+        }
+
+        if (!display) result.add("Fenster nicht gemessen, da kein Bildschirm vorhanden ist");
+        System.out.println(result);
+    }
+
+    /**
+     * Startet die Jar-Datei in einer neuen JVM, welche nach einem bestimmten {@link StartupMilestone} beendet wird, und
+     * liest die Zeit bis zu jedem erreichten Meilenstein ein. Die Standardausgabe der Anwendung wird nicht gelesen, da
+     * dort nur wenige Zeilen ausgegeben werden.
+     *
+     * @param jar       Die Jar-Datei.
+     * @param archive   Das Archiv für Class Data Sharing oder {@code null}, falls ohne Archiv gestartet wird.
+     * @param exitAfter Der {@link StartupMilestone}, nach dem die JVM beendet wird.
+     * @param args      Die Argumente für die Anwendung.
+     *
+     * @return Die Zeit in Millisekunden bis zu jedem erreichten {@link StartupMilestone}.
+     *
+     * @throws Exception Wenn die JVM nicht gestartet werden kann.
+     */
+    @NotNull
+    private static Map<StartupMilestone, Long> start(
+        @NotNull final File jar,
+        @Nullable final File archive,
+        @NotNull final StartupMilestone exitAfter,
+        @NotNull final String @NotNull ... args
+    ) throws Exception {
+        final List<String> command = new ArrayList<>();
+        command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        if (archive != null) command.add("-XX:SharedArchiveFile=" + archive.getPath());
+        command.add("-D" + StartupTiming.ENABLED_PROPERTY + "=true");
+        command.add("-D" + StartupTiming.EXIT_AFTER_PROPERTY + "=" + exitAfter.name());
+        command.add("-jar");
+        command.add(jar.getPath());
+        command.addAll(Arrays.asList(args));
+
+        final Process process = new ProcessBuilder(command).start();
+        process.getOutputStream().close();
+        final Map<StartupMilestone, Long> times = new EnumMap<>(StartupMilestone.class);
+
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8)
+        )) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                final Matcher matcher = OUTPUT.matcher(line);
+                if (!matcher.matches()) continue;
+
+                times.put(StartupMilestone.valueOf(matcher.group(1)), Long.parseLong(matcher.group(2)));
+            }
+        }
+
+        if (process.waitFor() != 0 || !times.containsKey(exitAfter)) {
+            throw new IllegalStateException("Die Anwendung hat " + exitAfter.getLabel() + " nicht erreicht.");
+        }
+
+        return times;
+    }
+
+    /**
+     * Übernimmt die Zeiten eines Durchlaufs.
+     *
+     * @param times  Die Zeiten aller Durchläufe, anhand ihres {@link StartupMilestone}.
+     * @param run    Der aktuelle Durchlauf.
+     * @param runs   Die Anzahl an Durchläufen.
+     * @param result Die Zeiten des aktuellen Durchlaufs.
+     */
+    private static void collect(
+        @NotNull final Map<StartupMilestone, long[]> times,
+        final int run,
+        final int runs,
+        @NotNull final Map<StartupMilestone, Long> result
+    ) {
+        for (@NotNull final Map.Entry<StartupMilestone, Long> entry : result.entrySet()) {
+            times.computeIfAbsent(entry.getKey(), milestone -> new long[runs])[run] = entry.getValue();
+        }
+    }
+
+}
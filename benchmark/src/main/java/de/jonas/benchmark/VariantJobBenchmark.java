@@ -0,0 +1,85 @@
+package de.jonas.benchmark;
+
+import de.jonas.object.Coupon;
+import de.jonas.object.RenderMode;
+import de.jonas.object.VariantJob;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vermisst, wie lange dieselbe Anzahl an Gutscheinen braucht, wenn sie sich auf unterschiedlich viele Empfänger
+ * verteilt: einmal als gemeinsamer {@link VariantJob} in einem Dokument und einmal als ein eigenes Dokument pro
+ * Empfänger. Mit nur einer Variante entsprechen beide Messungen einem einzelnen {@link Coupon}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class VariantJobBenchmark {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Anzahl an Gutscheinen insgesamt. */
+    @Param({"5000"})
+    public int amount;
+    /** Die Anzahl an Empfängern, auf welche sich die Anzahl verteilt. */
+    @Param({"1", "100", "500"})
+    public int variants;
+    /** Alle Varianten, jeweils mit ihrem Anteil an der Anzahl. */
+    private List<Coupon> coupons;
+    /** Der {@link VariantJob}, welcher alle Varianten in ein Dokument setzt. */
+    private VariantJob job;
+    //</editor-fold>
+
+
+    /**
+     * Erzeugt die Varianten und den {@link VariantJob}, welche in jeder Iteration generiert werden.
+     */
+    @Setup
+    public void setup() {
+        this.coupons = new ArrayList<>(this.variants);
+
+        for (int variant = 0; variant < this.variants; variant++) {
+            final int amount = this.amount / this.variants + ((variant < this.amount % this.variants) ? 1 : 0);
+            final Coupon coupon = new Coupon("Empfänger " + variant, "Geburtstag", "Jonas", 150, 100, amount, 1);
+            coupon.setRenderMode(RenderMode.GRID);
+
+            this.coupons.add(coupon);
+        }
+
+        this.job = new VariantJob(this.coupons);
+    }
+
+    /**
+     * Generiert alle Varianten gemeinsam in einem Dokument.
+     */
+    @Benchmark
+    public void combined() {
+        this.job.generate(0, NullOutputStream.INSTANCE);
+    }
+
+    /**
+     * Generiert jede Variante als eigenes Dokument.
+     */
+    @Benchmark
+    public void separate() {
+        for (final Coupon coupon : this.coupons) {
+            coupon.generate(NullOutputStream.INSTANCE);
+        }
+    }
+
+}
@@ -0,0 +1,5 @@
+/**
+ * In diesem Package befinden sich alle JMH-Benchmarks, mit denen die Generierung der Gutscheine vermessen wird, sowie
+ * der Einstiegspunkt, um diese auszuführen.
+ */
+package de.jonas.benchmark;
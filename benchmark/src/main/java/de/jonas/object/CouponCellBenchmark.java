@@ -0,0 +1,61 @@
+package de.jonas.object;
+
+import com.itextpdf.text.pdf.PdfPCell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vermisst ausschließlich das Erstellen einer einzelnen {@link PdfPCell} über {@link Coupon#getCouponCell()}, also
+ * ohne Layout der Tabelle und ohne das Schreiben des PDF-Dokuments. Dieser Benchmark liegt im selben Package wie der
+ * {@link Coupon}, da die Methode nur im Package sichtbar ist.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CouponCellBenchmark {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Höhe eines Gutscheins. */
+    @Param({"200", "700"})
+    public int height;
+    /** Die Skalierung des Gutscheins. */
+    @Param({"1", "3", "6"})
+    public int scaling;
+    /** Der {@link Coupon}, dessen Zelle erstellt wird. */
+    private Coupon coupon;
+    //</editor-fold>
+
+
+    /**
+     * Erzeugt den {@link Coupon}, dessen Zelle in jeder Iteration erstellt wird.
+     */
+    @Setup
+    public void setup() {
+        this.coupon = new Coupon("Max Mustermann", "Geburtstag", "Jonas", 150, this.height, 1, this.scaling);
+    }
+
+    /**
+     * Erstellt eine einzelne Zelle des Gutscheins.
+     *
+     * @return Die erstellte Zelle, damit sie nicht wegoptimiert wird.
+     */
+    @Benchmark
+    public PdfPCell buildCell() {
+        return this.coupon.getCouponCell();
+    }
+
+}
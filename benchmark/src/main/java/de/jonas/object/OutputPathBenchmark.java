@@ -0,0 +1,188 @@
+package de.jonas.object;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Vergleicht die bisherige, ungepufferte Ausgabe in einen {@link FileOutputStream} mit den neuen Ausgabewegen eines
+ * {@link Coupon}: gepuffert in einen {@link OutputStream}, gepuffert in einen {@link FileChannel} und vollständig im
+ * Arbeitsspeicher.</p>
+ * <p>Neben dem Durchsatz wird über {@link WriteCalls} gezählt, wie oft je Iteration in die Datei geschrieben wurde.
+ * Jeder dieser Aufrufe entspricht einem {@code write}-Systemaufruf.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OutputPathBenchmark {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Anzahl an Gutscheinen. */
+    @Param({"100", "10000"})
+    public int amount;
+    /** Die Art und Weise, auf welche die Gutscheine in das PDF-Dokument geschrieben werden. */
+    @Param({"TABLE", "TEMPLATE"})
+    public RenderMode renderMode;
+    /** Der {@link Coupon}, welcher generiert wird. */
+    private Coupon coupon;
+    /** Die temporäre Datei, in die das PDF-Dokument geschrieben wird. */
+    private File file;
+    //</editor-fold>
+
+
+    /**
+     * Erzeugt den {@link Coupon} und die temporäre Datei.
+     *
+     * @throws IOException Wenn die temporäre Datei nicht erstellt werden kann.
+     */
+    @Setup
+    public void setup() throws IOException {
+        this.coupon = new Coupon("Max Mustermann", "Geburtstag", "Jonas", 150, 200, this.amount, 1);
+        this.coupon.setRenderMode(this.renderMode);
+        this.file = File.createTempFile("coupon-benchmark", ".pdf");
+    }
+
+    /**
+     * Löscht die temporäre Datei.
+     *
+     * @throws IOException Wenn die temporäre Datei nicht gelöscht werden kann.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.file.toPath());
+    }
+
+    /**
+     * Der bisherige Weg: iText schreibt jedes Objekt direkt und ungepuffert in den {@link FileOutputStream}.
+     *
+     * @param calls Der Zähler für die Schreibaufrufe.
+     *
+     * @throws Exception Wenn das PDF-Dokument nicht geschrieben werden kann.
+     */
+    @Benchmark
+    public void unbufferedFile(@NotNull final WriteCalls calls) throws Exception {
+        try (OutputStream out = new CountingOutputStream(new FileOutputStream(this.file), calls)) {
+            this.coupon.write(out);
+        }
+    }
+
+    /**
+     * Der neue Weg über {@link Coupon#generate(OutputStream)} mit einem Puffer.
+     *
+     * @param calls Der Zähler für die Schreibaufrufe.
+     *
+     * @throws Exception Wenn das PDF-Dokument nicht geschrieben werden kann.
+     */
+    @Benchmark
+    public void bufferedStream(@NotNull final WriteCalls calls) throws Exception {
+        try (OutputStream out = new CountingOutputStream(new FileOutputStream(this.file), calls)) {
+            this.coupon.generate(out);
+        }
+    }
+
+    /**
+     * Der neue Weg über {@link Coupon#generate(java.nio.channels.WritableByteChannel)} in einen {@link FileChannel}.
+     *
+     * @throws Exception Wenn das PDF-Dokument nicht geschrieben werden kann.
+     */
+    @Benchmark
+    public void bufferedChannel() throws Exception {
+        try (FileChannel channel = FileChannel.open(
+            this.file.toPath(),
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            this.coupon.generate(channel);
+        }
+    }
+
+    /**
+     * Der neue Weg über {@link Coupon#generateToBuffer()}, ganz ohne Datei.
+     *
+     * @return Das generierte PDF-Dokument, damit es nicht wegoptimiert wird.
+     */
+    @Benchmark
+    public Object inMemory() {
+        return this.coupon.generateToBuffer();
+    }
+
+    /**
+     * Zählt die Schreibaufrufe, die während einer Iteration bei der Datei ankommen.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class WriteCalls {
+
+        /** Die Anzahl an Schreibaufrufen seit Beginn der Iteration. */
+        public long writes;
+
+        /**
+         * Setzt den Zähler zu Beginn einer jeden Iteration zurück.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.writes = 0;
+        }
+
+    }
+
+    /**
+     * Ein {@link OutputStream}, welcher jeden Schreibaufruf an den darunterliegenden Stream zählt.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        /** Der Zähler für die Schreibaufrufe. */
+        @NotNull
+        private final WriteCalls calls;
+
+        /**
+         * Erzeugt einen neuen {@link CountingOutputStream}.
+         *
+         * @param out   Der darunterliegende Stream.
+         * @param calls Der Zähler für die Schreibaufrufe.
+         */
+        CountingOutputStream(@NotNull final OutputStream out, @NotNull final WriteCalls calls) {
+            super(out);
+            this.calls = calls;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            this.calls.writes++;
+            super.out.write(b);
+        }
+
+        @Override
+        public void write(final byte @NotNull [] b, final int off, final int len) throws IOException {
+            this.calls.writes++;
+            super.out.write(b, off, len);
+        }
+
+    }
+
+}
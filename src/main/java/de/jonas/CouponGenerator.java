@@ -1,8 +1,14 @@
 package de.jonas;
 
+import de.jonas.batch.BatchCommand;
 import de.jonas.gui.Gui;
+import de.jonas.server.ServerCommand;
+import de.jonas.startup.Preloader;
+import de.jonas.startup.TrainingCommand;
 import org.jetbrains.annotations.NotNull;
 
+import javax.swing.SwingUtilities;
+
 /**
  * Die Haupt- und Main-Klasse. Von hier aus wird die gesamte Anwendung initialisiert und gestartet.
  */
@@ -13,13 +19,40 @@ public final class CouponGenerator {
 
     /**
      * Die Main-Methode der Anwendung. Diese Methode wird von der JRE als aller erstes aufgerufen - vor allen anderen
-     * Methoden - und mithilfe dieser Methode wird die gesamte Anwendung gestartet.
+     * Methoden - und mithilfe dieser Methode wird die gesamte Anwendung gestartet. Werden Argumente übergeben, wird
+     * die Anwendung ohne grafische Oberfläche über den {@link BatchCommand}, den {@link ServerCommand} bzw. den
+     * {@link TrainingCommand} ausgeführt. Andernfalls wird das Fenster so früh wie möglich geöffnet und iText erst
+     * danach vom {@link Preloader} im Hintergrund geladen, damit der Nutzer nicht darauf warten muss.
      *
      * @param args Die Argumente, die von der JRE übergeben werden.
+     *
+     * @throws Exception Wenn bei der Ausführung über die Kommandozeile ein Fehler auftritt.
      */
-    public static void main(@NotNull final String @NotNull [] args) {
-        final Gui gui = new Gui();
-        gui.open();
+    public static void main(@NotNull final String @NotNull [] args) throws Exception {
+        if (args.length > 0) {
+            final int exitCode;
+
+            if (args[0].equals(TrainingCommand.TRAINING_ARGUMENT)) {
+                // the training also loads the classes of the window, if there is a screen to create it on
+                exitCode = TrainingCommand.execute(args);
+            } else {
+                System.setProperty("java.awt.headless", "true");
+
+                exitCode = args[0].equals(ServerCommand.SERVER_ARGUMENT)
+                    ? ServerCommand.execute(args)
+                    : BatchCommand.execute(args);
+            }
+
+            if (exitCode >= 0) System.exit(exitCode);
+            return;
+        }
+
+        SwingUtilities.invokeLater(() -> {
+            final Gui gui = new Gui();
+            gui.open();
+
+            Preloader.start();
+        });
     }
     //</editor-fold>
 
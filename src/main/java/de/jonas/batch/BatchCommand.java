@@ -0,0 +1,198 @@
+package de.jonas.batch;
+
+import de.jonas.object.CouponFont;
+import de.jonas.object.CouponImage;
+import de.jonas.object.GenerationMetrics;
+import de.jonas.object.OutputProfile;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * <p>Der {@link BatchCommand} stellt den Einstiegspunkt für die Kommandozeile dar. Damit lassen sich alle Aufträge
+ * einer Auftragsdatei ohne grafische Oberfläche generieren:</p>
+ * <pre>java -jar CouponGenerator.jar --batch &lt;Auftragsdatei&gt; [--workers &lt;Anzahl&gt;]
+ *     [--profile fast|balanced|smallest] [--journal &lt;Datei&gt; [--checkpoint &lt;Seiten&gt;]]
+ *     [--logo &lt;Bild&gt;] [--background &lt;Bild&gt;] [--font &lt;Schriftart&gt;] [--metrics]</pre>
+ * <p>Nachdem alle Aufträge generiert wurden, wird der Durchsatz in Dokumenten und Gutscheinen pro Sekunde
+ * ausgegeben. Mit {@code --metrics} wird zusätzlich die Dauer jeder Phase der Generierung ausgegeben. Mit
+ * {@code --profile} wird das {@link OutputProfile} aller Dokumente gewählt, standardmäßig {@code balanced}.</p>
+ * <p>Die Auftragsdatei wird mit einem {@link MappedJobReader} erst während der Generierung gelesen, weshalb auch
+ * Auftragsdateien mit Millionen Zeilen sofort mit dem ersten Dokument beginnen. Ungültige Zeilen werden ausgegeben und
+ * als fehlgeschlagen gezählt.</p>
+ * <p>Mit {@code --journal} wird der Fortschritt in einer Datei festgehalten. Bricht die Anwendung ab, wird derselbe
+ * Aufruf einfach wiederholt: Fertige Dokumente werden übersprungen und große Dokumente nach dem letzten gesicherten
+ * Abschnitt von {@code --checkpoint} Seiten fortgesetzt, standardmäßig alle
+ * {@value BatchRunner#DEFAULT_CHECKPOINT_PAGES} Seiten.</p>
+ * <p>Mit {@code --logo} und {@code --background} wird ein PNG- oder JPEG-Bild als Logo bzw. Hintergrund auf jeden
+ * Gutschein aller Dokumente gedruckt. Jedes Bild wird dafür nur einmal gelesen und von allen Dokumenten geteilt.</p>
+ * <p>Mit {@code --font} wird der Text aller Gutscheine mit einer TTF- oder OTF-Schriftart geschrieben, von der jedes
+ * Dokument nur die genutzten Zeichen einbettet.</p>
+ */
+@NotNull
+public final class BatchCommand {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Das Argument, mit dem die Auftragsdatei angegeben wird. */
+    @NotNull
+    public static final String BATCH_ARGUMENT = "--batch";
+    /** Das Argument, mit dem die Anzahl an Threads angegeben wird. */
+    @NotNull
+    private static final String WORKERS_ARGUMENT = "--workers";
+    /** Das Argument, mit dem das {@link OutputProfile} aller Dokumente angegeben wird. */
+    @NotNull
+    private static final String PROFILE_ARGUMENT = "--profile";
+    /** Das Argument, mit dem die Datei des {@link BatchJournal} angegeben wird. */
+    @NotNull
+    public static final String JOURNAL_ARGUMENT = "--journal";
+    /** Das Argument, mit dem die Anzahl an Seiten eines gesicherten Abschnitts angegeben wird. */
+    @NotNull
+    public static final String CHECKPOINT_ARGUMENT = "--checkpoint";
+    /** Das Argument, mit dem das Logo eines jeden Gutscheins angegeben wird. */
+    @NotNull
+    private static final String LOGO_ARGUMENT = "--logo";
+    /** Das Argument, mit dem der Hintergrund eines jeden Gutscheins angegeben wird. */
+    @NotNull
+    private static final String BACKGROUND_ARGUMENT = "--background";
+    /** Das Argument, mit dem die Schriftart eines jeden Gutscheins angegeben wird. */
+    @NotNull
+    private static final String FONT_ARGUMENT = "--font";
+    /** Das Argument, mit dem die {@link GenerationMetrics} erfasst und ausgegeben werden. */
+    @NotNull
+    private static final String METRICS_ARGUMENT = "--metrics";
+    /** Die Beschreibung, wie der {@link BatchCommand} aufgerufen wird. */
+    @NotNull
+    private static final String USAGE = "Nutzung: --batch <Auftragsdatei> [--workers <Anzahl>]"
+        + " [--profile fast|balanced|smallest] [--journal <Datei> [--checkpoint <Seiten>]]"
+        + " [--logo <Bild>] [--background <Bild>] [--font <Schriftart>] [--metrics]";
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Der Konstruktor dieser Klasse ist privat, da es sich um eine reine Hilfsklasse handelt.
+     */
+    private BatchCommand() {
+        throw new UnsupportedOperationException();
+    }
+    //</editor-fold>
+
+
+    /**
+     * Führt den {@link BatchCommand} mit den Argumenten der Kommandozeile aus.
+     *
+     * @param args Die Argumente der Kommandozeile.
+     *
+     * @return Der Exit-Code der Anwendung.
+     *
+     * @throws Exception Wenn die Auftragsdatei nicht gelesen werden kann oder die Generierung unterbrochen wird.
+     */
+    public static int execute(@NotNull final String @NotNull [] args) throws Exception {
+        File jobFile = null;
+        int workers = Runtime.getRuntime().availableProcessors();
+        OutputProfile outputProfile = OutputProfile.BALANCED;
+        File journal = null;
+        int checkpointPages = BatchRunner.DEFAULT_CHECKPOINT_PAGES;
+        CouponImage logo = null;
+        CouponImage background = null;
+        CouponFont font = null;
+        boolean metrics = false;
+
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals(METRICS_ARGUMENT)) {
+                metrics = true;
+                continue;
+            }
+
+            if (i + 1 >= args.length) {
+                System.err.println(USAGE);
+                return 2;
+            }
+
+            // invalid profiles, images and fonts are reported like any other invalid argument
+            try {
+                switch (args[i]) {
+                    case BATCH_ARGUMENT:
+                        jobFile = new File(args[++i]);
+                        break;
+                    case WORKERS_ARGUMENT:
+                        workers = parseNumber(args[++i]);
+                        break;
+                    case PROFILE_ARGUMENT:
+                        outputProfile = OutputProfile.fromName(args[++i]);
+                        break;
+                    case JOURNAL_ARGUMENT:
+                        journal = new File(args[++i]);
+                        break;
+                    case CHECKPOINT_ARGUMENT:
+                        checkpointPages = parseNumber(args[++i]);
+                        break;
+                    case LOGO_ARGUMENT:
+                        logo = CouponImage.of(new File(args[++i]));
+                        break;
+                    case BACKGROUND_ARGUMENT:
+                        background = CouponImage.of(new File(args[++i]));
+                        break;
+                    case FONT_ARGUMENT:
+                        font = CouponFont.of(new File(args[++i]));
+                        break;
+                    default:
+                        System.err.println(USAGE);
+                        return 2;
+                }
+            } catch (@NotNull final IOException e) {
+                System.err.println("Die Datei kann nicht gelesen werden: " + e.getMessage());
+                System.err.println(USAGE);
+                return 2;
+            } catch (@NotNull final IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+                System.err.println(USAGE);
+                return 2;
+            }
+        }
+
+        if (jobFile == null || workers < 1 || checkpointPages < 1) {
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        GenerationMetrics.setEnabled(metrics);
+        final BatchRunner runner = new BatchRunner(workers);
+        runner.setOutputProfile(outputProfile);
+        runner.setJournal(journal);
+        runner.setCheckpointPages(checkpointPages);
+        runner.setLogo(logo);
+        runner.setBackground(background);
+        runner.setFont(font);
+
+        final BatchResult result;
+
+        // the job file is read while the documents are generated
+        try (MappedJobReader jobs = new MappedJobReader(jobFile)) {
+            result = runner.run(jobs);
+        }
+
+        System.out.println(result);
+        if (metrics) System.out.println(GenerationMetrics.getTotal());
+        return (result.getFailed() == 0) ? 0 : 1;
+    }
+
+    /**
+     * Liest die Zahl eines Arguments, ohne bei einer ungültigen Zahl eine Exception zu werfen, damit stattdessen die
+     * Nutzung ausgegeben werden kann.
+     *
+     * @param argument Das Argument der Kommandozeile.
+     *
+     * @return Die Zahl des Arguments oder {@code -1}, falls es sich um keine gültige Zahl handelt.
+     */
+    private static int parseNumber(@NotNull final String argument) {
+        try {
+            return Integer.parseInt(argument);
+        } catch (@NotNull final NumberFormatException e) {
+            return -1;
+        }
+    }
+
+}
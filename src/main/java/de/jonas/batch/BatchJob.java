@@ -0,0 +1,108 @@
+package de.jonas.batch;
+
+import de.jonas.object.Coupon;
+import de.jonas.utility.Parameters;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.io.File;
+import java.util.Map;
+
+/**
+ * Ein {@link BatchJob} stellt eine einzelne Zeile einer Auftragsdatei dar und beschreibt damit genau ein PDF-Dokument,
+ * welches von einem {@link BatchRunner} generiert wird.
+ */
+@Getter
+@NotNull
+@RequiredArgsConstructor
+public final class BatchJob {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Namen aller Spalten einer Auftragsdatei in ihrer Reihenfolge. */
+    @NotNull
+    public static final String @NotNull [] COLUMNS = {
+        "recipient",
+        "reason",
+        "creator",
+        "width",
+        "height",
+        "amount",
+        "scaling",
+        "output",
+    };
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der Empfänger der Gutscheine. */
+    @NotNull
+    private final String recipient;
+    /** Der Anlass für die Gutscheine. */
+    @NotNull
+    private final String reason;
+    /** Der Ersteller der Gutscheine. */
+    @NotNull
+    private final String creator;
+    /** Die Breite eines Gutscheins. */
+    @Range(from = 1, to = Coupon.MAX_WIDTH)
+    private final int width;
+    /** Die Höhe eines Gutscheins. */
+    @Range(from = 1, to = Coupon.MAX_HEIGHT)
+    private final int height;
+    /** Die Anzahl an Gutscheinen. */
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    private final int amount;
+    /** Die Skalierung des Gutscheins. */
+    @Range(from = 0, to = Coupon.MAX_SCALING)
+    private final int scaling;
+    /** Die Datei, unter der das generierte PDF-Dokument gespeichert wird. */
+    @NotNull
+    private final File output;
+    //</editor-fold>
+
+
+    /**
+     * Erzeugt einen neuen {@link BatchJob} anhand aller Werte einer Zeile, welche ihrem jeweiligen Spaltennamen aus
+     * {@link #COLUMNS} zugeordnet sind.
+     *
+     * @param values Alle Werte einer Zeile, anhand ihres Spaltennamens.
+     *
+     * @return Der erzeugte {@link BatchJob}.
+     *
+     * @throws IllegalArgumentException Wenn ein Wert fehlt oder ungültig ist.
+     */
+    @NotNull
+    public static BatchJob of(@NotNull final Map<String, String> values) {
+        return new BatchJob(
+            Parameters.getText(values, "recipient"),
+            Parameters.getText(values, "reason"),
+            Parameters.getText(values, "creator"),
+            Parameters.getNumber(values, "width", 1, Coupon.MAX_WIDTH),
+            Parameters.getNumber(values, "height", 1, Coupon.MAX_HEIGHT),
+            Parameters.getNumber(values, "amount", 1, Integer.MAX_VALUE),
+            Parameters.getNumber(values, "scaling", 0, Coupon.MAX_SCALING),
+            new File(Parameters.getText(values, "output"))
+        );
+    }
+
+    /**
+     * Erzeugt aus diesem {@link BatchJob} den entsprechenden {@link Coupon}.
+     *
+     * @return Der {@link Coupon}, welcher durch diesen {@link BatchJob} beschrieben wird.
+     */
+    @NotNull
+    public Coupon toCoupon() {
+        return new Coupon(
+            this.recipient,
+            this.reason,
+            this.creator,
+            this.width,
+            this.height,
+            this.amount,
+            this.scaling
+        );
+    }
+
+}
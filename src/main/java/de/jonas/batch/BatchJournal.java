@@ -0,0 +1,327 @@
+package de.jonas.batch;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * <p>Ein {@link BatchJournal} hält in einer Datei fest, welche Dokumente und welche Abschnitte eines Dokuments ein
+ * {@link BatchRunner} bereits vollständig generiert hat, damit nach einem Absturz der JVM nur die fehlende Arbeit
+ * erneut generiert werden muss.</p>
+ * <p>Die Datei wird ausschließlich erweitert. Jede Zeile enthält einen Eintrag und dessen CRC32-Prüfsumme, weshalb eine
+ * beim Absturz nur teilweise geschriebene letzte Zeile beim Öffnen erkannt und abgeschnitten wird. Die Einträge werden
+ * nicht einzeln, sondern gesammelt in einem festen Intervall auf die Festplatte synchronisiert, wodurch das Journal den
+ * Durchsatz nicht bremst. Ein Eintrag, der vor einem Absturz nicht mehr synchronisiert wurde, führt lediglich dazu,
+ * dass seine Arbeit erneut generiert wird.</p>
+ */
+@NotNull
+final class BatchJournal implements Closeable {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Das Intervall in Millisekunden, in dem alle neuen Einträge auf die Festplatte synchronisiert werden. */
+    private static final long SYNC_INTERVAL_MILLIS = 250;
+    /** Die Art eines Eintrags für einen fertigen Abschnitt eines Dokuments. */
+    @NotNull
+    private static final String SEGMENT = "SEGMENT";
+    /** Die Art eines Eintrags für ein fertiges Dokument. */
+    @NotNull
+    private static final String DOCUMENT = "DOCUMENT";
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der {@link FileChannel}, über den die Einträge an die Datei angehängt werden. */
+    @NotNull
+    private final FileChannel channel;
+    /** Die Größe in Bytes aller bekannten Dateien, anhand des Eintrags ohne Größe und Prüfsumme. */
+    @NotNull
+    private final Map<String, Long> entries = new HashMap<>();
+    /** Die Aktionen, die ausgeführt werden, sobald alle bisherigen Einträge synchronisiert wurden. */
+    @NotNull
+    private final List<Runnable> afterSync = new ArrayList<>();
+    /** Der Thread, welcher die Einträge im festen Intervall synchronisiert. */
+    @NotNull
+    private final ScheduledExecutorService syncer;
+    /** Ob es Einträge gibt, die noch nicht synchronisiert wurden. */
+    private boolean dirty;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Öffnet ein {@link BatchJournal} und liest alle gültigen Einträge ein. Existiert die Datei noch nicht, wird sie
+     * angelegt. Eine unvollständige oder beschädigte Zeile am Ende der Datei wird abgeschnitten.
+     *
+     * @param file Die Datei des Journals.
+     *
+     * @throws IOException Wenn die Datei nicht gelesen oder geöffnet werden kann.
+     */
+    BatchJournal(@NotNull final File file) throws IOException {
+        this.channel = FileChannel.open(
+            file.toPath(),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE
+        );
+
+        try {
+            final long valid = load();
+
+            // drop a torn tail left by a crash, so that new entries start on a fresh line
+            this.channel.truncate(valid);
+            this.channel.position(valid);
+            this.channel.force(true);
+        } catch (@NotNull final IOException | RuntimeException e) {
+            this.channel.close();
+            throw e;
+        }
+
+        this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "Journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.syncer.scheduleWithFixedDelay(
+            this::syncQuietly,
+            SYNC_INTERVAL_MILLIS,
+            SYNC_INTERVAL_MILLIS,
+            TimeUnit.MILLISECONDS
+        );
+    }
+    //</editor-fold>
+
+
+    /**
+     * Gibt die Größe eines fertigen Dokuments zurück.
+     *
+     * @param key Der Schlüssel des Dokuments.
+     *
+     * @return Die Größe des Dokuments in Bytes oder {@code -1}, falls das Dokument nicht fertig ist.
+     */
+    synchronized long getDocument(@NotNull final String key) {
+        return this.entries.getOrDefault(DOCUMENT + ' ' + key, -1L);
+    }
+
+    /**
+     * Gibt die Größe eines fertigen Abschnitts zurück.
+     *
+     * @param key     Der Schlüssel des Dokuments.
+     * @param segment Der Abschnitt, beginnend bei {@code 0}.
+     *
+     * @return Die Größe des Abschnitts in Bytes oder {@code -1}, falls der Abschnitt nicht fertig ist.
+     */
+    synchronized long getSegment(
+        @NotNull final String key,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int segment
+    ) {
+        return this.entries.getOrDefault(SEGMENT + ' ' + key + ' ' + segment, -1L);
+    }
+
+    /**
+     * Hält fest, dass ein Abschnitt eines Dokuments fertig ist. Die Datei des Abschnitts muss bereits auf die
+     * Festplatte synchronisiert worden sein.
+     *
+     * @param key     Der Schlüssel des Dokuments.
+     * @param segment Der Abschnitt, beginnend bei {@code 0}.
+     * @param bytes   Die Größe des Abschnitts in Bytes.
+     *
+     * @throws IOException Wenn der Eintrag nicht geschrieben werden kann.
+     */
+    void recordSegment(
+        @NotNull final String key,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int segment,
+        @Range(from = 0, to = Long.MAX_VALUE) final long bytes
+    ) throws IOException {
+        append(SEGMENT + ' ' + key + ' ' + segment, bytes, null);
+    }
+
+    /**
+     * Hält fest, dass ein Dokument fertig ist. Die Datei des Dokuments muss bereits auf die Festplatte synchronisiert
+     * worden sein.
+     *
+     * @param key       Der Schlüssel des Dokuments.
+     * @param bytes     Die Größe des Dokuments in Bytes.
+     * @param afterSync Die Aktion, die ausgeführt wird, sobald dieser Eintrag synchronisiert wurde, z.B. um die
+     *                  Abschnitte des Dokuments zu löschen.
+     *
+     * @throws IOException Wenn der Eintrag nicht geschrieben werden kann.
+     */
+    void recordDocument(
+        @NotNull final String key,
+        @Range(from = 0, to = Long.MAX_VALUE) final long bytes,
+        @NotNull final Runnable afterSync
+    ) throws IOException {
+        append(DOCUMENT + ' ' + key, bytes, afterSync);
+    }
+
+    /**
+     * Synchronisiert alle bisherigen Einträge auf die Festplatte und führt anschließend alle Aktionen aus, die auf
+     * diese Einträge gewartet haben. Schlägt die Synchronisierung fehl, bleiben die Einträge und ihre Aktionen für den
+     * nächsten Aufruf bestehen.
+     *
+     * @throws IOException Wenn die Einträge nicht synchronisiert werden können.
+     */
+    void sync() throws IOException {
+        final List<Runnable> actions;
+
+        synchronized (this) {
+            if (!this.dirty) return;
+
+            this.dirty = false;
+            actions = new ArrayList<>(this.afterSync);
+            this.afterSync.clear();
+        }
+
+        // entries appended while forcing are synced as well or by the next call
+        try {
+            this.channel.force(false);
+        } catch (@NotNull final IOException | RuntimeException e) {
+            // the entries are still unsynced, so the next call has to retry them and their actions
+            synchronized (this) {
+                this.dirty = true;
+                this.afterSync.addAll(0, actions);
+            }
+            throw e;
+        }
+
+        for (@NotNull final Runnable action : actions) {
+            action.run();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.syncer.shutdownNow();
+
+        try {
+            sync();
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Hängt einen neuen Eintrag an die Datei an, ohne ihn zu synchronisieren.
+     *
+     * @param entry     Der Eintrag ohne Größe und Prüfsumme.
+     * @param bytes     Die Größe der Datei des Eintrags in Bytes.
+     * @param afterSync Die Aktion, die ausgeführt wird, sobald der Eintrag synchronisiert wurde, oder {@code null}.
+     *
+     * @throws IOException Wenn der Eintrag nicht geschrieben werden kann.
+     */
+    private synchronized void append(
+        @NotNull final String entry,
+        final long bytes,
+        @Nullable final Runnable afterSync
+    ) throws IOException {
+        final String record = entry + ' ' + bytes;
+        final ByteBuffer line = StandardCharsets.UTF_8.encode(record + ' ' + checksum(record) + '\n');
+
+        while (line.hasRemaining()) {
+            this.channel.write(line);
+        }
+
+        this.entries.put(entry, bytes);
+        if (afterSync != null) this.afterSync.add(afterSync);
+        this.dirty = true;
+    }
+
+    /**
+     * Synchronisiert alle bisherigen Einträge, ohne einen Fehler zu werfen. Wird im festen Intervall aufgerufen, das
+     * durch jeden geworfenen Fehler, auch aus einer Aktion nach der Synchronisierung, dauerhaft beendet würde.
+     */
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (@NotNull final IOException | RuntimeException e) {
+            System.err.println("Das Journal konnte nicht synchronisiert werden: " + e);
+        }
+    }
+
+    /**
+     * Liest alle gültigen Einträge der Datei ein, bis zur ersten unvollständigen oder beschädigten Zeile.
+     *
+     * @return Die Position in Bytes hinter der letzten gültigen Zeile.
+     *
+     * @throws IOException Wenn die Datei nicht gelesen werden kann.
+     */
+    private long load() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate((int) this.channel.size());
+
+        while (buffer.hasRemaining() && this.channel.read(buffer, buffer.position()) >= 0) {
+            // read the whole file
+        }
+
+        final byte[] content = buffer.array();
+        long valid = 0;
+        int start = 0;
+
+        for (int i = 0; i < content.length; i++) {
+            if (content[i] != '\n') continue;
+
+            final String line = new String(content, start, i - start, StandardCharsets.UTF_8);
+            if (!parse(line)) break;
+
+            start = i + 1;
+            valid = start;
+        }
+
+        return valid;
+    }
+
+    /**
+     * Liest eine einzelne Zeile ein und übernimmt ihren Eintrag, sofern ihre Prüfsumme stimmt.
+     *
+     * @param line Die Zeile ohne Zeilenumbruch.
+     *
+     * @return Ob die Zeile gültig ist.
+     */
+    private boolean parse(@NotNull final String line) {
+        final int checksumStart = line.lastIndexOf(' ');
+        if (checksumStart < 0) return false;
+
+        final String record = line.substring(0, checksumStart);
+        if (!checksum(record).equals(line.substring(checksumStart + 1))) return false;
+
+        final int bytesStart = record.lastIndexOf(' ');
+
+        try {
+            this.entries.put(record.substring(0, bytesStart), Long.parseLong(record.substring(bytesStart + 1)));
+            return true;
+        } catch (@NotNull final NumberFormatException | StringIndexOutOfBoundsException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Berechnet die CRC32-Prüfsumme eines Eintrags.
+     *
+     * @param record Der Eintrag.
+     *
+     * @return Die Prüfsumme als Hexadezimalzahl.
+     */
+    @NotNull
+    private static String checksum(@NotNull final String record) {
+        final CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+}
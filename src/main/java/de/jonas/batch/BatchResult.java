@@ -0,0 +1,84 @@
+package de.jonas.batch;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ein {@link BatchResult} fasst das Ergebnis eines {@link BatchRunner} zusammen und ermöglicht es, den Durchsatz der
+ * Generierung zu berechnen.
+ */
+@Getter
+@NotNull
+@RequiredArgsConstructor
+public final class BatchResult {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Anzahl an erfolgreich generierten PDF-Dokumenten. */
+    @Range(from = 0, to = Long.MAX_VALUE)
+    private final long documents;
+    /** Die Anzahl an Gutscheinen in allen erfolgreich generierten PDF-Dokumenten. */
+    @Range(from = 0, to = Long.MAX_VALUE)
+    private final long coupons;
+    /** Die Anzahl an PDF-Dokumenten, die laut dem {@link BatchJournal} bereits fertig waren und übersprungen wurden. */
+    @Range(from = 0, to = Long.MAX_VALUE)
+    private final long skipped;
+    /** Die Anzahl an PDF-Dokumenten, die nicht generiert werden konnten. */
+    @Range(from = 0, to = Long.MAX_VALUE)
+    private final long failed;
+    /** Die gesamte Dauer der Generierung in Nanosekunden. */
+    @Range(from = 0, to = Long.MAX_VALUE)
+    private final long durationNanos;
+    //</editor-fold>
+
+
+    /**
+     * Berechnet die Anzahl an generierten PDF-Dokumenten pro Sekunde.
+     *
+     * @return Die Anzahl an generierten PDF-Dokumenten pro Sekunde.
+     */
+    public double getDocumentsPerSecond() {
+        return perSecond(this.documents);
+    }
+
+    /**
+     * Berechnet die Anzahl an generierten Gutscheinen pro Sekunde.
+     *
+     * @return Die Anzahl an generierten Gutscheinen pro Sekunde.
+     */
+    public double getCouponsPerSecond() {
+        return perSecond(this.coupons);
+    }
+
+    /**
+     * Rechnet eine bestimmte Anzahl auf die Dauer einer Sekunde um.
+     *
+     * @param count Die Anzahl, die während der gesamten Dauer erreicht wurde.
+     *
+     * @return Die Anzahl pro Sekunde.
+     */
+    private double perSecond(final long count) {
+        if (this.durationNanos == 0) return 0;
+        return count * (double) TimeUnit.SECONDS.toNanos(1) / this.durationNanos;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return String.format(
+            "%d Dokumente (%d Gutscheine) in %.2f s generiert, %d übersprungen, %d fehlgeschlagen"
+                + " - %.1f Dokumente/s, %.1f Gutscheine/s",
+            this.documents,
+            this.coupons,
+            this.durationNanos / (double) TimeUnit.SECONDS.toNanos(1),
+            this.skipped,
+            this.failed,
+            getDocumentsPerSecond(),
+            getCouponsPerSecond()
+        );
+    }
+
+}
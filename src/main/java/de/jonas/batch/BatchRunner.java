@@ -0,0 +1,404 @@
+package de.jonas.batch;
+
+import de.jonas.object.Coupon;
+import de.jonas.object.CouponFont;
+import de.jonas.object.CouponImage;
+import de.jonas.object.OutputProfile;
+import de.jonas.object.RenderMode;
+import de.jonas.object.SegmentedDocument;
+import de.jonas.utility.Hashes;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * <p>Ein {@link BatchRunner} generiert eine beliebige Menge an {@link BatchJob Aufträgen} ohne grafische Oberfläche,
+ * verteilt auf eine feste Anzahl an Threads. Jeder Auftrag wird dabei zu genau einem PDF-Dokument.</p>
+ * <p>Wird ein {@link BatchJournal} angegeben, lässt sich ein abgestürzter Durchlauf mit denselben Aufträgen
+ * fortsetzen: Fertige Dokumente werden übersprungen und große Dokumente werden als {@link SegmentedDocument} in
+ * Abschnitten generiert, von denen nach einem Absturz nur die fehlenden Abschnitte erneut generiert werden. Jedes
+ * Dokument wird dabei zunächst in eine temporäre Datei geschrieben und erst vollständig unter seinem eigentlichen
+ * Namen abgelegt, weshalb unter diesem Namen niemals ein unvollständiges Dokument liegt.</p>
+ */
+@NotNull
+public final class BatchRunner {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die standardmäßige Anzahl an Seiten eines Abschnitts, nach dem ein Dokument im Journal gesichert wird. */
+    public static final int DEFAULT_CHECKPOINT_PAGES = 100;
+    /** Die Größe des Puffers, über den jede Datei geschrieben wird. */
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    /** Die Anzahl an Aufträgen pro Thread, die höchstens im Voraus gelesen werden. */
+    private static final int QUEUED_JOBS_PER_WORKER = 4;
+    /** Der Auftrag, welcher jedem Thread signalisiert, dass es keine weiteren Aufträge gibt. */
+    @NotNull
+    private static final BatchJob END_OF_JOBS = new BatchJob("", "", "", 0, 0, 0, 0, new File(""));
+    /** Die Anzahl an hexadezimalen Ziffern des Hashes, aus denen der Schlüssel eines Dokuments besteht. */
+    private static final int KEY_LENGTH = 32;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Anzahl an Threads, auf welche die Aufträge verteilt werden. */
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    private final int workers;
+    /** Das {@link OutputProfile}, mit dem jedes PDF-Dokument geschrieben wird. */
+    @NotNull
+    @Setter
+    private OutputProfile outputProfile = OutputProfile.BALANCED;
+    /** Die Datei des {@link BatchJournal} oder {@code null}, falls der Durchlauf nicht fortgesetzt werden kann. */
+    @Nullable
+    @Setter
+    private File journal;
+    /** Die Anzahl an Seiten eines Abschnitts, nach dem ein Dokument im Journal gesichert wird. */
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    @Setter
+    private int checkpointPages = DEFAULT_CHECKPOINT_PAGES;
+    /** Das Logo, welches auf jeden Gutschein gedruckt wird oder {@code null}. */
+    @Nullable
+    @Setter
+    private CouponImage logo;
+    /** Der Hintergrund eines jeden Gutscheins oder {@code null}. */
+    @Nullable
+    @Setter
+    private CouponImage background;
+    /** Die Schriftart, mit welcher der Text eines jeden Gutscheins geschrieben wird oder {@code null}. */
+    @Nullable
+    @Setter
+    private CouponFont font;
+    /**
+     * Wird nach jedem im {@link BatchJournal} gesicherten Abschnitt mit dessen Index aufgerufen oder {@code null}.
+     * Damit lässt sich ein Absturz direkt nach einem bestimmten Abschnitt nachstellen.
+     */
+    @Nullable
+    @Setter(AccessLevel.PACKAGE)
+    private IntConsumer segmentListener;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt einen neuen {@link BatchRunner}, welcher alle Aufträge auf eine bestimmte Anzahl an Threads verteilt.
+     *
+     * @param workers Die Anzahl an Threads, auf welche die Aufträge verteilt werden.
+     */
+    public BatchRunner(@Range(from = 1, to = Integer.MAX_VALUE) final int workers) {
+        if (workers < 1) throw new IllegalArgumentException("Es wird mindestens ein Thread benötigt.");
+
+        this.workers = workers;
+    }
+    //</editor-fold>
+
+
+    /**
+     * Generiert alle {@link BatchJob Aufträge} parallel und wartet, bis alle Aufträge abgeschlossen sind. Schlägt ein
+     * Auftrag fehl, wird der Fehler ausgegeben und mit den übrigen Aufträgen fortgefahren.
+     *
+     * @param jobs Alle Aufträge, die generiert werden sollen.
+     *
+     * @return Das Ergebnis der Generierung.
+     *
+     * @throws InterruptedException Wenn der Thread unterbrochen wird, während er auf die Aufträge wartet.
+     * @throws IOException          Wenn das Journal nicht geöffnet oder geschlossen werden kann.
+     */
+    @NotNull
+    public BatchResult run(@NotNull final List<BatchJob> jobs) throws InterruptedException, IOException {
+        return run(jobs.iterator());
+    }
+
+    /**
+     * Generiert alle {@link BatchJob Aufträge} parallel, während sie nach und nach gelesen werden, z.B. von einem
+     * {@link MappedJobReader}. Es werden nur so viele Aufträge im Voraus gelesen, wie in die Warteschlange der Threads
+     * passen. Ist diese voll, wartet das Lesen, bis ein Thread den nächsten Auftrag übernimmt. Dadurch beginnt die
+     * Generierung sofort und der benötigte Arbeitsspeicher hängt nicht von der Anzahl an Aufträgen ab.
+     *
+     * <p>Schlägt ein Auftrag fehl oder ist ein gelesener Auftrag ungültig, wird der Fehler ausgegeben und mit den
+     * übrigen Aufträgen fortgefahren.</p>
+     *
+     * @param jobs Alle Aufträge, die generiert werden sollen, in ihrer Reihenfolge.
+     *
+     * @return Das Ergebnis der Generierung.
+     *
+     * @throws InterruptedException Wenn der Thread unterbrochen wird, während er auf die Aufträge wartet.
+     * @throws IOException          Wenn das Journal nicht geöffnet oder geschlossen werden kann.
+     */
+    @NotNull
+    public BatchResult run(@NotNull final Iterator<BatchJob> jobs) throws InterruptedException, IOException {
+        if (this.journal == null) return run(jobs, null);
+
+        try (BatchJournal opened = new BatchJournal(this.journal)) {
+            return run(jobs, opened);
+        }
+    }
+
+    /**
+     * Generiert alle {@link BatchJob Aufträge} parallel, optional mithilfe eines {@link BatchJournal}. Der aufrufende
+     * Thread liest die Aufträge und übergibt sie über eine begrenzte Warteschlange an die Threads.
+     *
+     * @param jobs    Alle Aufträge, die generiert werden sollen, in ihrer Reihenfolge.
+     * @param journal Das geöffnete {@link BatchJournal} oder {@code null}.
+     *
+     * @return Das Ergebnis der Generierung.
+     *
+     * @throws InterruptedException Wenn der Thread unterbrochen wird, während er auf die Aufträge wartet.
+     */
+    @NotNull
+    private BatchResult run(
+        @NotNull final Iterator<BatchJob> jobs,
+        @Nullable final BatchJournal journal
+    ) throws InterruptedException {
+        final BlockingQueue<BatchJob> queue = new ArrayBlockingQueue<>(this.workers * QUEUED_JOBS_PER_WORKER);
+        final ExecutorService executor = Executors.newFixedThreadPool(this.workers);
+        final LongAdder documents = new LongAdder();
+        final LongAdder coupons = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final long start = System.nanoTime();
+
+        try {
+            for (int i = 0; i < this.workers; i++) {
+                executor.execute(() -> {
+                    try {
+                        BatchJob job;
+
+                        while ((job = queue.take()) != END_OF_JOBS) {
+                            try {
+                                if (generate(job, journal)) {
+                                    skipped.increment();
+                                    continue;
+                                }
+
+                                documents.increment();
+                                coupons.add(job.getAmount());
+                            } catch (@NotNull final Throwable e) {
+                                // any failure only fails its own document, so that the worker keeps taking jobs
+                                failed.increment();
+                                System.err.println("Fehler beim Generieren von " + job.getOutput() + ": " + e);
+                            }
+                        }
+                    } catch (@NotNull final InterruptedException ignored) {
+                        // the run has been aborted
+                    }
+                });
+            }
+
+            while (true) {
+                final BatchJob job;
+
+                try {
+                    if (!jobs.hasNext()) break;
+                    job = jobs.next();
+                } catch (@NotNull final IllegalArgumentException e) {
+                    failed.increment();
+                    System.err.println("Fehler beim Lesen eines Auftrags: " + e.getMessage());
+                    continue;
+                }
+
+                // blocks while all workers are busy and the queue is full
+                queue.put(job);
+            }
+
+            for (int i = 0; i < this.workers; i++) {
+                queue.put(END_OF_JOBS);
+            }
+
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+            return new BatchResult(
+                documents.sum(),
+                coupons.sum(),
+                skipped.sum(),
+                failed.sum(),
+                System.nanoTime() - start
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Generiert einen einzelnen {@link BatchJob Auftrag}.
+     *
+     * @param job     Der Auftrag, der generiert werden soll.
+     * @param journal Das geöffnete {@link BatchJournal} oder {@code null}.
+     *
+     * @return Ob der Auftrag übersprungen wurde, da er laut dem {@link BatchJournal} bereits fertig ist.
+     *
+     * @throws Exception Wenn das Dokument nicht generiert werden kann.
+     */
+    private boolean generate(@NotNull final BatchJob job, @Nullable final BatchJournal journal) throws Exception {
+        final Coupon coupon = job.toCoupon();
+        coupon.setRenderMode(RenderMode.GRID);
+        coupon.setOutputProfile(this.outputProfile);
+        coupon.setLogo(this.logo);
+        coupon.setBackground(this.background);
+        coupon.setFont(this.font);
+
+        if (journal == null) {
+            coupon.generate(job.getOutput());
+            return false;
+        }
+
+        final File output = job.getOutput();
+        final String key = createKey(output, coupon);
+        final long documentBytes = journal.getDocument(key);
+
+        if (documentBytes >= 0 && output.isFile() && output.length() == documentBytes) {
+            // parts are only left over if the run crashed right after the document was completed
+            deleteParts(output);
+            return true;
+        }
+
+        final SegmentedDocument document = new SegmentedDocument(coupon, this.checkpointPages);
+        final File temporary = getSibling(output, ".tmp");
+        final List<File> parts = new ArrayList<>(document.getSegments());
+
+        if (document.getSegments() == 1) {
+            writeDurably(temporary, out -> document.writeSegment(0, out));
+        } else {
+            for (int segment = 0; segment < document.getSegments(); segment++) {
+                final int index = segment;
+                final File part = getPart(output, segment);
+                parts.add(part);
+
+                // reuse the segments of a crashed run
+                final long partBytes = journal.getSegment(key, segment);
+                if (partBytes >= 0 && part.isFile() && part.length() == partBytes) continue;
+
+                writeDurably(part, out -> document.writeSegment(index, out));
+                journal.recordSegment(key, segment, part.length());
+                if (this.segmentListener != null) this.segmentListener.accept(segment);
+            }
+
+            writeDurably(temporary, out -> SegmentedDocument.merge(parts, out, coupon));
+        }
+
+        Files.move(
+            temporary.toPath(),
+            output.toPath(),
+            StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING
+        );
+
+        // the segments are needed until the completed document is known to the synced journal
+        journal.recordDocument(key, output.length(), () -> deleteParts(output));
+        return false;
+    }
+
+    /**
+     * Schreibt den Inhalt einer Datei gepuffert und synchronisiert die Datei anschließend auf die Festplatte, bevor sie
+     * im {@link BatchJournal} festgehalten wird.
+     *
+     * @param file    Die Datei, die geschrieben wird.
+     * @param content Der Inhalt der Datei.
+     *
+     * @throws Exception Wenn die Datei nicht geschrieben werden kann.
+     */
+    private static void writeDurably(@NotNull final File file, @NotNull final FileContent content) throws Exception {
+        try (FileOutputStream stream = new FileOutputStream(file)) {
+            final OutputStream out = new BufferedOutputStream(stream, OUTPUT_BUFFER_SIZE);
+
+            content.writeTo(out);
+            out.flush();
+            stream.getFD().sync();
+        }
+    }
+
+    /**
+     * Löscht alle Abschnitte eines Dokuments, die noch vorhanden sind.
+     *
+     * @param output Die Datei des Dokuments.
+     */
+    private static void deleteParts(@NotNull final File output) {
+        for (int segment = 0; ; segment++) {
+            final File part = getPart(output, segment);
+            if (!part.delete() && !part.exists()) return;
+        }
+    }
+
+    /**
+     * Gibt die Datei eines Abschnitts eines Dokuments zurück ({@code <Dokument>.part-1}, {@code <Dokument>.part-2},
+     * ...).
+     *
+     * @param output  Die Datei des Dokuments.
+     * @param segment Der Abschnitt, beginnend bei {@code 0}.
+     *
+     * @return Die Datei des Abschnitts, im selben Ordner wie das Dokument.
+     */
+    @NotNull
+    private static File getPart(
+        @NotNull final File output,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int segment
+    ) {
+        return getSibling(output, ".part-" + (segment + 1));
+    }
+
+    /**
+     * Gibt eine Datei im selben Ordner wie ein Dokument zurück, deren Name um eine Endung erweitert wurde. Damit liegt
+     * die Datei im selben Dateisystem und kann ohne Kopie umbenannt werden.
+     *
+     * @param output Die Datei des Dokuments.
+     * @param suffix Die Endung, um die der Name erweitert wird.
+     *
+     * @return Die Datei mit dem erweiterten Namen.
+     */
+    @NotNull
+    private static File getSibling(@NotNull final File output, @NotNull final String suffix) {
+        return new File(output.getAbsoluteFile().getParentFile(), output.getName() + suffix);
+    }
+
+    /**
+     * Erstellt den Schlüssel eines Dokuments im {@link BatchJournal}. Der Schlüssel ändert sich, sobald sich der Ort,
+     * der Inhalt oder die Aufteilung des Dokuments ändert, weshalb ein geänderter Auftrag niemals als fertig gilt.
+     *
+     * @param output Die Datei des Dokuments.
+     * @param coupon Der {@link Coupon} des Dokuments.
+     *
+     * @return Der Schlüssel des Dokuments als Hexadezimalzahl.
+     */
+    @NotNull
+    private String createKey(@NotNull final File output, @NotNull final Coupon coupon) {
+        final String key = output.getAbsolutePath() + ';' + coupon.getCacheKey() + ';' + this.checkpointPages;
+        return Hashes.sha256(key).substring(0, KEY_LENGTH);
+    }
+
+    /**
+     * Der Inhalt einer Datei, welcher von {@link #writeDurably(File, FileContent)} geschrieben wird.
+     */
+    @FunctionalInterface
+    private interface FileContent {
+
+        /**
+         * Schreibt den Inhalt in einen {@link OutputStream}, ohne diesen zu schließen.
+         *
+         * @param out Der {@link OutputStream}, in den der Inhalt geschrieben wird.
+         *
+         * @throws Exception Wenn der Inhalt nicht geschrieben werden kann.
+         */
+        void writeTo(@NotNull OutputStream out) throws Exception;
+
+    }
+
+}
@@ -0,0 +1,159 @@
+package de.jonas.batch;
+
+import de.jonas.utility.JsonObjectParser;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <p>Mithilfe des {@link JobFileReader} wird eine Auftragsdatei eingelesen, in der jede Zeile genau ein PDF-Dokument
+ * in Form eines {@link BatchJob} beschreibt.</p>
+ * <p>Dateien mit der Endung {@code .jsonl} oder {@code .json} enthalten pro Zeile ein JSON-Objekt, alle anderen
+ * Dateien werden als CSV-Datei gelesen, deren Spalten in der Reihenfolge von {@link BatchJob#COLUMNS} stehen. Leere
+ * Zeilen, Zeilen die mit {@code #} beginnen und eine Kopfzeile in der ersten Zeile werden übersprungen.</p>
+ */
+@NotNull
+public final class JobFileReader {
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Der Konstruktor dieser Klasse ist privat, da es sich um eine reine Hilfsklasse handelt.
+     */
+    private JobFileReader() {
+        throw new UnsupportedOperationException();
+    }
+    //</editor-fold>
+
+
+    /**
+     * Liest alle {@link BatchJob Aufträge} aus einer Auftragsdatei auf einmal ein. Sehr große Auftragsdateien sollten
+     * stattdessen mit einem {@link MappedJobReader} nach und nach gelesen werden.
+     *
+     * @param file Die Auftragsdatei.
+     *
+     * @return Alle {@link BatchJob Aufträge} der Datei, in ihrer Reihenfolge.
+     *
+     * @throws IOException              Wenn die Datei nicht gelesen werden kann.
+     * @throws IllegalArgumentException Wenn eine Zeile ungültig ist.
+     */
+    @NotNull
+    public static List<BatchJob> read(@NotNull final File file) throws IOException {
+        final List<BatchJob> jobs = new ArrayList<>();
+
+        try (MappedJobReader reader = new MappedJobReader(file)) {
+            reader.forEachRemaining(jobs::add);
+        }
+
+        return jobs;
+    }
+
+    /**
+     * Prüft, ob eine bestimmte Auftragsdatei JSON-Objekte anstatt CSV-Zeilen enthält.
+     *
+     * @param file Die Auftragsdatei.
+     *
+     * @return {@code true}, wenn die Datei JSON-Objekte enthält.
+     */
+    public static boolean isJson(@NotNull final File file) {
+        final String name = file.getName().toLowerCase(Locale.ROOT);
+        return name.endsWith(".jsonl") || name.endsWith(".json");
+    }
+
+    /**
+     * Prüft, ob eine Zeile keinen Auftrag enthält und deshalb übersprungen wird. Eine Kopfzeile wird nur als erste
+     * Zeile der Datei erkannt, damit kein Auftrag übersprungen wird, dessen Empfänger wie die erste Spalte heißt.
+     *
+     * @param line  Die Zeile.
+     * @param first Ob es sich um die erste Zeile der Auftragsdatei handelt.
+     *
+     * @return {@code true}, wenn die Zeile übersprungen wird.
+     */
+    public static boolean isSkipped(@NotNull final String line, final boolean first) {
+        final String trimmed = line.trim();
+        return trimmed.isEmpty()
+            || trimmed.startsWith("#")
+            || (first && trimmed.toLowerCase(Locale.ROOT).startsWith(BatchJob.COLUMNS[0] + ","));
+    }
+
+    /**
+     * Wandelt eine einzelne Zeile einer Auftragsdatei in einen {@link BatchJob} um.
+     *
+     * @param line Die Zeile.
+     * @param json Ob die Zeile ein JSON-Objekt anstatt einer CSV-Zeile enthält.
+     *
+     * @return Der {@link BatchJob}, welcher durch die Zeile beschrieben wird.
+     */
+    @NotNull
+    public static BatchJob parseLine(@NotNull final String line, final boolean json) {
+        if (json) return BatchJob.of(JsonObjectParser.parse(line.trim()));
+
+        final List<String> fields = splitCsv(line);
+
+        if (fields.size() != BatchJob.COLUMNS.length) {
+            throw new IllegalArgumentException(
+                BatchJob.COLUMNS.length + " Spalten erwartet, aber " + fields.size() + " gefunden"
+            );
+        }
+
+        final Map<String, String> values = new HashMap<>();
+
+        for (int i = 0; i < fields.size(); i++) {
+            values.put(BatchJob.COLUMNS[i], fields.get(i));
+        }
+
+        return BatchJob.of(values);
+    }
+
+    /**
+     * Teilt eine CSV-Zeile in ihre einzelnen Felder auf. Felder können in doppelte Anführungszeichen gesetzt werden,
+     * damit sie Kommas enthalten dürfen; doppelte Anführungszeichen innerhalb eines solchen Feldes werden verdoppelt.
+     *
+     * @param line Die CSV-Zeile.
+     *
+     * @return Alle Felder der Zeile.
+     */
+    @NotNull
+    private static List<String> splitCsv(@NotNull final String line) {
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            final char current = line.charAt(i);
+
+            if (quoted) {
+                if (current != '"') {
+                    field.append(current);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+                continue;
+            }
+
+            if (current == '"') {
+                quoted = true;
+            } else if (current == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(current);
+            }
+        }
+
+        if (quoted) throw new IllegalArgumentException("nicht geschlossenes Anführungszeichen");
+
+        fields.add(field.toString());
+        return fields;
+    }
+
+}
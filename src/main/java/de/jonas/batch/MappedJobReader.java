@@ -0,0 +1,209 @@
+package de.jonas.batch;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Ein {@link MappedJobReader} liest die {@link BatchJob Aufträge} einer Auftragsdatei erst dann, wenn sie benötigt
+ * werden. Die Datei wird dafür abschnittsweise in den Speicher abgebildet, sodass das Betriebssystem die Seiten der
+ * Datei direkt aus seinem Cache liefert und nur die aktuelle Zeile als {@link String} im Heap liegt. Der benötigte
+ * Arbeitsspeicher hängt somit nicht von der Größe der Auftragsdatei ab.</p>
+ * <p>Das Format der Datei entspricht dem des {@link JobFileReader}. Ist eine Zeile ungültig, wirft {@link #next()}
+ * eine {@link IllegalArgumentException} mit der Nummer der Zeile, danach kann mit der nächsten Zeile fortgefahren
+ * werden.</p>
+ */
+@NotNull
+public final class MappedJobReader implements Iterator<BatchJob>, Closeable {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Anzahl an Bytes, die höchstens gleichzeitig in den Speicher abgebildet werden. */
+    private static final int WINDOW_BYTES = 64 * 1024 * 1024;
+    /** Die anfängliche Größe des Puffers einer Zeile in Bytes. */
+    private static final int INITIAL_LINE_BYTES = 256;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der {@link FileChannel} der Auftragsdatei. */
+    @NotNull
+    private final FileChannel channel;
+    /** Die Größe der Auftragsdatei in Bytes. */
+    private final long size;
+    /** Ob die Auftragsdatei JSON-Objekte anstatt CSV-Zeilen enthält. */
+    private final boolean json;
+    /** Der aktuell in den Speicher abgebildete Abschnitt der Auftragsdatei. */
+    @NotNull
+    private MappedByteBuffer window;
+    /** Die Position des aktuellen Abschnitts innerhalb der Auftragsdatei. */
+    private long windowStart;
+    /** Die Position der nächsten Zeile innerhalb des aktuellen Abschnitts. */
+    private int offset;
+    /** Der Puffer, in den die Bytes jeder Zeile kopiert werden, bevor sie dekodiert werden. */
+    private byte @NotNull [] line = new byte[INITIAL_LINE_BYTES];
+    /** Die Nummer der zuletzt gelesenen Zeile. */
+    private int number;
+    /** Die nächste Zeile, die einen Auftrag enthält, oder {@code null}, falls sie noch nicht gesucht wurde. */
+    @Nullable
+    private String pending;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Öffnet eine Auftragsdatei, ohne bereits einen Auftrag zu lesen.
+     *
+     * @param file Die Auftragsdatei.
+     *
+     * @throws IOException Wenn die Datei nicht geöffnet werden kann.
+     */
+    public MappedJobReader(@NotNull final File file) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.size = this.channel.size();
+        this.json = JobFileReader.isJson(file);
+
+        try {
+            this.window = map(0);
+        } catch (@NotNull final IOException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+    //</editor-fold>
+
+
+    /**
+     * Sucht die nächste Zeile, die einen Auftrag enthält, ohne diese bereits umzuwandeln.
+     *
+     * @return {@code true}, wenn es einen weiteren Auftrag gibt.
+     *
+     * @throws UncheckedIOException Wenn die Datei nicht gelesen werden kann.
+     */
+    @Override
+    public boolean hasNext() {
+        while (this.pending == null) {
+            @Nullable final String line;
+
+            try {
+                line = readLine();
+            } catch (@NotNull final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            if (line == null) return false;
+            if (!JobFileReader.isSkipped(line, this.number == 1)) this.pending = line;
+        }
+
+        return true;
+    }
+
+    /**
+     * Wandelt die nächste Zeile, die einen Auftrag enthält, in einen {@link BatchJob} um.
+     *
+     * @return Der nächste {@link BatchJob} der Auftragsdatei.
+     *
+     * @throws NoSuchElementException   Wenn es keinen weiteren Auftrag gibt.
+     * @throws IllegalArgumentException Wenn die Zeile ungültig ist. Die Zeile gilt trotzdem als gelesen.
+     */
+    @NotNull
+    @Override
+    public BatchJob next() {
+        if (!hasNext()) throw new NoSuchElementException();
+
+        final String line = this.pending;
+        this.pending = null;
+
+        try {
+            return JobFileReader.parseLine(line, this.json);
+        } catch (@NotNull final IllegalArgumentException e) {
+            throw new IllegalArgumentException("Zeile " + this.number + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Liest die nächste Zeile der Auftragsdatei, ohne Zeilenumbruch. Reicht eine Zeile über das Ende des aktuellen
+     * Abschnitts hinaus, wird ein neuer Abschnitt ab dem Anfang dieser Zeile in den Speicher abgebildet.
+     *
+     * @return Die nächste Zeile oder {@code null}, falls das Ende der Datei erreicht wurde.
+     *
+     * @throws IOException Wenn die Datei nicht gelesen werden kann oder eine Zeile länger als ein Abschnitt ist.
+     */
+    @Nullable
+    private String readLine() throws IOException {
+        if (this.windowStart + this.offset >= this.size) return null;
+
+        int length = copyLine();
+
+        if (this.offset + length == this.window.limit() && this.windowStart + this.window.limit() < this.size) {
+            // the line continues in the next window, so the next window starts with this line
+            this.window = map(this.windowStart + this.offset);
+            length = copyLine();
+
+            if (length == this.window.limit() && this.windowStart + length < this.size) {
+                throw new IOException("Zeile " + (this.number + 1) + " ist länger als " + WINDOW_BYTES + " Bytes");
+            }
+        }
+
+        // skip the line and its line break, if there is one
+        this.offset += Math.min(length + 1, this.window.limit() - this.offset);
+        this.number++;
+
+        final int end = (length > 0 && this.line[length - 1] == '\r') ? length - 1 : length;
+        return new String(this.line, 0, end, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Kopiert die Bytes ab der aktuellen Position bis zum nächsten Zeilenumbruch oder bis zum Ende des aktuellen
+     * Abschnitts in den wiederverwendeten Puffer einer Zeile, welcher dafür bei Bedarf vergrößert wird.
+     *
+     * @return Die Anzahl an kopierten Bytes, ohne den Zeilenumbruch.
+     */
+    private int copyLine() {
+        final int limit = this.window.limit();
+        int length = 0;
+
+        for (int i = this.offset; i < limit; i++) {
+            final byte current = this.window.get(i);
+            if (current == '\n') break;
+
+            if (length == this.line.length) this.line = Arrays.copyOf(this.line, 2 * length);
+            this.line[length++] = current;
+        }
+
+        return length;
+    }
+
+    /**
+     * Bildet einen Abschnitt der Auftragsdatei ab einer bestimmten Position in den Speicher ab.
+     *
+     * @param start Die Position in der Auftragsdatei, an welcher der Abschnitt beginnt.
+     *
+     * @return Der abgebildete Abschnitt.
+     *
+     * @throws IOException Wenn die Datei nicht abgebildet werden kann.
+     */
+    @NotNull
+    private MappedByteBuffer map(final long start) throws IOException {
+        this.windowStart = start;
+        this.offset = 0;
+        return this.channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_BYTES, this.size - start));
+    }
+
+}
@@ -0,0 +1,5 @@
+/**
+ * In diesem Package befinden sich alle Klassen, mit denen Gutscheine ohne grafische Oberfläche, anhand einer
+ * Auftragsdatei, über die Kommandozeile generiert werden können.
+ */
+package de.jonas.batch;
@@ -0,0 +1,134 @@
+package de.jonas.cache;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Die {@link CacheStatistics} zählen alle Treffer, Fehlschläge und Verdrängungen eines {@link PdfCache}, damit dieser
+ * überwacht werden kann. Alle Zähler können von beliebig vielen Threads gleichzeitig erhöht und gelesen werden.
+ */
+@NotNull
+public final class CacheStatistics {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Anzahl an Anfragen, die aus dem Arbeitsspeicher beantwortet wurden. */
+    @NotNull
+    private final LongAdder memoryHits = new LongAdder();
+    /** Die Anzahl an Anfragen, die von der Festplatte beantwortet wurden. */
+    @NotNull
+    private final LongAdder diskHits = new LongAdder();
+    /** Die Anzahl an Anfragen, für die das PDF-Dokument generiert werden musste. */
+    @NotNull
+    private final LongAdder misses = new LongAdder();
+    /** Die Anzahl an PDF-Dokumenten, die aus dem Arbeitsspeicher verdrängt wurden. */
+    @NotNull
+    private final LongAdder memoryEvictions = new LongAdder();
+    /** Die Anzahl an PDF-Dokumenten, die von der Festplatte verdrängt wurden. */
+    @NotNull
+    private final LongAdder diskEvictions = new LongAdder();
+    //</editor-fold>
+
+
+    /**
+     * Gibt die Anzahl an Anfragen zurück, die aus dem Arbeitsspeicher beantwortet wurden.
+     *
+     * @return Die Anzahl an Anfragen, die aus dem Arbeitsspeicher beantwortet wurden.
+     */
+    public long getMemoryHits() {
+        return this.memoryHits.sum();
+    }
+
+    /**
+     * Gibt die Anzahl an Anfragen zurück, die von der Festplatte beantwortet wurden.
+     *
+     * @return Die Anzahl an Anfragen, die von der Festplatte beantwortet wurden.
+     */
+    public long getDiskHits() {
+        return this.diskHits.sum();
+    }
+
+    /**
+     * Gibt die Anzahl an Anfragen zurück, für die das PDF-Dokument generiert werden musste.
+     *
+     * @return Die Anzahl an Anfragen, für die das PDF-Dokument generiert werden musste.
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Gibt die Anzahl an PDF-Dokumenten zurück, die aus dem Arbeitsspeicher verdrängt wurden.
+     *
+     * @return Die Anzahl an PDF-Dokumenten, die aus dem Arbeitsspeicher verdrängt wurden.
+     */
+    public long getMemoryEvictions() {
+        return this.memoryEvictions.sum();
+    }
+
+    /**
+     * Gibt die Anzahl an PDF-Dokumenten zurück, die von der Festplatte verdrängt wurden.
+     *
+     * @return Die Anzahl an PDF-Dokumenten, die von der Festplatte verdrängt wurden.
+     */
+    public long getDiskEvictions() {
+        return this.diskEvictions.sum();
+    }
+
+    /**
+     * Zählt eine Anfrage, die aus dem Arbeitsspeicher beantwortet wurde.
+     */
+    void recordMemoryHit() {
+        this.memoryHits.increment();
+    }
+
+    /**
+     * Zählt eine Anfrage, die von der Festplatte beantwortet wurde.
+     */
+    void recordDiskHit() {
+        this.diskHits.increment();
+    }
+
+    /**
+     * Zählt eine Anfrage, für die das PDF-Dokument generiert werden musste.
+     */
+    void recordMiss() {
+        this.misses.increment();
+    }
+
+    /**
+     * Zählt ein PDF-Dokument, welches aus dem Arbeitsspeicher verdrängt wurde.
+     */
+    void recordMemoryEviction() {
+        this.memoryEvictions.increment();
+    }
+
+    /**
+     * Zählt ein PDF-Dokument, welches von der Festplatte verdrängt wurde.
+     */
+    void recordDiskEviction() {
+        this.diskEvictions.increment();
+    }
+
+    /**
+     * Gibt alle Zähler als flaches JSON-Objekt zurück.
+     *
+     * @return Alle Zähler als flaches JSON-Objekt.
+     */
+    @NotNull
+    public String toJson() {
+        return "{\"memoryHits\":" + getMemoryHits()
+            + ",\"diskHits\":" + getDiskHits()
+            + ",\"misses\":" + getMisses()
+            + ",\"memoryEvictions\":" + getMemoryEvictions()
+            + ",\"diskEvictions\":" + getDiskEvictions()
+            + "}";
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "CacheStatistics" + toJson();
+    }
+
+}
@@ -0,0 +1,407 @@
+package de.jonas.cache;
+
+import de.jonas.object.Coupon;
+import de.jonas.utility.Hashes;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Ein {@link PdfCache} speichert bereits generierte PDF-Dokumente anhand eines Hashes über alle Parameter des
+ * jeweiligen {@link Coupon} (siehe {@link Coupon#getCacheKey()}), sodass eine gleiche Anfrage nicht erneut generiert
+ * werden muss.</p>
+ * <p>Der Cache besteht aus zwei Stufen, die jeweils die am längsten nicht genutzten Dokumente verdrängen, sobald ihre
+ * Größe überschritten wird: Kleine Dokumente werden im Arbeitsspeicher gehalten, größere Dokumente und alle aus dem
+ * Arbeitsspeicher verdrängten Dokumente werden in einem Verzeichnis auf der Festplatte abgelegt. Das Verzeichnis
+ * bleibt über einen Neustart hinweg erhalten und wird beim Erzeugen des {@link PdfCache} erneut eingelesen.</p>
+ */
+@NotNull
+public final class PdfCache {
+
+    //<editor-fold desc="CONSTANTS">
+    /**
+     * Die Version des Formats der generierten Dokumente. Sie fließt in jeden Hash ein und muss erhöht werden, sobald
+     * sich die Ausgabe bei gleichen Parametern ändert, damit keine veralteten Dokumente ausgeliefert werden.
+     */
+    @NotNull
+    private static final String FORMAT_VERSION = "2";
+    /** Die Dateiendung aller Dokumente auf der Festplatte. */
+    @NotNull
+    private static final String EXTENSION = ".pdf";
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die maximale Größe aller Dokumente im Arbeitsspeicher in Bytes. */
+    private final long memoryBytes;
+    /** Die maximale Größe eines einzelnen Dokuments, bis zu der es im Arbeitsspeicher gehalten wird. */
+    private final int memoryEntryMaxBytes;
+    /** Die maximale Größe aller Dokumente auf der Festplatte in Bytes. */
+    private final long diskBytes;
+    /** Das Verzeichnis, in dem die Dokumente auf der Festplatte abgelegt werden. */
+    @NotNull
+    private final Path directory;
+    /** Alle Dokumente im Arbeitsspeicher anhand ihres Hashes, vom am längsten nicht genutzten Dokument an sortiert. */
+    @NotNull
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+    /** Die Größe aller Dokumente auf der Festplatte anhand ihres Hashes, ebenfalls nach ihrer Nutzung sortiert. */
+    @NotNull
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(16, 0.75f, true);
+    /** Die Zähler aller Treffer, Fehlschläge und Verdrängungen dieses {@link PdfCache}. */
+    @Getter
+    @NotNull
+    private final CacheStatistics statistics = new CacheStatistics();
+    /** Die aktuelle Größe aller Dokumente im Arbeitsspeicher in Bytes. */
+    private long memorySize;
+    /** Die aktuelle Größe aller Dokumente auf der Festplatte in Bytes. */
+    private long diskSize;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt einen neuen {@link PdfCache} und liest alle Dokumente ein, die sich bereits im Verzeichnis befinden.
+     *
+     * @param memoryBytes         Die maximale Größe aller Dokumente im Arbeitsspeicher in Bytes.
+     * @param memoryEntryMaxBytes Die maximale Größe eines einzelnen Dokuments, bis zu der es im Arbeitsspeicher
+     *                            gehalten wird.
+     * @param directory           Das Verzeichnis, in dem die Dokumente auf der Festplatte abgelegt werden.
+     * @param diskBytes           Die maximale Größe aller Dokumente auf der Festplatte in Bytes.
+     *
+     * @throws IOException Wenn das Verzeichnis nicht erstellt oder gelesen werden kann.
+     */
+    public PdfCache(
+        @Range(from = 0, to = Long.MAX_VALUE) final long memoryBytes,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int memoryEntryMaxBytes,
+        @NotNull final File directory,
+        @Range(from = 0, to = Long.MAX_VALUE) final long diskBytes
+    ) throws IOException {
+        this.memoryBytes = memoryBytes;
+        this.memoryEntryMaxBytes = (int) Math.min(memoryEntryMaxBytes, memoryBytes);
+        this.diskBytes = diskBytes;
+        this.directory = Files.createDirectories(directory.toPath());
+
+        loadDirectory();
+    }
+    //</editor-fold>
+
+
+    /**
+     * Gibt das PDF-Dokument eines {@link Coupon} zurück. Befindet es sich noch nicht in diesem {@link PdfCache}, wird
+     * es generiert und anschließend abgelegt. Der zurückgegebene {@link ByteBuffer} kann nur gelesen werden.
+     *
+     * @param coupon Der {@link Coupon}, dessen PDF-Dokument zurückgegeben wird.
+     *
+     * @return Das PDF-Dokument des {@link Coupon}, bereit zum Lesen.
+     *
+     * @throws UncheckedIOException Wenn das Dokument nicht auf der Festplatte gelesen oder abgelegt werden kann.
+     */
+    @NotNull
+    public ByteBuffer get(@NotNull final Coupon coupon) {
+        final String hash = hash(coupon.getCacheKey());
+
+        try {
+            @Nullable final ByteBuffer cached = lookup(hash);
+            if (cached != null) return cached;
+
+            this.statistics.recordMiss();
+            return generate(hash, coupon);
+        } catch (@NotNull final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Sucht ein Dokument zuerst im Arbeitsspeicher und anschließend auf der Festplatte.
+     *
+     * @param hash Der Hash des Dokuments.
+     *
+     * @return Das gefundene Dokument oder {@code null}, falls es sich nicht in diesem {@link PdfCache} befindet.
+     *
+     * @throws IOException Wenn das Dokument nicht von der Festplatte gelesen werden kann.
+     */
+    @Nullable
+    private ByteBuffer lookup(@NotNull final String hash) throws IOException {
+        synchronized (this) {
+            @Nullable final byte[] bytes = this.memory.get(hash);
+
+            if (bytes != null) {
+                this.statistics.recordMemoryHit();
+                return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+            }
+
+            if (this.disk.get(hash) == null) return null;
+        }
+
+        final Path file = getFile(hash);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer pdf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            // keep the order of use across restarts
+            file.toFile().setLastModified(System.currentTimeMillis());
+            this.statistics.recordDiskHit();
+            return pdf;
+        } catch (@NotNull final IOException e) {
+            // the file has been evicted in the meantime
+            if (Files.notExists(file)) return null;
+            throw e;
+        }
+    }
+
+    /**
+     * Generiert das Dokument eines {@link Coupon} und legt es je nach seiner Größe im Arbeitsspeicher oder auf der
+     * Festplatte ab. Das Dokument wird dabei nur so lange im Arbeitsspeicher gehalten, wie es klein genug für den
+     * Arbeitsspeicher ist, und ansonsten direkt in eine temporäre Datei geschrieben.
+     *
+     * @param hash   Der Hash des Dokuments.
+     * @param coupon Der {@link Coupon}, dessen Dokument generiert wird.
+     *
+     * @return Das generierte Dokument.
+     *
+     * @throws IOException Wenn das Dokument nicht auf der Festplatte abgelegt werden kann.
+     */
+    @NotNull
+    private ByteBuffer generate(@NotNull final String hash, @NotNull final Coupon coupon) throws IOException {
+        final SpillOutputStream out = new SpillOutputStream();
+
+        try {
+            coupon.generate(out);
+            out.close();
+        } catch (@NotNull final Throwable e) {
+            // the document exception of the generation is thrown sneakily and must not leak the spill file
+            out.discard();
+            throw e;
+        }
+
+        @Nullable final Path spilled = out.getFile();
+
+        if (spilled == null) {
+            final byte[] bytes = out.toByteArray();
+            putMemory(hash, bytes);
+            return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+        }
+
+        final Path file = getFile(hash);
+        Files.move(spilled, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer pdf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            putDisk(hash, channel.size());
+            return pdf;
+        }
+    }
+
+    /**
+     * Legt ein Dokument im Arbeitsspeicher ab und verdrängt so lange die am längsten nicht genutzten Dokumente auf die
+     * Festplatte, bis die maximale Größe wieder eingehalten wird.
+     *
+     * @param hash  Der Hash des Dokuments.
+     * @param bytes Das Dokument.
+     *
+     * @throws IOException Wenn ein verdrängtes Dokument nicht auf der Festplatte abgelegt werden kann.
+     */
+    private void putMemory(@NotNull final String hash, final byte @NotNull [] bytes) throws IOException {
+        final List<Map.Entry<String, byte[]>> evicted = new ArrayList<>();
+
+        synchronized (this) {
+            @Nullable final byte[] previous = this.memory.put(hash, bytes);
+            this.memorySize += bytes.length - ((previous == null) ? 0 : previous.length);
+
+            final Iterator<Map.Entry<String, byte[]>> iterator = this.memory.entrySet().iterator();
+
+            while (this.memorySize > this.memoryBytes && iterator.hasNext()) {
+                final Map.Entry<String, byte[]> eldest = iterator.next();
+                iterator.remove();
+
+                this.memorySize -= eldest.getValue().length;
+                this.statistics.recordMemoryEviction();
+                evicted.add(eldest);
+            }
+        }
+
+        // write evicted documents outside of the lock
+        for (@NotNull final Map.Entry<String, byte[]> entry : evicted) {
+            final Path temp = Files.createTempFile(this.directory, null, ".tmp");
+
+            Files.write(temp, entry.getValue());
+            Files.move(
+                temp,
+                getFile(entry.getKey()),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE
+            );
+            putDisk(entry.getKey(), entry.getValue().length);
+        }
+    }
+
+    /**
+     * Nimmt ein Dokument, welches bereits auf der Festplatte abgelegt wurde, in diesen {@link PdfCache} auf und löscht
+     * so lange die am längsten nicht genutzten Dokumente, bis die maximale Größe wieder eingehalten wird.
+     *
+     * @param hash Der Hash des Dokuments.
+     * @param size Die Größe des Dokuments in Bytes.
+     */
+    private void putDisk(@NotNull final String hash, final long size) {
+        final List<String> evicted = new ArrayList<>();
+
+        synchronized (this) {
+            @Nullable final Long previous = this.disk.put(hash, size);
+            this.diskSize += size - ((previous == null) ? 0 : previous);
+
+            final Iterator<Map.Entry<String, Long>> iterator = this.disk.entrySet().iterator();
+
+            while (this.diskSize > this.diskBytes && iterator.hasNext()) {
+                final Map.Entry<String, Long> eldest = iterator.next();
+                iterator.remove();
+
+                this.diskSize -= eldest.getValue();
+                this.statistics.recordDiskEviction();
+                evicted.add(eldest.getKey());
+            }
+        }
+
+        for (@NotNull final String key : evicted) {
+            // a file that is still mapped elsewhere may not be deletable on every platform; it is retried on restart
+            getFile(key).toFile().delete();
+        }
+    }
+
+    /**
+     * Liest alle Dokumente ein, die sich bereits im Verzeichnis befinden, und löscht übrig gebliebene temporäre
+     * Dateien. Die Dokumente werden anhand ihres letzten Zugriffs sortiert.
+     *
+     * @throws IOException Wenn das Verzeichnis nicht gelesen werden kann.
+     */
+    private void loadDirectory() throws IOException {
+        @Nullable final File[] files = this.directory.toFile().listFiles();
+        if (files == null) throw new IOException("Das Verzeichnis kann nicht gelesen werden: " + this.directory);
+
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+
+        for (@NotNull final File file : files) {
+            final String name = file.getName();
+
+            if (name.endsWith(".tmp")) {
+                file.delete();
+            } else if (name.endsWith(EXTENSION)) {
+                putDisk(name.substring(0, name.length() - EXTENSION.length()), file.length());
+            }
+        }
+    }
+
+    /**
+     * Gibt die Datei zurück, unter der ein Dokument auf der Festplatte abgelegt wird.
+     *
+     * @param hash Der Hash des Dokuments.
+     *
+     * @return Die Datei, unter der das Dokument auf der Festplatte abgelegt wird.
+     */
+    @NotNull
+    private Path getFile(@NotNull final String hash) {
+        return this.directory.resolve(hash + EXTENSION);
+    }
+
+    /**
+     * Berechnet den SHA-256-Hash eines Cache-Schlüssels als Text.
+     *
+     * @param key Der Cache-Schlüssel.
+     *
+     * @return Der Hash des Cache-Schlüssels in hexadezimaler Darstellung.
+     */
+    @NotNull
+    private static String hash(@NotNull final String key) {
+        return Hashes.sha256(FORMAT_VERSION + ';' + key);
+    }
+
+
+    /**
+     * Ein {@link SpillOutputStream} hält alle geschriebenen Bytes so lange im Arbeitsspeicher, bis sie die maximale
+     * Größe eines einzelnen Dokuments im Arbeitsspeicher überschreiten, und schreibt ab dann alle Bytes in eine
+     * temporäre Datei im Verzeichnis dieses {@link PdfCache}.
+     */
+    private final class SpillOutputStream extends OutputStream {
+
+        //<editor-fold desc="LOCAL FIELDS">
+        /** Alle Bytes, solange sie noch im Arbeitsspeicher gehalten werden. */
+        @NotNull
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        /** Die temporäre Datei, sobald die Bytes nicht mehr im Arbeitsspeicher gehalten werden. */
+        @Getter
+        @Nullable
+        private Path file;
+        /** Der Stream in die temporäre Datei. */
+        @Nullable
+        private OutputStream fileOut;
+        //</editor-fold>
+
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte @NotNull [] b, final int off, final int len) throws IOException {
+            if (this.fileOut == null && this.buffer.size() + len > PdfCache.this.memoryEntryMaxBytes) {
+                this.file = Files.createTempFile(PdfCache.this.directory, null, ".tmp");
+                this.fileOut = Files.newOutputStream(this.file);
+                this.buffer.writeTo(this.fileOut);
+                this.buffer.reset();
+            }
+
+            if (this.fileOut != null) {
+                this.fileOut.write(b, off, len);
+            } else {
+                this.buffer.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.fileOut != null) this.fileOut.close();
+        }
+
+        /**
+         * Gibt alle Bytes zurück, sofern sie noch im Arbeitsspeicher gehalten werden.
+         *
+         * @return Alle geschriebenen Bytes.
+         */
+        private byte @NotNull [] toByteArray() {
+            return this.buffer.toByteArray();
+        }
+
+        /**
+         * Verwirft alle geschriebenen Bytes und löscht die temporäre Datei, falls diese bereits erstellt wurde.
+         *
+         * @throws IOException Wenn die temporäre Datei nicht gelöscht werden kann.
+         */
+        private void discard() throws IOException {
+            close();
+            if (this.file != null) Files.deleteIfExists(this.file);
+        }
+
+    }
+
+}
@@ -0,0 +1,5 @@
+/**
+ * In diesem Package befinden sich alle Klassen, mit denen bereits generierte PDF-Dokumente zwischengespeichert werden,
+ * damit gleiche Anfragen nicht erneut generiert werden müssen.
+ */
+package de.jonas.cache;
@@ -0,0 +1,120 @@
+package de.jonas.gui;
+
+import de.jonas.object.Coupon;
+import de.jonas.object.GenerationListener;
+import de.jonas.object.GenerationProgress;
+import de.jonas.object.gui.Draw;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.SwingWorker;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Ein {@link GenerationWorker} generiert einen {@link Coupon} außerhalb des Event-Dispatch-Threads, damit das
+ * {@link Gui} während der Generierung bedienbar bleibt. Der Fortschritt wird dabei laufend im {@link Draw} angezeigt
+ * und die Generierung kann jederzeit über {@link #requestCancel()} abgebrochen werden. Das {@link Gui} wird erst
+ * informiert, wenn der Hintergrund-Thread die Generierung tatsächlich beendet und eine unvollständige Datei gelöscht
+ * hat, damit eine neue Generierung nicht mit der alten in dieselbe Datei schreibt.
+ */
+@NotNull
+final class GenerationWorker extends SwingWorker<Void, GenerationProgress> {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der {@link Coupon}, welcher generiert wird. */
+    @NotNull
+    private final Coupon coupon;
+    /** Die Datei, unter der das generierte PDF-Dokument gespeichert wird. */
+    @NotNull
+    private final File file;
+    /** Das {@link Draw}, auf welchem der Fortschritt angezeigt wird. */
+    @NotNull
+    private final Draw draw;
+    /** Das {@link Gui}, welches nach Abschluss der Generierung informiert wird. */
+    @NotNull
+    private final Gui gui;
+    /** Ob der Nutzer den Abbruch der Generierung angefordert hat. */
+    private volatile boolean cancelRequested;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt einen neuen {@link GenerationWorker}, welcher einen {@link Coupon} im Hintergrund generiert.
+     *
+     * @param coupon Der {@link Coupon}, welcher generiert wird.
+     * @param file   Die Datei, unter der das generierte PDF-Dokument gespeichert wird.
+     * @param draw   Das {@link Draw}, auf welchem der Fortschritt angezeigt wird.
+     * @param gui    Das {@link Gui}, welches nach Abschluss der Generierung informiert wird.
+     */
+    GenerationWorker(
+        @NotNull final Coupon coupon,
+        @NotNull final File file,
+        @NotNull final Draw draw,
+        @NotNull final Gui gui
+    ) {
+        this.coupon = coupon;
+        this.file = file;
+        this.draw = draw;
+        this.gui = gui;
+    }
+    //</editor-fold>
+
+
+    /**
+     * Fordert den Abbruch der Generierung an. Der {@link Coupon} bricht die Generierung beim nächsten Gutschein ab,
+     * woraufhin das {@link Gui} informiert wird, sobald der Hintergrund-Thread beendet ist.
+     */
+    void requestCancel() {
+        this.cancelRequested = true;
+    }
+
+    //<editor-fold desc="implementation">
+    @Override
+    protected Void doInBackground() {
+        this.coupon.setListener(new GenerationListener() {
+            @Override
+            public void onProgress(@NotNull final GenerationProgress progress) {
+                publish(progress);
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return GenerationWorker.this.cancelRequested;
+            }
+        });
+        this.coupon.generate(this.file);
+        return null;
+    }
+
+    @Override
+    protected void process(@NotNull final List<GenerationProgress> chunks) {
+        // only the latest progress is relevant
+        this.draw.setProgress(chunks.get(chunks.size() - 1));
+    }
+
+    @Override
+    protected void done() {
+        this.draw.setProgress(null);
+
+        try {
+            super.get();
+            this.gui.finishGeneration(null);
+        } catch (@NotNull final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (@NotNull final ExecutionException e) {
+            if (e.getCause() instanceof CancellationException) {
+                this.gui.finishGeneration("Die Generierung wurde abgebrochen.");
+                return;
+            }
+
+            this.gui.finishGeneration("Die Generierung ist fehlgeschlagen: " + e.getCause().getMessage());
+        }
+    }
+    //</editor-fold>
+
+}
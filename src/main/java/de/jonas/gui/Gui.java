@@ -2,23 +2,32 @@ package de.jonas.gui;
 
 import de.jonas.object.Coupon;
 import de.jonas.object.gui.Draw;
+import de.jonas.startup.StartupMilestone;
+import de.jonas.startup.StartupTiming;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.JButton;
 import javax.swing.JComboBox;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.JTextField;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 import java.awt.Color;
 import java.awt.Component;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
 import java.util.Arrays;
 
 /**
  * <p>Ein {@link Gui} stellt ein Fenster dar, welches dem Nutzer die Grundlage bietet, um die Gutscheine zu
  * generieren. Mit dieser grafischen Oberfläche wählt der Nutzer alle Attribute für die Gutscheine aus.</p>
  * <p>Die visuelle Grundlage wird durch ein {@link Draw} geschaffen, mit wessen Hilfe alle nötigen Grafiken auf
- * dieses Fenster gezeichnet werden.</p>
+ * dieses Fenster gezeichnet werden. Während der Nutzer die Attribute ändert, zeigt das {@link Draw} über einen
+ * {@link PreviewUpdater} laufend eine Vorschau eines einzelnen Gutscheins an.</p>
  */
 @NotNull
 public final class Gui extends JFrame {
@@ -39,6 +48,15 @@ public final class Gui extends JFrame {
     private static final int GENERATE_BUTTON_HEIGHT = 40;
     /** Die Breite der Box, womit man die Skalierung der Gutscheine wählen kann. */
     private static final int COUPON_SCALE_BOX_WIDTH = 70;
+    /** Die Beschriftung des Buttons, womit man die Gutscheine generieren kann. */
+    @NotNull
+    private static final String GENERATE_BUTTON_TEXT = "PDF generieren";
+    /** Die Beschriftung des Buttons, während die Gutscheine generiert werden. */
+    @NotNull
+    private static final String CANCEL_BUTTON_TEXT = "Abbrechen";
+    /** Die Beschriftung des Buttons, während die Generierung abgebrochen wird. */
+    @NotNull
+    private static final String CANCELLING_BUTTON_TEXT = "Wird abgebrochen...";
     /** Die Höhe der Box, womit man die Skalierung der Gutscheine wählen kann. */
     private static final int COUPON_SCALE_BOX_HEIGHT = 35;
     /** Alle wählbaren Skalierungen des Gutscheins. */
@@ -53,6 +71,16 @@ public final class Gui extends JFrame {
     //</editor-fold>
 
 
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der Button, womit man die Gutscheine generieren bzw. die Generierung abbrechen kann. */
+    @NotNull
+    private final JButton generate;
+    /** Der {@link GenerationWorker}, welcher gerade Gutscheine generiert oder {@code null}, falls keiner läuft. */
+    @Nullable
+    private GenerationWorker worker;
+    //</editor-fold>
+
+
     //<editor-fold desc="CONSTRUCTORS">
 
     /**
@@ -110,18 +138,51 @@ public final class Gui extends JFrame {
         );
         addProperties(scaleBox, Color.LIGHT_GRAY, Color.BLACK);
 
+        // update the preview whenever an attribute changes
+        final PreviewUpdater preview = new PreviewUpdater(draw, () -> createPreviewCoupon(fields, scaleBox));
+        final DocumentListener previewListener = new DocumentListener() {
+            @Override
+            public void insertUpdate(@NotNull final DocumentEvent e) {
+                preview.request();
+            }
+
+            @Override
+            public void removeUpdate(@NotNull final DocumentEvent e) {
+                preview.request();
+            }
+
+            @Override
+            public void changedUpdate(@NotNull final DocumentEvent e) {
+                preview.request();
+            }
+        };
+
+        for (@Nullable final JTextField field : fields) {
+            if (field != null) field.getDocument().addDocumentListener(previewListener);
+        }
+
+        scaleBox.addItemListener(itemEvent -> preview.request());
+
         // create button to generate pdf file
-        final JButton generate = new JButton("PDF generieren");
-        generate.setBounds(
+        this.generate = new JButton(GENERATE_BUTTON_TEXT);
+        this.generate.setBounds(
             (WIDTH / 2) - (GENERATE_BUTTON_WIDTH / 2) - 7,
             (int) (HEIGHT - Draw.INNER_RECT_MARGIN + (0.1 * GENERATE_BUTTON_HEIGHT)),
             GENERATE_BUTTON_WIDTH,
             GENERATE_BUTTON_HEIGHT
         );
-        addProperties(generate, Color.BLACK, Color.WHITE);
+        addProperties(this.generate, Color.BLACK, Color.WHITE);
 
         // add action listener to handle action
-        generate.addActionListener(actionEvent -> {
+        this.generate.addActionListener(actionEvent -> {
+            // cancel running generation, the button stays disabled until the worker has actually stopped
+            if (this.worker != null) {
+                this.worker.requestCancel();
+                this.generate.setText(CANCELLING_BUTTON_TEXT);
+                this.generate.setEnabled(false);
+                return;
+            }
+
             // check if all fields are correct
             if (Arrays.stream(fields).anyMatch(field -> field != null && field.getText().trim().equalsIgnoreCase(""))) {
                 showError("Bitte fülle alle Felder korrekt aus!");
@@ -154,24 +215,87 @@ public final class Gui extends JFrame {
                 scaleBox.getSelectedIndex()
             );
 
-            // generate coupons
-            coupon.generate();
+            // choose file
+            final File file = Coupon.getCustomFile();
+
+            // generate coupons in background
+            this.worker = new GenerationWorker(coupon, file, draw, this);
+            this.generate.setText(CANCEL_BUTTON_TEXT);
+            this.worker.execute();
         });
 
         super.add(scaleBox);
-        super.add(generate);
+        super.add(this.generate);
         super.add(draw);
+
+        super.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(@NotNull final WindowEvent e) {
+                StartupTiming.mark(StartupMilestone.WINDOW);
+            }
+        });
     }
     //</editor-fold>
 
 
     /**
-     * Öffnet dieses Fenster.
+     * Öffnet dieses Fenster. Diese Methode muss aus dem Event-Dispatch-Thread aufgerufen werden.
      */
     public void open() {
         super.setVisible(true);
     }
 
+    /**
+     * Wird aufgerufen, sobald der {@link GenerationWorker} die Generierung abgeschlossen hat, damit wieder neue
+     * Gutscheine generiert werden können.
+     *
+     * @param error Der Fehler, welcher dem Nutzer angezeigt wird oder {@code null}, falls die Generierung erfolgreich
+     *              war.
+     */
+    void finishGeneration(@Nullable final String error) {
+        this.worker = null;
+        this.generate.setText(GENERATE_BUTTON_TEXT);
+        this.generate.setEnabled(true);
+
+        if (error != null) showError(error);
+    }
+
+    /**
+     * Erzeugt einen {@link Coupon} für die Vorschau anhand der aktuellen Attribute. Die Anzahl an Gutscheinen spielt
+     * für die Vorschau keine Rolle und muss deshalb auch nicht ausgefüllt sein.
+     *
+     * @param fields   Alle Text-Felder, in welche die Attribute eingetragen werden.
+     * @param scaleBox Die Box, womit man die Skalierung der Gutscheine wählen kann.
+     *
+     * @return Der {@link Coupon} für die Vorschau oder {@code null}, falls die Attribute ungültig sind.
+     */
+    @Nullable
+    private static Coupon createPreviewCoupon(
+        @Nullable final JTextField @NotNull [] fields,
+        @NotNull final JComboBox<Integer> scaleBox
+    ) {
+        for (int i = 0; i < 3; i++) {
+            if (fields[i].getText().trim().isEmpty()) return null;
+        }
+
+        if (!fields[4].getText().matches("[0-9]{1,3}") || !fields[5].getText().matches("[0-9]{1,3}")) return null;
+
+        final int width = Integer.parseInt(fields[4].getText());
+        final int height = Integer.parseInt(fields[5].getText());
+
+        if (width == 0 || height == 0 || width > Coupon.MAX_WIDTH || height > Coupon.MAX_HEIGHT) return null;
+
+        return new Coupon(
+            fields[0].getText(),
+            fields[1].getText(),
+            fields[2].getText(),
+            width,
+            height,
+            1,
+            scaleBox.getSelectedIndex()
+        );
+    }
+
     /**
      * Zeigt dem Nutzer einen Error an und fordert ihn auf alle Felder korrekt auszufüllen.
      */
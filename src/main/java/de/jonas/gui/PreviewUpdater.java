@@ -0,0 +1,119 @@
+package de.jonas.gui;
+
+import de.jonas.object.Coupon;
+import de.jonas.object.CouponRasterizer;
+import de.jonas.object.gui.Draw;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * <p>Ein {@link PreviewUpdater} hält die Vorschau eines einzelnen Gutscheins im {@link Draw} aktuell, während der
+ * Nutzer die Attribute im {@link Gui} ändert. Damit das Tippen flüssig bleibt, auch bei großen Skalierungen, wird die
+ * Vorschau erst gezeichnet, nachdem sich die Attribute für eine kurze Zeit nicht mehr geändert haben, und zwar in einem
+ * eigenen Thread außerhalb des Event-Dispatch-Threads.</p>
+ * <p>Jede Anfrage erhält eine fortlaufende Nummer. Eine Vorschau wird nur gezeichnet bzw. angezeigt, solange es keine
+ * neuere Anfrage gibt, sodass veraltete Vorschauen niemals eine aktuellere überschreiben.</p>
+ */
+@NotNull
+final class PreviewUpdater {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Zeit in Millisekunden, die nach der letzten Änderung gewartet wird, bevor die Vorschau gezeichnet wird. */
+    private static final int DEBOUNCE_MILLIS = 200;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Das {@link Draw}, auf welchem die Vorschau angezeigt wird. */
+    @NotNull
+    private final Draw draw;
+    /** Erzeugt den {@link Coupon} anhand der aktuellen Attribute oder {@code null}, falls diese ungültig sind. */
+    @NotNull
+    private final Supplier<@Nullable Coupon> coupons;
+    /** Der {@link Timer}, welcher das Zeichnen bis zur letzten Änderung verzögert. */
+    @NotNull
+    private final Timer timer;
+    /** Der Thread, in dem die Vorschau gezeichnet wird. */
+    @NotNull
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "Vorschau");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** Der {@link CouponRasterizer}, welcher ausschließlich im Thread der Vorschau genutzt wird. */
+    @NotNull
+    private final CouponRasterizer rasterizer = new CouponRasterizer();
+    /** Die Nummer der neuesten Anfrage. */
+    @NotNull
+    private final AtomicLong latest = new AtomicLong();
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt einen neuen {@link PreviewUpdater} für ein bestimmtes {@link Draw}.
+     *
+     * @param draw    Das {@link Draw}, auf welchem die Vorschau angezeigt wird.
+     * @param coupons Erzeugt den {@link Coupon} anhand der aktuellen Attribute oder gibt {@code null} zurück, falls
+     *                diese ungültig sind. Wird immer im Event-Dispatch-Thread aufgerufen.
+     */
+    PreviewUpdater(@NotNull final Draw draw, @NotNull final Supplier<@Nullable Coupon> coupons) {
+        this.draw = draw;
+        this.coupons = coupons;
+        this.timer = new Timer(DEBOUNCE_MILLIS, event -> render());
+        this.timer.setRepeats(false);
+    }
+    //</editor-fold>
+
+
+    /**
+     * Fordert eine neue Vorschau an, weil sich die Attribute geändert haben. Mehrere Anfragen kurz hintereinander
+     * ergeben nur eine einzige Vorschau. Diese Methode muss aus dem Event-Dispatch-Thread aufgerufen werden.
+     */
+    void request() {
+        this.timer.restart();
+    }
+
+    /**
+     * Liest die aktuellen Attribute und zeichnet die Vorschau im Thread der Vorschau, sofern die Attribute gültig sind.
+     * Andernfalls wird die Vorschau direkt entfernt.
+     */
+    private void render() {
+        final long request = this.latest.incrementAndGet();
+        final Coupon coupon = this.coupons.get();
+
+        if (coupon == null) {
+            this.draw.setPreview(null);
+            return;
+        }
+
+        this.executor.execute(() -> {
+            // a newer request is already waiting, so this preview would be outdated anyway
+            if (this.latest.get() != request) return;
+
+            BufferedImage preview;
+
+            try {
+                preview = this.rasterizer.rasterizeToFit(coupon, Draw.PREVIEW_WIDTH, Draw.PREVIEW_HEIGHT);
+            } catch (@NotNull final RuntimeException e) {
+                preview = null;
+            }
+
+            final BufferedImage result = preview;
+            SwingUtilities.invokeLater(() -> {
+                if (this.latest.get() == request) this.draw.setPreview(result);
+            });
+        });
+    }
+
+}
@@ -0,0 +1,19 @@
+package de.jonas.object;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Ein {@link BarcodeType} legt fest, in welcher Form die Seriennummer eines Gutscheins zusätzlich zu ihrem Text als
+ * Barcode auf den Gutschein gedruckt wird.
+ */
+@NotNull
+public enum BarcodeType {
+
+    /** Die Seriennummer wird ausschließlich als Text gedruckt. */
+    NONE,
+    /** Die Seriennummer wird als eindimensionaler Code128-Barcode gedruckt. */
+    CODE128,
+    /** Die Seriennummer wird als zweidimensionaler QR-Code gedruckt. */
+    QR,
+
+}
@@ -2,23 +2,54 @@ package de.jonas.object;
 
 import com.itextpdf.text.BaseColor;
 import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
 import com.itextpdf.text.Element;
 import com.itextpdf.text.Font;
 import com.itextpdf.text.FontFactory;
+import com.itextpdf.text.Image;
 import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.io.RandomAccessSourceFactory;
+import com.itextpdf.text.pdf.ColumnText;
+import com.itextpdf.text.pdf.PdfContentByte;
 import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfPTableEvent;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.PdfStamper;
+import com.itextpdf.text.pdf.PdfTemplate;
 import com.itextpdf.text.pdf.PdfWriter;
+import com.itextpdf.text.pdf.RandomAccessFileOrArray;
+import de.jonas.startup.StartupMilestone;
+import de.jonas.startup.StartupTiming;
+import de.jonas.utility.ByteBufferOutputStream;
+import de.jonas.utility.Hashes;
+import de.jonas.utility.PrefixSkippingOutputStream;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 
 import javax.swing.JFileChooser;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.filechooser.FileSystemView;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
 
 /**
  * Ein {@link Coupon} stellt eine Ansammlung an Gutscheinen dar, welche man zu einem PDF-Dokument migrieren kann, bzw.
@@ -33,29 +64,36 @@ public final class Coupon {
     public static final int MAX_WIDTH = 400;
     /** Die maximale Höhe eines Gutscheins. */
     public static final int MAX_HEIGHT = 700;
+    /** Die größte Skalierung eines Gutscheins, die auch in der grafischen Oberfläche gewählt werden kann. */
+    public static final int MAX_SCALING = 6;
     /** Der Abstand zu der oberen Kante des Dokuments, ab dem die Gutscheine beginnen. */
     private static final int SPACING_BEFORE_COUPONS = 50;
-    /** Die Schriftart für die Überschrift eines jeden Gutscheins. */
-    private static final Font COUPON_HEADING_FONT = FontFactory.getFont(
-        FontFactory.COURIER_BOLD,
-        20,
-        Font.UNDERLINE,
-        BaseColor.BLACK
-    );
-    /** Die standard Schriftart für einen jeden Gutschein. */
-    private static final Font COUPON_DEFAULT_FONT = FontFactory.getFont(FontFactory.COURIER, 15, BaseColor.BLACK);
-    /** Die Schriftart für den Grund des Gutscheins. */
-    private static final Font COUPON_REASON_FONT = FontFactory.getFont(
-        FontFactory.TIMES_BOLDITALIC,
-        17,
-        BaseColor.BLACK
-    );
-    /** Die Schriftart für den Ersteller des Gutscheins. */
-    private static final Font COUPON_CREATOR_FONT = FontFactory.getFont(
-        FontFactory.TIMES_ITALIC,
-        15,
-        BaseColor.DARK_GRAY
-    );
+    /**
+     * Die Anzahl an vollständigen Tabellenzeilen, nach denen die Tabelle in das Dokument geschrieben und aus dem
+     * Speicher entfernt wird.
+     */
+    private static final int FLUSH_ROWS = 50;
+    /** Die Größe des Puffers, über den das PDF-Dokument in einen Stream oder Channel geschrieben wird. */
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    /** Die anfängliche Kapazität des Speichers, in den ein PDF-Dokument im Arbeitsspeicher geschrieben wird. */
+    private static final int INITIAL_BUFFER_CAPACITY = 16 * 1024;
+    /** Der Innenabstand einer jeden Zelle, in der ein Gutschein steht. */
+    private static final float CELL_PADDING = 2;
+    /** Die Breite des Rahmens einer jeden Zelle, wie sie auch eine {@link PdfPCell} standardmäßig hat. */
+    private static final float CELL_BORDER_WIDTH = 0.5f;
+    /**
+     * Die Toleranz, um welche eine Spalte nach unten über ihre Höhe hinausragen darf, damit die letzte Zeile trotz
+     * Rundungsfehlern in die zuvor vermessene Höhe passt.
+     */
+    private static final float COLUMN_TOLERANCE = 0.01f;
+    /** Der Anteil an der Breite und Höhe des Inhalts einer Zelle, den das Logo höchstens einnimmt. */
+    private static final float LOGO_SHARE = 0.25f;
+    /** Der Name des Eintrags in den Dokumentinformationen, welcher die Anzahl an Gutscheinen im Dokument enthält. */
+    @NotNull
+    private static final String COUNT_INFO = "CouponCount";
+    /** Der Name des Eintrags in den Dokumentinformationen, welcher den Schlüssel des Rasters enthält. */
+    @NotNull
+    private static final String LAYOUT_INFO = "CouponLayout";
     //</editor-fold>
 
 
@@ -67,13 +105,68 @@ public final class Coupon {
     /** Der Ersteller der Gutscheine. */
     private final String creator;
     /** Die Breite eines Gutscheins. */
+    @Getter
     private final int width;
     /** Die Höhe eines Gutscheins. */
+    @Getter
     private final int height;
     /** Die Anzahl an Gutscheinen. */
+    @Getter
     private final int amount;
     /** Die Skalierung des Gutscheins. */
     private final int scaling;
+    /** Die Schriftarten, mit denen der Gutschein in seiner Skalierung geschrieben wird. */
+    @NotNull
+    private CouponStyle style;
+    /**
+     * Die eigene Schriftart, mit welcher der Text eines jeden Gutscheins geschrieben wird oder {@code null}, falls die
+     * eingebauten Schriftarten genutzt werden.
+     */
+    @Nullable
+    private CouponFont font;
+    /** Die Art und Weise, auf welche die einzelnen Gutscheine in das PDF-Dokument geschrieben werden. */
+    @NotNull
+    @Setter
+    private RenderMode renderMode = RenderMode.TABLE;
+    /** Das {@link OutputProfile}, mit dem der {@link PdfWriter} zwischen Rechenzeit und Größe der Datei abwägt. */
+    @NotNull
+    @Getter
+    @Setter
+    private OutputProfile outputProfile = OutputProfile.BALANCED;
+    /**
+     * Der {@link SerialGenerator}, welcher jedem Gutschein eine eindeutige Seriennummer gibt oder {@code null}, falls
+     * alle Gutscheine identisch sein sollen.
+     */
+    @Nullable
+    @Setter
+    private SerialGenerator serialGenerator;
+    /** Die Form, in der die Seriennummer eines jeden Gutscheins als Barcode gedruckt wird. */
+    @NotNull
+    @Setter
+    private BarcodeType barcodeType = BarcodeType.CODE128;
+    /** Der {@link GenerationListener}, welcher über den Fortschritt der Generierung informiert wird. */
+    @Nullable
+    @Setter
+    private GenerationListener listener;
+    /** Das Logo, welches oben links auf jeden Gutschein gedruckt wird oder {@code null}, falls es kein Logo gibt. */
+    @Nullable
+    @Setter
+    private CouponImage logo;
+    /**
+     * Das Bild, welches den gesamten Inhalt eines jeden Gutscheins hinter dem Text ausfüllt oder {@code null}, falls
+     * es keinen Hintergrund gibt.
+     */
+    @Nullable
+    @Setter
+    private CouponImage background;
+    /**
+     * Die Datei, in die nach jeder Generierung der {@link RedemptionIndex} aller ausgegebenen Codes geschrieben wird
+     * oder {@code null}, falls kein Index geschrieben werden soll. Ohne {@link SerialGenerator} wird kein Index
+     * geschrieben.
+     */
+    @Nullable
+    @Setter
+    private File redemptionIndex;
     //</editor-fold>
 
 
@@ -109,68 +202,1214 @@ public final class Coupon {
         this.height = height;
         this.amount = amount;
         this.scaling = scaling;
+        this.style = CouponStyle.of(scaling);
+    }
+
+
+    /**
+     * Legt die eigene Schriftart fest, mit welcher der Text eines jeden Gutscheins geschrieben wird. Die Überschrift
+     * des Dokuments und die Seriennummern bleiben davon unberührt.
+     *
+     * @param font Die eigene Schriftart oder {@code null}, falls die eingebauten Schriftarten genutzt werden.
+     */
+    public void setFont(@Nullable final CouponFont font) {
+        this.font = font;
+        this.style = CouponStyle.of(this.scaling, font);
+    }
+
+    /**
+     * Generiert dieses Gutschein, sodass man ihn abspeichern kann, in Form eines PDF-Dokuments. Der Speicherort wird
+     * zuvor vom Nutzer ausgewählt.
+     */
+    public void generate() {
+        generate(getCustomFile());
+    }
+
+    /**
+     * Generiert dieses Gutschein in Form eines PDF-Dokuments und speichert dieses unter einer bestimmten Datei ab.
+     * Dabei wird keinerlei grafische Oberfläche benötigt. Schlägt die Generierung fehl oder wird sie durch den
+     * {@link GenerationListener} abgebrochen, wird die unvollständige Datei wieder gelöscht.
+     *
+     * @param file Die Datei, unter der das generierte PDF-Dokument gespeichert wird.
+     *
+     * @throws CancellationException Wenn die Generierung durch den {@link GenerationListener} abgebrochen wurde.
+     */
+    @SneakyThrows
+    public void generate(@NotNull final File file) {
+        try (OutputStream out = new FileOutputStream(file)) {
+            generate(out);
+        } catch (@NotNull final Exception | Error e) {
+            Files.deleteIfExists(file.toPath());
+            throw e;
+        }
+
+        StartupTiming.mark(StartupMilestone.FIRST_PDF);
+    }
 
-        // set scaling
-        final float finallyScaling = (float) ((scaling == 1) ? 1 : (1 + (0.1 * scaling)));
+    /**
+     * Generiert dieses Gutschein in Form eines PDF-Dokuments und schreibt dieses gepuffert in einen beliebigen
+     * {@link OutputStream}, wie z.B. einen Socket oder einen Eintrag eines Zip-Archivs. Der {@link OutputStream} wird
+     * am Ende nur geleert, aber nicht geschlossen.
+     *
+     * @param out Der {@link OutputStream}, in den das PDF-Dokument geschrieben wird.
+     *
+     * @throws CancellationException Wenn die Generierung durch den {@link GenerationListener} abgebrochen wurde.
+     */
+    @SneakyThrows
+    public void generate(@NotNull final OutputStream out) {
+        final BufferedOutputStream buffered = new BufferedOutputStream(out, OUTPUT_BUFFER_SIZE);
 
-        COUPON_HEADING_FONT.setSize(COUPON_HEADING_FONT.getSize() * finallyScaling);
-        COUPON_DEFAULT_FONT.setSize(COUPON_DEFAULT_FONT.getSize() * finallyScaling);
-        COUPON_REASON_FONT.setSize(COUPON_REASON_FONT.getSize() * finallyScaling);
-        COUPON_CREATOR_FONT.setSize(COUPON_CREATOR_FONT.getSize() * finallyScaling);
+        write(buffered);
+        buffered.flush();
+        writeRedemptionIndex(this.amount);
     }
 
+    /**
+     * Generiert dieses Gutschein in Form eines PDF-Dokuments und schreibt dieses gepuffert in einen beliebigen
+     * {@link WritableByteChannel}, wie z.B. einen {@link java.nio.channels.SocketChannel} oder
+     * {@link java.nio.channels.FileChannel}. Der {@link WritableByteChannel} wird nicht geschlossen.
+     *
+     * @param channel Der {@link WritableByteChannel}, in den das PDF-Dokument geschrieben wird.
+     *
+     * @throws CancellationException Wenn die Generierung durch den {@link GenerationListener} abgebrochen wurde.
+     */
+    public void generate(@NotNull final WritableByteChannel channel) {
+        generate(Channels.newOutputStream(channel));
+    }
 
     /**
-     * Generiert dieses Gutschein, sodass man ihn abspeichern kann, in Form eines PDF-Dokuments.
+     * Generiert dieses Gutschein in Form eines PDF-Dokuments vollständig im Arbeitsspeicher, ohne dass dafür eine
+     * Datei angelegt wird.
+     *
+     * @return Das gesamte PDF-Dokument als {@link ByteBuffer}, bereit zum Lesen.
+     *
+     * @throws CancellationException Wenn die Generierung durch den {@link GenerationListener} abgebrochen wurde.
      */
+    @NotNull
     @SneakyThrows
-    public void generate() {
+    public ByteBuffer generateToBuffer() {
+        final ByteBufferOutputStream out = new ByteBufferOutputStream(INITIAL_BUFFER_CAPACITY);
+
+        write(out);
+        writeRedemptionIndex(this.amount);
+        return out.toByteBuffer();
+    }
+
+    /**
+     * Hängt die Gutscheine dieses {@link Coupon} an ein PDF-Dokument an, welches bereits aus denselben Gutscheinen
+     * generiert wurde, z.B. wenn zu einer bereits gedruckten Bestellung weitere Gutscheine nachbestellt werden. Die
+     * Anzahl dieses {@link Coupon} ist dabei die Anzahl an Gutscheinen, die hinzukommen. Zusammengeführte Dokumente
+     * eines {@link ShardedRenderer} oder {@link SegmentedDocument} werden unterstützt, einzelne Seitenbereiche oder
+     * Abschnitte nicht, da ihnen die nachfolgenden Gutscheine fehlen.
+     * <p>Das Dokument wird nicht neu generiert, sondern nur um eine inkrementelle Aktualisierung erweitert, die an das
+     * Ende der Datei geschrieben wird. Die neuen Gutscheine setzen das Raster direkt hinter dem letzten vorhandenen
+     * Gutschein fort, genauso wie ihre Seriennummern, und es werden nur so viele Seiten angehängt, wie dafür nötig
+     * sind. Der bisherige Inhalt der Datei wird dabei nicht erneut geschrieben, weshalb die Dauer von der Anzahl neuer
+     * Gutscheine abhängt und nicht von der Größe der Datei. Schlägt das Anhängen fehl, wird die Datei wieder auf ihre
+     * ursprüngliche Länge gekürzt.</p>
+     *
+     * @param file Das PDF-Dokument, an welches die Gutscheine angehängt werden.
+     *
+     * @throws IllegalArgumentException Wenn das Dokument nicht aus denselben Gutscheinen generiert wurde oder die
+     *                                  Gutscheine nicht in ein festes Raster passen.
+     * @throws CancellationException    Wenn das Anhängen durch den {@link GenerationListener} abgebrochen wurde.
+     */
+    @SneakyThrows
+    public void append(@NotNull final File file) {
+        final long length = file.length();
+        final int total;
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            try {
+                final OutputStream update = new BufferedOutputStream(
+                    Channels.newOutputStream(channel.position(length)),
+                    OUTPUT_BUFFER_SIZE
+                );
+
+                // itext copies the existing document in front of the update, but it is already in the file
+                final PrefixSkippingOutputStream out = new PrefixSkippingOutputStream(update, length);
+                total = writeUpdate(file, out);
+                update.flush();
+
+                if (!out.isPrefixSkipped()) {
+                    throw new IllegalStateException("Das Dokument wurde nicht vollständig übernommen.");
+                }
+            } catch (@NotNull final Exception e) {
+                channel.truncate(length);
+                throw e;
+            }
+        }
+
+        writeRedemptionIndex(total);
+    }
+
+    /**
+     * Schreibt die inkrementelle Aktualisierung eines bereits generierten PDF-Dokuments, welche die Gutscheine dieses
+     * {@link Coupon} hinter den vorhandenen Gutscheinen in das Raster zeichnet. Vor der Aktualisierung wird das gesamte
+     * bisherige Dokument unverändert in den {@link OutputStream} geschrieben, welcher nicht geschlossen wird.
+     *
+     * @param file Das bereits generierte PDF-Dokument.
+     * @param out  Der {@link OutputStream}, in den das bisherige Dokument samt Aktualisierung geschrieben wird.
+     *
+     * @return Die Anzahl an Gutscheinen im Dokument, nachdem die Gutscheine angehängt wurden.
+     *
+     * @throws DocumentException     Wenn das PDF-Dokument nicht erweitert werden kann.
+     * @throws IOException           Wenn das PDF-Dokument nicht gelesen werden kann.
+     * @throws CancellationException Wenn das Anhängen durch den {@link GenerationListener} abgebrochen wurde.
+     */
+    private int writeUpdate(
+        @NotNull final File file,
+        @NotNull final OutputStream out
+    ) throws DocumentException, IOException {
+        // only the objects which are changed by the update are read from the document
+        final PdfReader reader = new PdfReader(
+            new RandomAccessFileOrArray(new RandomAccessSourceFactory().createBestSource(file.getPath())),
+            null
+        );
+
+        try {
+            return writeUpdate(reader, out);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Schreibt die inkrementelle Aktualisierung eines bereits generierten PDF-Dokuments, welches von einem
+     * {@link PdfReader} gelesen wird.
+     *
+     * @param reader Der {@link PdfReader}, welcher das bereits generierte PDF-Dokument liest.
+     * @param out    Der {@link OutputStream}, in den das bisherige Dokument samt Aktualisierung geschrieben wird.
+     *
+     * @return Die Anzahl an Gutscheinen im Dokument, nachdem die Gutscheine angehängt wurden.
+     *
+     * @throws DocumentException     Wenn das PDF-Dokument nicht erweitert werden kann.
+     * @throws IOException           Wenn das PDF-Dokument nicht gelesen werden kann.
+     * @throws CancellationException Wenn das Anhängen durch den {@link GenerationListener} abgebrochen wurde.
+     */
+    private int writeUpdate(
+        @NotNull final PdfReader reader,
+        @NotNull final OutputStream out
+    ) throws DocumentException, IOException {
+        final Map<String, String> info = reader.getInfo();
+        final String count = info.get(COUNT_INFO);
+
+        if (count == null || !getLayoutKey().equals(info.get(LAYOUT_INFO))) {
+            throw new IllegalArgumentException("Das Dokument wurde nicht aus denselben Gutscheinen generiert.");
+        }
+
+        final GridLayout grid = measureGridLayout();
+
+        if (!grid.isApplicable()) {
+            throw new IllegalArgumentException("Die Gutscheine passen in kein festes Raster.");
+        }
+
+        final int existing = Integer.parseInt(count);
+
+        // find the position directly behind the last existing coupon
+        int page = 0;
+        int position = existing;
+
+        while (position >= grid.getRows(page) * grid.getColumns()) {
+            position -= grid.getRows(page) * grid.getColumns();
+            page++;
+        }
+
+        int row = position / grid.getColumns();
+        int column = position % grid.getColumns();
+
+        final PdfStamper stamper = new PdfStamper(reader, out, '\0', true);
+        final PdfWriter writer = stamper.getWriter();
+        writer.setCloseStream(false);
+
+        final PdfTemplate template = getCouponTemplate(writer, grid.getCellWidth());
+        final SerialRenderer serials = createSerialRenderer();
+        final Rectangle cell = createCellRectangle();
+        final int existingPages = reader.getNumberOfPages();
+        int pages = existingPages;
+        PdfContentByte canvas = null;
+
+        // the empty cells which completed the last existing row are simply drawn over
+        for (int i = 0; i < this.amount || (column != 0 && column < grid.getColumns()); i++) {
+            if (this.listener != null && this.listener.isCancelled()) {
+                throw new CancellationException("Das Anhängen wurde abgebrochen.");
+            }
+
+            while (row == grid.getRows(page)) {
+                canvas = null;
+                page++;
+                row = 0;
+            }
+
+            // only add a new page once all existing pages are full
+            if (canvas == null) {
+                if (page == pages) stamper.insertPage(++pages, reader.getPageSize(1));
+
+                canvas = stamper.getOverContent(page + 1);
+                canvas.setLineCap(PdfContentByte.LINE_CAP_PROJECTING_SQUARE);
+            }
+
+            final float left = grid.getLeft(column);
+            final float top = grid.getTop(page, row);
+
+            cell.setLeft(left);
+            cell.setRight(left + grid.getCellWidth());
+            cell.setTop(top);
+            cell.setBottom(top - grid.getRowHeight());
+
+            drawCell(canvas, cell, (i < this.amount) ? template : null, serials, (long) existing + i);
+
+            if (++column == grid.getColumns()) {
+                column = 0;
+                row++;
+            }
+        }
+
+        final int total = existing + this.amount;
+
+        final HashMap<String, String> moreInfo = new HashMap<>();
+        moreInfo.put(COUNT_INFO, Integer.toString(total));
+        stamper.setMoreInfo(moreInfo);
+        stamper.close();
+
+        notifyProgress(writer, this.amount, pages - existingPages);
+        return total;
+    }
+
+    /**
+     * Schreibt den {@link RedemptionIndex} aller Codes, welche auf den Gutscheinen dieses Dokuments stehen, sofern
+     * eine Datei dafür festgelegt wurde. Der Index hängt nur von dem {@link SerialGenerator} und der Anzahl ab, weshalb
+     * er nicht Teil von {@link #getCacheKey()} ist.
+     *
+     * @param amount Die Anzahl an Gutscheinen im gesamten Dokument.
+     *
+     * @throws IOException Wenn der Index nicht geschrieben werden kann.
+     */
+    private void writeRedemptionIndex(@Range(from = 0, to = Integer.MAX_VALUE) final int amount) throws IOException {
+        if (this.redemptionIndex == null || this.serialGenerator == null) return;
+        RedemptionIndex.write(this.serialGenerator, amount, this.redemptionIndex);
+    }
+
+    /**
+     * Erstellt einen Schlüssel, welcher alle Eigenschaften enthält, die das generierte PDF-Dokument beeinflussen. Zwei
+     * {@link Coupon Gutscheine} mit demselben Schlüssel ergeben also dasselbe PDF-Dokument. Jeder Text wird mit seiner
+     * Länge vorangestellt, damit sich unterschiedliche Eigenschaften niemals zu demselben Schlüssel zusammensetzen.
+     *
+     * @return Der Schlüssel, welcher alle Eigenschaften enthält, die das generierte PDF-Dokument beeinflussen.
+     */
+    @NotNull
+    public String getCacheKey() {
+        return createKey(
+            this.recipient,
+            this.reason,
+            this.creator,
+            this.width,
+            this.height,
+            this.amount,
+            this.scaling,
+            this.font,
+            this.renderMode,
+            this.outputProfile,
+            this.serialGenerator,
+            (this.serialGenerator == null) ? null : this.barcodeType,
+            this.logo,
+            this.background
+        );
+    }
+
+    /**
+     * Erstellt einen Schlüssel, welcher alle Eigenschaften enthält, die das Aussehen und die Position eines einzelnen
+     * Gutscheins im Raster beeinflussen, nicht aber die Anzahl. Dieser Schlüssel wird in jedes PDF-Dokument
+     * geschrieben, damit beim {@link #append(File) Anhängen} geprüft werden kann, ob die neuen Gutscheine zu den
+     * bereits vorhandenen passen.
+     *
+     * @return Der SHA-256-Hash über alle Eigenschaften, die das Raster und den Inhalt eines Gutscheins beeinflussen.
+     */
+    @NotNull
+    String getLayoutKey() {
+        final String key = createKey(
+            this.recipient,
+            this.reason,
+            this.creator,
+            this.width,
+            this.height,
+            this.scaling,
+            this.font,
+            this.serialGenerator,
+            (this.serialGenerator == null) ? null : this.barcodeType,
+            this.logo,
+            this.background
+        );
+
+        return Hashes.sha256(key);
+    }
+
+    /**
+     * Setzt mehrere Eigenschaften zu einem Schlüssel zusammen. Jeder Text wird mit seiner Länge vorangestellt, damit
+     * sich unterschiedliche Eigenschaften niemals zu demselben Schlüssel zusammensetzen.
+     *
+     * @param properties Alle Eigenschaften, die Teil des Schlüssels sind.
+     *
+     * @return Der zusammengesetzte Schlüssel.
+     */
+    @NotNull
+    private static String createKey(@Nullable final Object @NotNull ... properties) {
+        final StringBuilder key = new StringBuilder();
+
+        for (@Nullable final Object property : properties) {
+            final String value = String.valueOf(property);
+            key.append(value.length()).append(':').append(value).append(';');
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * Schreibt das gesamte PDF-Dokument dieses Gutscheins ungepuffert in einen {@link OutputStream}, ohne diesen zu
+     * schließen. Diese Methode ist im Package sichtbar, damit die ungepufferte Ausgabe mit der gepufferten Ausgabe
+     * verglichen werden kann.
+     *
+     * @param out Der {@link OutputStream}, in den das PDF-Dokument geschrieben wird.
+     *
+     * @throws DocumentException     Wenn das PDF-Dokument nicht erstellt werden kann.
+     * @throws CancellationException Wenn die Generierung durch den {@link GenerationListener} abgebrochen wurde.
+     */
+    void write(@NotNull final OutputStream out) throws DocumentException {
+        write(out, 0, this.amount, true, null);
+    }
+
+    /**
+     * Schreibt einen Teil der Gutscheine als eigenständiges PDF-Dokument ungepuffert in einen {@link OutputStream},
+     * ohne diesen zu schließen. Ein Teil, welcher nicht am Anfang des Dokuments steht, enthält weder die Überschrift
+     * noch den Abstand vor den Gutscheinen und beginnt somit genauso am oberen Rand einer Seite, wie die Fortsetzung
+     * der Tabelle auf einer neuen Seite.
+     *
+     * @param out     Der {@link OutputStream}, in den das PDF-Dokument geschrieben wird.
+     * @param first   Die Position des ersten Gutscheins dieses Teils, beginnend bei {@code 0}.
+     * @param count   Die Anzahl an Gutscheinen, die geschrieben werden.
+     * @param heading Ob es sich um den Anfang des Dokuments handelt, welcher die Überschrift enthält.
+     * @param event   Ein {@link PdfPTableEvent}, welches über jeden gezeichneten Teil der Tabelle informiert wird oder
+     *                {@code null}.
+     *
+     * @throws DocumentException     Wenn das PDF-Dokument nicht erstellt werden kann.
+     * @throws CancellationException Wenn die Generierung durch den {@link GenerationListener} abgebrochen wurde.
+     */
+    void write(
+        @NotNull final OutputStream out,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int first,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int count,
+        final boolean heading,
+        @Nullable final PdfPTableEvent event
+    ) throws DocumentException {
+        write(out, first, count, heading, event, GenerationMetrics.start());
+    }
+
+    /**
+     * Schreibt einen Teil der Gutscheine als eigenständiges PDF-Dokument ungepuffert in einen {@link OutputStream} und
+     * erfasst dabei optional die {@link GenerationMetrics} des Dokuments.
+     *
+     * @param out     Der {@link OutputStream}, in den das PDF-Dokument geschrieben wird.
+     * @param first   Die Position des ersten Gutscheins dieses Teils, beginnend bei {@code 0}.
+     * @param count   Die Anzahl an Gutscheinen, die geschrieben werden.
+     * @param heading Ob es sich um den Anfang des Dokuments handelt, welcher die Überschrift enthält.
+     * @param event   Ein {@link PdfPTableEvent}, welches über jeden gezeichneten Teil der Tabelle informiert wird oder
+     *                {@code null}.
+     * @param metrics Die {@link GenerationMetrics}, welche das Dokument erfassen oder {@code null}.
+     *
+     * @throws DocumentException     Wenn das PDF-Dokument nicht erstellt werden kann.
+     * @throws CancellationException Wenn die Generierung durch den {@link GenerationListener} abgebrochen wurde.
+     */
+    private void write(
+        @NotNull final OutputStream out,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int first,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int count,
+        final boolean heading,
+        @Nullable final PdfPTableEvent event,
+        @Nullable final GenerationMetrics metrics
+    ) throws DocumentException {
+        if (metrics != null) metrics.beginPhase(GenerationPhase.SETUP);
+
         // create pdf document
         final Document document = new Document();
-        PdfWriter.getInstance(document, new FileOutputStream(getCustomFile()));
+        final PdfWriter writer = PdfWriter.getInstance(document, (metrics == null) ? out : metrics.wrap(out));
+        writer.setCloseStream(false);
+        this.outputProfile.apply(writer);
 
         // open pdf document for editing
         document.open();
 
+        // remember the contents of the grid, so that further coupons can be appended later; a shard or segment only
+        // knows a part of the coupons, so its merged document receives the information instead
+        if (first == 0 && count == this.amount) addAppendInfo(document);
+
         // write heading
-        final Font font = FontFactory.getFont(FontFactory.COURIER, 18, Font.UNDERLINE, BaseColor.BLACK);
-        final Paragraph paragraph = new Paragraph("Gutscheine - by Jonas", font);
-        paragraph.setAlignment(Element.ALIGN_CENTER);
+        if (heading) document.add(getHeading());
 
         // create coupons
-        final int columns = (int) (document.getPageSize().getWidth() / this.width);
-        final PdfPTable coupons = new PdfPTable(columns);
-        coupons.setSpacingBefore(SPACING_BEFORE_COUPONS);
+        final PdfPTable coupons = createCouponTable(document);
+        coupons.setTableEvent(event);
+
+        if (!heading) coupons.setSpacingBefore(0);
+
+        // draw coupon once if it is only referenced by every cell
+        final PdfTemplate template = (this.renderMode == RenderMode.TABLE)
+            ? null
+            : getCouponTemplate(writer, getCellWidth(document, coupons));
 
-        // add all coupons to table
-        for (int i = 1; i < this.amount + 1; i++) {
-            coupons.addCell(getCouponCell());
+        // print a serial number on every coupon
+        final SerialRenderer serials = createSerialRenderer();
+
+        // place coupons directly into a precalculated grid, unless the table itself is observed
+        if (template != null && this.renderMode == RenderMode.GRID && event == null) {
+            final GridLayout grid = createGridLayout(document, writer, coupons, template);
+
+            if (grid.isApplicable()) {
+                if (metrics != null) metrics.endPhase(0);
+
+                writeGrid(document, writer, grid, template, serials, first, count, metrics);
+                return;
+            }
+        }
+
+        final Image image = (template == null) ? null : Image.getInstance(template);
+
+        if (metrics != null) metrics.endPhase(0);
+
+        // add all coupons to table and write completed rows regularly
+        final int flushCells = FLUSH_ROWS * coupons.getNumberOfColumns();
+
+        for (int i = 1; i < count + 1; i++) {
+            if (this.listener != null && this.listener.isCancelled()) {
+                throw new CancellationException("Die Generierung wurde abgebrochen.");
+            }
+
+            final long cellStart = (metrics == null) ? 0 : System.nanoTime();
+            final PdfPCell cell = (image == null) ? getCouponCell() : getTemplateCell(image);
+
+            if (serials != null) cell.setCellEvent(serials.createCellEvent(first + i - 1));
+
+            coupons.addCell(cell);
+
+            if (metrics != null) metrics.record(GenerationPhase.CELLS, cellStart);
+
+            if (i % flushCells != 0) continue;
+
+            if (metrics != null) metrics.beginPhase(GenerationPhase.LAYOUT);
+
+            document.add(coupons);
+            coupons.setSpacingBefore(0);
+
+            if (metrics != null) metrics.endPhase(i);
+
+            notifyProgress(writer, i, writer.getPageNumber() - 1);
         }
 
+        if (metrics != null) metrics.beginPhase(GenerationPhase.LAYOUT);
+
         // complete last table row
         coupons.completeRow();
+        coupons.setComplete(true);
 
-        // add objects
-        document.add(paragraph);
+        // add remaining rows
         document.add(coupons);
 
+        close(document, writer, coupons.getNumberOfColumns(), count, metrics);
+    }
+
+    /**
+     * Zeichnet alle Gutscheine eines Teils direkt an ihre absolute Position in einem vorab berechneten Raster, anstatt
+     * sie in eine Tabelle zu setzen. Rahmen, Inhalt und Seriennummer einer jeden Zelle werden dabei genauso gezeichnet,
+     * wie es die Tabelle machen würde. Sobald eine Seite voll ist, wird selbst eine neue Seite begonnen.
+     *
+     * @param document Das geöffnete Dokument, in das die Gutscheine gezeichnet werden.
+     * @param writer   Der {@link PdfWriter}, welcher das PDF-Dokument schreibt.
+     * @param grid     Das vorab berechnete Raster.
+     * @param template Das bereits gezeichnete {@link PdfTemplate} des Gutscheins.
+     * @param serials  Der {@link SerialRenderer}, welcher die Seriennummern druckt oder {@code null}.
+     * @param first    Die Position des ersten Gutscheins dieses Teils, beginnend bei {@code 0}.
+     * @param count    Die Anzahl an Gutscheinen, die gezeichnet werden.
+     * @param metrics  Die {@link GenerationMetrics}, welche das Dokument erfassen oder {@code null}.
+     *
+     * @throws CancellationException Wenn die Generierung durch den {@link GenerationListener} abgebrochen wurde.
+     */
+    private void writeGrid(
+        @NotNull final Document document,
+        @NotNull final PdfWriter writer,
+        @NotNull final GridLayout grid,
+        @NotNull final PdfTemplate template,
+        @Nullable final SerialRenderer serials,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int first,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int count,
+        @Nullable final GenerationMetrics metrics
+    ) {
+        final PdfContentByte canvas = writer.getDirectContent();
+        final Rectangle cell = createCellRectangle();
+
+        final int flushCells = FLUSH_ROWS * grid.getColumns();
+        int page = 0;
+        int row = 0;
+        int column = 0;
+
+        if (metrics != null) metrics.beginPhase(GenerationPhase.LAYOUT);
+
+        // the table draws its borders with projecting line caps, which reset with every page
+        canvas.setLineCap(PdfContentByte.LINE_CAP_PROJECTING_SQUARE);
+
+        for (int i = 0; i < count || (column != 0 && column < grid.getColumns()); i++) {
+            if (this.listener != null && this.listener.isCancelled()) {
+                throw new CancellationException("Die Generierung wurde abgebrochen.");
+            }
+
+            // start a new page as soon as the current page is full
+            while (row == grid.getRows(page)) {
+                document.newPage();
+                canvas.setLineCap(PdfContentByte.LINE_CAP_PROJECTING_SQUARE);
+                page++;
+                row = 0;
+            }
+
+            final float left = grid.getLeft(column);
+            final float top = grid.getTop(page, row);
+
+            cell.setLeft(left);
+            cell.setRight(left + grid.getCellWidth());
+            cell.setTop(top);
+            cell.setBottom(top - grid.getRowHeight());
+
+            // complete the last row with empty cells, just like the table does
+            drawCell(canvas, cell, (i < count) ? template : null, serials, first + i);
+
+            if (++column == grid.getColumns()) {
+                column = 0;
+                row++;
+            }
+
+            if ((i + 1) % flushCells != 0 || i + 1 > count) continue;
+
+            if (metrics != null) {
+                metrics.endPhase(i + 1);
+                metrics.beginPhase(GenerationPhase.LAYOUT);
+            }
+
+            notifyProgress(writer, i + 1, writer.getPageNumber() - 1);
+        }
+
+        close(document, writer, grid.getColumns(), count, metrics);
+    }
+
+    /**
+     * Erstellt das Rechteck einer Zelle mit demselben Rahmen, den auch eine {@link PdfPCell} standardmäßig hat. Das
+     * Rechteck wird für jede Zelle an ihre Position verschoben und wiederverwendet.
+     *
+     * @return Das Rechteck einer Zelle mit ihrem Rahmen.
+     */
+    @NotNull
+    static Rectangle createCellRectangle() {
+        final Rectangle cell = new Rectangle(0, 0);
+        cell.setBorder(Rectangle.BOX);
+        cell.setBorderWidth(CELL_BORDER_WIDTH);
+
+        return cell;
+    }
+
+    /**
+     * Zeichnet eine einzelne Zelle direkt an ihre Position, genauso wie es die Tabelle machen würde: Zuerst den Rahmen,
+     * dann das {@link PdfTemplate} des Gutscheins an den oberen Rand und zuletzt die Seriennummer an den unteren Rand.
+     *
+     * @param canvas   Der Inhalt der Seite, auf den gezeichnet wird.
+     * @param cell     Das Rechteck der Zelle an ihrer Position.
+     * @param template Das bereits gezeichnete {@link PdfTemplate} des Gutscheins oder {@code null}, falls nur der
+     *                 Rahmen einer leeren Zelle gezeichnet wird.
+     * @param serials  Der {@link SerialRenderer}, welcher die Seriennummern druckt oder {@code null}.
+     * @param index    Die Position des Gutscheins im Dokument, beginnend bei {@code 0}.
+     */
+    void drawCell(
+        @NotNull final PdfContentByte canvas,
+        @NotNull final Rectangle cell,
+        @Nullable final PdfTemplate template,
+        @Nullable final SerialRenderer serials,
+        @Range(from = 0, to = Long.MAX_VALUE) final long index
+    ) {
+        canvas.rectangle(cell);
+
+        if (template == null) return;
+
+        final float left = cell.getLeft() + CELL_PADDING;
+        canvas.addTemplate(template, left, cell.getTop() - CELL_PADDING - template.getHeight());
+
+        if (serials != null) serials.drawSerial(canvas, cell, index);
+    }
+
+    /**
+     * Gibt den {@link CouponStyle} zurück, mit dessen Schriftarten der Gutschein geschrieben wird.
+     *
+     * @return Der {@link CouponStyle} des Gutscheins.
+     */
+    @NotNull
+    CouponStyle getStyle() {
+        return this.style;
+    }
+
+    /**
+     * Schreibt die Anzahl an Gutscheinen und den Schlüssel des Rasters in die Dokumentinformationen eines geöffneten
+     * PDF-Dokuments, welches alle Gutscheine dieses {@link Coupon} enthält, damit mit {@link #append(File)} später
+     * weitere Gutscheine angehängt werden können.
+     *
+     * @param document Das geöffnete PDF-Dokument.
+     */
+    void addAppendInfo(@NotNull final Document document) {
+        document.addHeader(COUNT_INFO, Integer.toString(this.amount));
+        document.addHeader(LAYOUT_INFO, getLayoutKey());
+    }
+
+    /**
+     * Gibt den {@link SerialGenerator} zurück, welcher jedem Gutschein eine eindeutige Seriennummer gibt.
+     *
+     * @return Der {@link SerialGenerator} oder {@code null}, falls alle Gutscheine identisch sind.
+     */
+    @Nullable
+    SerialGenerator getSerialGenerator() {
+        return this.serialGenerator;
+    }
+
+    /**
+     * Erstellt den {@link SerialRenderer} für ein einzelnes Dokument, sofern Seriennummern gedruckt werden.
+     *
+     * @return Der {@link SerialRenderer} für ein einzelnes Dokument oder {@code null}, falls keine Seriennummern
+     *     gedruckt werden.
+     */
+    @Nullable
+    SerialRenderer createSerialRenderer() {
+        if (this.serialGenerator == null) return null;
+        return new SerialRenderer(this.serialGenerator, this.barcodeType);
+    }
+
+    /**
+     * Schreibt einen einzelnen Gutschein als eigenständiges PDF-Dokument, dessen einzige Seite genau so groß ist wie
+     * seine Zelle samt Rahmen. Die Zelle wird dabei genauso gezeichnet wie in {@link RenderMode#GRID}, sodass z.B. eine
+     * Vorschau exakt dem späteren PDF-Dokument entspricht.
+     *
+     * @param out   Der {@link OutputStream}, in den das PDF-Dokument geschrieben wird.
+     * @param index Die Position des Gutscheins, dessen Seriennummer gedruckt wird, beginnend bei {@code 0}.
+     *
+     * @throws DocumentException Wenn das PDF-Dokument nicht erstellt werden kann.
+     */
+    void writeCell(
+        @NotNull final OutputStream out,
+        @Range(from = 0, to = Long.MAX_VALUE) final long index
+    ) throws DocumentException {
+        writeCell(out, index, true, true);
+    }
+
+    /**
+     * Schreibt einen Teil eines einzelnen Gutscheins als eigenständiges PDF-Dokument, dessen einzige Seite genau so
+     * groß ist wie seine Zelle samt Rahmen. Damit lässt sich der Teil, der bei allen Gutscheinen gleich ist, getrennt
+     * von der Seriennummer zeichnen, die sich bei jedem Gutschein unterscheidet. Beide Teile liegen an derselben
+     * Position, sodass sie übereinander gezeichnet wieder dem vollständigen Gutschein entsprechen.
+     *
+     * @param out     Der {@link OutputStream}, in den das PDF-Dokument geschrieben wird.
+     * @param index   Die Position des Gutscheins, dessen Seriennummer gedruckt wird, beginnend bei {@code 0}.
+     * @param content Ob der Rahmen und der Inhalt des Gutscheins geschrieben werden.
+     * @param serial  Ob die Seriennummer des Gutscheins geschrieben wird, sofern es eine gibt.
+     *
+     * @throws DocumentException Wenn das PDF-Dokument nicht erstellt werden kann.
+     */
+    void writeCell(
+        @NotNull final OutputStream out,
+        @Range(from = 0, to = Long.MAX_VALUE) final long index,
+        final boolean content,
+        final boolean serial
+    ) throws DocumentException {
+        final float cellHeight = getCellHeight(this.width);
+
+        // the border is centered on the edges of the cell, so it needs some space around the cell
+        final Document document = new Document(
+            new Rectangle(this.width + (2 * CELL_BORDER_WIDTH), cellHeight + (2 * CELL_BORDER_WIDTH)),
+            0,
+            0,
+            0,
+            0
+        );
+        final PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setCloseStream(false);
+        document.open();
+
+        final Rectangle cell = createCellRectangle();
+        cell.setLeft(CELL_BORDER_WIDTH);
+        cell.setBottom(CELL_BORDER_WIDTH);
+        cell.setRight(CELL_BORDER_WIDTH + this.width);
+        cell.setTop(CELL_BORDER_WIDTH + cellHeight);
+
+        final PdfContentByte canvas = writer.getDirectContent();
+        canvas.setLineCap(PdfContentByte.LINE_CAP_PROJECTING_SQUARE);
+
+        @Nullable final SerialRenderer serials = serial ? createSerialRenderer() : null;
+
+        if (content) {
+            drawCell(canvas, cell, getCouponTemplate(writer, this.width), serials, index);
+        } else if (serials != null) {
+            serials.drawSerial(canvas, cell, index);
+        }
+
+        document.close();
+    }
+
+    /**
+     * Schließt das Dokument, nachdem alle Gutscheine gesetzt wurden, und informiert über den abgeschlossenen
+     * Fortschritt.
+     *
+     * @param document Das Dokument, welches geschlossen wird.
+     * @param writer   Der {@link PdfWriter}, welcher das PDF-Dokument schreibt.
+     * @param columns  Die Anzahl an Spalten, in denen die Gutscheine stehen.
+     * @param count    Die Anzahl an Gutscheinen, die gesetzt wurden.
+     * @param metrics  Die {@link GenerationMetrics}, welche das Dokument erfassen oder {@code null}.
+     */
+    private void close(
+        @NotNull final Document document,
+        @NotNull final PdfWriter writer,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int columns,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int count,
+        @Nullable final GenerationMetrics metrics
+    ) {
+        if (metrics != null) {
+            metrics.endPhase(count);
+            metrics.beginPhase(GenerationPhase.CLOSE);
+        }
+
         // close pdf document
+        final int pages = writer.getPageNumber();
         document.close();
+
+        if (metrics != null) {
+            metrics.endPhase(count);
+            metrics.finish(count, (count + columns - 1) / columns, pages);
+        }
+
+        notifyProgress(writer, count, pages);
+    }
+
+    /**
+     * Erzeugt das {@link GridLayout}, in welches die Gutscheine im {@link RenderMode#GRID} gesetzt werden. Dafür muss
+     * die Überschrift bereits geschrieben worden sein, da das Raster direkt unter der aktuellen Position beginnt.
+     *
+     * @param document Das geöffnete Dokument.
+     * @param writer   Der {@link PdfWriter}, welcher das PDF-Dokument schreibt.
+     * @param coupons  Die Tabelle, deren Spalten und Abstand das Raster übernimmt.
+     * @param template Das {@link PdfTemplate} eines einzelnen Gutscheins.
+     *
+     * @return Das {@link GridLayout}, welches genau die Zeilen der Tabelle nachbildet.
+     */
+    @NotNull
+    private GridLayout createGridLayout(
+        @NotNull final Document document,
+        @NotNull final PdfWriter writer,
+        @NotNull final PdfPTable coupons,
+        @NotNull final PdfTemplate template
+    ) {
+        return new GridLayout(
+            document,
+            coupons.getNumberOfColumns(),
+            getRowHeight(template),
+            writer.getVerticalPosition(true),
+            coupons.spacingBefore()
+        );
+    }
+
+    /**
+     * Berechnet die Höhe einer Zeile im Raster, in der das bereits gezeichnete {@link PdfTemplate} des Gutscheins
+     * samt Innenabstand Platz findet. Die Zeile ist mindestens so hoch wie der Gutschein.
+     *
+     * @param template Das bereits gezeichnete {@link PdfTemplate} des Gutscheins.
+     *
+     * @return Die Höhe einer Zeile im Raster.
+     */
+    float getRowHeight(@NotNull final PdfTemplate template) {
+        return Math.max(this.height, CELL_PADDING + template.getHeight() + getPaddingBottom());
+    }
+
+    /**
+     * Vermisst, wie viele Gutscheine auf die erste Seite und auf jede weitere Seite des PDF-Dokuments passen. Dafür
+     * wird ein Dokument mit drei Seiten in den Arbeitsspeicher geschrieben und gezählt, wie viele Zeilen der Tabelle
+     * auf jeder Seite gezeichnet wurden. Das Ergebnis entspricht somit exakt dem Umbruch der Tabelle. Im
+     * {@link RenderMode#GRID} wird stattdessen direkt das {@link GridLayout} befragt, wofür nur die Überschrift
+     * geschrieben werden muss.
+     *
+     * @return Die Anzahl an Gutscheinen auf der ersten Seite ({@code [0]}) und auf jeder weiteren Seite ({@code [1]}).
+     *     Unterscheiden sich die weiteren Seiten untereinander, ist die Anzahl auf jeder weiteren Seite {@code 0}.
+     *
+     * @throws DocumentException Wenn das PDF-Dokument nicht erstellt werden kann.
+     */
+    int @NotNull [] measurePageCapacity() throws DocumentException {
+        if (this.renderMode == RenderMode.GRID) {
+            final int[] capacity = measureGridCapacity();
+            if (capacity != null) return capacity;
+        }
+
+        final Document document = new Document();
+        final PdfPTable coupons = createCouponTable(document);
+
+        // estimate the number of rows which fill at least three pages
+        coupons.setTotalWidth(getCellWidth(document, coupons) * coupons.getNumberOfColumns());
+        coupons.setLockedWidth(true);
+        coupons.addCell(getCouponCell());
+        coupons.completeRow();
+
+        final int rowsPerPage = (int) Math.ceil(document.getPageSize().getHeight() / coupons.getRowHeight(0));
+        final int rows = (3 * rowsPerPage) + 1;
+
+        // count rows on every page
+        final Map<Integer, Integer> rowsOnPage = new HashMap<>();
+        final PdfPTableEvent counter = (table, widths, heights, headerRows, rowStart, canvases) -> rowsOnPage.merge(
+            canvases[0].getPdfWriter().getPageNumber(),
+            heights.length - 1,
+            Integer::sum
+        );
+
+        write(
+            new ByteBufferOutputStream(INITIAL_BUFFER_CAPACITY),
+            0,
+            rows * coupons.getNumberOfColumns(),
+            true,
+            counter,
+            null
+        );
+
+        return new int[] {
+            rowsOnPage.getOrDefault(1, 0) * coupons.getNumberOfColumns(),
+            rowsOnPage.getOrDefault(2, 0) * coupons.getNumberOfColumns(),
+        };
+    }
+
+    /**
+     * Vermisst, wie viele Gutscheine im {@link RenderMode#GRID} auf die erste Seite und auf jede weitere Seite passen.
+     * Dafür wird lediglich die Überschrift in ein Dokument im Arbeitsspeicher geschrieben und anschließend das
+     * {@link GridLayout} erzeugt, mit dem auch die Gutscheine gesetzt werden.
+     *
+     * @return Die Anzahl an Gutscheinen auf der ersten Seite ({@code [0]}) und auf jeder weiteren Seite ({@code [1]})
+     *     oder {@code null}, falls das Raster nicht genutzt werden kann und die Gutscheine in die Tabelle gesetzt
+     *     werden.
+     *
+     * @throws DocumentException Wenn das PDF-Dokument nicht erstellt werden kann.
+     */
+    private int @Nullable [] measureGridCapacity() throws DocumentException {
+        final GridLayout grid = measureGridLayout();
+
+        if (!grid.isApplicable()) return null;
+
+        // the second page only differs from all further pages, if the first page holds no coupon
+        if (grid.getRows(1) != grid.getRows(2)) return new int[] {0, 0};
+
+        return new int[] {
+            grid.getRows(0) * grid.getColumns(),
+            grid.getRows(1) * grid.getColumns(),
+        };
+    }
+
+    /**
+     * Erzeugt das {@link GridLayout} eines vollständigen PDF-Dokuments, ohne dafür Gutscheine zu setzen. Dafür wird
+     * lediglich die Überschrift in ein Dokument im Arbeitsspeicher geschrieben.
+     *
+     * @return Das {@link GridLayout}, in welchem die Gutscheine eines vollständigen PDF-Dokuments stehen.
+     *
+     * @throws DocumentException Wenn das PDF-Dokument nicht erstellt werden kann.
+     */
+    @NotNull
+    private GridLayout measureGridLayout() throws DocumentException {
+        final Document document = new Document();
+        final PdfWriter writer = PdfWriter.getInstance(document, new ByteBufferOutputStream(INITIAL_BUFFER_CAPACITY));
+        document.open();
+        document.add(getHeading());
+
+        final PdfPTable coupons = createCouponTable(document);
+        final PdfTemplate template = getCouponTemplate(writer, getCellWidth(document, coupons));
+        final GridLayout grid = createGridLayout(document, writer, coupons, template);
+        document.close();
+
+        return grid;
+    }
+
+    /**
+     * Erstellt die Überschrift, welche über allen Gutscheinen auf der ersten Seite des Dokuments steht.
+     *
+     * @return Die Überschrift des Dokuments.
+     */
+    @NotNull
+    @SuppressWarnings("checkstyle:MagicNumber")
+    static Paragraph getHeading() {
+        final Font font = FontFactory.getFont(FontFactory.COURIER, 18, Font.UNDERLINE, BaseColor.BLACK);
+        final Paragraph paragraph = new Paragraph("Gutscheine - by Jonas", font);
+        paragraph.setAlignment(Element.ALIGN_CENTER);
+
+        return paragraph;
+    }
+
+    /**
+     * Erstellt die noch leere Tabelle, in welche die Gutscheine gesetzt werden. Die Anzahl an Spalten richtet sich nach
+     * der Breite eines Gutscheins und der Breite einer Seite des Dokuments.
+     *
+     * @param document Das Dokument, in dem die Tabelle steht.
+     *
+     * @return Die noch leere Tabelle, in welche die Gutscheine gesetzt werden.
+     */
+    @NotNull
+    PdfPTable createCouponTable(@NotNull final Document document) {
+        final int columns = (int) (document.getPageSize().getWidth() / this.width);
+        final PdfPTable coupons = new PdfPTable(columns);
+        coupons.setSpacingBefore(SPACING_BEFORE_COUPONS);
+        coupons.setComplete(false);
+
+        return coupons;
+    }
+
+    /**
+     * Informiert den {@link GenerationListener}, sofern einer gesetzt ist, über den aktuellen Fortschritt.
+     *
+     * @param writer         Der {@link PdfWriter}, welcher das PDF-Dokument schreibt.
+     * @param couponsLaidOut Die Anzahl an Gutscheinen, die bereits gesetzt wurden.
+     * @param pagesWritten   Die Anzahl an Seiten, die bereits vollständig geschrieben wurden.
+     */
+    private void notifyProgress(
+        @NotNull final PdfWriter writer,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int couponsLaidOut,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int pagesWritten
+    ) {
+        if (this.listener == null) return;
+
+        this.listener.onProgress(new GenerationProgress(
+            couponsLaidOut,
+            this.amount,
+            pagesWritten,
+            writer.getCurrentDocumentSize()
+        ));
     }
 
     /**
      * Der Gutschein wird in Form einer {@link PdfPCell} erstellt, welcher dann {@code amount} mal auf dem Dokument
-     * erscheint.
+     * erscheint. Diese Methode ist im Package sichtbar, damit die Kosten für das Erstellen einer Zelle getrennt von der
+     * restlichen Generierung vermessen werden können.
      *
      * @return Der Gutschein in Form einer {@link PdfPCell}, welcher {@code amount} mal auf dem Dokument erscheint.
      */
-    private PdfPCell getCouponCell() {
+    PdfPCell getCouponCell() {
+        final PdfPCell cell = new PdfPCell(getCouponText());
+        cell.setPaddingBottom(getPaddingBottom());
+        cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+        cell.setMinimumHeight(this.height);
+
+        // draw the images behind the text, within the padding of the cell
+        if (this.logo != null || this.background != null) {
+            cell.setCellEvent((event, position, canvases) -> drawImages(
+                canvases[PdfPTable.BACKGROUNDCANVAS],
+                position.getLeft() + CELL_PADDING,
+                position.getBottom() + getPaddingBottom(),
+                position.getWidth() - (2 * CELL_PADDING),
+                position.getHeight() - CELL_PADDING - getPaddingBottom()
+            ));
+        }
+
+        return cell;
+    }
+
+    /**
+     * Erstellt eine {@link PdfPCell}, welche lediglich das bereits gezeichnete {@link PdfTemplate} des Gutscheins
+     * referenziert, anstatt den Text erneut zu setzen.
+     *
+     * @param template Das bereits gezeichnete {@link PdfTemplate} des Gutscheins in Form eines {@link Image}.
+     *
+     * @return Der Gutschein in Form einer {@link PdfPCell}, welche das {@link PdfTemplate} referenziert.
+     */
+    @NotNull
+    private PdfPCell getTemplateCell(@NotNull final Image template) {
+        final PdfPCell cell = new PdfPCell(template, false);
+        cell.setPadding(CELL_PADDING);
+        cell.setPaddingBottom(getPaddingBottom());
+        cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+        cell.setMinimumHeight(this.height);
+
+        return cell;
+    }
+
+    /**
+     * Zeichnet den Text des Gutscheins einmalig in ein {@link PdfTemplate}, welches dann von jeder Zelle bzw. jeder
+     * Position im Raster nur noch referenziert wird. Das {@link PdfTemplate} ist so hoch wie der Text, den auch eine
+     * {@link PdfPCell} aufnehmen würde, damit das Ergebnis genauso aussieht, wie bei {@link RenderMode#TABLE}.
+     *
+     * @param writer    Der {@link PdfWriter}, in dessen Dokument das {@link PdfTemplate} geschrieben wird.
+     * @param cellWidth Die Breite einer Zelle in der Tabelle.
+     *
+     * @return Das gezeichnete {@link PdfTemplate}.
+     */
+    @NotNull
+    @SneakyThrows
+    PdfTemplate getCouponTemplate(@NotNull final PdfWriter writer, final float cellWidth) {
+        final float width = cellWidth - (2 * CELL_PADDING);
+        final float height = Math.max(measureTextHeight(width), this.height - CELL_PADDING - getPaddingBottom());
+
+        // draw images and text once, without the direct content which a stamper does not offer
+        final PdfTemplate template = PdfTemplate.createTemplate(writer, width, height);
+        drawImages(template, 0, 0, width, height);
+        createCouponColumn(template, width, height).go();
+
+        return template;
+    }
+
+    /**
+     * Zeichnet den Hintergrund und das Logo eines Gutscheins in den Inhalt einer Zelle. Beide Bilder werden dabei nur
+     * referenziert, sodass sie von dem {@link PdfWriter} nur einmal pro Dokument eingebettet werden, egal wie viele
+     * Gutscheine gezeichnet werden. Der Hintergrund füllt den Inhalt unter Beibehaltung seines Seitenverhältnisses
+     * vollständig aus und wird an dessen Rändern abgeschnitten, das Logo steht oben links.
+     *
+     * @param canvas Der Inhalt, auf den die Bilder gezeichnet werden.
+     * @param left   Die linke Kante des Inhalts der Zelle.
+     * @param bottom Die untere Kante des Inhalts der Zelle.
+     * @param width  Die Breite des Inhalts der Zelle.
+     * @param height Die Höhe des Inhalts der Zelle.
+     */
+    @SneakyThrows
+    private void drawImages(
+        @NotNull final PdfContentByte canvas,
+        final float left,
+        final float bottom,
+        final float width,
+        final float height
+    ) {
+        if (width <= 0 || height <= 0) return;
+
+        if (this.background != null) {
+            final float scale = Math.max(
+                width / this.background.getPixelWidth(),
+                height / this.background.getPixelHeight()
+            );
+            final float imageWidth = scale * this.background.getPixelWidth();
+            final float imageHeight = scale * this.background.getPixelHeight();
+
+            canvas.saveState();
+            canvas.rectangle(left, bottom, width, height);
+            canvas.clip();
+            canvas.newPath();
+            canvas.addImage(
+                this.background.getImage(imageWidth, imageHeight),
+                imageWidth,
+                0,
+                0,
+                imageHeight,
+                left + (width - imageWidth) / 2,
+                bottom + (height - imageHeight) / 2
+            );
+            canvas.restoreState();
+        }
+
+        if (this.logo != null) {
+            final float scale = Math.min(
+                LOGO_SHARE * width / this.logo.getPixelWidth(),
+                LOGO_SHARE * height / this.logo.getPixelHeight()
+            );
+            final float imageWidth = scale * this.logo.getPixelWidth();
+            final float imageHeight = scale * this.logo.getPixelHeight();
+
+            canvas.addImage(
+                this.logo.getImage(imageWidth, imageHeight),
+                imageWidth,
+                0,
+                0,
+                imageHeight,
+                left,
+                bottom + height - imageHeight
+            );
+        }
+    }
+
+    /**
+     * Berechnet die Höhe, die eine Zelle einer bestimmten Breite einnimmt, ohne dafür ein Dokument zu benötigen. Die
+     * Zelle ist mindestens so hoch wie der Gutschein, wächst aber mit ihrem Text, genauso wie in der Tabelle.
+     *
+     * @param cellWidth Die Breite der Zelle.
+     *
+     * @return Die Höhe der Zelle.
+     */
+    float getCellHeight(final float cellWidth) {
+        final float textHeight = measureTextHeight(cellWidth - (2 * CELL_PADDING));
+        return Math.max(this.height, CELL_PADDING + textHeight + getPaddingBottom());
+    }
+
+    /**
+     * Vermisst die Höhe des Textes eines Gutscheins, wenn dieser in einer Spalte einer bestimmten Breite gesetzt wird.
+     *
+     * @param width Die Breite der Spalte.
+     *
+     * @return Die Höhe des Textes.
+     */
+    @SneakyThrows
+    private float measureTextHeight(final float width) {
+        final ColumnText measure = createCouponColumn(null, width, Coupon.MAX_HEIGHT * 2);
+        measure.go(true);
+
+        return Coupon.MAX_HEIGHT * 2 - measure.getYLine();
+    }
+
+    /**
+     * Erstellt eine {@link ColumnText}, welche den Text des Gutscheins genauso setzt, wie es auch eine
+     * {@link PdfPCell} machen würde.
+     *
+     * @param canvas Das {@link PdfTemplate}, worauf der Text gezeichnet wird oder {@code null}, falls der Text nur
+     *               vermessen werden soll.
+     * @param width  Die Breite der Spalte.
+     * @param height Die Höhe der Spalte.
+     *
+     * @return Die {@link ColumnText}, welche den Text des Gutscheins setzt.
+     */
+    @NotNull
+    private ColumnText createCouponColumn(
+        @Nullable final PdfTemplate canvas,
+        final float width,
+        final float height
+    ) {
+        final ColumnText column = new ColumnText(canvas);
+        column.setLeading(0, 1);
+        column.setAlignment(Element.ALIGN_CENTER);
+        column.addText(getCouponText());
+        column.setSimpleColumn(0, -COLUMN_TOLERANCE, width, height);
+
+        return column;
+    }
+
+    /**
+     * Berechnet den unteren Innenabstand einer jeden Zelle, welcher, falls Seriennummern gedruckt werden, auch den
+     * Platz für die Seriennummer und den Barcode enthält.
+     *
+     * @return Der untere Innenabstand einer jeden Zelle.
+     */
+    private float getPaddingBottom() {
+        if (this.serialGenerator == null) return CELL_PADDING;
+        return CELL_PADDING + SerialRenderer.getReservedHeight(this.barcodeType);
+    }
+
+    /**
+     * Berechnet die Breite einer einzelnen Zelle in der Tabelle, in der alle Gutscheine stehen.
+     *
+     * @param document Das Dokument, in dem die Tabelle steht.
+     * @param coupons  Die Tabelle, in der alle Gutscheine stehen.
+     *
+     * @return Die Breite einer einzelnen Zelle in der Tabelle.
+     */
+    static float getCellWidth(@NotNull final Document document, @NotNull final PdfPTable coupons) {
+        final float tableWidth = (document.right() - document.left()) * coupons.getWidthPercentage() / 100;
+        return tableWidth / coupons.getNumberOfColumns();
+    }
+
+    /**
+     * Setzt den gesamten Text eines Gutscheins, mit allen Schriftarten, in einem {@link Paragraph} zusammen.
+     *
+     * @return Der gesamte Text eines Gutscheins.
+     */
+    @NotNull
+    private Paragraph getCouponText() {
         final Paragraph text = new Paragraph();
 
-        text.setFont(COUPON_HEADING_FONT);
+        text.setFont(this.style.getHeadingFont());
         text.add("Gutschein");
 
-        text.setFont(COUPON_DEFAULT_FONT);
+        text.setFont(this.style.getDefaultFont());
         text.add("\n\n");
 
         for (int i = 0; i < this.scaling; i++) {
@@ -186,7 +1425,7 @@ public final class Coupon {
         }
 
         text.add("für ");
-        text.setFont(COUPON_REASON_FONT);
+        text.setFont(this.style.getReasonFont());
         text.add(this.reason);
 
         text.add("\n\n\n\n");
@@ -195,16 +1434,12 @@ public final class Coupon {
             text.add("\n");
         }
 
-        text.setFont(COUPON_DEFAULT_FONT);
+        text.setFont(this.style.getDefaultFont());
         text.add("von ");
-        text.setFont(COUPON_CREATOR_FONT);
+        text.setFont(this.style.getCreatorFont());
         text.add(this.creator);
 
-        final PdfPCell cell = new PdfPCell(text);
-        cell.setHorizontalAlignment(Element.ALIGN_CENTER);
-        cell.setMinimumHeight(this.height);
-
-        return cell;
+        return text;
     }
 
     /**
@@ -214,7 +1449,7 @@ public final class Coupon {
      * @return Der ausgewählte Speicherort des Nutzers für das generierte PDF-Dokument.
      */
     @NotNull
-    private File getCustomFile() {
+    public static File getCustomFile() {
         // create file chooser based on home directory
         final JFileChooser chooser = new JFileChooser(FileSystemView.getFileSystemView().getHomeDirectory());
         chooser.setDialogTitle("Speichern unter...");
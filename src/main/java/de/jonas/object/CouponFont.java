@@ -0,0 +1,202 @@
+package de.jonas.object;
+
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.pdf.BaseFont;
+import de.jonas.utility.Hashes;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Eine {@link CouponFont} ist eine TrueType- oder OpenType-Schriftart, mit welcher der Text eines {@link Coupon}
+ * anstelle der eingebauten Schriftarten geschrieben wird, z.B. damit auch Namen mit Zeichen außerhalb von Latin-1
+ * korrekt gedruckt werden.</p>
+ * <p>Jede Datei wird nur einmalig gelesen und zu einem {@link BaseFont} verarbeitet, welcher anschließend prozessweit
+ * zwischengespeichert und von allen Dokumenten gemeinsam genutzt wird. Die Schriftart wird mit
+ * {@link BaseFont#IDENTITY_H} eingebettet, wobei jedes Dokument nur die Zeichen enthält, die es tatsächlich nutzt.
+ * Ein Dokument wächst dadurch nur um wenige Kilobyte, unabhängig von der Größe der Datei.</p>
+ * <p>Es werden nur die zuletzt genutzten Dateien zwischengespeichert. Alle {@link CouponStyle Styles} einer Schriftart
+ * und ihr Eintrag unter ihrem PostScript-Namen werden gemeinsam mit ihrer Datei aus dem Zwischenspeicher entfernt.</p>
+ */
+@NotNull
+public final class CouponFont {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die maximale Anzahl an Dateien, die gleichzeitig zwischengespeichert werden. */
+    private static final int MAX_CACHED_FILES = 8;
+    /** Alle bereits gelesenen Dateien anhand ihres Pfades, ihrer Größe und ihrer letzten Änderung. */
+    @NotNull
+    private static final Map<String, CouponFont> CACHE = new LinkedHashMap<String, CouponFont>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(@NotNull final Map.Entry<String, CouponFont> eldest) {
+            if (size() <= MAX_CACHED_FILES) return false;
+
+            // a newer font with the same name may have replaced the evicted one already
+            final CouponFont evicted = eldest.getValue();
+            BY_POSTSCRIPT_NAME.remove(evicted.baseFont.getPostscriptFontName(), evicted);
+            return true;
+        }
+    };
+    /**
+     * Alle zwischengespeicherten Schriftarten anhand ihres PostScript-Namens, wie er in einem PDF-Dokument steht. Wird
+     * nur zusammen mit {@link #CACHE} verändert.
+     */
+    @NotNull
+    private static final Map<String, CouponFont> BY_POSTSCRIPT_NAME = new ConcurrentHashMap<>();
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der Inhalt der Datei, wie sie gelesen wurde. */
+    private final byte @NotNull [] data;
+    /** Der SHA-256-Hash über den Inhalt der Datei, mit dem die Schriftart im Schlüssel eines {@link Coupon} steht. */
+    @Getter
+    @NotNull
+    private final String hash;
+    /** Der geteilte {@link BaseFont}, welcher von allen Dokumenten genutzt wird und nicht verändert werden darf. */
+    @NotNull
+    private final BaseFont baseFont;
+    /** Alle bereits erzeugten {@link CouponStyle Styles} dieser Schriftart, anhand ihrer Skalierung. */
+    @NotNull
+    private final Map<Integer, CouponStyle> styles = new ConcurrentHashMap<>();
+    /** Die Schriftart für Java2D oder {@code null}, falls sie noch nicht benötigt wurde. */
+    @Nullable
+    private volatile Font awtFont;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue {@link CouponFont} aus dem Inhalt einer Schriftdatei.
+     *
+     * @param name Der Name der Datei, anhand dessen Endung das Format erkannt wird.
+     * @param data Der Inhalt der Datei.
+     *
+     * @throws IOException              Wenn die Schriftart nicht gelesen werden kann.
+     * @throws IllegalArgumentException Wenn es sich nicht um eine TTF- oder OTF-Datei handelt.
+     */
+    private CouponFont(@NotNull final String name, final byte @NotNull [] data) throws IOException {
+        final String lowerName = name.toLowerCase();
+
+        if (!lowerName.endsWith(".ttf") && !lowerName.endsWith(".otf")) {
+            throw new IllegalArgumentException("Nur TTF- und OTF-Dateien werden unterstützt, nicht " + name);
+        }
+
+        this.data = data;
+        this.hash = Hashes.sha256(data);
+
+        try {
+            // the own cache of itext is bypassed, so that the font is evicted together with its file
+            this.baseFont = BaseFont.createFont(name, BaseFont.IDENTITY_H, BaseFont.EMBEDDED, false, data, null);
+        } catch (@NotNull final DocumentException e) {
+            throw new IllegalArgumentException("Die Schriftart " + name + " kann nicht eingebettet werden", e);
+        }
+
+        this.baseFont.setSubset(true);
+    }
+    //</editor-fold>
+
+
+    /**
+     * Gibt die {@link CouponFont} einer Schriftdatei zurück. Die Datei wird nur gelesen, wenn sie seit ihrem letzten
+     * Aufruf verändert wurde oder nicht mehr zwischengespeichert ist.
+     *
+     * @param file Die TTF- oder OTF-Datei.
+     *
+     * @return Die {@link CouponFont} der Datei.
+     *
+     * @throws IOException              Wenn die Datei nicht gelesen werden kann.
+     * @throws IllegalArgumentException Wenn es sich nicht um eine TTF- oder OTF-Datei handelt.
+     */
+    @NotNull
+    public static CouponFont of(@NotNull final File file) throws IOException {
+        final String key = file.getAbsolutePath() + ';' + file.length() + ';' + file.lastModified();
+
+        synchronized (CACHE) {
+            final CouponFont cached = CACHE.get(key);
+            if (cached != null) return cached;
+        }
+
+        final CouponFont font = new CouponFont(file.getName(), Files.readAllBytes(file.toPath()));
+
+        synchronized (CACHE) {
+            BY_POSTSCRIPT_NAME.put(font.baseFont.getPostscriptFontName(), font);
+            CACHE.put(key, font);
+        }
+
+        return font;
+    }
+
+    /**
+     * Gibt die bereits gelesene {@link CouponFont} zurück, welche unter einem bestimmten PostScript-Namen in ein
+     * PDF-Dokument eingebettet wurde, damit z.B. ein {@link CouponRasterizer} dieselbe Schriftart nutzen kann.
+     *
+     * @param postscriptName Der PostScript-Name der Schriftart, ohne das Präfix einer Teilmenge.
+     *
+     * @return Die {@link CouponFont} oder {@code null}, falls in diesem Prozess keine solche Schriftart gelesen wurde.
+     */
+    @Nullable
+    static CouponFont forPostscriptName(@NotNull final String postscriptName) {
+        return BY_POSTSCRIPT_NAME.get(postscriptName);
+    }
+
+    /**
+     * Gibt den geteilten {@link BaseFont} dieser Schriftart zurück, welcher nicht verändert werden darf.
+     *
+     * @return Der geteilte {@link BaseFont}.
+     */
+    @NotNull
+    BaseFont getBaseFont() {
+        return this.baseFont;
+    }
+
+    /**
+     * Gibt alle bereits erzeugten {@link CouponStyle Styles} dieser Schriftart zurück, welche damit nur so lange
+     * zwischengespeichert werden, wie die Schriftart selbst erreichbar ist.
+     *
+     * @return Alle {@link CouponStyle Styles} dieser Schriftart, anhand ihrer Skalierung.
+     */
+    @NotNull
+    Map<Integer, CouponStyle> getStyles() {
+        return this.styles;
+    }
+
+    /**
+     * Gibt diese Schriftart für Java2D zurück, welche nur beim ersten Aufruf aus dem Inhalt der Datei erzeugt wird.
+     *
+     * @return Die Schriftart für Java2D in der Größe {@code 1} oder {@code null}, falls Java2D die Datei nicht lesen
+     *     kann.
+     */
+    @Nullable
+    Font getAwtFont() {
+        Font font = this.awtFont;
+        if (font != null) return font;
+
+        try {
+            font = Font.createFont(Font.TRUETYPE_FONT, new ByteArrayInputStream(this.data));
+        } catch (@NotNull final FontFormatException | IOException e) {
+            return null;
+        }
+
+        this.awtFont = font;
+        return font;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "CouponFont[" + this.hash + "]";
+    }
+
+}
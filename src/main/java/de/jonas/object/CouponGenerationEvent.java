@@ -0,0 +1,90 @@
+package de.jonas.object;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Ein {@link CouponGenerationEvent} ist das Event des Java Flight Recorder, welches die Generierung eines gesamten
+ * PDF-Dokuments mit allen Werten seiner {@link GenerationMetrics} aufzeichnet.
+ */
+@NotNull
+@Name("de.jonas.CouponGeneration")
+@Label("Gutscheine generieren")
+@Description("Die Generierung eines gesamten PDF-Dokuments mit der Dauer jeder Phase.")
+@Category("Gutschein-Generator")
+@StackTrace(false)
+final class CouponGenerationEvent extends Event {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Anzahl an erstellten Gutscheinen. */
+    @Label("Gutscheine")
+    private long coupons;
+    /** Die Anzahl an vollständigen Zeilen der Tabelle. */
+    @Label("Zeilen")
+    private long rows;
+    /** Die Anzahl an geschriebenen Seiten. */
+    @Label("Seiten")
+    private long pages;
+    /** Die Anzahl an geschriebenen Bytes. */
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+    /** Die Dauer der Vorbereitung. */
+    @Label("Vorbereitung")
+    @Timespan
+    private long setup;
+    /** Die Dauer, in der die Zellen erstellt wurden. */
+    @Label("Zellen")
+    @Timespan
+    private long cells;
+    /** Die Dauer, in der die Tabelle gesetzt und umbrochen wurde. */
+    @Label("Layout")
+    @Timespan
+    private long layout;
+    /** Die Dauer, in der das Dokument abgeschlossen wurde. */
+    @Label("Abschluss")
+    @Timespan
+    private long close;
+    /** Die Dauer, in der die Bytes des Dokuments geschrieben wurden. */
+    @Label("Ausgabe")
+    @Timespan
+    private long output;
+    //</editor-fold>
+
+
+    /**
+     * Prüft, ob dieses Event gerade von einer Aufzeichnung erfasst wird.
+     *
+     * @return Ob dieses Event gerade aufgezeichnet wird.
+     */
+    static boolean isRecording() {
+        return new CouponGenerationEvent().isEnabled();
+    }
+
+    /**
+     * Übernimmt alle Werte eines Dokuments und zeichnet dieses Event auf.
+     *
+     * @param metrics Die {@link GenerationMetrics} des Dokuments.
+     */
+    void commit(@NotNull final GenerationMetrics metrics) {
+        this.coupons = metrics.getCoupons();
+        this.rows = metrics.getRows();
+        this.pages = metrics.getPages();
+        this.bytes = metrics.getBytes();
+        this.setup = metrics.getNanos(GenerationPhase.SETUP);
+        this.cells = metrics.getNanos(GenerationPhase.CELLS);
+        this.layout = metrics.getNanos(GenerationPhase.LAYOUT);
+        this.close = metrics.getNanos(GenerationPhase.CLOSE);
+        this.output = metrics.getNanos(GenerationPhase.OUTPUT);
+
+        commit();
+    }
+
+}
@@ -0,0 +1,242 @@
+package de.jonas.object;
+
+import com.itextpdf.text.Image;
+import de.jonas.utility.Hashes;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Ein {@link CouponImage} ist ein Bild, welches auf jeden Gutschein eines {@link Coupon} gedruckt wird, z.B. als
+ * Logo oder als Hintergrund. Unterstützt werden PNG- und JPEG-Dateien.</p>
+ * <p>Jede Datei wird nur einmalig gelesen und anschließend prozessweit zwischengespeichert. Für jede Größe, in der das
+ * Bild gedruckt wird, wird es ebenfalls nur einmalig auf die benötigte Auflösung verkleinert und kodiert. Das
+ * resultierende {@link Image} wird von allen Dokumenten gemeinsam genutzt und darf deshalb niemals verändert werden.
+ * Innerhalb eines Dokuments wird dasselbe {@link Image} vom {@link com.itextpdf.text.pdf.PdfWriter} nur einmal
+ * eingebettet und von jedem Gutschein lediglich referenziert, weshalb das Dokument nur einmal um die Größe des Bildes
+ * wächst, unabhängig von der Anzahl an Gutscheinen.</p>
+ */
+@NotNull
+public final class CouponImage {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die höchste Auflösung in Punkten pro Zoll, in der ein Bild eingebettet wird. */
+    private static final float MAX_DPI = 300;
+    /** Die Anzahl an Punkten pro Zoll in einem PDF-Dokument. */
+    private static final float POINTS_PER_INCH = 72;
+    /** Die Qualität, mit der verkleinerte Bilder ohne Transparenz als JPEG kodiert werden. */
+    private static final float JPEG_QUALITY = 0.9f;
+    /** Die maximale Anzahl an Dateien, die gleichzeitig zwischengespeichert werden. */
+    private static final int MAX_CACHED_FILES = 16;
+    /** Alle bereits gelesenen Dateien anhand ihres Pfades, ihrer Größe und ihrer letzten Änderung. */
+    @NotNull
+    private static final Map<String, CouponImage> CACHE = new LinkedHashMap<String, CouponImage>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(@NotNull final Map.Entry<String, CouponImage> eldest) {
+            return size() > MAX_CACHED_FILES;
+        }
+    };
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der Inhalt der Datei, wie sie gelesen wurde. */
+    private final byte @NotNull [] data;
+    /** Der SHA-256-Hash über den Inhalt der Datei, mit dem das Bild im Schlüssel eines {@link Coupon} steht. */
+    @Getter
+    @NotNull
+    private final String hash;
+    /** Die Breite des Bildes in Pixeln. */
+    @Getter
+    private final int pixelWidth;
+    /** Die Höhe des Bildes in Pixeln. */
+    @Getter
+    private final int pixelHeight;
+    /** Alle bereits erzeugten {@link Image Bilder} anhand ihrer Größe in Pixeln. */
+    @NotNull
+    private final Map<Long, Image> images = new ConcurrentHashMap<>();
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt ein neues {@link CouponImage} aus dem Inhalt einer Bilddatei.
+     *
+     * @param data Der Inhalt der Bilddatei.
+     *
+     * @throws IOException              Wenn das Bild nicht gelesen werden kann.
+     * @throws IllegalArgumentException Wenn es sich nicht um eine PNG- oder JPEG-Datei handelt.
+     */
+    private CouponImage(final byte @NotNull [] data) throws IOException {
+        this.data = data;
+        this.hash = Hashes.sha256(data);
+
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            final Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) throw new IllegalArgumentException("Unbekanntes Bildformat");
+
+            final ImageReader reader = readers.next();
+
+            try {
+                final String format = reader.getFormatName().toLowerCase();
+
+                if (!format.equals("png") && !format.equals("jpeg")) {
+                    throw new IllegalArgumentException("Nur PNG- und JPEG-Dateien werden unterstützt, nicht " + format);
+                }
+
+                // only the header is read, the pixels are decoded when the image is scaled
+                reader.setInput(in);
+                this.pixelWidth = reader.getWidth(0);
+                this.pixelHeight = reader.getHeight(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+    //</editor-fold>
+
+
+    /**
+     * Gibt das {@link CouponImage} einer Bilddatei zurück. Die Datei wird nur gelesen, wenn sie seit ihrem letzten
+     * Aufruf verändert wurde oder nicht mehr zwischengespeichert ist.
+     *
+     * @param file Die PNG- oder JPEG-Datei.
+     *
+     * @return Das {@link CouponImage} der Datei.
+     *
+     * @throws IOException              Wenn die Datei nicht gelesen werden kann.
+     * @throws IllegalArgumentException Wenn es sich nicht um eine PNG- oder JPEG-Datei handelt.
+     */
+    @NotNull
+    public static CouponImage of(@NotNull final File file) throws IOException {
+        final String key = file.getAbsolutePath() + ';' + file.length() + ';' + file.lastModified();
+
+        synchronized (CACHE) {
+            final CouponImage cached = CACHE.get(key);
+            if (cached != null) return cached;
+        }
+
+        final CouponImage image = new CouponImage(Files.readAllBytes(file.toPath()));
+
+        synchronized (CACHE) {
+            CACHE.put(key, image);
+        }
+
+        return image;
+    }
+
+    /**
+     * Gibt das {@link Image} dieses Bildes für eine bestimmte Größe zurück, in der es gedruckt wird. Ist die Datei
+     * größer als für {@value #MAX_DPI} Punkte pro Zoll nötig, wird das Bild einmalig verkleinert, andernfalls wird die
+     * Datei unverändert eingebettet. Das zurückgegebene {@link Image} wird geteilt und darf nicht verändert werden.
+     *
+     * @param width  Die Breite, in der das Bild gedruckt wird.
+     * @param height Die Höhe, in der das Bild gedruckt wird.
+     *
+     * @return Das {@link Image} für diese Größe.
+     */
+    @NotNull
+    Image getImage(final float width, final float height) {
+        final int targetWidth = Math.max(1, (int) Math.ceil(width * MAX_DPI / POINTS_PER_INCH));
+        final int targetHeight = Math.max(1, (int) Math.ceil(height * MAX_DPI / POINTS_PER_INCH));
+
+        // the file itself is used for every size it is detailed enough for
+        final boolean original = this.pixelWidth <= targetWidth || this.pixelHeight <= targetHeight;
+        final long key = original ? -1 : ((long) targetWidth << Integer.SIZE) | targetHeight;
+
+        return this.images.computeIfAbsent(key, size -> original ? load(this.data) : scale(targetWidth, targetHeight));
+    }
+
+    /**
+     * Verkleinert das Bild auf eine bestimmte Größe in Pixeln und kodiert es erneut. Bilder mit Transparenz werden als
+     * PNG kodiert, alle anderen als JPEG.
+     *
+     * @param width  Die Breite in Pixeln.
+     * @param height Die Höhe in Pixeln.
+     *
+     * @return Das verkleinerte {@link Image}.
+     */
+    @NotNull
+    @SneakyThrows
+    private Image scale(
+        @Range(from = 1, to = Integer.MAX_VALUE) final int width,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int height
+    ) {
+        final BufferedImage source = ImageIO.read(new ByteArrayInputStream(this.data));
+        final boolean transparent = source.getColorModel().hasAlpha();
+        final BufferedImage scaled = new BufferedImage(
+            width,
+            height,
+            transparent ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB
+        );
+
+        final Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        if (transparent) {
+            ImageIO.write(scaled, "png", out);
+        } else {
+            final ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            final ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+
+            try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+                writer.setOutput(stream);
+                writer.write(null, new IIOImage(scaled, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+        }
+
+        return load(out.toByteArray());
+    }
+
+    /**
+     * Erzeugt ein {@link Image} aus dem Inhalt einer PNG- oder JPEG-Datei. iText übernimmt die bereits komprimierten
+     * Daten dabei direkt, weshalb sie nicht für jedes Dokument erneut komprimiert werden müssen.
+     *
+     * @param data Der Inhalt der Datei.
+     *
+     * @return Das {@link Image}.
+     */
+    @NotNull
+    @SneakyThrows
+    private static Image load(final byte @NotNull [] data) {
+        return Image.getInstance(data);
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "CouponImage[" + this.hash + "]";
+    }
+
+}
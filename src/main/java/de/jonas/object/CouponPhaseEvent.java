@@ -0,0 +1,57 @@
+package de.jonas.object;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Ein {@link CouponPhaseEvent} ist das Event des Java Flight Recorder, welches einen einzelnen Durchlauf einer
+ * {@link GenerationPhase} aufzeichnet, etwa das Setzen der nächsten vollständigen Zeilen der Tabelle.
+ */
+@NotNull
+@Name("de.jonas.CouponPhase")
+@Label("Phase der Generierung")
+@Description("Ein einzelner Durchlauf einer Phase während der Generierung eines PDF-Dokuments.")
+@Category("Gutschein-Generator")
+@StackTrace(false)
+final class CouponPhaseEvent extends Event {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der Name der {@link GenerationPhase}. */
+    @Label("Phase")
+    @NotNull
+    private final String phase;
+    /** Die Anzahl an Gutscheinen, die bis zum Ende der Phase gesetzt wurden. */
+    @Label("Gutscheine")
+    private int coupons;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt ein neues {@link CouponPhaseEvent} für eine bestimmte {@link GenerationPhase}.
+     *
+     * @param phase Die {@link GenerationPhase}, welche aufgezeichnet wird.
+     */
+    CouponPhaseEvent(@NotNull final GenerationPhase phase) {
+        this.phase = phase.getLabel();
+    }
+    //</editor-fold>
+
+
+    /**
+     * Übernimmt die Anzahl an gesetzten Gutscheinen und zeichnet dieses Event auf.
+     *
+     * @param coupons Die Anzahl an Gutscheinen, die bis zum Ende der Phase gesetzt wurden.
+     */
+    void commit(final int coupons) {
+        this.coupons = coupons;
+        commit();
+    }
+
+}
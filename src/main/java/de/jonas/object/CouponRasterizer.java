@@ -0,0 +1,982 @@
+package de.jonas.object;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.DocumentFont;
+import com.itextpdf.text.pdf.PRStream;
+import com.itextpdf.text.pdf.PdfArray;
+import com.itextpdf.text.pdf.PdfIndirectReference;
+import com.itextpdf.text.pdf.PdfLiteral;
+import com.itextpdf.text.pdf.PdfName;
+import com.itextpdf.text.pdf.PdfObject;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.PdfStream;
+import com.itextpdf.text.pdf.parser.ExtRenderListener;
+import com.itextpdf.text.pdf.parser.ContentByteUtils;
+import com.itextpdf.text.pdf.parser.ContentOperator;
+import com.itextpdf.text.pdf.parser.ImageRenderInfo;
+import com.itextpdf.text.pdf.parser.LineSegment;
+import com.itextpdf.text.pdf.parser.MarkedContentInfo;
+import com.itextpdf.text.pdf.parser.Matrix;
+import com.itextpdf.text.pdf.parser.Path;
+import com.itextpdf.text.pdf.parser.PathConstructionRenderInfo;
+import com.itextpdf.text.pdf.parser.PathPaintingRenderInfo;
+import com.itextpdf.text.pdf.parser.PdfContentStreamProcessor;
+import com.itextpdf.text.pdf.parser.PdfImageObject;
+import com.itextpdf.text.pdf.parser.TextRenderInfo;
+import com.itextpdf.text.pdf.parser.Vector;
+import com.itextpdf.text.pdf.parser.XObjectDoHandler;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Stack;
+
+/**
+ * <p>Ein {@link CouponRasterizer} wandelt einen einzelnen Gutschein eines {@link Coupon} in ein Rasterbild um, z.B.
+ * für eine Vorschau in der grafischen Oberfläche. Dafür wird der Gutschein zunächst von iText als eigenständiges
+ * PDF-Dokument gesetzt und dessen Inhalt anschließend mit Java2D nachgezeichnet. Die Positionen aller Texte, Linien und
+ * Barcodes entsprechen somit exakt dem späteren PDF-Dokument, lediglich die Schriftarten werden durch die
+ * entsprechenden logischen Schriftarten von Java ersetzt.</p>
+ * <p>Ein {@link CouponRasterizer} verwendet seinen Puffer für jedes Bild wieder und ist deshalb nicht threadsicher.</p>
+ */
+@NotNull
+public final class CouponRasterizer {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Anzahl an Punkten eines PDF-Dokuments pro Zoll. */
+    private static final float POINTS_PER_INCH = 72;
+    /** Die anfängliche Kapazität des Puffers, in den der einzelne Gutschein geschrieben wird. */
+    private static final int INITIAL_BUFFER_CAPACITY = 16 * 1024;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der Puffer, in den der einzelne Gutschein als PDF-Dokument geschrieben wird. */
+    @NotNull
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(INITIAL_BUFFER_CAPACITY);
+    /** Das Rasterbild, welches von {@link #rasterizeReusing(Coupon, long, float)} wiederverwendet wird. */
+    @Nullable
+    private BufferedImage image;
+    /** Der Teil eines Gutscheins, der bei allen Gutscheinen gleich ist, also alles außer der Seriennummer. */
+    @Nullable
+    private BufferedImage content;
+    /** Der {@link Coupon#getCacheKey() Schlüssel} und die Auflösung, mit denen {@link #content} gezeichnet wurde. */
+    @Nullable
+    private String contentKey;
+    //</editor-fold>
+
+
+    /**
+     * Wandelt den ersten Gutschein eines {@link Coupon} in ein Rasterbild mit einer bestimmten Auflösung um.
+     *
+     * @param coupon Der {@link Coupon}, dessen Gutschein umgewandelt wird.
+     * @param dpi    Die Auflösung des Rasterbildes in Pixeln pro Zoll.
+     *
+     * @return Das Rasterbild des Gutscheins.
+     */
+    @NotNull
+    public BufferedImage rasterize(@NotNull final Coupon coupon, final float dpi) {
+        return rasterize(coupon, 0, dpi);
+    }
+
+    /**
+     * Wandelt einen bestimmten Gutschein eines {@link Coupon}, samt seiner Seriennummer, in ein Rasterbild mit einer
+     * bestimmten Auflösung um.
+     *
+     * @param coupon Der {@link Coupon}, dessen Gutschein umgewandelt wird.
+     * @param index  Die Position des Gutscheins, beginnend bei {@code 0}.
+     * @param dpi    Die Auflösung des Rasterbildes in Pixeln pro Zoll.
+     *
+     * @return Das Rasterbild des Gutscheins.
+     */
+    @NotNull
+    public BufferedImage rasterize(
+        @NotNull final Coupon coupon,
+        @Range(from = 0, to = Long.MAX_VALUE) final long index,
+        final float dpi
+    ) {
+        return render(
+            writeCell(coupon, index, true, true),
+            dpi / POINTS_PER_INCH,
+            Integer.MAX_VALUE,
+            Integer.MAX_VALUE
+        );
+    }
+
+    /**
+     * Wandelt einen bestimmten Gutschein eines {@link Coupon} genauso wie {@link #rasterize(Coupon, long, float)} in
+     * ein Rasterbild um, zeichnet dieses aber in dasselbe Rasterbild wie beim vorherigen Aufruf, sofern dieses die
+     * passende Größe hat. Das zurückgegebene Rasterbild ist also nur bis zum nächsten Aufruf gültig, dafür muss für
+     * viele gleich große Gutscheine nicht jedes Mal ein neues Rasterbild angelegt werden.
+     * <p>Der Teil des Gutscheins, welcher bei allen Gutscheinen gleich ist, wird zudem nur einmal gezeichnet und dann
+     * für jeden weiteren Gutschein desselben {@link Coupon} kopiert, sodass nur noch die Seriennummer und der Barcode
+     * gezeichnet werden müssen.</p>
+     *
+     * @param coupon Der {@link Coupon}, dessen Gutschein umgewandelt wird.
+     * @param index  Die Position des Gutscheins, beginnend bei {@code 0}.
+     * @param dpi    Die Auflösung des Rasterbildes in Pixeln pro Zoll.
+     *
+     * @return Das wiederverwendete Rasterbild des Gutscheins.
+     */
+    @NotNull
+    public BufferedImage rasterizeReusing(
+        @NotNull final Coupon coupon,
+        @Range(from = 0, to = Long.MAX_VALUE) final long index,
+        final float dpi
+    ) {
+        final float scale = dpi / POINTS_PER_INCH;
+
+        if (coupon.getSerialGenerator() == null) {
+            this.image = render(writeCell(coupon, index, true, true), scale, null, this.image);
+            return this.image;
+        }
+
+        // the content is drawn again, as soon as anything about the coupon has changed
+        final String key = coupon.getCacheKey() + dpi;
+
+        if (this.content == null || !key.equals(this.contentKey)) {
+            this.content = render(writeCell(coupon, index, true, false), scale, null, this.content);
+            this.contentKey = key;
+        }
+
+        this.image = render(writeCell(coupon, index, false, true), scale, this.content, this.image);
+        return this.image;
+    }
+
+    /**
+     * Wandelt den ersten Gutschein eines {@link Coupon} in ein Rasterbild um, welches so groß wie möglich ist, aber
+     * eine bestimmte Breite und Höhe nicht überschreitet.
+     *
+     * @param coupon    Der {@link Coupon}, dessen Gutschein umgewandelt wird.
+     * @param maxWidth  Die maximale Breite des Rasterbildes in Pixeln.
+     * @param maxHeight Die maximale Höhe des Rasterbildes in Pixeln.
+     *
+     * @return Das Rasterbild des Gutscheins.
+     */
+    @NotNull
+    public BufferedImage rasterizeToFit(
+        @NotNull final Coupon coupon,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int maxWidth,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int maxHeight
+    ) {
+        return render(writeCell(coupon, 0, true, true), Float.POSITIVE_INFINITY, maxWidth, maxHeight);
+    }
+
+    /**
+     * Schreibt einen einzelnen Gutschein, bzw. einen Teil davon, als PDF-Dokument in den Puffer und öffnet dieses
+     * wieder zum Lesen.
+     *
+     * @param coupon  Der {@link Coupon}, dessen Gutschein geschrieben wird.
+     * @param index   Die Position des Gutscheins, beginnend bei {@code 0}.
+     * @param content Ob der Rahmen und der Inhalt des Gutscheins geschrieben werden.
+     * @param serial  Ob die Seriennummer des Gutscheins geschrieben wird.
+     *
+     * @return Der {@link PdfReader}, welcher das PDF-Dokument des Gutscheins liest.
+     */
+    @NotNull
+    @SneakyThrows
+    private PdfReader writeCell(
+        @NotNull final Coupon coupon,
+        final long index,
+        final boolean content,
+        final boolean serial
+    ) {
+        this.buffer.reset();
+        coupon.writeCell(this.buffer, index, content, serial);
+
+        return new PdfReader(this.buffer.toByteArray());
+    }
+
+    /**
+     * Zeichnet die erste Seite eines PDF-Dokuments in ein neues Rasterbild mit weißem Hintergrund.
+     *
+     * @param reader    Der {@link PdfReader}, welcher das PDF-Dokument liest. Dieser wird anschließend geschlossen.
+     * @param scale     Die Anzahl an Pixeln pro Punkt.
+     * @param maxWidth  Die maximale Breite des Rasterbildes in Pixeln, welche die Pixel pro Punkt verringern kann.
+     * @param maxHeight Die maximale Höhe des Rasterbildes in Pixeln, welche die Pixel pro Punkt verringern kann.
+     *
+     * @return Das Rasterbild der ersten Seite.
+     */
+    @NotNull
+    private static BufferedImage render(
+        @NotNull final PdfReader reader,
+        final float scale,
+        final int maxWidth,
+        final int maxHeight
+    ) {
+        final Rectangle page = reader.getPageSize(1);
+        final float fitted = Math.min(scale, Math.min(maxWidth / page.getWidth(), maxHeight / page.getHeight()));
+
+        return render(reader, fitted, null, null);
+    }
+
+    /**
+     * Zeichnet die erste Seite eines PDF-Dokuments in ein Rasterbild, entweder auf einen weißen Hintergrund oder über
+     * ein bereits gezeichnetes Rasterbild derselben Größe.
+     *
+     * @param reader     Der {@link PdfReader}, welcher das PDF-Dokument liest. Dieser wird anschließend geschlossen.
+     * @param scale      Die Anzahl an Pixeln pro Punkt.
+     * @param background Das Rasterbild, über welches die Seite gezeichnet wird, oder {@code null} für einen weißen
+     *                   Hintergrund.
+     * @param reuse      Ein Rasterbild, welches wiederverwendet wird, falls es die passende Größe hat, oder
+     *                   {@code null}, falls ein neues Rasterbild angelegt werden soll.
+     *
+     * @return Das Rasterbild der ersten Seite.
+     */
+    @NotNull
+    @SneakyThrows
+    private static BufferedImage render(
+        @NotNull final PdfReader reader,
+        final float scale,
+        @Nullable final BufferedImage background,
+        @Nullable final BufferedImage reuse
+    ) {
+        try {
+            final Rectangle page = reader.getPageSize(1);
+            final int width = Math.max(1, Math.round(page.getWidth() * scale));
+            final int height = Math.max(1, Math.round(page.getHeight() * scale));
+            final BufferedImage image = (reuse != null && reuse.getWidth() == width && reuse.getHeight() == height)
+                ? reuse
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            final Graphics2D g = image.createGraphics();
+
+            try {
+                if (background == null) {
+                    g.setColor(Color.WHITE);
+                    g.fillRect(0, 0, image.getWidth(), image.getHeight());
+                } else {
+                    g.drawImage(background, 0, 0, null);
+                }
+
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+                g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+
+                // pdf coordinates start at the bottom left, image coordinates at the top left
+                final AffineTransform device = new AffineTransform(
+                    scale,
+                    0,
+                    0,
+                    -scale,
+                    -page.getLeft() * scale,
+                    page.getTop() * scale
+                );
+
+                new PageRenderer(g, device).process(reader);
+            } finally {
+                g.dispose();
+            }
+
+            return image;
+        } finally {
+            reader.close();
+        }
+    }
+
+
+    /**
+     * Ein {@link PageRenderer} empfängt alle Texte, Pfade und Bilder einer Seite, während diese von iText gelesen wird,
+     * und zeichnet diese direkt mit Java2D nach. Zuschneidungen werden, genauso wie im PDF-Dokument, mit dem
+     * Grafikzustand gesichert und wiederhergestellt, und jedes Formular wird auf seine {@code BBox} zugeschnitten,
+     * damit z.B. ein Hintergrund nicht über seinen Gutschein hinausragt.
+     */
+    private static final class PageRenderer implements ExtRenderListener {
+
+        //<editor-fold desc="CONSTANTS">
+        /** Die Textdarstellung, bei welcher der Text unsichtbar ist. */
+        private static final int INVISIBLE_TEXT = 3;
+        /** Die Regel von {@link #clipRule}, solange mit dem aktuellen Pfad nicht zugeschnitten wird. */
+        private static final int NO_CLIP = -1;
+        //</editor-fold>
+
+
+        //<editor-fold desc="LOCAL FIELDS">
+        /** Das {@link Graphics2D}, womit gezeichnet wird. */
+        @NotNull
+        private final Graphics2D graphics;
+        /** Die Transformation von den Koordinaten der Seite in die Pixel des Rasterbildes. */
+        @NotNull
+        private final AffineTransform device;
+        /** Alle bereits erzeugten Schriftarten, anhand ihres Namens und ihrer Größe. */
+        @NotNull
+        private final Map<String, Font> fonts = new HashMap<>();
+        /** Die Zuschneidung eines jeden gesicherten Grafikzustands, {@code null} steht dabei für keine Zuschneidung. */
+        @NotNull
+        private final List<Shape> savedClips = new ArrayList<>();
+        /** Der Pfad, welcher gerade aufgebaut wird, in den Koordinaten der Seite. */
+        @NotNull
+        private GeneralPath path = new GeneralPath();
+        /** Die Regel, mit der nach dem Zeichnen auf den aktuellen Pfad zugeschnitten wird, oder {@link #NO_CLIP}. */
+        private int clipRule = NO_CLIP;
+        //</editor-fold>
+
+
+        //<editor-fold desc="CONSTRUCTORS">
+
+        /**
+         * Erzeugt einen neuen {@link PageRenderer}, welcher eine Seite nachzeichnet.
+         *
+         * @param graphics Das {@link Graphics2D}, womit gezeichnet wird.
+         * @param device   Die Transformation von den Koordinaten der Seite in die Pixel des Rasterbildes.
+         */
+        private PageRenderer(@NotNull final Graphics2D graphics, @NotNull final AffineTransform device) {
+            this.graphics = graphics;
+            this.device = device;
+        }
+        //</editor-fold>
+
+
+        //<editor-fold desc="implementation">
+        @Override
+        public void beginTextBlock() {
+            // text is drawn character by character
+        }
+
+        @Override
+        public void renderText(@NotNull final TextRenderInfo renderInfo) {
+            if (renderInfo.getTextRenderMode() == INVISIBLE_TEXT) return;
+
+            this.graphics.setColor(toColor(renderInfo.getFillColor()));
+
+            for (@NotNull final TextRenderInfo character : renderInfo.getCharacterRenderInfos()) {
+                final String text = character.getText();
+                if (text == null || text.trim().isEmpty()) continue;
+
+                drawCharacter(character, text);
+            }
+        }
+
+        @Override
+        public void endTextBlock() {
+            // text is drawn character by character
+        }
+
+        @Override
+        public void renderImage(@NotNull final ImageRenderInfo renderInfo) {
+            final BufferedImage image;
+
+            try {
+                image = decode(renderInfo.getImage());
+            } catch (@NotNull final Exception ignored) {
+                // images which java cannot decode are left out of the raster
+                return;
+            }
+
+            if (image == null) return;
+
+            // an image fills the unit square of its transformation, starting at the top left
+            final AffineTransform transform = new AffineTransform(this.device);
+            transform.concatenate(toTransform(renderInfo.getImageCTM()));
+            transform.translate(0, 1);
+            transform.scale(1d / image.getWidth(), -1d / image.getHeight());
+
+            this.graphics.drawImage(image, transform, null);
+        }
+
+        @Override
+        public void modifyPath(@NotNull final PathConstructionRenderInfo renderInfo) {
+            final List<Float> data = renderInfo.getSegmentData();
+            final Matrix ctm = renderInfo.getCtm();
+
+            switch (renderInfo.getOperation()) {
+                case PathConstructionRenderInfo.MOVETO:
+                    moveTo(ctm, data.get(0), data.get(1));
+                    break;
+                case PathConstructionRenderInfo.LINETO:
+                    lineTo(ctm, data.get(0), data.get(1));
+                    break;
+                case PathConstructionRenderInfo.CURVE_123:
+                    curveTo(ctm, data.get(0), data.get(1), data.get(2), data.get(3), data.get(4), data.get(5));
+                    break;
+                case PathConstructionRenderInfo.CURVE_23:
+                    final Point2D current = this.path.getCurrentPoint();
+                    this.path.curveTo(
+                        current.getX(),
+                        current.getY(),
+                        transformX(ctm, data.get(0), data.get(1)),
+                        transformY(ctm, data.get(0), data.get(1)),
+                        transformX(ctm, data.get(2), data.get(3)),
+                        transformY(ctm, data.get(2), data.get(3))
+                    );
+                    break;
+                case PathConstructionRenderInfo.CURVE_13:
+                    curveTo(ctm, data.get(0), data.get(1), data.get(2), data.get(3), data.get(2), data.get(3));
+                    break;
+                case PathConstructionRenderInfo.CLOSE:
+                    this.path.closePath();
+                    break;
+                case PathConstructionRenderInfo.RECT:
+                    final float x = data.get(0);
+                    final float y = data.get(1);
+                    final float width = data.get(2);
+                    final float height = data.get(3);
+
+                    moveTo(ctm, x, y);
+                    lineTo(ctm, x + width, y);
+                    lineTo(ctm, x + width, y + height);
+                    lineTo(ctm, x, y + height);
+                    this.path.closePath();
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Nullable
+        @Override
+        public Path renderPath(@NotNull final PathPaintingRenderInfo renderInfo) {
+            final int operation = renderInfo.getOperation();
+
+            if (operation != PathPaintingRenderInfo.NO_OP) {
+                this.path.setWindingRule(toWindingRule(renderInfo.getRule()));
+
+                final Shape shape = this.device.createTransformedShape(this.path);
+
+                // the colors of paths are not reported by the parser, every path of a coupon is black
+                this.graphics.setColor(Color.BLACK);
+
+                if ((operation & PathPaintingRenderInfo.FILL) != 0) this.graphics.fill(shape);
+                if ((operation & PathPaintingRenderInfo.STROKE) != 0) {
+                    this.graphics.setStroke(createStroke(renderInfo));
+                    this.graphics.draw(shape);
+                }
+            }
+
+            // the clipping path only takes effect after the path has been painted
+            if (this.clipRule != NO_CLIP) {
+                this.path.setWindingRule(toWindingRule(this.clipRule));
+                this.graphics.clip(this.device.createTransformedShape(this.path));
+                this.clipRule = NO_CLIP;
+            }
+
+            this.path = new GeneralPath();
+            return null;
+        }
+
+        @Override
+        public void clipPath(final int rule) {
+            this.clipRule = rule;
+        }
+        //</editor-fold>
+
+        /**
+         * Liest die erste Seite eines PDF-Dokuments und zeichnet diese nach. Der Parser meldet das Sichern und
+         * Wiederherstellen des Grafikzustands nicht, weshalb die Operatoren {@code q} und {@code Q} sowie das Zeichnen
+         * eines Formulars dafür ergänzt werden.
+         *
+         * @param reader Der {@link PdfReader}, welcher das PDF-Dokument liest.
+         *
+         * @throws IOException Wenn der Inhalt der Seite nicht gelesen werden kann.
+         */
+        private void process(@NotNull final PdfReader reader) throws IOException {
+            final PdfContentStreamProcessor processor = new PdfContentStreamProcessor(this);
+            final ObservedOperator save = new ObservedOperator(this::saveState);
+            final ObservedOperator restore = new ObservedOperator(this::restoreState);
+            final FormClipHandler form = new FormClipHandler(this);
+
+            save.delegate = processor.registerContentOperator("q", save);
+            restore.delegate = processor.registerContentOperator("Q", restore);
+            form.delegate = processor.registerXObjectDoHandler(PdfName.FORM, form);
+
+            processor.processContent(
+                ContentByteUtils.getContentBytesForPage(reader, 1),
+                reader.getPageN(1).getAsDict(PdfName.RESOURCES)
+            );
+        }
+
+        /**
+         * Sichert die aktuelle Zuschneidung, damit diese von {@link #restoreState()} wiederhergestellt werden kann.
+         */
+        private void saveState() {
+            this.savedClips.add(this.graphics.getClip());
+        }
+
+        /**
+         * Stellt die zuletzt von {@link #saveState()} gesicherte Zuschneidung wieder her.
+         */
+        private void restoreState() {
+            if (this.savedClips.isEmpty()) return;
+
+            this.graphics.setClip(this.savedClips.remove(this.savedClips.size() - 1));
+        }
+
+        /**
+         * Schneidet alles, was danach gezeichnet wird, auf die {@code BBox} eines Formulars zu.
+         *
+         * @param form Das Formular.
+         * @param ctm  Die Transformation der Seite, mit der das Formular gezeichnet wird, ohne dessen eigene Matrix.
+         */
+        private void clipToBoundingBox(@NotNull final PdfStream form, @NotNull final Matrix ctm) {
+            final PdfArray box = form.getAsArray(PdfName.BBOX);
+            if (box == null) return;
+
+            final PdfArray matrix = form.getAsArray(PdfName.MATRIX);
+            final Matrix formCtm = (matrix == null) ? ctm : new Matrix(
+                matrix.getAsNumber(0).floatValue(),
+                matrix.getAsNumber(1).floatValue(),
+                matrix.getAsNumber(2).floatValue(),
+                matrix.getAsNumber(3).floatValue(),
+                matrix.getAsNumber(4).floatValue(),
+                matrix.getAsNumber(5).floatValue()
+            ).multiply(ctm);
+
+            final Rectangle bounds = PdfReader.getNormalizedRectangle(box);
+            final AffineTransform transform = new AffineTransform(this.device);
+            transform.concatenate(toTransform(formCtm));
+
+            this.graphics.clip(transform.createTransformedShape(new Rectangle2D.Float(
+                bounds.getLeft(),
+                bounds.getBottom(),
+                bounds.getWidth(),
+                bounds.getHeight()
+            )));
+        }
+
+        /**
+         * Zeichnet ein einzelnes Zeichen an seine Position auf der Grundlinie. Die Schriftgröße ergibt sich dabei aus
+         * dem Abstand zwischen der Ober- und der Unterlänge, damit auch Skalierungen der Seite berücksichtigt werden.
+         *
+         * @param character Das Zeichen, welches gezeichnet wird.
+         * @param text      Der Text des Zeichens.
+         */
+        private void drawCharacter(@NotNull final TextRenderInfo character, @NotNull final String text) {
+            final DocumentFont font = character.getFont();
+            final float ascent = font.getFontDescriptor(BaseFont.ASCENT, 1);
+            final float descent = font.getFontDescriptor(BaseFont.DESCENT, 1);
+            if (ascent - descent <= 0) return;
+
+            final Vector top = character.getAscentLine().getStartPoint();
+            final Vector bottom = character.getDescentLine().getStartPoint();
+            final float size = distance(top, bottom) / (ascent - descent);
+
+            final LineSegment baseline = character.getBaseline();
+            final Point2D start = toDevice(baseline.getStartPoint());
+            final Point2D end = toDevice(baseline.getEndPoint());
+            final double scale = Math.sqrt(Math.abs(this.device.getDeterminant()));
+            final Font awtFont = getFont(font.getPostscriptFontName(), (float) (size * scale));
+
+            // the replacement font may be wider or narrower, so it is stretched to the width of the original glyph
+            final double advance = start.distance(end);
+            final double awtAdvance = awtFont.getStringBounds(text, this.graphics.getFontRenderContext()).getWidth();
+
+            final AffineTransform previous = this.graphics.getTransform();
+            this.graphics.translate(start.getX(), start.getY());
+            this.graphics.rotate(Math.atan2(end.getY() - start.getY(), end.getX() - start.getX()));
+            if (advance > 0 && awtAdvance > 0) this.graphics.scale(advance / awtAdvance, 1);
+            this.graphics.setFont(awtFont);
+            this.graphics.drawString(text, 0, 0);
+            this.graphics.setTransform(previous);
+        }
+
+        /**
+         * Gibt die Schriftart von Java zurück, welche einer Schriftart des PDF-Dokuments am ehesten entspricht. Wurde
+         * eine eingebettete {@link CouponFont} in diesem Prozess bereits gelesen, wird genau diese Schriftart genutzt,
+         * ansonsten die ähnlichste logische Schriftart von Java.
+         *
+         * @param name Der PostScript-Name der Schriftart des PDF-Dokuments, z.B. {@code Courier-Bold}.
+         * @param size Die Größe der Schriftart in Pixeln.
+         *
+         * @return Die entsprechende Schriftart von Java.
+         */
+        @NotNull
+        private Font getFont(@Nullable final String name, final float size) {
+            final String postscriptName = (name == null) ? "" : name;
+
+            return this.fonts.computeIfAbsent(postscriptName + '@' + size, key -> {
+                // embedded subsets are named with a tag of six capital letters, e.g. ABCDEF+DejaVuSans
+                final int tag = postscriptName.indexOf('+');
+                final CouponFont embedded = CouponFont.forPostscriptName(postscriptName.substring(tag + 1));
+                final Font embeddedFont = (embedded == null) ? null : embedded.getAwtFont();
+
+                if (embeddedFont != null) return embeddedFont.deriveFont(size);
+
+                final String family;
+
+                if (postscriptName.contains("Courier")) {
+                    family = Font.MONOSPACED;
+                } else if (postscriptName.contains("Times")) {
+                    family = Font.SERIF;
+                } else {
+                    family = Font.SANS_SERIF;
+                }
+
+                int style = Font.PLAIN;
+                if (postscriptName.contains("Bold")) style |= Font.BOLD;
+                if (postscriptName.contains("Italic") || postscriptName.contains("Oblique")) style |= Font.ITALIC;
+
+                return new Font(family, style, 1).deriveFont(size);
+            });
+        }
+
+        /**
+         * Erstellt die Linie, mit der ein Pfad nachgezogen wird, in den Pixeln des Rasterbildes.
+         *
+         * @param renderInfo Die Eigenschaften, mit denen der Pfad gezeichnet wird.
+         *
+         * @return Die Linie, mit der ein Pfad nachgezogen wird.
+         */
+        @NotNull
+        private BasicStroke createStroke(@NotNull final PathPaintingRenderInfo renderInfo) {
+            final Matrix ctm = renderInfo.getCtm();
+            final double ctmScale = Math.sqrt(Math.abs(
+                ctm.get(Matrix.I11) * ctm.get(Matrix.I22) - ctm.get(Matrix.I12) * ctm.get(Matrix.I21)
+            ));
+            final double deviceScale = Math.sqrt(Math.abs(this.device.getDeterminant()));
+            final double width = renderInfo.getLineWidth() * ctmScale * deviceScale;
+
+            final int cap;
+            switch (renderInfo.getLineCapStyle()) {
+                case 1:
+                    cap = BasicStroke.CAP_ROUND;
+                    break;
+                case 2:
+                    cap = BasicStroke.CAP_SQUARE;
+                    break;
+                default:
+                    cap = BasicStroke.CAP_BUTT;
+                    break;
+            }
+
+            final int join;
+            switch (renderInfo.getLineJoinStyle()) {
+                case 1:
+                    join = BasicStroke.JOIN_ROUND;
+                    break;
+                case 2:
+                    join = BasicStroke.JOIN_BEVEL;
+                    break;
+                default:
+                    join = BasicStroke.JOIN_MITER;
+                    break;
+            }
+
+            return new BasicStroke((float) width, cap, join, Math.max(1, renderInfo.getMiterLimit()));
+        }
+
+        /**
+         * Beginnt einen neuen Teilpfad an einem Punkt.
+         *
+         * @param ctm Die aktuelle Transformation der Seite.
+         * @param x   Die X-Koordinate des Punktes.
+         * @param y   Die Y-Koordinate des Punktes.
+         */
+        private void moveTo(@NotNull final Matrix ctm, final float x, final float y) {
+            this.path.moveTo(transformX(ctm, x, y), transformY(ctm, x, y));
+        }
+
+        /**
+         * Verlängert den aktuellen Teilpfad um eine gerade Linie zu einem Punkt.
+         *
+         * @param ctm Die aktuelle Transformation der Seite.
+         * @param x   Die X-Koordinate des Punktes.
+         * @param y   Die Y-Koordinate des Punktes.
+         */
+        private void lineTo(@NotNull final Matrix ctm, final float x, final float y) {
+            this.path.lineTo(transformX(ctm, x, y), transformY(ctm, x, y));
+        }
+
+        /**
+         * Verlängert den aktuellen Teilpfad um eine Bézierkurve.
+         *
+         * @param ctm Die aktuelle Transformation der Seite.
+         * @param x1  Die X-Koordinate des ersten Kontrollpunktes.
+         * @param y1  Die Y-Koordinate des ersten Kontrollpunktes.
+         * @param x2  Die X-Koordinate des zweiten Kontrollpunktes.
+         * @param y2  Die Y-Koordinate des zweiten Kontrollpunktes.
+         * @param x3  Die X-Koordinate des Endpunktes.
+         * @param y3  Die Y-Koordinate des Endpunktes.
+         */
+        @SuppressWarnings("checkstyle:ParameterNumber")
+        private void curveTo(
+            @NotNull final Matrix ctm,
+            final float x1,
+            final float y1,
+            final float x2,
+            final float y2,
+            final float x3,
+            final float y3
+        ) {
+            this.path.curveTo(
+                transformX(ctm, x1, y1),
+                transformY(ctm, x1, y1),
+                transformX(ctm, x2, y2),
+                transformY(ctm, x2, y2),
+                transformX(ctm, x3, y3),
+                transformY(ctm, x3, y3)
+            );
+        }
+
+        /**
+         * Rechnet einen Punkt der Seite in die Pixel des Rasterbildes um.
+         *
+         * @param point Der Punkt der Seite.
+         *
+         * @return Der Punkt im Rasterbild.
+         */
+        @NotNull
+        private Point2D toDevice(@NotNull final Vector point) {
+            return this.device.transform(new Point2D.Float(point.get(Vector.I1), point.get(Vector.I2)), null);
+        }
+
+        /**
+         * Berechnet die X-Koordinate eines Punktes nach einer Transformation.
+         *
+         * @param ctm Die Transformation.
+         * @param x   Die X-Koordinate des Punktes.
+         * @param y   Die Y-Koordinate des Punktes.
+         *
+         * @return Die X-Koordinate des transformierten Punktes.
+         */
+        private static float transformX(@NotNull final Matrix ctm, final float x, final float y) {
+            return x * ctm.get(Matrix.I11) + y * ctm.get(Matrix.I21) + ctm.get(Matrix.I31);
+        }
+
+        /**
+         * Berechnet die Y-Koordinate eines Punktes nach einer Transformation.
+         *
+         * @param ctm Die Transformation.
+         * @param x   Die X-Koordinate des Punktes.
+         * @param y   Die Y-Koordinate des Punktes.
+         *
+         * @return Die Y-Koordinate des transformierten Punktes.
+         */
+        private static float transformY(@NotNull final Matrix ctm, final float x, final float y) {
+            return x * ctm.get(Matrix.I12) + y * ctm.get(Matrix.I22) + ctm.get(Matrix.I32);
+        }
+
+        /**
+         * Dekodiert ein Bild des PDF-Dokuments. Besitzt das Bild eine Maske mit seiner Transparenz, wie z.B. ein
+         * PNG-Logo, wird diese als Alphakanal übernommen, anstatt die transparenten Bereiche schwarz zu zeichnen.
+         *
+         * @param object Das Bild des PDF-Dokuments.
+         *
+         * @return Das dekodierte Bild oder {@code null}, falls Java das Bild nicht dekodieren kann.
+         *
+         * @throws IOException Wenn das Bild nicht gelesen werden kann.
+         */
+        @Nullable
+        private static BufferedImage decode(@NotNull final PdfImageObject object) throws IOException {
+            final BufferedImage image = object.getBufferedImage();
+            final PdfObject mask = PdfReader.getPdfObject(object.get(PdfName.SMASK));
+
+            if (image == null || !(mask instanceof PRStream)) return image;
+
+            final BufferedImage alpha = new PdfImageObject((PRStream) mask).getBufferedImage();
+            if (alpha == null) return image;
+
+            final BufferedImage masked = new BufferedImage(
+                image.getWidth(),
+                image.getHeight(),
+                BufferedImage.TYPE_INT_ARGB
+            );
+            final Graphics2D g = masked.createGraphics();
+
+            try {
+                // the mask may have another resolution than the image
+                g.drawImage(alpha, 0, 0, image.getWidth(), image.getHeight(), null);
+            } finally {
+                g.dispose();
+            }
+
+            for (int y = 0; y < image.getHeight(); y++) {
+                for (int x = 0; x < image.getWidth(); x++) {
+                    final int opacity = masked.getRGB(x, y) & 0xFF;
+                    masked.setRGB(x, y, (opacity << 24) | (image.getRGB(x, y) & 0xFFFFFF));
+                }
+            }
+
+            return masked;
+        }
+
+        /**
+         * Wandelt eine Regel von iText, nach welcher das Innere eines Pfades bestimmt wird, in die von Java2D um.
+         *
+         * @param rule Die Regel von iText.
+         *
+         * @return Die entsprechende Regel von Java2D.
+         */
+        private static int toWindingRule(final int rule) {
+            return (rule == PathPaintingRenderInfo.EVEN_ODD_RULE)
+                ? GeneralPath.WIND_EVEN_ODD
+                : GeneralPath.WIND_NON_ZERO;
+        }
+
+        /**
+         * Wandelt eine Transformation von iText in eine Transformation von Java2D um.
+         *
+         * @param matrix Die Transformation von iText.
+         *
+         * @return Die entsprechende Transformation von Java2D.
+         */
+        @NotNull
+        private static AffineTransform toTransform(@NotNull final Matrix matrix) {
+            return new AffineTransform(
+                matrix.get(Matrix.I11),
+                matrix.get(Matrix.I12),
+                matrix.get(Matrix.I21),
+                matrix.get(Matrix.I22),
+                matrix.get(Matrix.I31),
+                matrix.get(Matrix.I32)
+            );
+        }
+
+        /**
+         * Berechnet den Abstand zwischen zwei Punkten.
+         *
+         * @param first  Der erste Punkt.
+         * @param second Der zweite Punkt.
+         *
+         * @return Der Abstand zwischen beiden Punkten.
+         */
+        private static float distance(@NotNull final Vector first, @NotNull final Vector second) {
+            return first.subtract(second).length();
+        }
+
+        /**
+         * Wandelt eine Farbe von iText in eine Farbe von Java2D um.
+         *
+         * @param color Die Farbe von iText oder {@code null}, falls keine Farbe gesetzt ist.
+         *
+         * @return Die entsprechende Farbe von Java2D, standardmäßig schwarz.
+         */
+        @NotNull
+        private static Color toColor(@Nullable final BaseColor color) {
+            if (color == null) return Color.BLACK;
+            return new Color(color.getRed(), color.getGreen(), color.getBlue(), color.getAlpha());
+        }
+
+    }
+
+
+    /**
+     * Ein {@link ObservedOperator} führt einen Operator von iText unverändert aus und informiert anschließend über
+     * dessen Ausführung.
+     */
+    private static final class ObservedOperator implements ContentOperator {
+
+        //<editor-fold desc="LOCAL FIELDS">
+        /** Die Aktion, welche nach jeder Ausführung des Operators ausgeführt wird. */
+        @NotNull
+        private final Runnable action;
+        /** Der ursprüngliche Operator von iText. */
+        private ContentOperator delegate;
+        //</editor-fold>
+
+
+        //<editor-fold desc="CONSTRUCTORS">
+
+        /**
+         * Erzeugt einen neuen {@link ObservedOperator}, dessen ursprünglicher Operator erst bei der Registrierung
+         * bekannt wird.
+         *
+         * @param action Die Aktion, welche nach jeder Ausführung des Operators ausgeführt wird.
+         */
+        private ObservedOperator(@NotNull final Runnable action) {
+            this.action = action;
+        }
+        //</editor-fold>
+
+
+        //<editor-fold desc="implementation">
+        @Override
+        public void invoke(
+            @NotNull final PdfContentStreamProcessor processor,
+            @NotNull final PdfLiteral operator,
+            @NotNull final ArrayList<PdfObject> operands
+        ) throws Exception {
+            this.delegate.invoke(processor, operator, operands);
+            this.action.run();
+        }
+        //</editor-fold>
+
+    }
+
+
+    /**
+     * Ein {@link FormClipHandler} zeichnet ein Formular mit dem ursprünglichen {@link XObjectDoHandler} von iText,
+     * schneidet dabei aber alles auf die {@code BBox} des Formulars zu.
+     */
+    private static final class FormClipHandler implements XObjectDoHandler {
+
+        //<editor-fold desc="LOCAL FIELDS">
+        /** Der {@link PageRenderer}, welcher das Formular nachzeichnet. */
+        @NotNull
+        private final PageRenderer renderer;
+        /** Der ursprüngliche {@link XObjectDoHandler} von iText. */
+        private XObjectDoHandler delegate;
+        //</editor-fold>
+
+
+        //<editor-fold desc="CONSTRUCTORS">
+
+        /**
+         * Erzeugt einen neuen {@link FormClipHandler}, dessen ursprünglicher {@link XObjectDoHandler} erst bei der
+         * Registrierung bekannt wird.
+         *
+         * @param renderer Der {@link PageRenderer}, welcher das Formular nachzeichnet.
+         */
+        private FormClipHandler(@NotNull final PageRenderer renderer) {
+            this.renderer = renderer;
+        }
+        //</editor-fold>
+
+
+        //<editor-fold desc="implementation">
+        @Override
+        public void handleXObject(
+            @NotNull final PdfContentStreamProcessor processor,
+            @NotNull final PdfStream stream,
+            @Nullable final PdfIndirectReference ref
+        ) {
+            this.renderer.saveState();
+
+            try {
+                this.renderer.clipToBoundingBox(stream, processor.gs().getCtm());
+                this.delegate.handleXObject(processor, stream, ref);
+            } finally {
+                this.renderer.restoreState();
+            }
+        }
+
+        @Override
+        public void handleXObject(
+            @NotNull final PdfContentStreamProcessor processor,
+            @NotNull final PdfStream stream,
+            @Nullable final PdfIndirectReference ref,
+            @NotNull final Stack<MarkedContentInfo> markedContentStack
+        ) {
+            this.renderer.saveState();
+
+            try {
+                this.renderer.clipToBoundingBox(stream, processor.gs().getCtm());
+                this.delegate.handleXObject(processor, stream, ref, markedContentStack);
+            } finally {
+                this.renderer.restoreState();
+            }
+        }
+        //</editor-fold>
+
+    }
+
+}
@@ -0,0 +1,166 @@
+package de.jonas.object;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.FontFactory;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Ein {@link CouponStyle} beinhaltet alle Schriftarten, mit denen ein {@link Coupon} in einer bestimmten Skalierung
+ * geschrieben wird. Das sind entweder die eingebauten Schriftarten Courier und Times oder eine eigene
+ * {@link CouponFont}, deren fette und kursive Schnitte von iText nachgebildet werden.</p>
+ * <p>Ein {@link CouponStyle} ist unveränderlich und wird für jede Skalierung und Schriftart nur einmalig erzeugt und
+ * anschließend zwischengespeichert, weshalb dieselbe Instanz ohne Synchronisierung von beliebig vielen
+ * {@link Coupon Gutscheinen} gleichzeitig genutzt werden kann. Die Schriftarten dürfen deshalb niemals verändert
+ * werden und sind nur innerhalb des Packages sichtbar. Die {@link CouponStyle Styles} einer eigenen Schriftart liegen
+ * in deren {@link CouponFont} und werden mit dieser aus dem Zwischenspeicher entfernt.</p>
+ */
+@Getter
+@NotNull
+public final class CouponStyle {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Schriftgröße der Überschrift eines jeden Gutscheins, ohne Skalierung. */
+    private static final float HEADING_FONT_SIZE = 20;
+    /** Die Schriftgröße der standard Schriftart eines jeden Gutscheins, ohne Skalierung. */
+    private static final float DEFAULT_FONT_SIZE = 15;
+    /** Die Schriftgröße des Grundes eines jeden Gutscheins, ohne Skalierung. */
+    private static final float REASON_FONT_SIZE = 17;
+    /** Die Schriftgröße des Erstellers eines jeden Gutscheins, ohne Skalierung. */
+    private static final float CREATOR_FONT_SIZE = 15;
+    /** Alle bereits erzeugten {@link CouponStyle Styles} der eingebauten Schriftarten, anhand ihrer Skalierung. */
+    @NotNull
+    private static final Map<Integer, CouponStyle> STYLES = new ConcurrentHashMap<>();
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Skalierung, für die dieser {@link CouponStyle} erzeugt wurde. */
+    private final int scaling;
+    /** Die eigene Schriftart oder {@code null}, falls die eingebauten Schriftarten genutzt werden. */
+    @Nullable
+    private final CouponFont font;
+    /** Die Schriftart für die Überschrift eines jeden Gutscheins. */
+    @NotNull
+    @Getter(AccessLevel.PACKAGE)
+    private final Font headingFont;
+    /** Die standard Schriftart für einen jeden Gutschein. */
+    @NotNull
+    @Getter(AccessLevel.PACKAGE)
+    private final Font defaultFont;
+    /** Die Schriftart für den Grund des Gutscheins. */
+    @NotNull
+    @Getter(AccessLevel.PACKAGE)
+    private final Font reasonFont;
+    /** Die Schriftart für den Ersteller des Gutscheins. */
+    @NotNull
+    @Getter(AccessLevel.PACKAGE)
+    private final Font creatorFont;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt einen neuen {@link CouponStyle}, dessen Schriftarten entsprechend der Skalierung vergrößert werden.
+     *
+     * @param scaling Die Skalierung des Gutscheins.
+     * @param font    Die eigene Schriftart oder {@code null}, falls die eingebauten Schriftarten genutzt werden.
+     */
+    private CouponStyle(@Range(from = 0, to = Integer.MAX_VALUE) final int scaling, @Nullable final CouponFont font) {
+        this.scaling = scaling;
+        this.font = font;
+
+        final float factor = getScalingFactor(scaling);
+
+        if (font != null) {
+            // the shared base font is only referenced, every document embeds its own subset of it
+            this.headingFont = new Font(
+                font.getBaseFont(),
+                HEADING_FONT_SIZE * factor,
+                Font.BOLD | Font.UNDERLINE,
+                BaseColor.BLACK
+            );
+            this.defaultFont = new Font(font.getBaseFont(), DEFAULT_FONT_SIZE * factor, Font.NORMAL, BaseColor.BLACK);
+            this.reasonFont = new Font(font.getBaseFont(), REASON_FONT_SIZE * factor, Font.BOLDITALIC, BaseColor.BLACK);
+            this.creatorFont = new Font(
+                font.getBaseFont(),
+                CREATOR_FONT_SIZE * factor,
+                Font.ITALIC,
+                BaseColor.DARK_GRAY
+            );
+            return;
+        }
+
+        this.headingFont = FontFactory.getFont(
+            FontFactory.COURIER_BOLD,
+            HEADING_FONT_SIZE * factor,
+            Font.UNDERLINE,
+            BaseColor.BLACK
+        );
+        this.defaultFont = FontFactory.getFont(FontFactory.COURIER, DEFAULT_FONT_SIZE * factor, BaseColor.BLACK);
+        this.reasonFont = FontFactory.getFont(
+            FontFactory.TIMES_BOLDITALIC,
+            REASON_FONT_SIZE * factor,
+            BaseColor.BLACK
+        );
+        this.creatorFont = FontFactory.getFont(
+            FontFactory.TIMES_ITALIC,
+            CREATOR_FONT_SIZE * factor,
+            BaseColor.DARK_GRAY
+        );
+    }
+    //</editor-fold>
+
+
+    /**
+     * Gibt den {@link CouponStyle} für eine bestimmte Skalierung zurück. Dieser wird nur beim ersten Aufruf für diese
+     * Skalierung erzeugt und danach immer wiederverwendet.
+     *
+     * @param scaling Die Skalierung des Gutscheins.
+     *
+     * @return Der {@link CouponStyle} für die jeweilige Skalierung.
+     */
+    @NotNull
+    public static CouponStyle of(@Range(from = 0, to = Integer.MAX_VALUE) final int scaling) {
+        return of(scaling, null);
+    }
+
+    /**
+     * Gibt den {@link CouponStyle} für eine bestimmte Skalierung und eine eigene Schriftart zurück. Dieser wird nur
+     * beim ersten Aufruf für diese Kombination erzeugt und danach immer wiederverwendet.
+     *
+     * @param scaling Die Skalierung des Gutscheins.
+     * @param font    Die eigene Schriftart oder {@code null}, falls die eingebauten Schriftarten genutzt werden.
+     *
+     * @return Der {@link CouponStyle} für die jeweilige Skalierung und Schriftart.
+     */
+    @NotNull
+    public static CouponStyle of(
+        @Range(from = 0, to = Integer.MAX_VALUE) final int scaling,
+        @Nullable final CouponFont font
+    ) {
+        final Map<Integer, CouponStyle> styles = (font == null) ? STYLES : font.getStyles();
+        return styles.computeIfAbsent(scaling, key -> new CouponStyle(scaling, font));
+    }
+
+    /**
+     * Berechnet den Faktor, mit dem alle Schriftgrößen eines Gutscheins multipliziert werden.
+     *
+     * @param scaling Die Skalierung des Gutscheins.
+     *
+     * @return Der Faktor, mit dem alle Schriftgrößen eines Gutscheins multipliziert werden.
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    public static float getScalingFactor(@Range(from = 0, to = Integer.MAX_VALUE) final int scaling) {
+        return (float) ((scaling == 1) ? 1 : (1 + (0.1 * scaling)));
+    }
+
+}
@@ -0,0 +1,106 @@
+package de.jonas.object;
+
+import jdk.jfr.FlightRecorder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+/**
+ * Der {@link FlightRecorderSupport} veröffentlicht die {@link GenerationMetrics} als Events des Java Flight Recorder.
+ * Die Events werden nur über diese Klasse erzeugt, damit die Anwendung auch auf einer JVM ohne Java Flight Recorder
+ * lauffähig bleibt; die Klassen der Events werden dort niemals geladen. Solange der Java Flight Recorder noch nicht
+ * initialisiert wurde, also keine Aufzeichnung gestartet wurde, werden die Klassen der Events auch sonst nicht geladen,
+ * da bereits das erste Event die aufwändige Initialisierung des Java Flight Recorder auslöst und so den Start der
+ * Anwendung verzögern würde.
+ */
+@NotNull
+final class FlightRecorderSupport {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Ob die JVM den Java Flight Recorder unterstützt. */
+    private static final boolean AVAILABLE = isAvailable();
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Der Konstruktor dieser Klasse ist privat, da es sich um eine reine Hilfsklasse handelt.
+     */
+    private FlightRecorderSupport() {
+        throw new UnsupportedOperationException();
+    }
+    //</editor-fold>
+
+
+    /**
+     * Prüft, ob gerade eine Aufzeichnung des Java Flight Recorder läuft, welche die Events der Generierung erfasst.
+     *
+     * @return Ob die Events der Generierung aufgezeichnet werden.
+     */
+    static boolean isRecording() {
+        return AVAILABLE && FlightRecorder.isInitialized() && CouponGenerationEvent.isRecording();
+    }
+
+    /**
+     * Beginnt das Event eines gesamten Dokuments.
+     *
+     * @return Das begonnene Event.
+     */
+    @NotNull
+    static Object beginDocument() {
+        final CouponGenerationEvent event = new CouponGenerationEvent();
+        event.begin();
+
+        return event;
+    }
+
+    /**
+     * Schließt das Event eines gesamten Dokuments ab und zeichnet es mit allen Werten des Dokuments auf.
+     *
+     * @param event   Das Event, welches mit {@link #beginDocument()} begonnen wurde.
+     * @param metrics Die {@link GenerationMetrics} des Dokuments.
+     */
+    static void commitDocument(@NotNull final Object event, @NotNull final GenerationMetrics metrics) {
+        ((CouponGenerationEvent) event).commit(metrics);
+    }
+
+    /**
+     * Beginnt das Event einer {@link GenerationPhase}.
+     *
+     * @param phase Die {@link GenerationPhase}, die beginnt.
+     *
+     * @return Das begonnene Event.
+     */
+    @NotNull
+    static Object beginPhase(@NotNull final GenerationPhase phase) {
+        final CouponPhaseEvent event = new CouponPhaseEvent(phase);
+        event.begin();
+
+        return event;
+    }
+
+    /**
+     * Schließt das Event einer {@link GenerationPhase} ab und zeichnet es auf.
+     *
+     * @param event   Das Event, welches mit {@link #beginPhase(GenerationPhase)} begonnen wurde.
+     * @param coupons Die Anzahl an Gutscheinen, die bis zum Ende der Phase gesetzt wurden.
+     */
+    static void commitPhase(@NotNull final Object event, @Range(from = 0, to = Integer.MAX_VALUE) final int coupons) {
+        ((CouponPhaseEvent) event).commit(coupons);
+    }
+
+    /**
+     * Prüft, ob die JVM den Java Flight Recorder unterstützt.
+     *
+     * @return Ob die JVM den Java Flight Recorder unterstützt.
+     */
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder");
+            return true;
+        } catch (@NotNull final ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+package de.jonas.object;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Ein {@link GenerationListener} wird von einem {@link Coupon} regelmäßig über den Fortschritt der Generierung
+ * informiert und kann die Generierung jederzeit abbrechen. Alle Methoden werden von dem Thread aufgerufen, welcher das
+ * PDF-Dokument generiert.
+ */
+@NotNull
+public interface GenerationListener {
+
+    /**
+     * Wird aufgerufen, sobald weitere Gutscheine gesetzt bzw. weitere Seiten geschrieben wurden.
+     *
+     * @param progress Der aktuelle Fortschritt der Generierung.
+     */
+    void onProgress(@NotNull final GenerationProgress progress);
+
+    /**
+     * Prüft, ob die Generierung abgebrochen werden soll. Wird hier {@code true} zurückgegeben, bricht der
+     * {@link Coupon} die Generierung mit einer {@link java.util.concurrent.CancellationException} ab.
+     *
+     * @return {@code true}, wenn die Generierung abgebrochen werden soll.
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+
+}
@@ -0,0 +1,375 @@
+package de.jonas.object;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Die {@link GenerationMetrics} erfassen, wie viele Gutscheine, Zeilen, Seiten und Bytes bei der Generierung
+ * entstanden sind und wie viel Zeit dabei in jeder {@link GenerationPhase} verbracht wurde.</p>
+ * <p>Die Erfassung ist standardmäßig deaktiviert und kann mit {@link #setEnabled(boolean)} für die gesamte Anwendung
+ * aktiviert werden. Die Werte aller generierten Dokumente werden dann in {@link #getTotal()} aufsummiert. Unabhängig
+ * davon werden die Werte als Java-Flight-Recorder-Events veröffentlicht, sobald eine Aufzeichnung läuft. Ist beides
+ * nicht der Fall, wird für ein Dokument gar nicht erst ein {@link GenerationMetrics} erzeugt, sodass die Generierung
+ * lediglich eine Prüfung auf {@code null} je Gutschein kostet.</p>
+ */
+@NotNull
+public final class GenerationMetrics {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Summe aller Werte aller Dokumente, die generiert wurden, während die Erfassung aktiviert war. */
+    @NotNull
+    private static final GenerationMetrics TOTAL = new GenerationMetrics();
+    //</editor-fold>
+
+
+    //<editor-fold desc="STATIC FIELDS">
+    /** Ob die Werte aller generierten Dokumente in {@link #TOTAL} aufsummiert werden. */
+    private static volatile boolean enabled;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Dauer jeder {@link GenerationPhase} in Nanosekunden, anhand ihrer Position. */
+    private final long @NotNull [] nanos = new long[GenerationPhase.values().length];
+    /** Die Anzahl an Dokumenten, deren Werte enthalten sind. */
+    private long documents;
+    /** Die Anzahl an erstellten Gutscheinen. */
+    private long coupons;
+    /** Die Anzahl an vollständigen Zeilen der Tabelle. */
+    private long rows;
+    /** Die Anzahl an geschriebenen Seiten. */
+    private long pages;
+    /** Die Anzahl an geschriebenen Bytes. */
+    private long bytes;
+    /** Das Java-Flight-Recorder-Event des gesamten Dokuments, falls eine Aufzeichnung läuft. */
+    @Nullable
+    private Object documentEvent;
+    /** Die laufende {@link GenerationPhase}. */
+    @NotNull
+    private GenerationPhase phase = GenerationPhase.SETUP;
+    /** Der Zeitpunkt, zu dem die laufende {@link GenerationPhase} begonnen hat, in Nanosekunden. */
+    private long phaseStart;
+    /** Die Dauer der {@link GenerationPhase#OUTPUT} zu Beginn der laufenden {@link GenerationPhase}. */
+    private long phaseOutputNanos;
+    /** Das Java-Flight-Recorder-Event der laufenden {@link GenerationPhase}, falls eine Aufzeichnung läuft. */
+    @Nullable
+    private Object phaseEvent;
+    //</editor-fold>
+
+
+    /**
+     * Legt fest, ob die Werte aller generierten Dokumente in {@link #getTotal()} aufsummiert werden.
+     *
+     * @param enabled Ob die Werte aller generierten Dokumente aufsummiert werden.
+     */
+    public static void setEnabled(final boolean enabled) {
+        GenerationMetrics.enabled = enabled;
+    }
+
+    /**
+     * Gibt zurück, ob die Werte aller generierten Dokumente in {@link #getTotal()} aufsummiert werden.
+     *
+     * @return Ob die Werte aller generierten Dokumente aufsummiert werden.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gibt eine Kopie der Summe aller Werte aller Dokumente zurück, die generiert wurden, während die Erfassung
+     * aktiviert war.
+     *
+     * @return Eine Kopie der Summe aller Werte.
+     */
+    @NotNull
+    public static GenerationMetrics getTotal() {
+        final GenerationMetrics copy = new GenerationMetrics();
+
+        synchronized (TOTAL) {
+            copy.add(TOTAL);
+        }
+
+        return copy;
+    }
+
+    /**
+     * Setzt die Summe aller Werte auf {@code 0} zurück.
+     */
+    public static void resetTotal() {
+        synchronized (TOTAL) {
+            TOTAL.documents = 0;
+            TOTAL.coupons = 0;
+            TOTAL.rows = 0;
+            TOTAL.pages = 0;
+            TOTAL.bytes = 0;
+            Arrays.fill(TOTAL.nanos, 0);
+        }
+    }
+
+    /**
+     * Beginnt die Erfassung eines einzelnen Dokuments, sofern die Erfassung aktiviert ist oder eine Aufzeichnung des
+     * Java Flight Recorder läuft.
+     *
+     * @return Die {@link GenerationMetrics} des Dokuments oder {@code null}, falls nichts erfasst werden muss.
+     */
+    @Nullable
+    static GenerationMetrics start() {
+        final boolean recording = FlightRecorderSupport.isRecording();
+        if (!enabled && !recording) return null;
+
+        final GenerationMetrics metrics = new GenerationMetrics();
+        metrics.documents = 1;
+
+        if (recording) metrics.documentEvent = FlightRecorderSupport.beginDocument();
+
+        return metrics;
+    }
+
+    /**
+     * Umhüllt den {@link OutputStream}, in den das Dokument geschrieben wird, sodass die geschriebenen Bytes und die
+     * Dauer des Schreibens der {@link GenerationPhase#OUTPUT} zugerechnet werden.
+     *
+     * @param out Der {@link OutputStream}, in den das Dokument geschrieben wird.
+     *
+     * @return Der umhüllte {@link OutputStream}.
+     */
+    @NotNull
+    OutputStream wrap(@NotNull final OutputStream out) {
+        return new MeteredOutputStream(out);
+    }
+
+    /**
+     * Beginnt eine {@link GenerationPhase}, die als eigenes Event aufgezeichnet wird. Dies ist für die Phasen gedacht,
+     * die nur wenige Male je Dokument durchlaufen werden. Die Dauer, in der während dieser Phase geschrieben wird,
+     * wird weiterhin nur der {@link GenerationPhase#OUTPUT} zugerechnet.
+     *
+     * @param phase Die {@link GenerationPhase}, die beginnt.
+     */
+    void beginPhase(@NotNull final GenerationPhase phase) {
+        if (this.documentEvent != null) this.phaseEvent = FlightRecorderSupport.beginPhase(phase);
+
+        this.phase = phase;
+        this.phaseOutputNanos = getNanos(GenerationPhase.OUTPUT);
+        this.phaseStart = System.nanoTime();
+    }
+
+    /**
+     * Beendet die {@link GenerationPhase}, die zuletzt mit {@link #beginPhase(GenerationPhase)} begonnen wurde.
+     *
+     * @param coupons Die Anzahl an Gutscheinen, die bis zum Ende dieser Phase gesetzt wurden.
+     */
+    void endPhase(@Range(from = 0, to = Integer.MAX_VALUE) final int coupons) {
+        final long output = getNanos(GenerationPhase.OUTPUT) - this.phaseOutputNanos;
+        this.nanos[this.phase.ordinal()] += System.nanoTime() - this.phaseStart - output;
+
+        if (this.phaseEvent != null) {
+            FlightRecorderSupport.commitPhase(this.phaseEvent, coupons);
+            this.phaseEvent = null;
+        }
+    }
+
+    /**
+     * Rechnet eine Dauer einer {@link GenerationPhase} zu, ohne dafür ein eigenes Event aufzuzeichnen.
+     *
+     * @param phase Die {@link GenerationPhase}, der die Dauer zugerechnet wird.
+     * @param start Der Zeitpunkt, zu dem die Dauer begonnen hat, in Nanosekunden.
+     */
+    void record(@NotNull final GenerationPhase phase, final long start) {
+        this.nanos[phase.ordinal()] += System.nanoTime() - start;
+    }
+
+    /**
+     * Schließt die Erfassung eines einzelnen Dokuments ab, summiert seine Werte auf und veröffentlicht sein Event.
+     *
+     * @param coupons Die Anzahl an erstellten Gutscheinen.
+     * @param rows    Die Anzahl an vollständigen Zeilen der Tabelle.
+     * @param pages   Die Anzahl an geschriebenen Seiten.
+     */
+    void finish(
+        @Range(from = 0, to = Integer.MAX_VALUE) final int coupons,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int rows,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int pages
+    ) {
+        this.coupons = coupons;
+        this.rows = rows;
+        this.pages = pages;
+
+        if (enabled) {
+            synchronized (TOTAL) {
+                TOTAL.add(this);
+            }
+        }
+
+        if (this.documentEvent != null) FlightRecorderSupport.commitDocument(this.documentEvent, this);
+    }
+
+    /**
+     * Addiert alle Werte anderer {@link GenerationMetrics} zu diesen.
+     *
+     * @param other Die {@link GenerationMetrics}, deren Werte addiert werden.
+     */
+    private void add(@NotNull final GenerationMetrics other) {
+        this.documents += other.documents;
+        this.coupons += other.coupons;
+        this.rows += other.rows;
+        this.pages += other.pages;
+        this.bytes += other.bytes;
+
+        for (int i = 0; i < this.nanos.length; i++) {
+            this.nanos[i] += other.nanos[i];
+        }
+    }
+
+    /**
+     * Gibt die Anzahl an Dokumenten zurück, deren Werte enthalten sind.
+     *
+     * @return Die Anzahl an Dokumenten, deren Werte enthalten sind.
+     */
+    public long getDocuments() {
+        return this.documents;
+    }
+
+    /**
+     * Gibt die Anzahl an erstellten Gutscheinen zurück.
+     *
+     * @return Die Anzahl an erstellten Gutscheinen.
+     */
+    public long getCoupons() {
+        return this.coupons;
+    }
+
+    /**
+     * Gibt die Anzahl an vollständigen Zeilen der Tabelle zurück.
+     *
+     * @return Die Anzahl an vollständigen Zeilen der Tabelle.
+     */
+    public long getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Gibt die Anzahl an geschriebenen Seiten zurück.
+     *
+     * @return Die Anzahl an geschriebenen Seiten.
+     */
+    public long getPages() {
+        return this.pages;
+    }
+
+    /**
+     * Gibt die Anzahl an geschriebenen Bytes zurück.
+     *
+     * @return Die Anzahl an geschriebenen Bytes.
+     */
+    public long getBytes() {
+        return this.bytes;
+    }
+
+    /**
+     * Gibt die Dauer zurück, die in einer bestimmten {@link GenerationPhase} verbracht wurde.
+     *
+     * @param phase Die {@link GenerationPhase}.
+     *
+     * @return Die Dauer der {@link GenerationPhase} in Nanosekunden.
+     */
+    public long getNanos(@NotNull final GenerationPhase phase) {
+        return this.nanos[phase.ordinal()];
+    }
+
+    /**
+     * Gibt die Dauer zurück, die in allen {@link GenerationPhase Phasen} zusammen verbracht wurde.
+     *
+     * @return Die Dauer aller {@link GenerationPhase Phasen} in Nanosekunden.
+     */
+    public long getTotalNanos() {
+        long total = 0;
+
+        for (final long phase : this.nanos) {
+            total += phase;
+        }
+
+        return total;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        final long total = getTotalNanos();
+        final StringBuilder text = new StringBuilder(String.format(
+            "%d Dokumente, %d Gutscheine, %d Zeilen, %d Seiten, %d Bytes in %.1f ms",
+            this.documents,
+            this.coupons,
+            this.rows,
+            this.pages,
+            this.bytes,
+            total / (double) TimeUnit.MILLISECONDS.toNanos(1)
+        ));
+
+        for (@NotNull final GenerationPhase phase : GenerationPhase.values()) {
+            final long phaseNanos = getNanos(phase);
+
+            text.append(String.format(
+                "%n  %-12s %10.1f ms %5.1f %%",
+                phase.getLabel(),
+                phaseNanos / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                (total == 0) ? 0 : 100.0 * phaseNanos / total
+            ));
+        }
+
+        return text.toString();
+    }
+
+
+
+    /**
+     * Ein {@link MeteredOutputStream} zählt alle Bytes, die in den umhüllten {@link OutputStream} geschrieben werden,
+     * und rechnet die Dauer des Schreibens der {@link GenerationPhase#OUTPUT} zu.
+     */
+    private final class MeteredOutputStream extends FilterOutputStream {
+
+        //<editor-fold desc="CONSTRUCTORS">
+
+        /**
+         * Erzeugt einen neuen {@link MeteredOutputStream}.
+         *
+         * @param out Der umhüllte {@link OutputStream}.
+         */
+        private MeteredOutputStream(@NotNull final OutputStream out) {
+            super(out);
+        }
+        //</editor-fold>
+
+
+        @Override
+        public void write(final int b) throws IOException {
+            final long start = System.nanoTime();
+            super.out.write(b);
+            record(GenerationPhase.OUTPUT, start);
+            GenerationMetrics.this.bytes++;
+        }
+
+        @Override
+        public void write(final byte @NotNull [] b, final int off, final int len) throws IOException {
+            final long start = System.nanoTime();
+            super.out.write(b, off, len);
+            record(GenerationPhase.OUTPUT, start);
+            GenerationMetrics.this.bytes += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            final long start = System.nanoTime();
+            super.out.flush();
+            record(GenerationPhase.OUTPUT, start);
+        }
+
+    }
+
+}
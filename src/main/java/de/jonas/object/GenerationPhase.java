@@ -0,0 +1,38 @@
+package de.jonas.object;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Eine {@link GenerationPhase} ist ein Abschnitt der Generierung eines PDF-Dokuments, dessen Dauer von den
+ * {@link GenerationMetrics} getrennt erfasst wird. Die Phasen überschneiden sich nicht, die Summe ihrer Dauern
+ * entspricht also nahezu der gesamten Dauer der Generierung.
+ */
+@Getter
+@NotNull
+@RequiredArgsConstructor
+public enum GenerationPhase {
+
+    /** Das Dokument wird geöffnet, die Überschrift gesetzt und gegebenenfalls das Template gezeichnet. */
+    SETUP("Vorbereitung"),
+    /** Die Zellen der einzelnen Gutscheine werden erstellt und in die Tabelle eingefügt. */
+    CELLS("Zellen"),
+    /**
+     * Die vollständigen Zeilen der Tabelle werden gesetzt und auf Seiten umbrochen. Da iText den Inhalt einer Seite
+     * beim Umbruch komprimiert, ist die Kompression in dieser Phase enthalten.
+     */
+    LAYOUT("Layout"),
+    /** Das Dokument wird abgeschlossen, also die Schriftarten und das Inhaltsverzeichnis geschrieben. */
+    CLOSE("Abschluss"),
+    /** Die Bytes des Dokuments werden in den Stream, also in den Puffer oder auf die Festplatte geschrieben. */
+    OUTPUT("Ausgabe");
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der Name dieser Phase, wie er in Auswertungen angezeigt wird. */
+    @NotNull
+    private final String label;
+    //</editor-fold>
+
+}
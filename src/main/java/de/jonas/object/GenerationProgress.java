@@ -0,0 +1,43 @@
+package de.jonas.object;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+/**
+ * Ein {@link GenerationProgress} stellt den Fortschritt eines {@link Coupon} dar, während dieser sein PDF-Dokument
+ * generiert.
+ */
+@Getter
+@NotNull
+@RequiredArgsConstructor
+public final class GenerationProgress {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Anzahl an Gutscheinen, die bereits in die Tabelle gesetzt wurden. */
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    private final int couponsLaidOut;
+    /** Die Anzahl an Gutscheinen, die insgesamt generiert werden. */
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    private final int totalCoupons;
+    /** Die Anzahl an Seiten, die bereits vollständig geschrieben wurden. */
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    private final int pagesWritten;
+    /** Die Anzahl an Bytes, die bereits in das Dokument geschrieben wurden. */
+    @Range(from = 0, to = Long.MAX_VALUE)
+    private final long bytesWritten;
+    //</editor-fold>
+
+
+    /**
+     * Berechnet den Anteil der Gutscheine, die bereits in die Tabelle gesetzt wurden.
+     *
+     * @return Der Anteil der Gutscheine, die bereits in die Tabelle gesetzt wurden, zwischen {@code 0} und {@code 1}.
+     */
+    public double getFraction() {
+        if (this.totalCoupons == 0) return 1;
+        return this.couponsLaidOut / (double) this.totalCoupons;
+    }
+
+}
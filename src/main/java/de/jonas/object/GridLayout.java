@@ -0,0 +1,159 @@
+package de.jonas.object;
+
+import com.itextpdf.text.Document;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+/**
+ * <p>Ein {@link GridLayout} berechnet einmalig das feste Raster, in dem alle Gutscheine eines Dokuments stehen, und
+ * gibt daraus die absolute Position eines jeden Gutscheins zurück. Das Raster entspricht dabei exakt dem Umbruch der
+ * {@link com.itextpdf.text.pdf.PdfPTable}, welche {@link RenderMode#TABLE} und {@link RenderMode#TEMPLATE} nutzen:</p>
+ * <ul>
+ *     <li>Die Tabelle nimmt 80 % der Breite zwischen den Rändern ein und ist horizontal zentriert.</li>
+ *     <li>Eine Zeile wird nur auf eine Seite gesetzt, wenn sie vollständig darauf passt.</li>
+ *     <li>Der Abstand vor der Tabelle wird vor der ersten Zeile eingehalten, auch wenn diese erst auf der zweiten Seite
+ *     steht, weil auf der ersten Seite unter der Überschrift kein Platz mehr ist.</li>
+ * </ul>
+ */
+@Getter
+@NotNull
+final class GridLayout {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Der Anteil der Breite zwischen den Rändern, welchen die Tabelle standardmäßig einnimmt. */
+    private static final float WIDTH_PERCENTAGE = 80;
+    /** Die Toleranz, mit der geprüft wird, ob eine Zeile noch auf eine Seite passt. */
+    private static final float TOLERANCE = 0.001f;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Anzahl an Spalten des Rasters. */
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    private final int columns;
+    /** Die Breite einer einzelnen Zelle. */
+    private final float cellWidth;
+    /** Die Höhe einer einzelnen Zeile. */
+    private final float rowHeight;
+    /** Die X-Koordinate der linken Kante des Rasters. */
+    private final float left;
+    /** Die Y-Koordinate der Oberkante der ersten Zeile auf der ersten Seite. */
+    private final float firstTop;
+    /** Die Y-Koordinate der Oberkante der ersten Zeile auf der zweiten Seite. */
+    private final float secondTop;
+    /** Die Y-Koordinate der Oberkante der ersten Zeile auf jeder weiteren Seite. */
+    private final float pageTop;
+    /** Die Anzahl an Zeilen auf der ersten Seite. */
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    private final int firstRows;
+    /** Die Anzahl an Zeilen auf der zweiten Seite. */
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    private final int secondRows;
+    /** Die Anzahl an Zeilen auf jeder weiteren Seite. */
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    private final int pageRows;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Berechnet ein neues {@link GridLayout} für ein geöffnetes Dokument.
+     *
+     * @param document      Das Dokument, in dem das Raster steht.
+     * @param columns       Die Anzahl an Spalten des Rasters.
+     * @param rowHeight     Die Höhe einer einzelnen Zeile.
+     * @param position      Die aktuelle Y-Koordinate im Dokument, also die Unterkante der Überschrift oder die
+     *                      Oberkante der Seite, falls es keine Überschrift gibt.
+     * @param spacingBefore Der Abstand vor der ersten Zeile.
+     */
+    GridLayout(
+        @NotNull final Document document,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int columns,
+        final float rowHeight,
+        final float position,
+        final float spacingBefore
+    ) {
+        final float availableWidth = document.right() - document.left();
+        final float tableWidth = availableWidth * WIDTH_PERCENTAGE / 100;
+
+        this.columns = columns;
+        this.cellWidth = tableWidth / columns;
+        this.rowHeight = rowHeight;
+        this.left = document.left() + (availableWidth - tableWidth) / 2;
+        this.pageTop = document.top();
+        this.firstTop = position - spacingBefore;
+        this.firstRows = countRows(this.firstTop, document.bottom());
+
+        // the spacing is kept if the first row is moved to the next page
+        this.secondTop = (this.firstRows == 0) ? this.pageTop - spacingBefore : this.pageTop;
+        this.secondRows = countRows(this.secondTop, document.bottom());
+        this.pageRows = countRows(this.pageTop, document.bottom());
+    }
+    //</editor-fold>
+
+
+    /**
+     * Prüft, ob jede Zeile auf eine einzelne Seite passt. Andernfalls müsste eine Zeile auf mehrere Seiten aufgeteilt
+     * werden, was ein festes Raster nicht kann.
+     *
+     * @return Ob jede Zeile auf eine einzelne Seite passt.
+     */
+    boolean isApplicable() {
+        return this.secondRows > 0 && this.pageRows > 0;
+    }
+
+    /**
+     * Gibt die Anzahl an Zeilen auf einer bestimmten Seite zurück.
+     *
+     * @param page Die Seite, beginnend bei {@code 0}.
+     *
+     * @return Die Anzahl an Zeilen auf der Seite.
+     */
+    int getRows(@Range(from = 0, to = Integer.MAX_VALUE) final int page) {
+        if (page == 0) return this.firstRows;
+        if (page == 1) return this.secondRows;
+        return this.pageRows;
+    }
+
+    /**
+     * Gibt die Y-Koordinate der Oberkante einer Zeile auf einer bestimmten Seite zurück.
+     *
+     * @param page Die Seite, beginnend bei {@code 0}.
+     * @param row  Die Zeile auf der Seite, beginnend bei {@code 0}.
+     *
+     * @return Die Y-Koordinate der Oberkante der Zeile.
+     */
+    float getTop(
+        @Range(from = 0, to = Integer.MAX_VALUE) final int page,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int row
+    ) {
+        final float top = (page == 0) ? this.firstTop : (page == 1) ? this.secondTop : this.pageTop;
+        return top - (row * this.rowHeight);
+    }
+
+    /**
+     * Gibt die X-Koordinate der linken Kante einer Spalte zurück.
+     *
+     * @param column Die Spalte, beginnend bei {@code 0}.
+     *
+     * @return Die X-Koordinate der linken Kante der Spalte.
+     */
+    float getLeft(@Range(from = 0, to = Integer.MAX_VALUE) final int column) {
+        return this.left + (column * this.cellWidth);
+    }
+
+    /**
+     * Berechnet, wie viele Zeilen zwischen zwei Y-Koordinaten vollständig Platz finden.
+     *
+     * @param top    Die Y-Koordinate der Oberkante der ersten Zeile.
+     * @param bottom Die Y-Koordinate, die keine Zeile unterschreiten darf.
+     *
+     * @return Die Anzahl an Zeilen, die vollständig Platz finden.
+     */
+    private int countRows(final float top, final float bottom) {
+        return Math.max(0, (int) (((top - bottom) + TOLERANCE) / this.rowHeight));
+    }
+
+}
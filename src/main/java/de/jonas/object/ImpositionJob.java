@@ -0,0 +1,372 @@
+package de.jonas.object;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.PdfContentByte;
+import com.itextpdf.text.pdf.PdfTemplate;
+import com.itextpdf.text.pdf.PdfWriter;
+import lombok.Setter;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Ein {@link ImpositionJob} setzt die Gutscheine mehrerer {@link Coupon Gutscheine}, welche sich in ihrer Größe
+ * unterscheiden dürfen, gemeinsam auf möglichst wenige Bögen. Anders als bei einem einzelnen {@link Coupon} gibt es
+ * dabei kein festes Raster, sondern jeder Gutschein wird durch einen {@link ShelfPacker} in seiner tatsächlichen Größe
+ * dort platziert, wo gerade Platz ist. Die Bögen enthalten deshalb auch keine Überschrift.</p>
+ * <p>Gutscheine dürfen dabei optional um 90° gedreht werden und optional mit Schnittmarken versehen werden. Jeder
+ * {@link Coupon} wird nur einmalig als {@link PdfTemplate} gezeichnet und von jedem seiner Gutscheine referenziert.</p>
+ */
+@NotNull
+public final class ImpositionJob {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Größe des Puffers, mit dem das PDF-Dokument in den {@link OutputStream} geschrieben wird. */
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    /** Der Abstand zwischen zwei Gutscheinen, wenn Schnittmarken gezeichnet werden. */
+    private static final float CUT_MARK_GAP = 12;
+    /** Der Abstand zwischen einer Schnittmarke und der Ecke des Gutscheins. */
+    private static final float CUT_MARK_OFFSET = 1;
+    /** Die Länge einer Schnittmarke. */
+    private static final float CUT_MARK_LENGTH = 4;
+    /** Die Linienstärke einer Schnittmarke. */
+    private static final float CUT_MARK_WIDTH = 0.25f;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Alle {@link Coupon Gutscheine}, deren Gutscheine gemeinsam auf die Bögen gesetzt werden. */
+    @NotNull
+    private final List<Coupon> coupons;
+    /** Ob Gutscheine um 90° gedreht werden dürfen, damit sie flacher liegen oder überhaupt auf einen Bogen passen. */
+    @Setter
+    private boolean rotation = true;
+    /** Ob um jeden Gutschein Schnittmarken gezeichnet werden, wofür zwischen den Gutscheinen Platz gelassen wird. */
+    @Setter
+    private boolean cutMarks;
+    /** Das {@link OutputProfile}, mit dem der {@link PdfWriter} zwischen Rechenzeit und Größe der Datei abwägt. */
+    @NotNull
+    @Setter
+    private OutputProfile outputProfile = OutputProfile.BALANCED;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt einen neuen {@link ImpositionJob} für mehrere {@link Coupon Gutscheine}.
+     *
+     * @param coupons Alle {@link Coupon Gutscheine}, deren Gutscheine gemeinsam auf die Bögen gesetzt werden.
+     *
+     * @throws IllegalArgumentException Wenn ein {@link Coupon} die maximal erlaubten Maße überschreitet.
+     */
+    public ImpositionJob(@NotNull final List<Coupon> coupons) {
+        for (@NotNull final Coupon coupon : coupons) {
+            if (coupon.getWidth() > Coupon.MAX_WIDTH || coupon.getHeight() > Coupon.MAX_HEIGHT) {
+                throw new IllegalArgumentException(
+                    "maximal erlaubte Maße: " + Coupon.MAX_WIDTH + " x " + Coupon.MAX_HEIGHT
+                );
+            }
+        }
+
+        this.coupons = new ArrayList<>(coupons);
+    }
+    //</editor-fold>
+
+
+    /**
+     * Verteilt alle Gutscheine auf die Bögen, ohne dafür ein PDF-Dokument zu generieren. So lässt sich vorab
+     * herausfinden, wie viele Bögen benötigt werden.
+     *
+     * @return Der {@link ImpositionReport}, welcher das Ergebnis der Verteilung zusammenfasst.
+     *
+     * @throws IllegalArgumentException Wenn ein Gutschein in keiner erlaubten Ausrichtung auf einen Bogen passt.
+     */
+    @NotNull
+    public ImpositionReport pack() {
+        final Document document = new Document();
+        final float[] cellHeights = measureCellHeights();
+
+        final long start = System.nanoTime();
+        final PackedSheets packed = packSheets(document, cellHeights);
+
+        return createReport(document, packed, cellHeights, System.nanoTime() - start);
+    }
+
+    /**
+     * Verteilt alle Gutscheine auf die Bögen und speichert diese in Form eines PDF-Dokuments unter einer bestimmten
+     * Datei ab.
+     *
+     * @param file Die Datei, unter der das generierte PDF-Dokument gespeichert wird.
+     *
+     * @return Der {@link ImpositionReport}, welcher das Ergebnis der Verteilung zusammenfasst.
+     *
+     * @throws IllegalArgumentException Wenn ein Gutschein in keiner erlaubten Ausrichtung auf einen Bogen passt.
+     */
+    @NotNull
+    @SneakyThrows
+    public ImpositionReport generate(@NotNull final File file) {
+        try (OutputStream out = new FileOutputStream(file)) {
+            return generate(out);
+        }
+    }
+
+    /**
+     * Verteilt alle Gutscheine auf die Bögen und schreibt diese in Form eines PDF-Dokuments gepuffert in einen
+     * beliebigen {@link OutputStream}. Der {@link OutputStream} wird am Ende nur geleert, aber nicht geschlossen.
+     *
+     * @param out Der {@link OutputStream}, in den das PDF-Dokument geschrieben wird.
+     *
+     * @return Der {@link ImpositionReport}, welcher das Ergebnis der Verteilung zusammenfasst.
+     *
+     * @throws IllegalArgumentException Wenn ein Gutschein in keiner erlaubten Ausrichtung auf einen Bogen passt.
+     */
+    @NotNull
+    @SneakyThrows
+    public ImpositionReport generate(@NotNull final OutputStream out) {
+        final BufferedOutputStream buffered = new BufferedOutputStream(out, OUTPUT_BUFFER_SIZE);
+
+        final ImpositionReport report = write(buffered);
+        buffered.flush();
+
+        return report;
+    }
+
+    /**
+     * Verteilt alle Gutscheine auf die Bögen und schreibt diese ungepuffert in einen {@link OutputStream}, ohne diesen
+     * zu schließen. Die Bögen werden nacheinander gezeichnet, sodass jeder Bogen nur einmal geöffnet wird.
+     *
+     * @param out Der {@link OutputStream}, in den das PDF-Dokument geschrieben wird.
+     *
+     * @return Der {@link ImpositionReport}, welcher das Ergebnis der Verteilung zusammenfasst.
+     *
+     * @throws DocumentException Wenn das PDF-Dokument nicht erstellt werden kann.
+     */
+    @NotNull
+    private ImpositionReport write(@NotNull final OutputStream out) throws DocumentException {
+        final Document document = new Document();
+        final float[] cellHeights = measureCellHeights();
+
+        final long start = System.nanoTime();
+        final PackedSheets packed = packSheets(document, cellHeights);
+        final ImpositionReport report = createReport(document, packed, cellHeights, System.nanoTime() - start);
+
+        // create pdf document
+        final PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setCloseStream(false);
+        this.outputProfile.apply(writer);
+        document.open();
+
+        // draw every coupon once, so that it is only referenced by each of its copies
+        final PdfTemplate[] templates = new PdfTemplate[this.coupons.size()];
+        final SerialRenderer[] serials = new SerialRenderer[this.coupons.size()];
+
+        for (int type = 0; type < this.coupons.size(); type++) {
+            final Coupon coupon = this.coupons.get(type);
+            templates[type] = coupon.getCouponTemplate(writer, coupon.getWidth());
+            serials[type] = coupon.createSerialRenderer();
+        }
+
+        final PdfContentByte canvas = writer.getDirectContent();
+        final Rectangle cell = Coupon.createCellRectangle();
+        final float margin = this.cutMarks ? CUT_MARK_GAP / 2 : 0;
+        int sheet = -1;
+
+        for (final int item : packed.sortBySheet()) {
+            if (packed.getSheet(item) != sheet) {
+                if (sheet >= 0) document.newPage();
+
+                sheet = packed.getSheet(item);
+                canvas.setLineCap(PdfContentByte.LINE_CAP_PROJECTING_SQUARE);
+            }
+
+            final int type = packed.getType(item);
+            final Coupon coupon = this.coupons.get(type);
+            final float width = coupon.getWidth();
+            final float height = cellHeights[type];
+            final float left = document.left() + packed.getLeft(item) + margin;
+            final float top = document.top() - packed.getTop(item) - margin;
+
+            if (packed.isRotated(item)) {
+                // the coupon lies on its side, so that it is as wide as it is high and vice versa
+                canvas.saveState();
+                canvas.concatCTM(0, 1, -1, 0, left + height, top - width);
+                moveCell(cell, 0, 0, width, height);
+                coupon.drawCell(canvas, cell, templates[type], serials[type], packed.getIndex(item));
+                canvas.restoreState();
+
+                if (this.cutMarks) drawCutMarks(canvas, left, top - width, left + height, top);
+            } else {
+                moveCell(cell, left, top - height, width, height);
+                coupon.drawCell(canvas, cell, templates[type], serials[type], packed.getIndex(item));
+
+                if (this.cutMarks) drawCutMarks(canvas, left, top - height, left + width, top);
+            }
+        }
+
+        // an empty job still results in a valid document with a single empty sheet
+        if (sheet < 0) writer.setPageEmpty(false);
+
+        document.close();
+        return report;
+    }
+
+    /**
+     * Vermisst die Höhe einer Zelle eines jeden {@link Coupon}, welche mit dem Text des Gutscheins wachsen kann.
+     *
+     * @return Die Höhe einer Zelle eines jeden {@link Coupon}.
+     */
+    private float @NotNull [] measureCellHeights() {
+        final float[] cellHeights = new float[this.coupons.size()];
+
+        for (int type = 0; type < this.coupons.size(); type++) {
+            final Coupon coupon = this.coupons.get(type);
+            cellHeights[type] = coupon.getCellHeight(coupon.getWidth());
+        }
+
+        return cellHeights;
+    }
+
+    /**
+     * Verteilt alle Gutscheine mithilfe eines {@link ShelfPacker} auf den nutzbaren Bereich der Bögen eines Dokuments.
+     *
+     * @param document    Das Dokument, dessen Seiten die Bögen sind.
+     * @param cellHeights Die Höhe einer Zelle eines jeden {@link Coupon}.
+     *
+     * @return Die Position eines jeden Gutscheins.
+     */
+    @NotNull
+    private PackedSheets packSheets(@NotNull final Document document, final float @NotNull [] cellHeights) {
+        final float gap = this.cutMarks ? CUT_MARK_GAP : 0;
+        final float[] widths = new float[this.coupons.size()];
+        final float[] heights = new float[this.coupons.size()];
+        final int[] counts = new int[this.coupons.size()];
+
+        for (int type = 0; type < this.coupons.size(); type++) {
+            final Coupon coupon = this.coupons.get(type);
+            widths[type] = coupon.getWidth() + gap;
+            heights[type] = cellHeights[type] + gap;
+            counts[type] = coupon.getAmount();
+        }
+
+        final ShelfPacker packer = new ShelfPacker(
+            document.right() - document.left(),
+            document.top() - document.bottom(),
+            this.rotation
+        );
+
+        return packer.pack(widths, heights, counts);
+    }
+
+    /**
+     * Fasst das Ergebnis einer Verteilung in einem {@link ImpositionReport} zusammen. Die Auslastung bezieht sich nur
+     * auf die Fläche der Gutscheine selbst, ohne den Platz für die Schnittmarken.
+     *
+     * @param document     Das Dokument, dessen Seiten die Bögen sind.
+     * @param packed       Die Position eines jeden Gutscheins.
+     * @param cellHeights  Die Höhe einer Zelle eines jeden {@link Coupon}.
+     * @param packingNanos Die Dauer des Verteilens in Nanosekunden.
+     *
+     * @return Der {@link ImpositionReport}, welcher das Ergebnis der Verteilung zusammenfasst.
+     */
+    @NotNull
+    private ImpositionReport createReport(
+        @NotNull final Document document,
+        @NotNull final PackedSheets packed,
+        final float @NotNull [] cellHeights,
+        final long packingNanos
+    ) {
+        double couponArea = 0;
+
+        for (int type = 0; type < this.coupons.size(); type++) {
+            final Coupon coupon = this.coupons.get(type);
+            couponArea += (double) coupon.getWidth() * cellHeights[type] * coupon.getAmount();
+        }
+
+        int rotated = 0;
+
+        for (int item = 0; item < packed.getItems(); item++) {
+            if (packed.isRotated(item)) rotated++;
+        }
+
+        final double sheetArea = (double) (document.right() - document.left()) * (document.top() - document.bottom());
+        final double utilization = (packed.getSheets() == 0) ? 0 : couponArea / (packed.getSheets() * sheetArea);
+
+        return new ImpositionReport(packed.getSheets(), packed.getItems(), rotated, utilization, packingNanos);
+    }
+
+    /**
+     * Verschiebt das Rechteck einer Zelle an die Position eines Gutscheins.
+     *
+     * @param cell   Das Rechteck der Zelle, welches verschoben wird.
+     * @param left   Die X-Koordinate der linken Kante des Gutscheins.
+     * @param bottom Die Y-Koordinate der Unterkante des Gutscheins.
+     * @param width  Die Breite des Gutscheins.
+     * @param height Die Höhe des Gutscheins.
+     */
+    private static void moveCell(
+        @NotNull final Rectangle cell,
+        final float left,
+        final float bottom,
+        final float width,
+        final float height
+    ) {
+        cell.setLeft(left);
+        cell.setBottom(bottom);
+        cell.setRight(left + width);
+        cell.setTop(bottom + height);
+    }
+
+    /**
+     * Zeichnet an jede Ecke eines Gutscheins zwei kurze Schnittmarken, welche die Kanten des Gutscheins nach außen
+     * verlängern, ohne den Gutschein selbst zu berühren.
+     *
+     * @param canvas Der Inhalt der Seite, auf den gezeichnet wird.
+     * @param left   Die X-Koordinate der linken Kante des Gutscheins.
+     * @param bottom Die Y-Koordinate der Unterkante des Gutscheins.
+     * @param right  Die X-Koordinate der rechten Kante des Gutscheins.
+     * @param top    Die Y-Koordinate der Oberkante des Gutscheins.
+     */
+    private static void drawCutMarks(
+        @NotNull final PdfContentByte canvas,
+        final float left,
+        final float bottom,
+        final float right,
+        final float top
+    ) {
+        final float near = CUT_MARK_OFFSET;
+        final float far = CUT_MARK_OFFSET + CUT_MARK_LENGTH;
+
+        canvas.saveState();
+        canvas.setLineWidth(CUT_MARK_WIDTH);
+        canvas.setLineCap(PdfContentByte.LINE_CAP_BUTT);
+
+        for (final float x : new float[] {left, right}) {
+            final float outward = (x == left) ? -1 : 1;
+
+            for (final float y : new float[] {bottom, top}) {
+                final float upward = (y == bottom) ? -1 : 1;
+
+                // horizontal mark, continuing the bottom or top edge
+                canvas.moveTo(x + outward * near, y);
+                canvas.lineTo(x + outward * far, y);
+
+                // vertical mark, continuing the left or right edge
+                canvas.moveTo(x, y + upward * near);
+                canvas.lineTo(x, y + upward * far);
+            }
+        }
+
+        canvas.stroke();
+        canvas.restoreState();
+    }
+
+}
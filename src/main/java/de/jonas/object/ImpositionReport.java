@@ -0,0 +1,50 @@
+package de.jonas.object;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ein {@link ImpositionReport} fasst das Ergebnis eines {@link ImpositionJob} zusammen, also wie viele Bögen benötigt
+ * werden und wie gut diese durch die Gutscheine ausgenutzt sind.
+ */
+@Getter
+@NotNull
+@RequiredArgsConstructor
+public final class ImpositionReport {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Anzahl an Bögen, auf welche die Gutscheine verteilt wurden. */
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    private final int sheets;
+    /** Die Anzahl an Gutscheinen, die verteilt wurden. */
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    private final int coupons;
+    /** Die Anzahl an Gutscheinen, die um 90° gedreht wurden. */
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    private final int rotated;
+    /** Der Anteil der nutzbaren Fläche aller Bögen, welcher von Gutscheinen bedeckt wird, zwischen 0 und 1. */
+    private final double utilization;
+    /** Die Dauer des Verteilens in Nanosekunden, ohne das Zeichnen der Bögen. */
+    @Range(from = 0, to = Long.MAX_VALUE)
+    private final long packingNanos;
+    //</editor-fold>
+
+
+    @NotNull
+    @Override
+    public String toString() {
+        return String.format(
+            "%d Gutscheine (%d gedreht) auf %d Bögen verteilt - %.1f %% Auslastung, %.1f ms",
+            this.coupons,
+            this.rotated,
+            this.sheets,
+            this.utilization * 100,
+            this.packingNanos / (double) TimeUnit.MILLISECONDS.toNanos(1)
+        );
+    }
+
+}
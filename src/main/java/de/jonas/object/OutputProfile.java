@@ -0,0 +1,96 @@
+package de.jonas.object;
+
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.pdf.PdfStream;
+import com.itextpdf.text.pdf.PdfWriter;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+
+/**
+ * <p>Ein {@link OutputProfile} legt fest, wie der {@link PdfWriter} eines PDF-Dokuments zwischen der benötigten
+ * Rechenzeit und der Größe der Datei abwägt. Jedes Profil bestimmt dafür die Stufe, mit der alle Streams komprimiert
+ * werden, ob die Objekte des Dokuments zusätzlich in komprimierten Objekt-Streams abgelegt werden und welche
+ * PDF-Version das Dokument hat.</p>
+ * <p>Der Inhalt der Seiten ist bei allen Profilen identisch, lediglich die Kodierung der Datei unterscheidet sich.
+ * Der {@code OutputProfileComparison} im Benchmark-Modul gibt die Dauer und Größe eines jeden Profils als Tabelle
+ * aus.</p>
+ */
+@Getter
+@NotNull
+@RequiredArgsConstructor
+public enum OutputProfile {
+
+    /**
+     * Alle Streams werden mit der schnellsten Stufe komprimiert. Gedacht für die grafische Oberfläche, bei der ein
+     * Nutzer auf das Dokument wartet.
+     */
+    FAST(PdfStream.BEST_SPEED, false, PdfWriter.VERSION_1_4),
+    /** Die Einstellungen eines unveränderten {@link PdfWriter}, also die standard Stufe der Komprimierung. */
+    BALANCED(PdfStream.DEFAULT_COMPRESSION, false, PdfWriter.VERSION_1_4),
+    /**
+     * Alle Streams werden mit der höchsten Stufe komprimiert und alle Objekte zusätzlich in komprimierten
+     * Objekt-Streams abgelegt, wofür mindestens PDF 1.5 benötigt wird. Gedacht für Dokumente, die archiviert oder
+     * verschickt werden.
+     */
+    SMALLEST(PdfStream.BEST_COMPRESSION, true, PdfWriter.VERSION_1_5);
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Stufe, mit der alle Streams des Dokuments komprimiert werden. */
+    private final int compressionLevel;
+    /**
+     * Ob die Objekte des Dokuments in komprimierten Objekt-Streams und mit einem Querverweis-Stream abgelegt werden.
+     */
+    private final boolean fullCompression;
+    /** Die PDF-Version des Dokuments. */
+    private final char pdfVersion;
+    //</editor-fold>
+
+
+    /**
+     * Überträgt dieses {@link OutputProfile} auf einen {@link PdfWriter}. Diese Methode muss aufgerufen werden, bevor
+     * das Dokument geöffnet wird.
+     *
+     * @param writer Der {@link PdfWriter}, welcher das Dokument schreibt.
+     *
+     * @throws DocumentException Wenn das Dokument bereits geöffnet wurde.
+     */
+    public void apply(@NotNull final PdfWriter writer) throws DocumentException {
+        writer.setPdfVersion(this.pdfVersion);
+        writer.setCompressionLevel(this.compressionLevel);
+
+        if (this.fullCompression) writer.setFullCompression();
+    }
+
+    /**
+     * Gibt den Namen dieses {@link OutputProfile} zurück, wie er auf der Kommandozeile angegeben wird.
+     *
+     * @return Der Name dieses {@link OutputProfile} in Kleinbuchstaben.
+     */
+    @NotNull
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Sucht das {@link OutputProfile} mit einem bestimmten Namen, unabhängig von Groß- und Kleinschreibung.
+     *
+     * @param name Der Name des {@link OutputProfile}, z.B. {@code fast}.
+     *
+     * @return Das {@link OutputProfile} mit diesem Namen.
+     *
+     * @throws IllegalArgumentException Wenn es kein {@link OutputProfile} mit diesem Namen gibt.
+     */
+    @NotNull
+    public static OutputProfile fromName(@NotNull final String name) {
+        for (@NotNull final OutputProfile profile : values()) {
+            if (profile.getName().equalsIgnoreCase(name)) return profile;
+        }
+
+        throw new IllegalArgumentException("Unbekanntes Profil: " + name + " (fast, balanced oder smallest)");
+    }
+
+}
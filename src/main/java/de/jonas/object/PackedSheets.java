@@ -0,0 +1,220 @@
+package de.jonas.object;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+/**
+ * <p>{@link PackedSheets} enthalten das Ergebnis eines {@link ShelfPacker}, also die Position eines jeden Rechtecks auf
+ * seinem Bogen. Die Positionen werden in einfachen Arrays gehalten, damit auch sehr viele Rechtecke keine eigenen
+ * Objekte benötigen.</p>
+ * <p>Alle Koordinaten beziehen sich auf die linke obere Ecke des nutzbaren Bereichs eines Bogens und wachsen nach
+ * rechts bzw. nach unten.</p>
+ */
+@NotNull
+final class PackedSheets {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der Typ eines jeden Rechtecks. */
+    private final int @NotNull [] types;
+    /** Die Position eines jeden Rechtecks innerhalb seines Typs. */
+    private final int @NotNull [] indices;
+    /** Der Bogen eines jeden Rechtecks. */
+    private final int @NotNull [] sheetOfItem;
+    /** Der Abstand eines jeden Rechtecks zum linken Rand. */
+    private final float @NotNull [] lefts;
+    /** Der Abstand eines jeden Rechtecks zum oberen Rand. */
+    private final float @NotNull [] tops;
+    /** Die Breite eines jeden Typs, so wie er auf dem Bogen liegt. */
+    private final float @NotNull [] widths;
+    /** Die Höhe eines jeden Typs, so wie er auf dem Bogen liegt. */
+    private final float @NotNull [] heights;
+    /** Ob ein Typ um 90° gedreht auf dem Bogen liegt. */
+    private final boolean @NotNull [] rotated;
+    /** Die Anzahl an Bögen. */
+    @Getter
+    @Setter
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    private int sheets;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt neue {@link PackedSheets} für eine bestimmte Anzahl an Rechtecken, deren Positionen noch nicht
+     * feststehen.
+     *
+     * @param items   Die Anzahl an Rechtecken.
+     * @param widths  Die Breite eines jeden Typs, so wie er auf dem Bogen liegt.
+     * @param heights Die Höhe eines jeden Typs, so wie er auf dem Bogen liegt.
+     * @param rotated Ob ein Typ um 90° gedreht auf dem Bogen liegt.
+     */
+    PackedSheets(
+        @Range(from = 0, to = Integer.MAX_VALUE) final int items,
+        final float @NotNull [] widths,
+        final float @NotNull [] heights,
+        final boolean @NotNull [] rotated
+    ) {
+        this.types = new int[items];
+        this.indices = new int[items];
+        this.sheetOfItem = new int[items];
+        this.lefts = new float[items];
+        this.tops = new float[items];
+        this.widths = widths;
+        this.heights = heights;
+        this.rotated = rotated;
+    }
+    //</editor-fold>
+
+
+    /**
+     * Legt fest, welches Rechteck an einer Position steht und wie weit es vom linken Rand entfernt ist.
+     *
+     * @param item  Die Position des Rechtecks.
+     * @param type  Der Typ des Rechtecks.
+     * @param index Die Position des Rechtecks innerhalb seines Typs.
+     * @param left  Der Abstand des Rechtecks zum linken Rand.
+     */
+    void place(final int item, final int type, final int index, final float left) {
+        this.types[item] = type;
+        this.indices[item] = index;
+        this.lefts[item] = left;
+    }
+
+    /**
+     * Legt fest, auf welchem Bogen ein Rechteck liegt und wie weit es vom oberen Rand entfernt ist.
+     *
+     * @param item  Die Position des Rechtecks.
+     * @param sheet Der Bogen des Rechtecks.
+     * @param top   Der Abstand des Rechtecks zum oberen Rand.
+     */
+    void stack(final int item, final int sheet, final float top) {
+        this.sheetOfItem[item] = sheet;
+        this.tops[item] = top;
+    }
+
+    /**
+     * Gibt die Anzahl an Rechtecken zurück.
+     *
+     * @return Die Anzahl an Rechtecken.
+     */
+    int getItems() {
+        return this.types.length;
+    }
+
+    /**
+     * Gibt den Typ eines Rechtecks zurück.
+     *
+     * @param item Die Position des Rechtecks.
+     *
+     * @return Der Typ des Rechtecks.
+     */
+    int getType(final int item) {
+        return this.types[item];
+    }
+
+    /**
+     * Gibt die Position eines Rechtecks innerhalb seines Typs zurück.
+     *
+     * @param item Die Position des Rechtecks.
+     *
+     * @return Die Position des Rechtecks innerhalb seines Typs.
+     */
+    int getIndex(final int item) {
+        return this.indices[item];
+    }
+
+    /**
+     * Gibt den Abstand eines Rechtecks zum linken Rand zurück.
+     *
+     * @param item Die Position des Rechtecks.
+     *
+     * @return Der Abstand des Rechtecks zum linken Rand.
+     */
+    float getLeft(final int item) {
+        return this.lefts[item];
+    }
+
+    /**
+     * Gibt den Abstand eines Rechtecks zum oberen Rand zurück.
+     *
+     * @param item Die Position des Rechtecks.
+     *
+     * @return Der Abstand des Rechtecks zum oberen Rand.
+     */
+    float getTop(final int item) {
+        return this.tops[item];
+    }
+
+    /**
+     * Gibt die Breite eines Rechtecks zurück, so wie es auf dem Bogen liegt.
+     *
+     * @param item Die Position des Rechtecks.
+     *
+     * @return Die Breite des Rechtecks auf dem Bogen.
+     */
+    float getWidth(final int item) {
+        return this.widths[this.types[item]];
+    }
+
+    /**
+     * Gibt die Höhe eines Rechtecks zurück, so wie es auf dem Bogen liegt.
+     *
+     * @param item Die Position des Rechtecks.
+     *
+     * @return Die Höhe des Rechtecks auf dem Bogen.
+     */
+    float getHeight(final int item) {
+        return this.heights[this.types[item]];
+    }
+
+    /**
+     * Gibt zurück, ob ein Rechteck um 90° gedreht auf dem Bogen liegt.
+     *
+     * @param item Die Position des Rechtecks.
+     *
+     * @return Ob das Rechteck gedreht auf dem Bogen liegt.
+     */
+    boolean isRotated(final int item) {
+        return this.rotated[this.types[item]];
+    }
+
+    /**
+     * Sortiert alle Rechtecke stabil nach ihrem Bogen, damit die Bögen nacheinander gezeichnet werden können.
+     *
+     * @return Die Positionen aller Rechtecke, sortiert nach ihrem Bogen.
+     */
+    int @NotNull [] sortBySheet() {
+        final int[] starts = new int[this.sheets + 1];
+
+        for (final int sheet : this.sheetOfItem) {
+            starts[sheet + 1]++;
+        }
+
+        for (int sheet = 0; sheet < this.sheets; sheet++) {
+            starts[sheet + 1] += starts[sheet];
+        }
+
+        final int[] sorted = new int[this.sheetOfItem.length];
+
+        for (int item = 0; item < this.sheetOfItem.length; item++) {
+            sorted[starts[this.sheetOfItem[item]]++] = item;
+        }
+
+        return sorted;
+    }
+
+    /**
+     * Gibt den Bogen eines Rechtecks zurück.
+     *
+     * @param item Die Position des Rechtecks.
+     *
+     * @return Der Bogen des Rechtecks.
+     */
+    int getSheet(final int item) {
+        return this.sheetOfItem[item];
+    }
+
+}
@@ -0,0 +1,247 @@
+package de.jonas.object;
+
+import de.jonas.utility.ByteBufferOutputStream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * <p>Ein {@link PngEncoder} kodiert Rasterbilder als PNG-Dateien. Im Gegensatz zu {@link javax.imageio.ImageIO} werden
+ * die Pixel direkt aus dem Speicher eines {@link BufferedImage} gelesen, jede Zeile mit dem Filter {@code Up} gegen
+ * die vorherige Zeile gefiltert und mit der schnellsten Stufe komprimiert. Gutscheine bestehen überwiegend aus
+ * einfarbigen Flächen, weshalb die Dateien dadurch kaum größer, aber deutlich schneller kodiert werden.</p>
+ * <p>Ein {@link PngEncoder} verwendet seine Puffer und seinen {@link Deflater} für jedes Bild wieder und darf deshalb
+ * nicht von mehreren Threads gleichzeitig genutzt werden.</p>
+ */
+@NotNull
+final class PngEncoder {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Signatur am Anfang einer jeden PNG-Datei. */
+    private static final byte @NotNull [] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    /** Die Anzahl an Bytes pro Pixel, jeweils eines für Rot, Grün und Blau. */
+    private static final int BYTES_PER_PIXEL = 3;
+    /** Die Farbtiefe eines jeden Kanals in Bits. */
+    private static final int BIT_DEPTH = 8;
+    /** Der Farbtyp für Bilder, deren Pixel aus Rot, Grün und Blau bestehen. */
+    private static final int COLOR_TYPE_RGB = 2;
+    /** Der Filter, mit dem jedes Byte einer Zeile vom Byte darüber abgezogen wird. */
+    private static final int FILTER_UP = 2;
+    /** Die Anzahl an Zentimetern pro Zoll, um die Auflösung in Pixel pro Meter umzurechnen. */
+    private static final double CENTIMETERS_PER_INCH = 2.54;
+    /** Die Größe des Puffers, in den der {@link Deflater} komprimiert. */
+    private static final int CHUNK_SIZE = 64 * 1024;
+    /** Die anfängliche Kapazität des Puffers, in den die PNG-Datei geschrieben wird. */
+    private static final int INITIAL_BUFFER_CAPACITY = 64 * 1024;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der {@link Deflater}, welcher die gefilterten Zeilen komprimiert. */
+    @NotNull
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    /** Die Prüfsumme eines jeden Abschnitts der PNG-Datei. */
+    @NotNull
+    private final CRC32 checksum = new CRC32();
+    /** Der Puffer, in den der {@link Deflater} komprimiert. */
+    private final byte @NotNull [] chunk = new byte[CHUNK_SIZE];
+    /** Die komprimierten Zeilen des aktuellen Bildes. */
+    @NotNull
+    private final ByteBufferOutputStream compressed = new ByteBufferOutputStream(INITIAL_BUFFER_CAPACITY);
+    /** Die PNG-Datei des aktuellen Bildes. */
+    @NotNull
+    private final ByteArrayOutputStream file = new ByteArrayOutputStream(INITIAL_BUFFER_CAPACITY);
+    /** Der Kopf der PNG-Datei bzw. die Daten eines anderen kleinen Abschnitts. */
+    private final byte @NotNull [] header = new byte[13];
+    /** Die Pixel der aktuellen Zeile, falls das Bild seine Pixel nicht als {@code int}-Werte speichert. */
+    private int @NotNull [] pixels = new int[0];
+    /** Die ungefilterten Bytes der aktuellen Zeile. */
+    private byte @NotNull [] current = new byte[0];
+    /** Die ungefilterten Bytes der vorherigen Zeile. */
+    private byte @NotNull [] previous = new byte[0];
+    /** Der Filter und die gefilterten Bytes der aktuellen Zeile. */
+    private byte @NotNull [] filtered = new byte[0];
+    //</editor-fold>
+
+
+    /**
+     * Kodiert ein Rasterbild als PNG-Datei, ohne Transparenz.
+     *
+     * @param image Das Rasterbild.
+     * @param dpi   Die Auflösung, mit der das Bild gedruckt werden soll, in Pixeln pro Zoll.
+     *
+     * @return Der Inhalt der PNG-Datei.
+     */
+    byte @NotNull [] encode(@NotNull final BufferedImage image, final float dpi) {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final int rowBytes = width * BYTES_PER_PIXEL;
+
+        if (this.current.length != rowBytes) {
+            this.current = new byte[rowBytes];
+            this.previous = new byte[rowBytes];
+            this.filtered = new byte[rowBytes + 1];
+        }
+
+        // the row above the first row consists of zeros
+        Arrays.fill(this.previous, (byte) 0);
+
+        @Nullable final int[] data = getPixels(image);
+        this.compressed.reset();
+        this.deflater.reset();
+
+        for (int y = 0; y < height; y++) {
+            final int offset;
+
+            if (data != null) {
+                offset = y * width;
+            } else {
+                if (this.pixels.length != width) this.pixels = new int[width];
+                image.getRGB(0, y, width, 1, this.pixels, 0, width);
+                offset = 0;
+            }
+
+            final int[] row = (data != null) ? data : this.pixels;
+
+            for (int x = 0, i = 0; x < width; x++) {
+                final int pixel = row[offset + x];
+                this.current[i++] = (byte) (pixel >> 16);
+                this.current[i++] = (byte) (pixel >> 8);
+                this.current[i++] = (byte) pixel;
+            }
+
+            this.filtered[0] = FILTER_UP;
+
+            for (int i = 0; i < rowBytes; i++) {
+                this.filtered[i + 1] = (byte) (this.current[i] - this.previous[i]);
+            }
+
+            deflate(this.filtered);
+
+            final byte[] swap = this.previous;
+            this.previous = this.current;
+            this.current = swap;
+        }
+
+        this.deflater.finish();
+
+        while (!this.deflater.finished()) {
+            this.compressed.write(this.chunk, 0, this.deflater.deflate(this.chunk));
+        }
+
+        this.file.reset();
+        this.file.write(SIGNATURE, 0, SIGNATURE.length);
+
+        putInt(this.header, 0, width);
+        putInt(this.header, 4, height);
+        this.header[8] = BIT_DEPTH;
+        this.header[9] = COLOR_TYPE_RGB;
+        this.header[10] = 0;
+        this.header[11] = 0;
+        this.header[12] = 0;
+        writeChunk("IHDR", this.header, 13);
+
+        final int pixelsPerMeter = (int) Math.round(dpi * 100 / CENTIMETERS_PER_INCH);
+        putInt(this.header, 0, pixelsPerMeter);
+        putInt(this.header, 4, pixelsPerMeter);
+        this.header[8] = 1;
+        writeChunk("pHYs", this.header, 9);
+
+        // the compressed rows are written without copying them first
+        final ByteBuffer rows = this.compressed.toByteBuffer();
+        writeChunk("IDAT", rows.array(), rows.remaining());
+        writeChunk("IEND", this.header, 0);
+
+        return this.file.toByteArray();
+    }
+
+    /**
+     * Komprimiert eine gefilterte Zeile in den Puffer der komprimierten Zeilen.
+     *
+     * @param row Der Filter und die gefilterten Bytes der Zeile.
+     */
+    private void deflate(final byte @NotNull [] row) {
+        this.deflater.setInput(row, 0, row.length);
+
+        while (!this.deflater.needsInput()) {
+            this.compressed.write(this.chunk, 0, this.deflater.deflate(this.chunk));
+        }
+    }
+
+    /**
+     * Schreibt einen Abschnitt der PNG-Datei, samt seiner Länge, seines Typs und seiner Prüfsumme.
+     *
+     * @param type   Der Typ des Abschnitts.
+     * @param data   Die Daten des Abschnitts.
+     * @param length Die Anzahl an Bytes der Daten.
+     */
+    private void writeChunk(
+        @NotNull final String type,
+        final byte @NotNull [] data,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int length
+    ) {
+        final byte[] name = type.getBytes(StandardCharsets.US_ASCII);
+
+        this.checksum.reset();
+        this.checksum.update(name, 0, name.length);
+        this.checksum.update(data, 0, length);
+
+        writeInt(length);
+        this.file.write(name, 0, name.length);
+        this.file.write(data, 0, length);
+        writeInt((int) this.checksum.getValue());
+    }
+
+    /**
+     * Schreibt eine Zahl mit vier Bytes in die PNG-Datei, beginnend mit dem höchstwertigen Byte.
+     *
+     * @param value Die Zahl.
+     */
+    private void writeInt(final int value) {
+        this.file.write(value >>> 24);
+        this.file.write(value >>> 16);
+        this.file.write(value >>> 8);
+        this.file.write(value);
+    }
+
+    /**
+     * Gibt die Pixel eines Rasterbildes zurück, sofern diese direkt als {@code int}-Werte mit Rot, Grün und Blau
+     * gespeichert sind.
+     *
+     * @param image Das Rasterbild.
+     *
+     * @return Die Pixel des Rasterbildes, Zeile für Zeile, oder {@code null}, falls diese anders gespeichert sind.
+     */
+    @Nullable
+    private static int[] getPixels(@NotNull final BufferedImage image) {
+        final boolean packed = image.getType() == BufferedImage.TYPE_INT_RGB
+            || image.getType() == BufferedImage.TYPE_INT_ARGB;
+        if (!packed || image.getRaster().getDataBuffer().getNumBanks() != 1) return null;
+
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    /**
+     * Schreibt eine Zahl mit vier Bytes in ein Array, beginnend mit dem höchstwertigen Byte.
+     *
+     * @param target Das Array.
+     * @param offset Die Position des ersten Bytes.
+     * @param value  Die Zahl.
+     */
+    private static void putInt(final byte @NotNull [] target, final int offset, final int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+
+}
@@ -0,0 +1,603 @@
+package de.jonas.object;
+
+import com.itextpdf.text.pdf.qrcode.ByteMatrix;
+import com.itextpdf.text.pdf.qrcode.Encoder;
+import com.itextpdf.text.pdf.qrcode.ErrorCorrectionLevel;
+import com.itextpdf.text.pdf.qrcode.QRCode;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.Arrays;
+
+/**
+ * <p>Ein {@link QrEncoder} kodiert Seriennummern als QR-Code mit der Fehlerkorrekturstufe L, so wie es auch
+ * {@link com.itextpdf.text.pdf.BarcodeQRCode} tut. Seriennummern aus Ziffern oder aus den Zeichen des alphanumerischen
+ * Modus, die in einen QR-Code der Version 1 passen, werden dabei ohne iText kodiert: Jede Zeile der 21 x 21 Module
+ * wird gemeinsam mit der gleichnamigen Spalte als Bitmaske in einem {@code long} gehalten, wodurch alle acht Masken
+ * mit wenigen Bitoperationen pro Zeile und Spalte bewertet werden. Die Bewertung folgt den Regeln von iText, weshalb
+ * dieselbe Maske und somit dieselben Module entstehen. Alle anderen Seriennummern werden weiterhin von iText
+ * kodiert.</p>
+ * <p>Ein {@link QrEncoder} verwendet seine Puffer für jede Seriennummer wieder und darf deshalb nicht von mehreren
+ * Threads gleichzeitig genutzt werden.</p>
+ */
+@NotNull
+final class QrEncoder {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Anzahl an Modulen entlang einer Kante eines QR-Codes der Version 1. */
+    static final int SIZE = 21;
+    /** Eine Bitmaske, in der alle Module einer Zeile bzw. Spalte gesetzt sind. */
+    private static final long FULL_LINE = (1L << SIZE) - 1;
+    /** Der Abstand der Bits einer Spalte zu den Bits der Zeile, mit der sie gemeinsam gehalten wird. */
+    private static final int COLUMN_SHIFT = Integer.SIZE;
+    /** Der Faktor, mit dem eine Bitmaske für eine Zeile auch auf die gleichnamige Spalte übertragen wird. */
+    private static final long BOTH_LINES = 1L | (1L << COLUMN_SHIFT);
+    /** Die Anzahl an Datenbytes eines QR-Codes der Version 1 mit der Fehlerkorrekturstufe L. */
+    private static final int DATA_CODEWORDS = 19;
+    /** Die Anzahl an Bytes zur Fehlerkorrektur eines QR-Codes der Version 1 mit der Fehlerkorrekturstufe L. */
+    private static final int EC_CODEWORDS = 7;
+    /** Die Anzahl an Bits, die für die Daten zur Verfügung stehen. */
+    private static final int DATA_BITS = DATA_CODEWORDS * Byte.SIZE;
+    /** Die Anzahl an Masken, aus denen die mit der geringsten Bewertung ausgewählt wird. */
+    private static final int MASK_PATTERNS = 8;
+    /** Die Zeichen des alphanumerischen Modus, in der Reihenfolge ihrer Werte. */
+    @NotNull
+    private static final String ALPHANUMERIC = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ $%*+-./:";
+    /** Die Potenzen des erzeugenden Elements im Galois-Feld GF(256) mit dem Polynom {@code 0x11D}. */
+    private static final int @NotNull [] EXP = createExp();
+    /** Der Logarithmus eines jeden Elements im Galois-Feld GF(256), als Umkehrung von {@link #EXP}. */
+    private static final int @NotNull [] LOG = createLog();
+    /** Die Koeffizienten des Generatorpolynoms zur Fehlerkorrektur, beginnend beim höchsten Grad. */
+    private static final int @NotNull [] GENERATOR = createGenerator();
+    /** Ob ein Modul zu einem Suchmuster, einem Taktmuster oder der Formatinformation gehört. */
+    private static final boolean @NotNull [] @NotNull [] RESERVED = createReserved();
+    /** Die Positionen ({@code y * SIZE + x}) aller Module für Daten, in der Reihenfolge ihrer Bits. */
+    private static final int @NotNull [] DATA_POSITIONS = createDataPositions();
+    /** Die dunklen Module der Suchmuster, Taktmuster und des dunklen Moduls in jeder Zeile und Spalte. */
+    private static final long @NotNull [] FUNCTION_LINES = createFunction();
+    /** Die Module für Daten, die von jeder Maske umgekehrt werden, in jeder Zeile und Spalte. */
+    private static final long @NotNull [] @NotNull [] MASK_LINES = createMasks();
+    /** Die dunklen Module der Formatinformation einer jeden Maske in jeder Zeile und Spalte. */
+    private static final long @NotNull [] @NotNull [] FORMAT_LINES = createFormat();
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Datenbytes und die Bytes zur Fehlerkorrektur der aktuellen Seriennummer. */
+    private final byte @NotNull [] codewords = new byte[DATA_CODEWORDS + EC_CODEWORDS];
+    /**
+     * Die dunklen Module für Daten in jeder Zeile und Spalte, bevor eine Maske angewendet wird. Die niedrigen Bits
+     * enthalten die Zeile, die Bits ab {@link #COLUMN_SHIFT} die gleichnamige Spalte.
+     */
+    private final long @NotNull [] dataLines = new long[SIZE];
+    /** Die dunklen Module in jeder Zeile und Spalte, nachdem eine Maske angewendet wurde. */
+    private final long @NotNull [] lines = new long[SIZE];
+    /** Der Rest der Polynomdivision, aus dem die Bytes zur Fehlerkorrektur entstehen. */
+    private final int @NotNull [] remainder = new int[EC_CODEWORDS];
+    /** Die Anzahl an Bits, die bereits in {@link #codewords} geschrieben wurden. */
+    private int bitCount;
+    /** Die Module der aktuellen Seriennummer, falls diese von iText kodiert wurde. */
+    @Nullable
+    private ByteMatrix fallback;
+    //</editor-fold>
+
+
+    /**
+     * Kodiert eine Seriennummer als QR-Code. Die Module können anschließend mit {@link #isDark(int, int)} abgefragt
+     * werden, bis die nächste Seriennummer kodiert wird.
+     *
+     * @param code Die Seriennummer.
+     */
+    void encode(@NotNull final String code) {
+        if (!writeData(code)) {
+            this.fallback = encodeFallback(code);
+            return;
+        }
+
+        this.fallback = null;
+        writeErrorCorrection();
+        placeData();
+
+        int bestMask = 0;
+        int bestPenalty = Integer.MAX_VALUE;
+
+        for (int mask = 0; mask < MASK_PATTERNS; mask++) {
+            applyMask(mask);
+
+            final int penalty = calculatePenalty(this.lines);
+
+            // like iText, the first of several equally rated masks is chosen
+            if (penalty < bestPenalty) {
+                bestPenalty = penalty;
+                bestMask = mask;
+            }
+        }
+
+        applyMask(bestMask);
+    }
+
+    /**
+     * Gibt die Anzahl an Modulen entlang einer Kante des zuletzt kodierten QR-Codes zurück, ohne die Ruhezone.
+     *
+     * @return Die Anzahl an Modulen entlang einer Kante.
+     */
+    int getSize() {
+        return (this.fallback != null) ? this.fallback.getWidth() : SIZE;
+    }
+
+    /**
+     * Prüft, ob ein Modul des zuletzt kodierten QR-Codes dunkel ist.
+     *
+     * @param x Die Spalte des Moduls, beginnend links bei {@code 0}.
+     * @param y Die Zeile des Moduls, beginnend oben bei {@code 0}.
+     *
+     * @return {@code true}, wenn das Modul dunkel ist.
+     */
+    boolean isDark(
+        @Range(from = 0, to = Integer.MAX_VALUE) final int x,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int y
+    ) {
+        if (this.fallback != null) return this.fallback.get(x, y) == 1;
+
+        return ((this.lines[y] >>> x) & 1) != 0;
+    }
+
+    /**
+     * Schreibt den Modus, die Länge, die Zeichen und die Füllbytes einer Seriennummer in {@link #codewords}, falls
+     * die Seriennummer in einen QR-Code der Version 1 passt und nur aus Ziffern oder alphanumerischen Zeichen besteht.
+     *
+     * @param code Die Seriennummer.
+     *
+     * @return {@code true}, wenn die Seriennummer geschrieben wurde, andernfalls muss sie von iText kodiert werden.
+     */
+    private boolean writeData(@NotNull final String code) {
+        final int length = code.length();
+        if (length == 0) return false;
+
+        boolean numeric = true;
+
+        for (int i = 0; i < length; i++) {
+            final char c = code.charAt(i);
+            if (c >= '0' && c <= '9') continue;
+            if (ALPHANUMERIC.indexOf(c) < 0) return false;
+
+            numeric = false;
+        }
+
+        final int characterBits = numeric
+            ? (10 * (length / 3)) + ((length % 3 == 0) ? 0 : (3 * (length % 3)) + 1)
+            : (11 * (length / 2)) + (6 * (length % 2));
+
+        // like iText, three bytes are kept free for the mode, the length and the terminator
+        if (((characterBits + Byte.SIZE - 1) / Byte.SIZE) + 3 > DATA_CODEWORDS) return false;
+
+        Arrays.fill(this.codewords, (byte) 0);
+        this.bitCount = 0;
+
+        if (numeric) {
+            appendBits(0b0001, 4);
+            appendBits(length, 10);
+
+            for (int i = 0; i < length; i += 3) {
+                final int digits = Math.min(3, length - i);
+                appendBits(Integer.parseInt(code.substring(i, i + digits)), (3 * digits) + 1);
+            }
+        } else {
+            appendBits(0b0010, 4);
+            appendBits(length, 9);
+
+            for (int i = 0; i < length; i += 2) {
+                final int first = ALPHANUMERIC.indexOf(code.charAt(i));
+
+                if (i + 1 < length) {
+                    appendBits((first * ALPHANUMERIC.length()) + ALPHANUMERIC.indexOf(code.charAt(i + 1)), 11);
+                } else {
+                    appendBits(first, 6);
+                }
+            }
+        }
+
+        // the terminator and the remaining bits of the last byte are already zero
+        final int dataBytes = (Math.min(this.bitCount + 4, DATA_BITS) + Byte.SIZE - 1) / Byte.SIZE;
+
+        for (int i = dataBytes; i < DATA_CODEWORDS; i++) {
+            this.codewords[i] = (byte) (((i - dataBytes) % 2 == 0) ? 0xEC : 0x11);
+        }
+
+        return true;
+    }
+
+    /**
+     * Hängt die niedrigsten Bits eines Wertes an die bereits geschriebenen Bits an, beginnend beim höchsten Bit.
+     *
+     * @param value  Der Wert.
+     * @param length Die Anzahl an Bits.
+     */
+    private void appendBits(final int value, final int length) {
+        for (int i = length - 1; i >= 0; i--, this.bitCount++) {
+            if (((value >>> i) & 1) == 0) continue;
+
+            this.codewords[this.bitCount / Byte.SIZE] |= (byte) (0x80 >>> (this.bitCount % Byte.SIZE));
+        }
+    }
+
+    /**
+     * Berechnet die Bytes zur Fehlerkorrektur nach Reed-Solomon und schreibt sie hinter die Datenbytes.
+     */
+    private void writeErrorCorrection() {
+        final int[] remainder = this.remainder;
+        Arrays.fill(remainder, 0);
+
+        for (int i = 0; i < DATA_CODEWORDS; i++) {
+            final int factor = (this.codewords[i] & 0xFF) ^ remainder[0];
+
+            System.arraycopy(remainder, 1, remainder, 0, EC_CODEWORDS - 1);
+            remainder[EC_CODEWORDS - 1] = 0;
+
+            if (factor == 0) continue;
+
+            for (int j = 0; j < EC_CODEWORDS; j++) {
+                remainder[j] ^= multiply(GENERATOR[j + 1], factor);
+            }
+        }
+
+        for (int i = 0; i < EC_CODEWORDS; i++) {
+            this.codewords[DATA_CODEWORDS + i] = (byte) remainder[i];
+        }
+    }
+
+    /**
+     * Überträgt alle Bits aus {@link #codewords} auf die Module für Daten, ohne eine Maske anzuwenden.
+     */
+    private void placeData() {
+        Arrays.fill(this.dataLines, 0);
+
+        for (int i = 0; i < DATA_POSITIONS.length; i++) {
+            // the bit is shifted into place instead of branching on it, as data bits are as good as random
+            final long bit = (this.codewords[i / Byte.SIZE] >>> (7 - (i % Byte.SIZE))) & 1;
+            final int x = DATA_POSITIONS[i] % SIZE;
+            final int y = DATA_POSITIONS[i] / SIZE;
+
+            this.dataLines[y] |= bit << x;
+            this.dataLines[x] |= bit << (COLUMN_SHIFT + y);
+        }
+    }
+
+    /**
+     * Setzt alle Zeilen und Spalten auf die Module, die sich mit einer bestimmten Maske ergeben.
+     *
+     * @param mask Die Nummer der Maske.
+     */
+    private void applyMask(@Range(from = 0, to = MASK_PATTERNS - 1) final int mask) {
+        final long[] masked = MASK_LINES[mask];
+        final long[] format = FORMAT_LINES[mask];
+
+        for (int i = 0; i < SIZE; i++) {
+            this.lines[i] = (this.dataLines[i] ^ masked[i]) | FUNCTION_LINES[i] | format[i];
+        }
+    }
+
+    /**
+     * Bewertet die Module eines QR-Codes nach den vier Regeln, die auch iText zur Auswahl der Maske verwendet.
+     *
+     * @param lines Die dunklen Module in jeder Zeile und Spalte.
+     *
+     * @return Die Bewertung, niedriger ist besser.
+     */
+    private static int calculatePenalty(final long @NotNull [] lines) {
+        int penalty = 0;
+        int dark = 0;
+
+        for (int i = 0; i < SIZE; i++) {
+            penalty += penalizeRuns(lines[i]) + penalizeFinderLike(lines[i]);
+            dark += Long.bitCount(lines[i] & FULL_LINE);
+        }
+
+        // every 2 x 2 block of modules with the same color
+        for (int y = 0; y < SIZE - 1; y++) {
+            final long upper = lines[y] & FULL_LINE;
+            final long lower = lines[y + 1] & FULL_LINE;
+            final long blocks = ~(upper ^ lower) & ~(upper ^ (upper >>> 1)) & ~(lower ^ (lower >>> 1))
+                & (FULL_LINE >>> 1);
+
+            penalty += 3 * Long.bitCount(blocks);
+        }
+
+        // the deviation of the dark modules from one half, in steps of five percent
+        final double ratio = (double) dark / (SIZE * SIZE);
+        return penalty + (Math.abs((int) ((ratio * 100) - 50)) / 5 * 10);
+    }
+
+    /**
+     * Bewertet jede Folge von mindestens fünf gleichfarbigen Modulen einer Zeile oder Spalte mit {@code 3} und jedes
+     * weitere Modul der Folge mit {@code 1}.
+     *
+     * @param line Die dunklen Module einer Zeile und der gleichnamigen Spalte.
+     *
+     * @return Die Bewertung der Zeile und der Spalte.
+     */
+    private static int penalizeRuns(final long line) {
+        // a bit is set where a module has the same color as its successor
+        final long same = ~(line ^ (line >>> 1)) & ((FULL_LINE >>> 1) * BOTH_LINES);
+        // a bit is set where five modules in a row have the same color
+        final long runs = same & (same >>> 1) & (same >>> 2) & (same >>> 3);
+
+        return Long.bitCount(runs) + (2 * Long.bitCount(runs & ~(runs >>> 1)));
+    }
+
+    /**
+     * Bewertet jedes Vorkommen des Musters dunkel-hell-dunkel-dunkel-dunkel-hell-dunkel mit vier hellen Modulen davor
+     * oder dahinter in einer Zeile oder Spalte mit {@code 40}.
+     *
+     * @param line Die dunklen Module einer Zeile und der gleichnamigen Spalte.
+     *
+     * @return Die Bewertung der Zeile und der Spalte.
+     */
+    private static int penalizeFinderLike(final long line) {
+        final long light = ~line & (FULL_LINE * BOTH_LINES);
+        final long pattern = line & (light >>> 1) & (line >>> 2) & (line >>> 3) & (line >>> 4) & (light >>> 5)
+            & (line >>> 6) & ((FULL_LINE >>> 6) * BOTH_LINES);
+        final long fourLight = light & (light >>> 1) & (light >>> 2) & (light >>> 3);
+
+        return 40 * Long.bitCount(pattern & ((fourLight >>> 7) | (fourLight << 4)));
+    }
+
+    /**
+     * Kodiert eine Seriennummer, die nicht in einen QR-Code der Version 1 passt oder andere Zeichen enthält, mit iText.
+     *
+     * @param code Die Seriennummer.
+     *
+     * @return Die Module des QR-Codes, ohne Ruhezone.
+     */
+    @NotNull
+    @SneakyThrows
+    private static ByteMatrix encodeFallback(@NotNull final String code) {
+        final QRCode qrCode = new QRCode();
+        Encoder.encode(code, ErrorCorrectionLevel.L, null, qrCode);
+
+        return qrCode.getMatrix();
+    }
+
+    /**
+     * Multipliziert zwei Elemente des Galois-Feldes GF(256).
+     *
+     * @param a Das erste Element.
+     * @param b Das zweite Element.
+     *
+     * @return Das Produkt der beiden Elemente.
+     */
+    private static int multiply(final int a, final int b) {
+        if (a == 0 || b == 0) return 0;
+
+        return EXP[(LOG[a] + LOG[b]) % 255];
+    }
+
+    /**
+     * Berechnet die Potenzen des erzeugenden Elements {@code 2} im Galois-Feld GF(256).
+     *
+     * @return Die Potenzen {@code 2^0} bis {@code 2^255}.
+     */
+    private static int @NotNull [] createExp() {
+        final int[] exp = new int[256];
+
+        for (int i = 0, value = 1; i < exp.length; i++) {
+            exp[i] = value;
+            value <<= 1;
+            if (value >= 256) value ^= 0x11D;
+        }
+
+        return exp;
+    }
+
+    /**
+     * Berechnet den Logarithmus eines jeden Elements im Galois-Feld GF(256).
+     *
+     * @return Der Logarithmus eines jeden Elements, für {@code 0} ist dieser undefiniert.
+     */
+    private static int @NotNull [] createLog() {
+        final int[] log = new int[256];
+
+        for (int i = 0; i < 255; i++) {
+            log[EXP[i]] = i;
+        }
+
+        return log;
+    }
+
+    /**
+     * Berechnet das Generatorpolynom {@code (x - 2^0) * ... * (x - 2^6)} zur Fehlerkorrektur.
+     *
+     * @return Die Koeffizienten des Polynoms, beginnend beim höchsten Grad.
+     */
+    private static int @NotNull [] createGenerator() {
+        final int[] generator = new int[EC_CODEWORDS + 1];
+        generator[0] = 1;
+
+        for (int degree = 0; degree < EC_CODEWORDS; degree++) {
+            for (int j = degree + 1; j > 0; j--) {
+                generator[j] ^= multiply(generator[j - 1], EXP[degree]);
+            }
+        }
+
+        return generator;
+    }
+
+    /**
+     * Bestimmt alle Module, die nicht für Daten zur Verfügung stehen.
+     *
+     * @return Ob ein Modul an der Position {@code [y][x]} reserviert ist.
+     */
+    private static boolean @NotNull [] @NotNull [] createReserved() {
+        final boolean[][] reserved = new boolean[SIZE][SIZE];
+
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                // the finder patterns with their separators and the format information next to them
+                final boolean finder = (x <= 8 && y <= 8) || (x >= SIZE - 8 && y <= 8) || (x <= 8 && y >= SIZE - 8);
+                reserved[y][x] = finder || x == 6 || y == 6;
+            }
+        }
+
+        return reserved;
+    }
+
+    /**
+     * Bestimmt die Reihenfolge, in der die Bits auf die Module für Daten verteilt werden: in Spalten der Breite zwei,
+     * von rechts nach links und abwechselnd von unten nach oben und von oben nach unten, unter Auslassung des
+     * senkrechten Taktmusters.
+     *
+     * @return Die Positionen ({@code y * SIZE + x}) aller Module für Daten.
+     */
+    private static int @NotNull [] createDataPositions() {
+        final int[] positions = new int[(DATA_CODEWORDS + EC_CODEWORDS) * Byte.SIZE];
+        int index = 0;
+        boolean upwards = true;
+
+        for (int right = SIZE - 1; right > 0; right -= 2) {
+            if (right == 6) right--;
+
+            for (int step = 0; step < SIZE; step++) {
+                final int y = upwards ? SIZE - 1 - step : step;
+
+                for (int x = right; x > right - 2; x--) {
+                    if (!RESERVED[y][x]) positions[index++] = (y * SIZE) + x;
+                }
+            }
+
+            upwards = !upwards;
+        }
+
+        return positions;
+    }
+
+    /**
+     * Bestimmt die dunklen Module der drei Suchmuster, der beiden Taktmuster und des einzelnen dunklen Moduls.
+     *
+     * @return Die dunklen Module einer jeden Zeile und Spalte.
+     */
+    private static long @NotNull [] createFunction() {
+        final long[] lines = new long[SIZE];
+
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                final int finderX = (x < 7) ? x : x - (SIZE - 7);
+                final int finderY = (y < 7) ? y : y - (SIZE - 7);
+                final boolean finder = finderX >= 0 && finderY >= 0 && !(x >= 7 && y >= 7);
+                final boolean dark;
+
+                if (finder) {
+                    dark = Math.max(Math.abs(finderX - 3), Math.abs(finderY - 3)) != 2;
+                } else if (x == 6 || y == 6) {
+                    dark = (x + y) % 2 == 0;
+                } else {
+                    dark = x == 8 && y == SIZE - 8;
+                }
+
+                if (dark) setModule(lines, x, y);
+            }
+        }
+
+        return lines;
+    }
+
+    /**
+     * Bestimmt für jede Maske die Module für Daten, deren Farbe von der Maske umgekehrt wird.
+     *
+     * @return Die umgekehrten Module einer jeden Zeile und Spalte für jede Maske.
+     */
+    private static long @NotNull [] @NotNull [] createMasks() {
+        final long[][] masks = new long[MASK_PATTERNS][SIZE];
+
+        for (int mask = 0; mask < MASK_PATTERNS; mask++) {
+            for (final int position : DATA_POSITIONS) {
+                final int x = position % SIZE;
+                final int y = position / SIZE;
+                final boolean inverted;
+
+                switch (mask) {
+                    case 0:
+                        inverted = (y + x) % 2 == 0;
+                        break;
+                    case 1:
+                        inverted = y % 2 == 0;
+                        break;
+                    case 2:
+                        inverted = x % 3 == 0;
+                        break;
+                    case 3:
+                        inverted = (y + x) % 3 == 0;
+                        break;
+                    case 4:
+                        inverted = ((y / 2) + (x / 3)) % 2 == 0;
+                        break;
+                    case 5:
+                        inverted = ((y * x) % 2) + ((y * x) % 3) == 0;
+                        break;
+                    case 6:
+                        inverted = (((y * x) % 2) + ((y * x) % 3)) % 2 == 0;
+                        break;
+                    default:
+                        inverted = (((y * x) % 3) + ((y + x) % 2)) % 2 == 0;
+                        break;
+                }
+
+                if (inverted) setModule(masks[mask], x, y);
+            }
+        }
+
+        return masks;
+    }
+
+    /**
+     * Bestimmt für jede Maske die dunklen Module ihrer beiden Formatinformationen, welche die Fehlerkorrekturstufe L
+     * und die Nummer der Maske mit einem BCH-Code geschützt enthalten.
+     *
+     * @return Die dunklen Module einer jeden Zeile und Spalte für jede Maske.
+     */
+    private static long @NotNull [] @NotNull [] createFormat() {
+        final long[][] formats = new long[MASK_PATTERNS][SIZE];
+
+        for (int mask = 0; mask < MASK_PATTERNS; mask++) {
+            // the error correction level L is encoded as 01
+            final int data = (0b01 << 3) | mask;
+            int remainder = data << 10;
+
+            for (int bit = 14; bit >= 10; bit--) {
+                if (((remainder >>> bit) & 1) != 0) remainder ^= 0x537 << (bit - 10);
+            }
+
+            final int format = ((data << 10) | remainder) ^ 0x5412;
+
+            for (int i = 0; i < 15; i++) {
+                if (((format >>> i) & 1) == 0) continue;
+
+                // the first copy surrounds the upper left finder pattern, skipping the timing patterns
+                final int firstX = (i < 8) ? 8 : ((i == 8) ? 7 : 14 - i);
+                final int firstY = (i < 6) ? i : ((i < 8) ? i + 1 : 8);
+                setModule(formats[mask], firstX, firstY);
+
+                // the second copy is split between the upper right and the lower left finder pattern
+                final int secondX = (i < 8) ? SIZE - 1 - i : 8;
+                final int secondY = (i < 8) ? 8 : SIZE - 15 + i;
+                setModule(formats[mask], secondX, secondY);
+            }
+        }
+
+        return formats;
+    }
+
+    /**
+     * Setzt ein Modul sowohl in der Bitmaske seiner Zeile als auch in der Bitmaske seiner Spalte.
+     *
+     * @param lines Die Bitmasken aller Zeilen und Spalten.
+     * @param x     Die Spalte des Moduls.
+     * @param y     Die Zeile des Moduls.
+     */
+    private static void setModule(final long @NotNull [] lines, final int x, final int y) {
+        lines[y] |= 1L << x;
+        lines[x] |= 1L << (COLUMN_SHIFT + y);
+    }
+
+}
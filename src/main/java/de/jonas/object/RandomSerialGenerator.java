@@ -0,0 +1,99 @@
+package de.jonas.object;
+
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+/**
+ * <p>Ein {@link RandomSerialGenerator} vergibt zufällig wirkende Seriennummern, die sich anhand eines Seeds
+ * reproduzieren lassen. Die Seriennummer entsteht, indem die Position des Gutscheins mit dem Seed verknüpft und dann
+ * durch eine umkehrbare Mischfunktion geschickt wird. Da jeder Schritt dieser Funktion umkehrbar ist, können zwei
+ * unterschiedliche Positionen niemals dieselbe Seriennummer ergeben.</p>
+ * <p>Der Code eines Gutscheins ist die Seriennummer im Base32-Alphabet von Crockford, welches keine leicht zu
+ * verwechselnden Zeichen enthält.</p>
+ */
+@NotNull
+@ToString
+@RequiredArgsConstructor
+public final class RandomSerialGenerator implements SerialGenerator {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Das Alphabet, mit dem die Seriennummern kodiert werden. */
+    @NotNull
+    private static final char @NotNull [] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    /** Die Anzahl an Bits, die durch ein einzelnes Zeichen des Alphabets kodiert werden. */
+    private static final int BITS_PER_CHAR = 5;
+    /** Die Anzahl an Zeichen, die benötigt werden, um eine vollständige Seriennummer zu kodieren. */
+    private static final int CODE_LENGTH = 13;
+    /** Der erste Wert, der im ersten Zeichen nicht mehr erlaubt ist, da er mehr als 64 Bit ergeben würde. */
+    private static final int FIRST_CHAR_LIMIT = 1 << (Long.SIZE - ((CODE_LENGTH - 1) * BITS_PER_CHAR));
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der Seed, anhand dessen sich die Seriennummern reproduzieren lassen. */
+    private final long seed;
+    //</editor-fold>
+
+
+    //<editor-fold desc="implementation">
+    @Override
+    @SuppressWarnings("checkstyle:MagicNumber")
+    public long getSerial(@Range(from = 0, to = Long.MAX_VALUE) final long index) {
+        // finalizer of SplitMix64, every step is a bijection
+        long z = index + this.seed;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @NotNull
+    @Override
+    public String format(final long serial) {
+        final char[] code = new char[CODE_LENGTH];
+        long remaining = serial;
+
+        for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+            code[i] = ALPHABET[(int) (remaining & (ALPHABET.length - 1))];
+            remaining >>>= BITS_PER_CHAR;
+        }
+
+        return new String(code);
+    }
+
+    @Override
+    public long parse(@NotNull final String code) {
+        if (code.length() != CODE_LENGTH) throw new IllegalArgumentException("Ungültiger Code: " + code);
+
+        long serial = 0;
+
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            final int value = indexOf(Character.toUpperCase(code.charAt(i)));
+            if (value < 0 || (i == 0 && value >= FIRST_CHAR_LIMIT)) {
+                throw new IllegalArgumentException("Ungültiger Code: " + code);
+            }
+
+            serial = (serial << BITS_PER_CHAR) | value;
+        }
+
+        return serial;
+    }
+    //</editor-fold>
+
+    /**
+     * Sucht die Position eines Zeichens im Alphabet.
+     *
+     * @param character Das Zeichen.
+     *
+     * @return Die Position des Zeichens im Alphabet oder {@code -1}, falls es nicht enthalten ist.
+     */
+    private static int indexOf(final char character) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == character) return i;
+        }
+
+        return -1;
+    }
+
+}
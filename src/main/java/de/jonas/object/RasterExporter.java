@@ -0,0 +1,240 @@
+package de.jonas.object;
+
+import lombok.Setter;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * <p>Ein {@link RasterExporter} exportiert jeden einzelnen Gutschein eines {@link Coupon} als eigenes PNG-Bild, z.B.
+ * um Gutscheine per E-Mail zu verschicken. Jedes Bild entspricht genau der Zelle des Gutscheins im PDF-Dokument und
+ * wird von einem {@link CouponRasterizer} mit einer frei wählbaren Auflösung gezeichnet. Die Bilder werden entweder
+ * als einzelne Dateien in einen Ordner oder nacheinander in ein Zip-Archiv geschrieben.</p>
+ * <p>Das Zeichnen und Kodieren der Bilder wird auf mehrere Threads verteilt, wobei jeder Thread seinen eigenen
+ * {@link CouponRasterizer} samt Rasterbild und Puffer wiederverwendet. Geschrieben werden die Bilder immer in ihrer
+ * Reihenfolge. Ohne {@link SerialGenerator} sind alle Gutscheine identisch, weshalb das Bild dann nur einmal gezeichnet
+ * wird.</p>
+ */
+@NotNull
+public final class RasterExporter {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Auflösung in Pixeln pro Zoll, mit der die Bilder standardmäßig gezeichnet werden. */
+    public static final float DEFAULT_DPI = 300;
+    /** Die Anzahl an Bildern pro Thread, die gezeichnet sein dürfen, bevor sie geschrieben wurden. */
+    private static final int PENDING_IMAGES_PER_WORKER = 4;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der {@link Coupon}, dessen Gutscheine exportiert werden. */
+    @NotNull
+    private final Coupon coupon;
+    /** Die Anzahl an Threads, auf welche das Zeichnen und Kodieren verteilt wird. */
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    private final int workers;
+    /** Die Auflösung in Pixeln pro Zoll, mit der die Bilder gezeichnet werden. */
+    @Setter
+    private float dpi = DEFAULT_DPI;
+    /** Die wiederverwendeten Werkzeuge eines jeden Threads, mit denen die Bilder gezeichnet und kodiert werden. */
+    @NotNull
+    private final ThreadLocal<Encoder> encoders = ThreadLocal.withInitial(Encoder::new);
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt einen neuen {@link RasterExporter}, welcher die Gutscheine eines {@link Coupon} auf eine bestimmte Anzahl
+     * an Threads verteilt.
+     *
+     * @param coupon  Der {@link Coupon}, dessen Gutscheine exportiert werden.
+     * @param workers Die Anzahl an Threads, auf welche das Zeichnen und Kodieren verteilt wird.
+     */
+    public RasterExporter(
+        @NotNull final Coupon coupon,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int workers
+    ) {
+        if (workers < 1) throw new IllegalArgumentException("Es wird mindestens ein Thread benötigt.");
+
+        this.coupon = coupon;
+        this.workers = workers;
+    }
+    //</editor-fold>
+
+
+    /**
+     * Exportiert alle Gutscheine als einzelne PNG-Dateien in einen Ordner, welcher bei Bedarf angelegt wird. Die
+     * Dateien werden nach dem Code des Gutscheins benannt ({@code coupon-<Code>.png}) bzw. ohne Seriennummern
+     * durchnummeriert ({@code coupon-1.png}, {@code coupon-2.png}, ...).
+     *
+     * @param directory Der Ordner, in dem die Dateien abgelegt werden.
+     *
+     * @throws IOException Wenn eine Datei nicht geschrieben werden kann.
+     */
+    public void exportToDirectory(@NotNull final File directory) throws IOException {
+        Files.createDirectories(directory.toPath());
+
+        export((index, image) -> Files.write(new File(directory, getFileName(index)).toPath(), image));
+    }
+
+    /**
+     * Exportiert alle Gutscheine nacheinander als PNG-Dateien in ein Zip-Archiv, welches direkt in einen
+     * {@link OutputStream} geschrieben wird, z.B. in die Antwort eines Servers. Da PNG-Dateien bereits komprimiert
+     * sind, werden sie unkomprimiert in das Archiv gelegt. Der {@link OutputStream} wird nicht geschlossen.
+     *
+     * @param out Der {@link OutputStream}, in den das Zip-Archiv geschrieben wird.
+     *
+     * @throws IOException Wenn das Zip-Archiv nicht geschrieben werden kann.
+     */
+    public void exportToZip(@NotNull final OutputStream out) throws IOException {
+        final ZipOutputStream zip = new ZipOutputStream(out);
+        final CRC32 checksum = new CRC32();
+
+        export((index, image) -> {
+            checksum.reset();
+            checksum.update(image, 0, image.length);
+
+            final ZipEntry entry = new ZipEntry(getFileName(index));
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(image.length);
+            entry.setCrc(checksum.getValue());
+
+            zip.putNextEntry(entry);
+            zip.write(image);
+            zip.closeEntry();
+        });
+
+        zip.finish();
+        zip.flush();
+    }
+
+    /**
+     * Zeichnet und kodiert alle Gutscheine parallel und übergibt die fertigen Bilder in ihrer Reihenfolge an ein
+     * {@link ImageSink}. Damit nicht alle Bilder gleichzeitig im Speicher liegen, werden höchstens
+     * {@value #PENDING_IMAGES_PER_WORKER} Bilder pro Thread im Voraus gezeichnet.
+     *
+     * @param sink Das {@link ImageSink}, welches die fertigen Bilder schreibt.
+     *
+     * @throws IOException Wenn ein Bild nicht geschrieben werden kann.
+     */
+    @SneakyThrows
+    private void export(@NotNull final ImageSink sink) throws IOException {
+        final int amount = this.coupon.getAmount();
+
+        // all coupons are identical without serial numbers
+        if (this.coupon.getSerialGenerator() == null) {
+            final byte[] image = this.encoders.get().encode(0);
+
+            for (int index = 0; index < amount; index++) {
+                sink.write(index, image);
+            }
+
+            return;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(this.workers);
+        final Queue<Future<byte[]>> pending = new ArrayDeque<>();
+        int written = 0;
+
+        try {
+            for (int index = 0; index < amount; index++) {
+                final int current = index;
+                pending.add(executor.submit(() -> this.encoders.get().encode(current)));
+
+                if (pending.size() < this.workers * PENDING_IMAGES_PER_WORKER) continue;
+
+                sink.write(written++, pending.remove().get());
+            }
+
+            while (!pending.isEmpty()) {
+                sink.write(written++, pending.remove().get());
+            }
+        } catch (@NotNull final ExecutionException e) {
+            throw e.getCause();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Gibt den Namen der Datei eines bestimmten Gutscheins zurück.
+     *
+     * @param index Die Position des Gutscheins, beginnend bei {@code 0}.
+     *
+     * @return Der Name der Datei, mit dem Code des Gutscheins, sofern es einen gibt.
+     */
+    @NotNull
+    private String getFileName(@Range(from = 0, to = Integer.MAX_VALUE) final int index) {
+        @Nullable final SerialGenerator generator = this.coupon.getSerialGenerator();
+        if (generator == null) return "coupon-" + (index + 1) + ".png";
+
+        return "coupon-" + generator.format(generator.getSerial(index)) + ".png";
+    }
+
+
+    /**
+     * Ein {@link Encoder} gehört zu genau einem Thread und verwendet seinen {@link CouponRasterizer}, dessen
+     * Rasterbild und seinen {@link PngEncoder} samt dessen Puffern für jedes Bild wieder.
+     */
+    private final class Encoder {
+
+        //<editor-fold desc="LOCAL FIELDS">
+        /** Der {@link CouponRasterizer}, welcher die Gutscheine zeichnet. */
+        @NotNull
+        private final CouponRasterizer rasterizer = new CouponRasterizer();
+        /** Der {@link PngEncoder}, welcher die Rasterbilder als PNG kodiert. */
+        @NotNull
+        private final PngEncoder png = new PngEncoder();
+        //</editor-fold>
+
+
+        /**
+         * Zeichnet einen Gutschein und kodiert ihn als PNG.
+         *
+         * @param index Die Position des Gutscheins, beginnend bei {@code 0}.
+         *
+         * @return Der Inhalt der PNG-Datei.
+         */
+        private byte @NotNull [] encode(@Range(from = 0, to = Integer.MAX_VALUE) final int index) {
+            final float dpi = RasterExporter.this.dpi;
+            return this.png.encode(this.rasterizer.rasterizeReusing(RasterExporter.this.coupon, index, dpi), dpi);
+        }
+
+    }
+
+    /**
+     * Ein {@link ImageSink} schreibt die fertigen Bilder in ihrer Reihenfolge, z.B. als Dateien oder in ein
+     * Zip-Archiv.
+     */
+    @FunctionalInterface
+    private interface ImageSink {
+
+        /**
+         * Schreibt das Bild eines Gutscheins.
+         *
+         * @param index Die Position des Gutscheins, beginnend bei {@code 0}.
+         * @param image Der Inhalt der PNG-Datei.
+         *
+         * @throws IOException Wenn das Bild nicht geschrieben werden kann.
+         */
+        void write(@Range(from = 0, to = Integer.MAX_VALUE) int index, byte @NotNull [] image) throws IOException;
+
+    }
+
+}
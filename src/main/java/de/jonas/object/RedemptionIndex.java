@@ -0,0 +1,357 @@
+package de.jonas.object;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * <p>Ein {@link RedemptionIndex} hält fest, welche Codes für die Gutscheine eines {@link Coupon} ausgegeben wurden und
+ * welche davon bereits eingelöst sind. Der Index wird mit {@link #write(SerialGenerator, int, File)} bzw. über
+ * {@link Coupon#setRedemptionIndex(File)} als eigene Datei neben dem PDF-Dokument geschrieben.</p>
+ * <p>Die Datei besteht aus einem kurzen Kopf, allen Seriennummern als aufsteigend sortierte {@code long}-Werte und
+ * einem Bit pro Seriennummer, welches angibt, ob der Code eingelöst wurde. Zehn Millionen Codes belegen somit etwa
+ * 81 MB. Die Datei wird vollständig in den Speicher abgebildet, sodass jede Abfrage lediglich eine binäre Suche über
+ * die abgebildeten Seiten ist, welche ohne eine einzige Allokation auskommt und von beliebig vielen Threads
+ * gleichzeitig durchgeführt werden kann. Ein kleiner Auszug jeder {@value #FENCE_INTERVAL}. Seriennummer im Heap
+ * beschränkt die Suche im abgebildeten Speicher dabei auf einen einzigen Block.</p>
+ * <p>Das Einlösen ist innerhalb eines Prozesses atomar. Mehrere Prozesse dürfen denselben Index nicht gleichzeitig
+ * einlösen, da sie sich ihre Änderungen sonst gegenseitig überschreiben können.</p>
+ */
+@NotNull
+public final class RedemptionIndex implements Closeable {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Kennung am Anfang einer jeden Indexdatei. */
+    private static final int MAGIC = 0x43504958;
+    /** Die Version des Formats einer Indexdatei. */
+    private static final int VERSION = 1;
+    /** Die Größe des Kopfes einer Indexdatei in Bytes, bestehend aus Kennung, Version und Anzahl. */
+    private static final int HEADER_BYTES = 16;
+    /** Die Position der Anzahl an Seriennummern innerhalb des Kopfes. */
+    private static final int COUNT_OFFSET = 8;
+    /** Die Größe einer Seriennummer in Bytes. */
+    private static final int SERIAL_BYTES = Long.BYTES;
+    /**
+     * Die Anzahl an Seriennummern, von denen jeweils nur die erste zusätzlich im Heap liegt. Die Suche läuft damit
+     * fast vollständig über den kleinen Heap-Auszug und berührt im abgebildeten Speicher nur noch einen Block von
+     * 512 Bytes, anstatt bei jedem Schritt eine andere Seite zu laden.
+     */
+    private static final int FENCE_INTERVAL = 64;
+    /** Die Endung der temporären Datei, in die ein Index geschrieben wird, bevor er den alten Index ersetzt. */
+    @NotNull
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der {@link FileChannel} der Indexdatei. */
+    @NotNull
+    private final FileChannel channel;
+    /** Die vollständig in den Speicher abgebildete Indexdatei. */
+    @NotNull
+    private final MappedByteBuffer buffer;
+    /** Die Anzahl an Seriennummern im Index. */
+    private final int count;
+    /** Die Position des ersten Bytes, in dem festgehalten wird, ob ein Code eingelöst wurde. */
+    private final int redemptionOffset;
+    /** Jede {@value #FENCE_INTERVAL}. Seriennummer, beginnend mit der kleinsten. */
+    private final long @NotNull [] fences;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Öffnet eine Indexdatei, um Codes abzufragen und einzulösen.
+     *
+     * @param file Die Indexdatei.
+     *
+     * @throws IOException Wenn die Datei nicht geöffnet werden kann oder keine gültige Indexdatei ist.
+     */
+    public RedemptionIndex(@NotNull final File file) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            final long size = this.channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) throw invalid(file);
+
+            this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            final long count = this.buffer.getLong(COUNT_OFFSET);
+
+            if (this.buffer.getInt(0) != MAGIC || this.buffer.getInt(Integer.BYTES) != VERSION
+                || count < 0 || count > Integer.MAX_VALUE || getFileSize((int) count) != size) {
+                throw invalid(file);
+            }
+
+            this.count = (int) count;
+            this.redemptionOffset = HEADER_BYTES + this.count * SERIAL_BYTES;
+            this.fences = new long[(this.count + FENCE_INTERVAL - 1) / FENCE_INTERVAL];
+
+            for (int i = 0; i < this.fences.length; i++) {
+                this.fences[i] = getSerial(i * FENCE_INTERVAL);
+            }
+        } catch (@NotNull final IOException | RuntimeException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+    //</editor-fold>
+
+
+    /**
+     * Schreibt den Index aller Codes, welche ein {@link SerialGenerator} für eine bestimmte Anzahl an Gutscheinen
+     * vergibt. Der Index wird zunächst in eine temporäre Datei geschrieben und ersetzt die Indexdatei erst, wenn er
+     * vollständig ist. Existiert bereits ein Index, bleiben alle darin eingelösten Codes auch im neuen Index eingelöst,
+     * damit ein erneut generiertes PDF-Dokument keine Gutscheine wieder gültig macht.
+     *
+     * @param generator Der {@link SerialGenerator}, welcher die Seriennummern vergibt.
+     * @param amount    Die Anzahl an Gutscheinen.
+     * @param file      Die Indexdatei.
+     *
+     * @throws IOException Wenn die Datei nicht geschrieben werden kann.
+     */
+    public static void write(
+        @NotNull final SerialGenerator generator,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int amount,
+        @NotNull final File file
+    ) throws IOException {
+        final long size = getFileSize(amount);
+
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Ein Index kann höchstens 2 GB groß werden, nicht " + size + " Bytes");
+        }
+
+        final long[] serials = new long[amount];
+
+        for (int i = 0; i < amount; i++) {
+            serials[i] = generator.getSerial(i);
+        }
+
+        Arrays.sort(serials);
+
+        for (int i = 1; i < amount; i++) {
+            if (serials[i] == serials[i - 1]) {
+                throw new IllegalStateException("Die Seriennummer " + serials[i] + " wurde mehrfach vergeben");
+            }
+        }
+
+        final File temporary = new File(file.getPath() + TEMPORARY_SUFFIX);
+
+        try (
+            FileChannel channel = FileChannel.open(
+                temporary.toPath(),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+            )
+        ) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(Integer.BYTES, VERSION);
+            buffer.putLong(COUNT_OFFSET, amount);
+
+            for (int i = 0; i < amount; i++) {
+                buffer.putLong(HEADER_BYTES + i * SERIAL_BYTES, serials[i]);
+            }
+
+            // a file that was just created is filled with zeros, so only redeemed codes have to be carried over
+            if (file.isFile()) {
+                try (RedemptionIndex previous = new RedemptionIndex(file)) {
+                    final int redemptionOffset = HEADER_BYTES + amount * SERIAL_BYTES;
+
+                    for (int i = 0; i < amount; i++) {
+                        if (previous.getState(serials[i]) == RedemptionState.REDEEMED) {
+                            setRedeemed(buffer, redemptionOffset, i);
+                        }
+                    }
+                } catch (@NotNull final IOException ignored) {
+                    // the previous file is no index, so there is nothing to carry over
+                }
+            }
+
+            buffer.force();
+        } catch (@NotNull final IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary.toPath());
+            throw e;
+        }
+
+        Files.move(
+            temporary.toPath(),
+            file.toPath(),
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE
+        );
+    }
+
+    /**
+     * Gibt die Anzahl an Codes zurück, welche in diesem Index stehen.
+     *
+     * @return Die Anzahl an Codes.
+     */
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * Sucht die Position einer Seriennummer unter allen sortierten Seriennummern dieses Index.
+     *
+     * @param serial Die Seriennummer.
+     *
+     * @return Die Position der Seriennummer oder {@code -1}, falls sie nie ausgegeben wurde.
+     */
+    public int find(final long serial) {
+        // find the block in the heap first, the serial can only be in the block of the last smaller or equal fence
+        final int fence = Arrays.binarySearch(this.fences, serial);
+        if (fence >= 0) return fence * FENCE_INTERVAL;
+        if (fence == -1) return -1;
+
+        int low = (-fence - 2) * FENCE_INTERVAL + 1;
+        int high = Math.min(low + FENCE_INTERVAL - 2, this.count - 1);
+
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final long current = getSerial(middle);
+
+            if (current < serial) {
+                low = middle + 1;
+            } else if (current > serial) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Gibt den aktuellen {@link RedemptionState} einer Seriennummer zurück.
+     *
+     * @param serial Die Seriennummer, z.B. aus {@link SerialGenerator#parse(String)}.
+     *
+     * @return Der {@link RedemptionState} der Seriennummer.
+     */
+    @NotNull
+    public RedemptionState getState(final long serial) {
+        final int position = find(serial);
+
+        if (position < 0) return RedemptionState.UNKNOWN;
+        return isRedeemed(position) ? RedemptionState.REDEEMED : RedemptionState.ISSUED;
+    }
+
+    /**
+     * Löst den Code einer Seriennummer ein, sofern dieser ausgegeben und noch nicht eingelöst wurde. Die Änderung steht
+     * sofort im abgebildeten Speicher und wird vom Betriebssystem in die Datei geschrieben, spätestens aber bei
+     * {@link #flush()} oder {@link #close()}.
+     *
+     * @param serial Die Seriennummer, z.B. aus {@link SerialGenerator#parse(String)}.
+     *
+     * @return Der {@link RedemptionState} der Seriennummer vor dem Einlösen. Nur bei {@link RedemptionState#ISSUED}
+     *     wurde der Code durch diesen Aufruf eingelöst.
+     */
+    @NotNull
+    public RedemptionState redeem(final long serial) {
+        final int position = find(serial);
+        if (position < 0) return RedemptionState.UNKNOWN;
+
+        // bits of other codes share the same byte, so concurrent redemptions must not overwrite each other
+        synchronized (this) {
+            if (isRedeemed(position)) return RedemptionState.REDEEMED;
+
+            setRedeemed(this.buffer, this.redemptionOffset, position);
+            return RedemptionState.ISSUED;
+        }
+    }
+
+    /**
+     * Schreibt alle Einlösungen, die bisher nur im abgebildeten Speicher stehen, sofort in die Indexdatei.
+     */
+    public void flush() {
+        this.buffer.force();
+    }
+
+    /**
+     * Schreibt alle Einlösungen in die Indexdatei und schließt diese. Der abgebildete Speicher wird erst freigegeben,
+     * sobald dieser Index nicht mehr referenziert wird.
+     *
+     * @throws IOException Wenn die Datei nicht geschlossen werden kann.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        this.channel.close();
+    }
+
+    /**
+     * Liest die Seriennummer an einer bestimmten Position aus dem abgebildeten Speicher.
+     *
+     * @param position Die Position der Seriennummer.
+     *
+     * @return Die Seriennummer.
+     */
+    private long getSerial(@Range(from = 0, to = Integer.MAX_VALUE) final int position) {
+        return this.buffer.getLong(HEADER_BYTES + position * SERIAL_BYTES);
+    }
+
+    /**
+     * Prüft, ob der Code an einer bestimmten Position eingelöst wurde.
+     *
+     * @param position Die Position der Seriennummer.
+     *
+     * @return {@code true}, wenn der Code eingelöst wurde.
+     */
+    private boolean isRedeemed(@Range(from = 0, to = Integer.MAX_VALUE) final int position) {
+        return (this.buffer.get(this.redemptionOffset + (position >>> 3)) & (1 << (position & 7))) != 0;
+    }
+
+    /**
+     * Markiert den Code an einer bestimmten Position als eingelöst.
+     *
+     * @param buffer           Die abgebildete Indexdatei.
+     * @param redemptionOffset Die Position des ersten Bytes, in dem die Einlösungen festgehalten werden.
+     * @param position         Die Position der Seriennummer.
+     */
+    private static void setRedeemed(
+        @NotNull final MappedByteBuffer buffer,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int redemptionOffset,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int position
+    ) {
+        final int index = redemptionOffset + (position >>> 3);
+        buffer.put(index, (byte) (buffer.get(index) | (1 << (position & 7))));
+    }
+
+    /**
+     * Berechnet die Größe einer Indexdatei mit einer bestimmten Anzahl an Seriennummern.
+     *
+     * @param count Die Anzahl an Seriennummern.
+     *
+     * @return Die Größe der Indexdatei in Bytes.
+     */
+    private static long getFileSize(@Range(from = 0, to = Integer.MAX_VALUE) final int count) {
+        return HEADER_BYTES + (long) count * SERIAL_BYTES + (count + 7L) / 8;
+    }
+
+    /**
+     * Erzeugt die Ausnahme für eine Datei, welche keine gültige Indexdatei ist.
+     *
+     * @param file Die Datei.
+     *
+     * @return Die Ausnahme, welche geworfen wird.
+     */
+    @NotNull
+    private static IOException invalid(@NotNull final File file) {
+        return new IOException(file + " ist keine gültige Indexdatei.");
+    }
+
+}
@@ -0,0 +1,19 @@
+package de.jonas.object;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Ein {@link RedemptionState} beschreibt, in welchem Zustand sich der Code eines Gutscheins laut einem
+ * {@link RedemptionIndex} befindet.
+ */
+@NotNull
+public enum RedemptionState {
+
+    /** Der Code wurde nie ausgegeben und ist somit ungültig. */
+    UNKNOWN,
+    /** Der Code wurde ausgegeben, aber noch nicht eingelöst. */
+    ISSUED,
+    /** Der Code wurde ausgegeben und bereits eingelöst. */
+    REDEEMED,
+
+}
@@ -0,0 +1,32 @@
+package de.jonas.object;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Ein {@link RenderMode} legt fest, auf welche Art und Weise die einzelnen Gutscheine eines {@link Coupon} in das
+ * PDF-Dokument geschrieben werden.
+ */
+@NotNull
+public enum RenderMode {
+
+    /**
+     * Jeder Gutschein wird als eigene Zelle mit eigenem Text in die Tabelle geschrieben. Der Text wird also für jeden
+     * Gutschein erneut gesetzt und in das Dokument geschrieben.
+     */
+    TABLE,
+    /**
+     * Der Inhalt eines Gutscheins wird einmalig in ein {@link com.itextpdf.text.pdf.PdfTemplate} gezeichnet, welches
+     * dann an jeder Position im Raster lediglich referenziert wird. Das Dokument wird dadurch kleiner und schneller
+     * generiert als bei {@link #TABLE}, wächst aber weiterhin linear mit der Anzahl an Gutscheinen, da jede Zelle
+     * und jede Referenz geschrieben werden muss (bei 1.000 Gutscheinen etwa 53 KB statt 129 KB).
+     */
+    TEMPLATE,
+    /**
+     * Wie bei {@link #TEMPLATE} wird der Inhalt eines Gutscheins einmalig gezeichnet. Anstatt einer Tabelle wird das
+     * Raster jedoch einmalig im Voraus berechnet und jeder Gutschein direkt an seine absolute Position auf der Seite
+     * gezeichnet. Das Ergebnis sieht genauso aus wie bei {@link #TABLE}, spart sich aber das Vermessen und Umbrechen
+     * der Tabelle. Passt eine Zeile nicht vollständig auf eine Seite, wird wie bei {@link #TEMPLATE} generiert.
+     */
+    GRID,
+
+}
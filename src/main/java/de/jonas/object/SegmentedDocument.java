@@ -0,0 +1,170 @@
+package de.jonas.object;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.pdf.PdfCopy;
+import com.itextpdf.text.pdf.PdfReader;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * <p>Ein {@link SegmentedDocument} teilt das PDF-Dokument eines {@link Coupon} in aufeinanderfolgende Abschnitte mit
+ * einer festen Anzahl an Seiten auf, die jeweils als eigenständiges PDF-Dokument geschrieben werden. Jeder Abschnitt
+ * endet genau an einem Seitenumbruch, weshalb die zusammengeführten Abschnitte dieselben Seiten, mit denselben
+ * Gutscheinen an denselben Positionen enthalten, wie ein an einem Stück generiertes PDF-Dokument.</p>
+ * <p>Damit lässt sich die Generierung eines sehr großen Dokuments nach jedem Abschnitt sichern und nach einem Absturz
+ * mit dem nächsten Abschnitt fortsetzen, anstatt das gesamte Dokument erneut zu generieren.</p>
+ */
+@NotNull
+public final class SegmentedDocument {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der {@link Coupon}, dessen Dokument aufgeteilt wird. */
+    @NotNull
+    private final Coupon coupon;
+    /** Die Position des ersten Gutscheins eines jeden Abschnitts. */
+    private final int @NotNull [] firsts;
+    /** Die Anzahl an Gutscheinen eines jeden Abschnitts. */
+    private final int @NotNull [] counts;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt ein neues {@link SegmentedDocument}, welches das Dokument eines {@link Coupon} in Abschnitte mit einer
+     * bestimmten Anzahl an Seiten aufteilt. Passen die Gutscheine auf weniger Seiten oder lassen sich die Seiten nicht
+     * vorab berechnen, gibt es nur einen einzigen Abschnitt.
+     *
+     * @param coupon          Der {@link Coupon}, dessen Dokument aufgeteilt wird.
+     * @param pagesPerSegment Die Anzahl an Seiten eines jeden Abschnitts.
+     */
+    @SneakyThrows
+    public SegmentedDocument(
+        @NotNull final Coupon coupon,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int pagesPerSegment
+    ) {
+        if (pagesPerSegment < 1) throw new IllegalArgumentException("Ein Abschnitt benötigt mindestens eine Seite.");
+
+        this.coupon = coupon;
+
+        final int amount = coupon.getAmount();
+
+        // every page after the first holds at least one coupon, so the measurement can be skipped for small documents
+        if (amount < pagesPerSegment) {
+            this.firsts = new int[] {0};
+            this.counts = new int[] {amount};
+            return;
+        }
+
+        final int[] capacity = coupon.measurePageCapacity();
+        final long firstCapacity = capacity[0] + (long) (pagesPerSegment - 1) * capacity[1];
+        final long capacityPerSegment = (long) pagesPerSegment * capacity[1];
+
+        // a single row does not fit on a page or everything fits into the first segment
+        if (capacity[1] == 0 || amount <= firstCapacity) {
+            this.firsts = new int[] {0};
+            this.counts = new int[] {amount};
+            return;
+        }
+
+        final int segments = 1 + (int) ((amount - firstCapacity + capacityPerSegment - 1) / capacityPerSegment);
+        this.firsts = new int[segments];
+        this.counts = new int[segments];
+
+        int first = 0;
+
+        for (int segment = 0; segment < segments; segment++) {
+            final long segmentCapacity = (segment == 0) ? firstCapacity : capacityPerSegment;
+
+            this.firsts[segment] = first;
+            this.counts[segment] = (int) Math.min(amount - first, segmentCapacity);
+            first += this.counts[segment];
+        }
+    }
+    //</editor-fold>
+
+
+    /**
+     * Gibt die Anzahl an Abschnitten zurück.
+     *
+     * @return Die Anzahl an Abschnitten, also mindestens {@code 1}.
+     */
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    public int getSegments() {
+        return this.counts.length;
+    }
+
+    /**
+     * Gibt die Anzahl an Gutscheinen eines Abschnitts zurück.
+     *
+     * @param segment Der Abschnitt, beginnend bei {@code 0}.
+     *
+     * @return Die Anzahl an Gutscheinen des Abschnitts.
+     */
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    public int getCount(@Range(from = 0, to = Integer.MAX_VALUE) final int segment) {
+        return this.counts[segment];
+    }
+
+    /**
+     * Schreibt einen einzelnen Abschnitt als eigenständiges PDF-Dokument ungepuffert in einen {@link OutputStream},
+     * ohne diesen zu schließen. Nur der erste Abschnitt enthält die Überschrift.
+     *
+     * @param segment Der Abschnitt, beginnend bei {@code 0}.
+     * @param out     Der {@link OutputStream}, in den der Abschnitt geschrieben wird.
+     *
+     * @throws DocumentException Wenn das PDF-Dokument nicht erstellt werden kann.
+     */
+    public void writeSegment(
+        @Range(from = 0, to = Integer.MAX_VALUE) final int segment,
+        @NotNull final OutputStream out
+    ) throws DocumentException {
+        this.coupon.write(out, this.firsts[segment], this.counts[segment], segment == 0, null);
+    }
+
+    /**
+     * Führt mehrere PDF-Dokumente in ihrer Reihenfolge mithilfe von {@link PdfCopy} zu einem einzigen PDF-Dokument
+     * zusammen. Da {@link PdfCopy} die Dokumentinformationen der einzelnen Dokumente nicht übernimmt, erhält das
+     * zusammengeführte Dokument die Dokumentinformationen des gesamten {@link Coupon}, damit später weitere Gutscheine
+     * angehängt werden können. Der {@link OutputStream} wird nicht geschlossen.
+     *
+     * @param files  Die PDF-Dokumente, welche zusammen alle Gutscheine des {@link Coupon} enthalten, in der
+     *               Reihenfolge ihrer Seiten.
+     * @param out    Der {@link OutputStream}, in den das zusammengeführte PDF-Dokument geschrieben wird.
+     * @param coupon Der {@link Coupon}, mit dessen {@link OutputProfile} das zusammengeführte PDF-Dokument geschrieben
+     *               wird.
+     *
+     * @throws DocumentException Wenn das PDF-Dokument nicht erstellt werden kann.
+     * @throws IOException       Wenn ein PDF-Dokument nicht gelesen werden kann.
+     */
+    public static void merge(
+        @NotNull final List<File> files,
+        @NotNull final OutputStream out,
+        @NotNull final Coupon coupon
+    ) throws DocumentException, IOException {
+        final Document document = new Document();
+        final PdfCopy copy = new PdfCopy(document, out);
+        copy.setCloseStream(false);
+        coupon.getOutputProfile().apply(copy);
+        document.open();
+        coupon.addAppendInfo(document);
+
+        for (@NotNull final File file : files) {
+            final PdfReader reader = new PdfReader(file.getAbsolutePath());
+
+            copy.addDocument(reader);
+            copy.freeReader(reader);
+            reader.close();
+        }
+
+        document.close();
+    }
+
+}
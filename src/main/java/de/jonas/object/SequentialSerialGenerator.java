@@ -0,0 +1,59 @@
+package de.jonas.object;
+
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+/**
+ * Ein {@link SequentialSerialGenerator} vergibt fortlaufende Seriennummern, beginnend bei einem bestimmten Startwert.
+ * Der Code eines Gutscheins ist die zehnstellige, mit Nullen aufgefüllte Seriennummer.
+ */
+@NotNull
+@ToString
+@RequiredArgsConstructor
+public final class SequentialSerialGenerator implements SerialGenerator {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Anzahl an Stellen, auf die jeder Code mit Nullen aufgefüllt wird. */
+    private static final int CODE_LENGTH = 10;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Seriennummer des ersten Gutscheins. */
+    @Range(from = 0, to = Long.MAX_VALUE)
+    private final long start;
+    //</editor-fold>
+
+
+    //<editor-fold desc="implementation">
+    @Override
+    public long getSerial(@Range(from = 0, to = Long.MAX_VALUE) final long index) {
+        return this.start + index;
+    }
+
+    @NotNull
+    @Override
+    public String format(final long serial) {
+        final String digits = Long.toString(serial);
+        if (digits.length() >= CODE_LENGTH) return digits;
+
+        final StringBuilder code = new StringBuilder(CODE_LENGTH);
+
+        for (int i = digits.length(); i < CODE_LENGTH; i++) {
+            code.append('0');
+        }
+
+        return code.append(digits).toString();
+    }
+
+    @Override
+    public long parse(@NotNull final String code) {
+        if (!code.matches("[0-9]+")) throw new IllegalArgumentException("Ungültiger Code: " + code);
+
+        return Long.parseLong(code);
+    }
+    //</editor-fold>
+
+}
@@ -0,0 +1,49 @@
+package de.jonas.object;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+/**
+ * <p>Ein {@link SerialGenerator} vergibt für jeden einzelnen Gutschein eines {@link Coupon} eine eindeutige
+ * Seriennummer, anhand derer der Gutschein später überprüft und nachverfolgt werden kann.</p>
+ * <p>Die Seriennummer wird ausschließlich aus der Position des Gutscheins im Dokument berechnet. Dadurch benötigt ein
+ * {@link SerialGenerator} keinerlei Zustand, kann von mehreren Threads gleichzeitig genutzt werden und liefert für
+ * jeden Seitenbereich eines {@link ShardedRenderer} dieselben Seriennummern, wie bei einem einzelnen Dokument. Zwei
+ * unterschiedliche Positionen ergeben niemals dieselbe Seriennummer.</p>
+ * <p>Die Darstellung als {@link Object#toString() Text} muss alle Eigenschaften enthalten, von denen die
+ * Seriennummern abhängen, da sie Teil von {@link Coupon#getCacheKey()} ist.</p>
+ */
+@NotNull
+public interface SerialGenerator {
+
+    /**
+     * Berechnet die Seriennummer des Gutscheins an einer bestimmten Position.
+     *
+     * @param index Die Position des Gutscheins im Dokument, beginnend bei {@code 0}.
+     *
+     * @return Die eindeutige Seriennummer des Gutscheins.
+     */
+    long getSerial(@Range(from = 0, to = Long.MAX_VALUE) final long index);
+
+    /**
+     * Wandelt eine Seriennummer in den Code um, welcher auf dem Gutschein steht und im Barcode kodiert wird.
+     *
+     * @param serial Die Seriennummer.
+     *
+     * @return Der Code, welcher auf dem Gutschein steht.
+     */
+    @NotNull
+    String format(final long serial);
+
+    /**
+     * Wandelt einen Code, welcher auf einem Gutschein steht, zurück in seine Seriennummer um.
+     *
+     * @param code Der Code, welcher auf dem Gutschein steht.
+     *
+     * @return Die Seriennummer des Codes.
+     *
+     * @throws IllegalArgumentException Wenn der Code kein gültiger Code dieses {@link SerialGenerator} ist.
+     */
+    long parse(@NotNull final String code);
+
+}
@@ -0,0 +1,321 @@
+package de.jonas.object;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.Barcode128;
+import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.ByteBuffer;
+import com.itextpdf.text.pdf.PdfContentByte;
+import com.itextpdf.text.pdf.PdfPCellEvent;
+import com.itextpdf.text.pdf.PdfPTable;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+/**
+ * <p>Ein {@link SerialRenderer} druckt die Seriennummer eines jeden Gutscheins als Text und als Barcode an den unteren
+ * Rand seiner Zelle. Der statische Teil des Gutscheins bleibt davon unberührt und kann somit weiterhin von allen
+ * Gutscheinen gemeinsam genutzt werden.</p>
+ * <p>Die Striche des Barcodes werden als einfache Rechtecke direkt in den Inhalt der Seite geschrieben, wofür ein
+ * einziger {@link Barcode128} bzw. {@link QrEncoder} pro Dokument wiederverwendet wird. Nebeneinanderliegende dunkle
+ * Module eines QR-Codes werden dabei zu einem einzigen Rechteck zusammengefasst. Die Schriftart für den Text wird nur
+ * einmalig geladen. Ein {@link SerialRenderer} gehört deshalb zu genau einem Dokument und darf nicht von mehreren
+ * Threads gleichzeitig genutzt werden.</p>
+ */
+@NotNull
+final class SerialRenderer {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Schriftart, mit der die Seriennummer geschrieben wird. */
+    @NotNull
+    private static final BaseFont SERIAL_FONT = createFont();
+    /** Die Schriftgröße der Seriennummer. */
+    private static final float SERIAL_FONT_SIZE = 7;
+    /** Der Abstand zwischen dem Rand der Zelle und der Seriennummer. */
+    private static final float MARGIN = 4;
+    /** Die Höhe der Striche eines Code128-Barcodes. */
+    private static final float BAR_HEIGHT = 18;
+    /** Die Breite des schmalsten Striches eines Code128-Barcodes. */
+    private static final float BAR_WIDTH = 0.6f;
+    /** Die Kantenlänge eines einzelnen Moduls eines QR-Codes. */
+    private static final float QR_MODULE_SIDE = 1.2f;
+    /** Die Anzahl an hellen Modulen, die einen QR-Code auf jeder Seite als Ruhezone umgeben. */
+    private static final int QR_QUIET_ZONE = 4;
+    /**
+     * Die Anzahl an Modulen, die in der Höhe für einen QR-Code reserviert werden: Die Module eines QR-Codes der Version
+     * 1, in den die Seriennummern aller mitgelieferten {@link SerialGenerator} passen, und seine untere Ruhezone, die
+     * zugleich den Abstand zum Text bildet. Größere QR-Codes werden auf diese Höhe verkleinert.
+     */
+    private static final int QR_RESERVED_MODULES = QrEncoder.SIZE + QR_QUIET_ZONE;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der {@link SerialGenerator}, welcher die Seriennummern vergibt. */
+    @NotNull
+    private final SerialGenerator generator;
+    /** Die Form, in der die Seriennummer als Barcode gedruckt wird. */
+    @NotNull
+    private final BarcodeType barcodeType;
+    /** Der wiederverwendete Code128-Barcode, dessen Code für jeden Gutschein ausgetauscht wird. */
+    @NotNull
+    private final Barcode128 barcode = new Barcode128();
+    /** Der wiederverwendete {@link QrEncoder}, welcher die Seriennummer eines jeden Gutscheins als QR-Code kodiert. */
+    @NotNull
+    private final QrEncoder qrEncoder = new QrEncoder();
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt einen neuen {@link SerialRenderer} für ein einzelnes Dokument.
+     *
+     * @param generator   Der {@link SerialGenerator}, welcher die Seriennummern vergibt.
+     * @param barcodeType Die Form, in der die Seriennummer als Barcode gedruckt wird.
+     */
+    SerialRenderer(@NotNull final SerialGenerator generator, @NotNull final BarcodeType barcodeType) {
+        this.generator = generator;
+        this.barcodeType = barcodeType;
+
+        this.barcode.setFont(null);
+        this.barcode.setX(BAR_WIDTH);
+        this.barcode.setBarHeight(BAR_HEIGHT);
+    }
+    //</editor-fold>
+
+
+    /**
+     * Berechnet die Höhe, die am unteren Rand einer Zelle für die Seriennummer und den Barcode frei bleiben muss.
+     *
+     * @param barcodeType Die Form, in der die Seriennummer als Barcode gedruckt wird.
+     *
+     * @return Die Höhe, die am unteren Rand einer Zelle frei bleiben muss.
+     */
+    static float getReservedHeight(@NotNull final BarcodeType barcodeType) {
+        final float text = MARGIN + SERIAL_FONT_SIZE;
+
+        switch (barcodeType) {
+            case CODE128:
+                return text + (MARGIN / 2) + BAR_HEIGHT + MARGIN;
+            case QR:
+                return text + (QR_RESERVED_MODULES * QR_MODULE_SIDE) + MARGIN;
+            default:
+                return text + MARGIN;
+        }
+    }
+
+    /**
+     * Erstellt das {@link PdfPCellEvent}, welches die Seriennummer des Gutscheins an einer bestimmten Position auf
+     * seine Zelle druckt, sobald diese gezeichnet wird.
+     *
+     * @param index Die Position des Gutscheins im Dokument, beginnend bei {@code 0}.
+     *
+     * @return Das {@link PdfPCellEvent}, welches die Seriennummer druckt.
+     */
+    @NotNull
+    PdfPCellEvent createCellEvent(@Range(from = 0, to = Long.MAX_VALUE) final long index) {
+        final long serial = this.generator.getSerial(index);
+
+        return (cell, position, canvases) -> draw(canvases[PdfPTable.TEXTCANVAS], position, serial);
+    }
+
+    /**
+     * Druckt die Seriennummer des Gutscheins an einer bestimmten Position direkt an den unteren Rand seiner Zelle, ohne
+     * dass die Zelle Teil einer Tabelle ist.
+     *
+     * @param canvas   Der Inhalt der Seite, auf den gedruckt wird.
+     * @param position Die Position der Zelle auf der Seite.
+     * @param index    Die Position des Gutscheins im Dokument, beginnend bei {@code 0}.
+     */
+    void drawSerial(
+        @NotNull final PdfContentByte canvas,
+        @NotNull final Rectangle position,
+        @Range(from = 0, to = Long.MAX_VALUE) final long index
+    ) {
+        draw(canvas, position, this.generator.getSerial(index));
+    }
+
+    /**
+     * Druckt eine Seriennummer als Text und als Barcode an den unteren Rand einer Zelle.
+     *
+     * @param canvas   Der Inhalt der Seite, auf den gedruckt wird.
+     * @param position Die Position der Zelle auf der Seite.
+     * @param serial   Die Seriennummer.
+     */
+    private void draw(@NotNull final PdfContentByte canvas, @NotNull final Rectangle position, final long serial) {
+        final String code = this.generator.format(serial);
+        final float centerX = (position.getLeft() + position.getRight()) / 2;
+        final float textY = position.getBottom() + MARGIN;
+
+        // draw text
+        canvas.beginText();
+        canvas.setFontAndSize(SERIAL_FONT, SERIAL_FONT_SIZE);
+        canvas.showTextAligned(Element.ALIGN_CENTER, code, centerX, textY, 0);
+        canvas.endText();
+
+        // draw barcode above text
+        final float textTop = textY + SERIAL_FONT_SIZE;
+        final float maxWidth = position.getWidth() - (2 * MARGIN);
+
+        switch (this.barcodeType) {
+            case CODE128:
+                this.barcode.setCode(code);
+                final Rectangle size = this.barcode.getBarcodeSize();
+                drawScaled(
+                    canvas, size.getWidth(), size.getHeight(), 1,
+                    centerX, textTop + (MARGIN / 2), maxWidth, BAR_HEIGHT,
+                    () -> this.barcode.placeBarcode(canvas, BaseColor.BLACK, BaseColor.BLACK)
+                );
+                break;
+            case QR:
+                this.qrEncoder.encode(code);
+                final int modules = this.qrEncoder.getSize();
+
+                // the lower quiet zone separates the code from the text, the upper one lies in the empty padding
+                drawScaled(
+                    canvas, modules + (2 * QR_QUIET_ZONE), modules + QR_QUIET_ZONE, QR_MODULE_SIDE,
+                    centerX, textTop, maxWidth, QR_RESERVED_MODULES * QR_MODULE_SIDE,
+                    () -> placeQrCode(canvas)
+                );
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Zeichnet einen Barcode horizontal zentriert an eine bestimmte Position und verkleinert diesen gleichmäßig, falls
+     * er breiter als die Zelle oder höher als der für ihn reservierte Platz ist.
+     *
+     * @param canvas    Der Inhalt der Seite, auf den gezeichnet wird.
+     * @param width     Die Breite des Barcodes in seinen eigenen Einheiten.
+     * @param height    Die Höhe des Barcodes über seiner Unterkante in seinen eigenen Einheiten.
+     * @param unit      Die Größe einer Einheit des Barcodes.
+     * @param centerX   Die X-Koordinate der Mitte des Barcodes.
+     * @param bottom    Die Y-Koordinate der Unterkante des Barcodes.
+     * @param maxWidth  Die maximale Breite des Barcodes.
+     * @param maxHeight Die maximale Höhe des Barcodes.
+     * @param place     Zeichnet den Barcode in seinen eigenen Einheiten an den Ursprung des Koordinatensystems.
+     */
+    private void drawScaled(
+        @NotNull final PdfContentByte canvas,
+        final float width,
+        final float height,
+        final float unit,
+        final float centerX,
+        final float bottom,
+        final float maxWidth,
+        final float maxHeight,
+        @NotNull final Runnable place
+    ) {
+        final float scale = Math.min(1, Math.min(maxWidth / (width * unit), maxHeight / (height * unit)));
+
+        canvas.saveState();
+        canvas.concatCTM(scale * unit, 0, 0, scale * unit, centerX - (width * unit * scale / 2), bottom);
+        place.run();
+        canvas.restoreState();
+    }
+
+    /**
+     * Zeichnet den zuletzt kodierten QR-Code samt Ruhezone an den Ursprung des Koordinatensystems, wobei ein Modul
+     * genau eine Einheit groß ist. Alle zusammenhängenden dunklen Module einer Zeile werden als ein einziges Rechteck
+     * gezeichnet, welches zusätzlich nach unten verlängert wird, solange die folgenden Zeilen an derselben Stelle
+     * dieselbe Folge enthalten. Alle Rechtecke werden gemeinsam gefüllt.
+     * <p>Der Inhalt der Seite wird komprimiert, weshalb die Anzahl an geschriebenen Bytes die Dauer bestimmt. Da alle
+     * Koordinaten ganze Zahlen sind, werden die Rechtecke direkt in den Inhalt der Seite geschrieben, ohne den Umweg
+     * über {@link PdfContentByte#rectangle}, welcher jede Koordinate als Kommazahl formatiert. Die Ruhezone und die
+     * von oben nach unten verlaufenden Zeilen werden einmalig über die Transformationsmatrix berücksichtigt.</p>
+     *
+     * @param canvas Der Inhalt der Seite, auf den gezeichnet wird.
+     */
+    private void placeQrCode(@NotNull final PdfContentByte canvas) {
+        final int size = this.qrEncoder.getSize();
+
+        canvas.setColorFill(BaseColor.BLACK);
+        canvas.concatCTM(1, 0, 0, -1, QR_QUIET_ZONE, QR_QUIET_ZONE + size);
+
+        final ByteBuffer content = canvas.getInternalBuffer();
+
+        for (int y = 0; y < size; y++) {
+            int x = 0;
+
+            while (x < size) {
+                if (!this.qrEncoder.isDark(x, y)) {
+                    x++;
+                    continue;
+                }
+
+                final int start = x;
+                while (x < size && this.qrEncoder.isDark(x, y)) x++;
+
+                // the run was already drawn as part of the rectangle of the row above
+                if (y > 0 && isQrRun(start, x, y - 1)) continue;
+
+                int height = 1;
+                while (y + height < size && isQrRun(start, x, y + height)) height++;
+
+                appendInteger(content, start).append(' ');
+                appendInteger(content, y).append(' ');
+                appendInteger(content, x - start).append(' ');
+                appendInteger(content, height).append(" re\n");
+            }
+        }
+
+        canvas.fill();
+    }
+
+    /**
+     * Prüft, ob eine Zeile des zuletzt kodierten QR-Codes genau an einer bestimmten Stelle eine Folge dunkler Module
+     * enthält, die links und rechts von hellen Modulen oder dem Rand begrenzt wird.
+     *
+     * @param start Die Spalte des ersten dunklen Moduls der Folge.
+     * @param end   Die Spalte hinter dem letzten dunklen Modul der Folge.
+     * @param y     Die Zeile.
+     *
+     * @return {@code true}, wenn die Zeile genau diese Folge enthält.
+     */
+    private boolean isQrRun(final int start, final int end, final int y) {
+        if (start > 0 && this.qrEncoder.isDark(start - 1, y)) return false;
+        if (end < this.qrEncoder.getSize() && this.qrEncoder.isDark(end, y)) return false;
+
+        for (int x = start; x < end; x++) {
+            if (!this.qrEncoder.isDark(x, y)) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Hängt eine nicht negative ganze Zahl mit höchstens drei Stellen, wie sie als Koordinate innerhalb eines QR-Codes
+     * vorkommt, an den Inhalt einer Seite an.
+     *
+     * @param content Der Inhalt der Seite.
+     * @param value   Die Zahl.
+     *
+     * @return Der Inhalt der Seite.
+     */
+    @NotNull
+    private static ByteBuffer appendInteger(
+        @NotNull final ByteBuffer content,
+        @Range(from = 0, to = 999) final int value
+    ) {
+        if (value >= 100) content.append_i('0' + (value / 100));
+        if (value >= 10) content.append_i('0' + ((value / 10) % 10));
+
+        return content.append_i('0' + (value % 10));
+    }
+
+    /**
+     * Lädt die Schriftart, mit der die Seriennummer geschrieben wird.
+     *
+     * @return Die Schriftart, mit der die Seriennummer geschrieben wird.
+     */
+    @NotNull
+    @SneakyThrows
+    private static BaseFont createFont() {
+        return BaseFont.createFont(BaseFont.COURIER, BaseFont.WINANSI, BaseFont.NOT_EMBEDDED);
+    }
+
+}
@@ -0,0 +1,201 @@
+package de.jonas.object;
+
+import com.itextpdf.text.pdf.PdfCopy;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * <p>Ein {@link ShardedRenderer} teilt die Gutscheine eines {@link Coupon} in mehrere zusammenhängende Seitenbereiche
+ * auf und generiert jeden dieser Bereiche als eigenständiges PDF-Dokument auf einem eigenen Thread. Die Bereiche
+ * können entweder als einzelne Dateien abgelegt oder in ihrer Reihenfolge zu einem einzigen PDF-Dokument
+ * zusammengeführt werden.</p>
+ * <p>Die Seitenbereiche werden anhand von {@link Coupon#measurePageCapacity()} genau an den Seitenumbrüchen der Tabelle
+ * geteilt, weshalb das zusammengeführte PDF-Dokument dieselben Seiten, mit denselben Gutscheinen an denselben
+ * Positionen enthält, wie ein auf einem einzigen Thread generiertes PDF-Dokument.</p>
+ */
+@NotNull
+public final class ShardedRenderer {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Größe des Puffers, über den jeder Seitenbereich in seine Datei geschrieben wird. */
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der {@link Coupon}, dessen Gutscheine aufgeteilt werden. */
+    @NotNull
+    private final Coupon coupon;
+    /** Die Anzahl an Threads, auf welche die Seitenbereiche verteilt werden. */
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    private final int workers;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt einen neuen {@link ShardedRenderer}, welcher die Gutscheine eines {@link Coupon} auf eine bestimmte
+     * Anzahl an Threads verteilt. Es werden höchstens so viele Seitenbereiche gebildet, wie es Threads gibt.
+     *
+     * @param coupon  Der {@link Coupon}, dessen Gutscheine aufgeteilt werden.
+     * @param workers Die Anzahl an Threads, auf welche die Seitenbereiche verteilt werden.
+     */
+    public ShardedRenderer(
+        @NotNull final Coupon coupon,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int workers
+    ) {
+        if (workers < 1) throw new IllegalArgumentException("Es wird mindestens ein Thread benötigt.");
+
+        this.coupon = coupon;
+        this.workers = workers;
+    }
+    //</editor-fold>
+
+
+    /**
+     * Generiert alle Seitenbereiche parallel als einzelne Dateien in einem bestimmten Ordner. Die Dateien werden in der
+     * Reihenfolge ihrer Seiten durchnummeriert ({@code <prefix>-1.pdf}, {@code <prefix>-2.pdf}, ...).
+     *
+     * @param directory Der Ordner, in dem die Dateien abgelegt werden.
+     * @param prefix    Der Anfang des Namens einer jeden Datei.
+     *
+     * @return Alle generierten Dateien in der Reihenfolge ihrer Seiten.
+     */
+    @NotNull
+    public List<File> renderShards(@NotNull final File directory, @NotNull final String prefix) {
+        final List<Integer> shards = planShards();
+        final List<File> files = new ArrayList<>(shards.size());
+
+        for (int i = 0; i < shards.size(); i++) {
+            files.add(new File(directory, prefix + "-" + (i + 1) + ".pdf"));
+        }
+
+        render(shards, files);
+        return files;
+    }
+
+    /**
+     * Generiert alle Seitenbereiche parallel und führt diese anschließend, in der Reihenfolge ihrer Seiten, mithilfe
+     * von {@link PdfCopy} zu einem einzigen PDF-Dokument zusammen (siehe {@link SegmentedDocument#merge}). Die
+     * Seitenbereiche werden dafür in temporäre Dateien geschrieben, welche danach wieder gelöscht werden. Der
+     * {@link OutputStream} wird nicht geschlossen.
+     *
+     * @param out Der {@link OutputStream}, in den das zusammengeführte PDF-Dokument geschrieben wird.
+     */
+    @SneakyThrows
+    public void renderMerged(@NotNull final OutputStream out) {
+        final List<Integer> shards = planShards();
+        final List<File> files = new ArrayList<>(shards.size());
+
+        try {
+            for (int i = 0; i < shards.size(); i++) {
+                files.add(File.createTempFile("coupon-shard-" + (i + 1) + "-", ".pdf"));
+            }
+
+            render(shards, files);
+
+            SegmentedDocument.merge(files, out, this.coupon);
+        } finally {
+            for (@NotNull final File file : files) {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+    }
+
+    /**
+     * Teilt alle Gutscheine in zusammenhängende Seitenbereiche auf, die möglichst gleich viele Seiten enthalten. Jeder
+     * Seitenbereich endet an einem Seitenumbruch der Tabelle.
+     *
+     * @return Die Anzahl an Gutscheinen eines jeden Seitenbereichs, in der Reihenfolge ihrer Seiten.
+     */
+    @NotNull
+    @SneakyThrows
+    List<Integer> planShards() {
+        final int amount = this.coupon.getAmount();
+        final int[] capacity = this.coupon.measurePageCapacity();
+
+        // a single row does not fit on a page or everything fits on the first page
+        if (capacity[1] == 0 || amount <= capacity[0]) return Collections.singletonList(amount);
+
+        final int pages = 1 + (int) Math.ceil((amount - capacity[0]) / (double) capacity[1]);
+        final int shardCount = Math.min(this.workers, pages);
+        final List<Integer> shards = new ArrayList<>(shardCount);
+        int remaining = amount;
+
+        for (int i = 0; i < shardCount; i++) {
+            final int shardPages = (pages / shardCount) + ((i < pages % shardCount) ? 1 : 0);
+            final int shardCapacity = (i == 0)
+                ? capacity[0] + ((shardPages - 1) * capacity[1])
+                : shardPages * capacity[1];
+            final int count = (i == shardCount - 1) ? remaining : Math.min(remaining, shardCapacity);
+
+            shards.add(count);
+            remaining -= count;
+        }
+
+        return shards;
+    }
+
+    /**
+     * Generiert alle Seitenbereiche parallel in ihre jeweilige Datei und wartet, bis alle Seitenbereiche fertig sind.
+     *
+     * @param shards Die Anzahl an Gutscheinen eines jeden Seitenbereichs, in der Reihenfolge ihrer Seiten.
+     * @param files  Die Datei eines jeden Seitenbereichs, in derselben Reihenfolge.
+     *
+     * @throws IOException          Wenn ein Seitenbereich nicht geschrieben werden kann.
+     * @throws InterruptedException Wenn der Thread unterbrochen wird, während er auf die Seitenbereiche wartet.
+     */
+    @SneakyThrows
+    private void render(@NotNull final List<Integer> shards, @NotNull final List<File> files) {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.workers, shards.size()));
+
+        try {
+            final List<Future<?>> futures = new ArrayList<>(shards.size());
+
+            int first = 0;
+
+            for (int i = 0; i < shards.size(); i++) {
+                final int offset = first;
+                final int count = shards.get(i);
+                final File file = files.get(i);
+                final boolean heading = i == 0;
+
+                first += count;
+
+                futures.add(executor.submit(() -> {
+                    try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), OUTPUT_BUFFER_SIZE)) {
+                        this.coupon.write(out, offset, count, heading, null);
+                    }
+                    return null;
+                }));
+            }
+
+            for (@NotNull final Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (@NotNull final ExecutionException e) {
+                    throw e.getCause();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
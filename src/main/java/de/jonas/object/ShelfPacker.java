@@ -0,0 +1,327 @@
+package de.jonas.object;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * <p>Ein {@link ShelfPacker} verteilt Rechtecke unterschiedlicher Größe auf möglichst wenige Bögen fester Größe. Dafür
+ * wird die Heuristik <i>Hybrid First Fit</i> genutzt:</p>
+ * <ol>
+ *     <li>Alle Rechtecke werden nach ihrer Höhe absteigend sortiert und nacheinander in das erste Regal gelegt, in dem
+ *     noch genug Breite frei ist. Passt ein Rechteck in kein Regal, wird ein neues Regal mit seiner Höhe eröffnet.</li>
+ *     <li>Die Regale, deren Höhen dadurch bereits absteigend sortiert sind, werden nacheinander auf den ersten Bogen
+ *     gelegt, auf dem noch genug Höhe frei ist. Passt ein Regal auf keinen Bogen, wird ein neuer Bogen begonnen.</li>
+ * </ol>
+ * <p>Das jeweils erste passende Regal bzw. der erste passende Bogen wird in einem Segmentbaum über den freien Platz
+ * gesucht, sodass das Verteilen von {@code n} Rechtecken nur {@code O(n log n)} Zeit benötigt. Rechtecke derselben
+ * Größe werden als ein Typ mit einer Anzahl übergeben, damit auch sehr viele Rechtecke keine eigenen Objekte
+ * benötigen.</p>
+ */
+@NotNull
+final class ShelfPacker {
+
+    //<editor-fold desc="CONSTANTS">
+    /**
+     * Die Toleranz, mit der geprüft wird, ob ein Rechteck noch in ein Regal oder ein Regal noch auf einen Bogen passt.
+     */
+    private static final float TOLERANCE = 0.001f;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die nutzbare Breite eines Bogens. */
+    private final float sheetWidth;
+    /** Die nutzbare Höhe eines Bogens. */
+    private final float sheetHeight;
+    /** Ob Rechtecke um 90° gedreht werden dürfen. */
+    private final boolean rotation;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt einen neuen {@link ShelfPacker} für Bögen einer bestimmten Größe.
+     *
+     * @param sheetWidth  Die nutzbare Breite eines Bogens.
+     * @param sheetHeight Die nutzbare Höhe eines Bogens.
+     * @param rotation    Ob Rechtecke um 90° gedreht werden dürfen, damit sie flacher liegen oder überhaupt passen.
+     */
+    ShelfPacker(final float sheetWidth, final float sheetHeight, final boolean rotation) {
+        this.sheetWidth = sheetWidth;
+        this.sheetHeight = sheetHeight;
+        this.rotation = rotation;
+    }
+    //</editor-fold>
+
+
+    /**
+     * Verteilt alle Rechtecke auf möglichst wenige Bögen.
+     *
+     * @param widths  Die Breite eines jeden Typs.
+     * @param heights Die Höhe eines jeden Typs.
+     * @param counts  Die Anzahl an Rechtecken eines jeden Typs.
+     *
+     * @return Die Position eines jeden Rechtecks.
+     *
+     * @throws IllegalArgumentException Wenn ein Rechteck in keiner Ausrichtung auf einen Bogen passt oder es zu viele
+     *                                  Rechtecke sind.
+     */
+    @NotNull
+    PackedSheets pack(final float @NotNull [] widths, final float @NotNull [] heights, final int @NotNull [] counts) {
+        final int types = widths.length;
+        final float[] packedWidths = new float[types];
+        final float[] packedHeights = new float[types];
+        final boolean[] rotated = new boolean[types];
+        long total = 0;
+
+        for (int type = 0; type < types; type++) {
+            rotated[type] = isRotated(widths[type], heights[type]);
+            packedWidths[type] = rotated[type] ? heights[type] : widths[type];
+            packedHeights[type] = rotated[type] ? widths[type] : heights[type];
+            total += counts[type];
+        }
+
+        if (total > Integer.MAX_VALUE) throw new IllegalArgumentException("Zu viele Gutscheine: " + total);
+
+        // tallest types first, so that the shelves are created with decreasing heights
+        final int[] order = sortTypes(packedWidths, packedHeights);
+
+        final PackedSheets packed = new PackedSheets((int) total, packedWidths, packedHeights, rotated);
+
+        // first phase: put every rectangle on the first shelf with enough free width
+        final MaxTree shelves = new MaxTree((int) total);
+        final float[] shelfHeights = new float[(int) total];
+        final int[] shelfOfItem = new int[(int) total];
+        int shelfCount = 0;
+        int item = 0;
+
+        for (final int type : order) {
+            final float width = packedWidths[type];
+
+            for (int index = 0; index < counts[type]; index++, item++) {
+                int shelf = shelves.findFirst(width - TOLERANCE);
+
+                if (shelf < 0) {
+                    shelf = shelfCount++;
+                    shelfHeights[shelf] = packedHeights[type];
+                    shelves.set(shelf, this.sheetWidth);
+                }
+
+                final float free = shelves.get(shelf);
+                shelves.set(shelf, free - width);
+
+                packed.place(item, type, index, this.sheetWidth - free);
+                shelfOfItem[item] = shelf;
+            }
+        }
+
+        // second phase: put every shelf on the first sheet with enough free height
+        final MaxTree sheets = new MaxTree(Math.max(1, shelfCount));
+        final int[] shelfSheets = new int[shelfCount];
+        final float[] shelfTops = new float[shelfCount];
+        int sheetCount = 0;
+
+        for (int shelf = 0; shelf < shelfCount; shelf++) {
+            int sheet = sheets.findFirst(shelfHeights[shelf] - TOLERANCE);
+
+            if (sheet < 0) {
+                sheet = sheetCount++;
+                sheets.set(sheet, this.sheetHeight);
+            }
+
+            final float free = sheets.get(sheet);
+            sheets.set(sheet, free - shelfHeights[shelf]);
+
+            shelfSheets[shelf] = sheet;
+            shelfTops[shelf] = this.sheetHeight - free;
+        }
+
+        for (int i = 0; i < item; i++) {
+            packed.stack(i, shelfSheets[shelfOfItem[i]], shelfTops[shelfOfItem[i]]);
+        }
+
+        packed.setSheets(sheetCount);
+        return packed;
+    }
+
+    /**
+     * Sortiert alle Typen absteigend nach ihrer Höhe und bei gleicher Höhe absteigend nach ihrer Breite. Damit auch
+     * sehr viele Typen ohne Boxing sortiert werden können, wird zweimal ein {@code long[]} sortiert, dessen obere
+     * Hälfte den Sortierschlüssel und dessen untere Hälfte die Position enthält: Zuerst nach der Breite und
+     * anschließend nach der Höhe, mit dem Rang der Breite als zweitem Schlüssel.
+     *
+     * @param widths  Die Breite eines jeden Typs.
+     * @param heights Die Höhe eines jeden Typs.
+     *
+     * @return Die Typen in der Reihenfolge, in der sie verteilt werden.
+     */
+    private static int @NotNull [] sortTypes(final float @NotNull [] widths, final float @NotNull [] heights) {
+        final int types = widths.length;
+        final long[] keys = new long[types];
+
+        for (int type = 0; type < types; type++) {
+            keys[type] = ((long) descending(widths[type]) << Integer.SIZE) | type;
+        }
+
+        Arrays.sort(keys);
+
+        final int[] byWidth = new int[types];
+
+        for (int rank = 0; rank < types; rank++) {
+            byWidth[rank] = (int) keys[rank];
+        }
+
+        for (int rank = 0; rank < types; rank++) {
+            keys[rank] = ((long) descending(heights[byWidth[rank]]) << Integer.SIZE) | rank;
+        }
+
+        Arrays.sort(keys);
+
+        final int[] order = new int[types];
+
+        for (int i = 0; i < types; i++) {
+            order[i] = byWidth[(int) keys[i]];
+        }
+
+        return order;
+    }
+
+    /**
+     * Bildet eine nicht negative Größe auf einen nicht negativen Schlüssel ab, welcher umso kleiner ist, je größer die
+     * Größe ist. Dafür wird ausgenutzt, dass die Bits positiver Gleitkommazahlen genauso geordnet sind wie die Zahlen.
+     *
+     * @param size Die nicht negative Größe.
+     *
+     * @return Der Schlüssel, welcher aufsteigend sortiert eine absteigende Reihenfolge der Größen ergibt.
+     */
+    private static int descending(final float size) {
+        return Integer.MAX_VALUE - Float.floatToIntBits(Math.max(0, size));
+    }
+
+    /**
+     * Entscheidet, ob ein Rechteck um 90° gedreht wird. Ein Rechteck wird gedreht, wenn es nur gedreht auf einen Bogen
+     * passt oder wenn es dadurch flacher liegt, da flache Rechtecke niedrigere Regale ergeben.
+     *
+     * @param width  Die Breite des Rechtecks.
+     * @param height Die Höhe des Rechtecks.
+     *
+     * @return Ob das Rechteck gedreht wird.
+     *
+     * @throws IllegalArgumentException Wenn das Rechteck in keiner erlaubten Ausrichtung auf einen Bogen passt.
+     */
+    private boolean isRotated(final float width, final float height) {
+        final boolean upright = fits(width, height);
+        final boolean turned = this.rotation && fits(height, width);
+
+        if (!upright && !turned) {
+            throw new IllegalArgumentException(
+                "Ein Gutschein der Größe " + width + " x " + height + " passt auf keinen Bogen."
+            );
+        }
+
+        return turned && (!upright || height > width);
+    }
+
+    /**
+     * Prüft, ob ein Rechteck in einer bestimmten Ausrichtung auf einen Bogen passt.
+     *
+     * @param width  Die Breite des Rechtecks.
+     * @param height Die Höhe des Rechtecks.
+     *
+     * @return Ob das Rechteck auf einen Bogen passt.
+     */
+    private boolean fits(final float width, final float height) {
+        return width <= this.sheetWidth + TOLERANCE && height <= this.sheetHeight + TOLERANCE;
+    }
+
+
+    /**
+     * Ein {@link MaxTree} ist ein Segmentbaum über eine feste Anzahl an Werten, welcher die erste Position mit einem
+     * Wert von mindestens einer bestimmten Größe in {@code O(log n)} findet. Noch nicht gesetzte Positionen werden
+     * niemals gefunden.
+     */
+    private static final class MaxTree {
+
+        //<editor-fold desc="CONSTANTS">
+        /** Der Wert einer Position, die noch nicht gesetzt wurde. */
+        private static final float UNSET = Float.NEGATIVE_INFINITY;
+        //</editor-fold>
+
+
+        //<editor-fold desc="LOCAL FIELDS">
+        /** Die Anzahl an Blättern des Baums, also die kleinste Zweierpotenz, die alle Positionen aufnimmt. */
+        private final int leaves;
+        /** Der größte Wert eines jeden Knotens, beginnend bei der Wurzel an Position {@code 1}. */
+        private final float @NotNull [] tree;
+        //</editor-fold>
+
+
+        //<editor-fold desc="CONSTRUCTORS">
+
+        /**
+         * Erzeugt einen neuen {@link MaxTree}, dessen Positionen alle noch nicht gesetzt sind.
+         *
+         * @param capacity Die Anzahl an Positionen.
+         */
+        private MaxTree(final int capacity) {
+            int leaves = 1;
+            while (leaves < capacity) leaves <<= 1;
+
+            this.leaves = leaves;
+            this.tree = new float[2 * leaves];
+            Arrays.fill(this.tree, UNSET);
+        }
+        //</editor-fold>
+
+
+        /**
+         * Gibt den Wert einer Position zurück.
+         *
+         * @param position Die Position.
+         *
+         * @return Der Wert der Position.
+         */
+        private float get(final int position) {
+            return this.tree[this.leaves + position];
+        }
+
+        /**
+         * Setzt den Wert einer Position und aktualisiert alle darüberliegenden Knoten.
+         *
+         * @param position Die Position.
+         * @param value    Der neue Wert der Position.
+         */
+        private void set(final int position, final float value) {
+            int node = this.leaves + position;
+            this.tree[node] = value;
+
+            while (node > 1) {
+                node >>= 1;
+                this.tree[node] = Math.max(this.tree[2 * node], this.tree[2 * node + 1]);
+            }
+        }
+
+        /**
+         * Sucht die erste Position, deren Wert mindestens eine bestimmte Größe hat.
+         *
+         * @param minimum Die Größe, die der Wert mindestens haben muss.
+         *
+         * @return Die erste passende Position oder {@code -1}, falls es keine gibt.
+         */
+        private int findFirst(final float minimum) {
+            if (this.tree[1] < minimum) return -1;
+
+            int node = 1;
+
+            while (node < this.leaves) {
+                node = (this.tree[2 * node] >= minimum) ? 2 * node : 2 * node + 1;
+            }
+
+            return node - this.leaves;
+        }
+
+    }
+
+}
@@ -0,0 +1,361 @@
+package de.jonas.object;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.PdfContentByte;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfTemplate;
+import com.itextpdf.text.pdf.PdfWriter;
+import lombok.Setter;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Ein {@link VariantJob} setzt viele Varianten eines Gutscheins, die sich nur in ihrem Empfänger, ihrem Anlass,
+ * ihrem Ersteller oder ihrer Anzahl unterscheiden, gemeinsam in ein PDF-Dokument, bzw. in eine festgelegte Anzahl an
+ * PDF-Dokumenten, anstatt für jede Variante ein eigenes Dokument zu generieren. Alle Varianten stehen dabei in
+ * demselben festen Raster wie im {@link RenderMode#GRID}, direkt nacheinander und unter einer gemeinsamen
+ * Überschrift.</p>
+ * <p>Die Überschrift, die Schriftarten sowie das Logo und der Hintergrund werden pro Dokument nur einmal geschrieben
+ * und von allen Varianten gemeinsam genutzt. Pro Variante wird nur ihr Text einmalig als {@link PdfTemplate} gesetzt,
+ * welches dann von jedem ihrer Gutscheine referenziert wird. Alle Varianten müssen deshalb dieselbe Größe und
+ * Skalierung haben.</p>
+ * <p>Die Position eines Gutscheins, aus der seine Seriennummer entsteht, zählt über alle Varianten und Dokumente
+ * hinweg weiter. Varianten mit demselben {@link SerialGenerator} erhalten somit niemals denselben Code.</p>
+ */
+@NotNull
+public final class VariantJob {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Größe des Puffers, mit dem das PDF-Dokument in den {@link OutputStream} geschrieben wird. */
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Alle Varianten des Gutscheins in ihrer Reihenfolge. */
+    @NotNull
+    private final List<Coupon> variants;
+    /**
+     * Die Anzahl an Gutscheinen, die höchstens in einem Dokument stehen. Varianten werden dabei nur dann auf mehrere
+     * Dokumente aufgeteilt, wenn sie allein mehr Gutscheine haben, als in ein Dokument passen.
+     */
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    private int maxCouponsPerDocument = Integer.MAX_VALUE;
+    /** Das {@link OutputProfile}, mit dem der {@link PdfWriter} zwischen Rechenzeit und Größe der Datei abwägt. */
+    @NotNull
+    @Setter
+    private OutputProfile outputProfile = OutputProfile.BALANCED;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt einen neuen {@link VariantJob} für mehrere Varianten eines Gutscheins.
+     *
+     * @param variants Alle Varianten des Gutscheins in ihrer Reihenfolge.
+     *
+     * @throws IllegalArgumentException Wenn es keine Variante gibt oder sich die Varianten in ihrer Größe oder
+     *                                  Skalierung unterscheiden.
+     */
+    public VariantJob(@NotNull final List<Coupon> variants) {
+        if (variants.isEmpty()) throw new IllegalArgumentException("Es wird mindestens eine Variante benötigt.");
+
+        final Coupon first = variants.get(0);
+
+        for (@NotNull final Coupon variant : variants) {
+            if (variant.getWidth() != first.getWidth()
+                || variant.getHeight() != first.getHeight()
+                || variant.getStyle() != first.getStyle()
+            ) {
+                throw new IllegalArgumentException("Alle Varianten müssen dieselbe Größe und Skalierung haben.");
+            }
+        }
+
+        this.variants = new ArrayList<>(variants);
+    }
+    //</editor-fold>
+
+
+    /**
+     * Legt die Anzahl an Gutscheinen fest, die höchstens in einem Dokument stehen.
+     *
+     * @param maxCouponsPerDocument Die Anzahl an Gutscheinen, die höchstens in einem Dokument stehen.
+     *
+     * @throws IllegalArgumentException Wenn die Anzahl kleiner als {@code 1} ist.
+     */
+    public void setMaxCouponsPerDocument(@Range(from = 1, to = Integer.MAX_VALUE) final int maxCouponsPerDocument) {
+        if (maxCouponsPerDocument < 1) {
+            throw new IllegalArgumentException("Ein Dokument muss mindestens einen Gutschein fassen können.");
+        }
+
+        this.maxCouponsPerDocument = maxCouponsPerDocument;
+    }
+
+    /**
+     * Berechnet, welche Gutscheine in welchem Dokument stehen. Ein neues Dokument wird begonnen, sobald die nächste
+     * Variante das Dokument über {@link #maxCouponsPerDocument} Gutscheine hinaus füllen würde. Passt eine Variante
+     * allein nicht in ein Dokument, wird sie auf so viele Dokumente aufgeteilt, wie nötig sind.
+     *
+     * @return Die Position des ersten Gutscheins eines jeden Dokuments über alle Varianten hinweg, gefolgt von der
+     *     Anzahl an Gutscheinen aller Varianten.
+     */
+    private long @NotNull [] getDocumentStarts() {
+        final List<Long> starts = new ArrayList<>();
+        long position = 0;
+        long coupons = 0;
+
+        starts.add(position);
+
+        for (@NotNull final Coupon variant : this.variants) {
+            long remaining = variant.getAmount();
+
+            if (coupons > 0 && coupons + remaining > this.maxCouponsPerDocument) {
+                starts.add(position);
+                coupons = 0;
+            }
+
+            // split a variant which does not fit into a single document on its own
+            while (coupons + remaining > this.maxCouponsPerDocument) {
+                final long taken = this.maxCouponsPerDocument - coupons;
+                position += taken;
+                remaining -= taken;
+                starts.add(position);
+                coupons = 0;
+            }
+
+            position += remaining;
+            coupons += remaining;
+        }
+
+        starts.add(position);
+        return starts.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Gibt die Anzahl an Dokumenten zurück, auf welche die Varianten verteilt werden.
+     *
+     * @return Die Anzahl an Dokumenten.
+     */
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    public int getDocuments() {
+        return getDocumentStarts().length - 1;
+    }
+
+    /**
+     * Generiert alle Dokumente und speichert diese in einem Ordner, welcher bei Bedarf angelegt wird. Die Dateien
+     * werden durchnummeriert ({@code variants-1.pdf}, {@code variants-2.pdf}, ...).
+     *
+     * @param directory Der Ordner, in dem die Dokumente gespeichert werden.
+     *
+     * @return Alle generierten Dateien in ihrer Reihenfolge.
+     *
+     * @throws IOException Wenn ein Dokument nicht geschrieben werden kann.
+     */
+    @NotNull
+    public List<File> generate(@NotNull final File directory) throws IOException {
+        Files.createDirectories(directory.toPath());
+
+        final int documents = getDocuments();
+        final List<File> files = new ArrayList<>(documents);
+
+        for (int document = 0; document < documents; document++) {
+            final File file = new File(directory, "variants-" + (document + 1) + ".pdf");
+
+            try (OutputStream out = new FileOutputStream(file)) {
+                generate(document, out);
+            } catch (@NotNull final Exception | Error e) {
+                Files.deleteIfExists(file.toPath());
+                throw e;
+            }
+
+            files.add(file);
+        }
+
+        return files;
+    }
+
+    /**
+     * Generiert ein einzelnes Dokument und schreibt dieses gepuffert in einen beliebigen {@link OutputStream}. Der
+     * {@link OutputStream} wird am Ende nur geleert, aber nicht geschlossen. Ohne {@link #maxCouponsPerDocument} gibt
+     * es nur das Dokument {@code 0}, welches alle Varianten enthält.
+     *
+     * @param document Das Dokument, beginnend bei {@code 0}.
+     * @param out      Der {@link OutputStream}, in den das PDF-Dokument geschrieben wird.
+     *
+     * @throws IllegalArgumentException Wenn es das Dokument nicht gibt oder eine Zeile nicht auf eine Seite passt.
+     */
+    @SneakyThrows
+    public void generate(@Range(from = 0, to = Integer.MAX_VALUE) final int document, @NotNull final OutputStream out) {
+        final long[] starts = getDocumentStarts();
+
+        if (document < 0 || document >= starts.length - 1) {
+            throw new IllegalArgumentException("Es gibt kein Dokument " + document + ".");
+        }
+
+        final long first = starts[document];
+        final long last = starts[document + 1];
+
+        // skip all variants which end before this document
+        int from = 0;
+        long offset = 0;
+
+        while (from < this.variants.size() - 1 && offset + this.variants.get(from).getAmount() <= first) {
+            offset += this.variants.get(from++).getAmount();
+        }
+
+        // take all variants which start within this document
+        int to = from + 1;
+        long end = offset + this.variants.get(from).getAmount();
+
+        while (to < this.variants.size() && end < last) {
+            end += this.variants.get(to++).getAmount();
+        }
+
+        final BufferedOutputStream buffered = new BufferedOutputStream(out, OUTPUT_BUFFER_SIZE);
+
+        write(buffered, this.variants.subList(from, to), offset, first, last);
+        buffered.flush();
+    }
+
+    /**
+     * Schreibt die Gutscheine mehrerer Varianten nacheinander ungepuffert als ein PDF-Dokument in einen
+     * {@link OutputStream}, ohne diesen zu schließen. Alle Zeilen sind so hoch wie die höchste Variante, damit alle
+     * Gutscheine in demselben Raster stehen.
+     *
+     * @param out      Der {@link OutputStream}, in den das PDF-Dokument geschrieben wird.
+     * @param variants Die Varianten, welche ganz oder teilweise in diesem Dokument stehen.
+     * @param offset   Die Position des ersten Gutscheins der ersten Variante über alle Varianten hinweg.
+     * @param first    Die Position des ersten Gutscheins dieses Dokuments über alle Varianten hinweg.
+     * @param last     Die Position hinter dem letzten Gutschein dieses Dokuments über alle Varianten hinweg.
+     *
+     * @throws DocumentException Wenn das PDF-Dokument nicht erstellt werden kann.
+     */
+    private void write(
+        @NotNull final OutputStream out,
+        @NotNull final List<Coupon> variants,
+        @Range(from = 0, to = Long.MAX_VALUE) final long offset,
+        @Range(from = 0, to = Long.MAX_VALUE) final long first,
+        @Range(from = 0, to = Long.MAX_VALUE) final long last
+    ) throws DocumentException {
+        final Coupon layout = variants.get(0);
+
+        // create pdf document with the shared heading
+        final Document document = new Document();
+        final PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setCloseStream(false);
+        this.outputProfile.apply(writer);
+        document.open();
+        document.add(Coupon.getHeading());
+
+        // draw the text of every variant once, so that it is only referenced by each of its coupons
+        final PdfPTable coupons = layout.createCouponTable(document);
+        final float cellWidth = Coupon.getCellWidth(document, coupons);
+        final PdfTemplate[] templates = new PdfTemplate[variants.size()];
+        final SerialRenderer[] serials = new SerialRenderer[variants.size()];
+        float rowHeight = 0;
+
+        for (int variant = 0; variant < variants.size(); variant++) {
+            final Coupon coupon = variants.get(variant);
+            templates[variant] = coupon.getCouponTemplate(writer, cellWidth);
+            serials[variant] = coupon.createSerialRenderer();
+            rowHeight = Math.max(rowHeight, coupon.getRowHeight(templates[variant]));
+        }
+
+        final GridLayout grid = new GridLayout(
+            document,
+            coupons.getNumberOfColumns(),
+            rowHeight,
+            writer.getVerticalPosition(true),
+            coupons.spacingBefore()
+        );
+
+        if (!grid.isApplicable()) {
+            throw new IllegalArgumentException("Eine Zeile der Gutscheine passt auf keine einzelne Seite.");
+        }
+
+        final PdfContentByte canvas = writer.getDirectContent();
+        final Rectangle cell = Coupon.createCellRectangle();
+        long position = offset;
+        int page = 0;
+        int row = 0;
+        int column = 0;
+
+        // the table draws its borders with projecting line caps, which reset with every page
+        canvas.setLineCap(PdfContentByte.LINE_CAP_PROJECTING_SQUARE);
+
+        for (int variant = 0; variant < variants.size(); variant++) {
+            final Coupon coupon = variants.get(variant);
+
+            // the serial numbers continue across all documents, even within a variant that is split
+            final long start = Math.max(position, first);
+            final long end = Math.min(position + coupon.getAmount(), last);
+            position += coupon.getAmount();
+
+            for (long index = start; index < end; index++) {
+                // start a new page as soon as the current page is full
+                while (row == grid.getRows(page)) {
+                    document.newPage();
+                    canvas.setLineCap(PdfContentByte.LINE_CAP_PROJECTING_SQUARE);
+                    page++;
+                    row = 0;
+                }
+
+                moveCell(cell, grid, page, row, column);
+                coupon.drawCell(canvas, cell, templates[variant], serials[variant], index);
+
+                if (++column == grid.getColumns()) {
+                    column = 0;
+                    row++;
+                }
+            }
+        }
+
+        // complete the last row with empty cells, just like the table does
+        while (column != 0 && column < grid.getColumns()) {
+            moveCell(cell, grid, page, row, column++);
+            layout.drawCell(canvas, cell, null, null, 0);
+        }
+
+        // a job without any coupons still results in a valid document with the heading
+        document.close();
+    }
+
+    /**
+     * Verschiebt das Rechteck einer Zelle an eine bestimmte Position im Raster.
+     *
+     * @param cell   Das Rechteck der Zelle, welches verschoben wird.
+     * @param grid   Das Raster, in dem die Zelle steht.
+     * @param page   Die Seite, beginnend bei {@code 0}.
+     * @param row    Die Zeile auf der Seite, beginnend bei {@code 0}.
+     * @param column Die Spalte, beginnend bei {@code 0}.
+     */
+    private static void moveCell(
+        @NotNull final Rectangle cell,
+        @NotNull final GridLayout grid,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int page,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int row,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int column
+    ) {
+        final float left = grid.getLeft(column);
+        final float top = grid.getTop(page, row);
+
+        cell.setLeft(left);
+        cell.setRight(left + grid.getCellWidth());
+        cell.setTop(top);
+        cell.setBottom(top - grid.getRowHeight());
+    }
+
+}
@@ -1,8 +1,10 @@
 package de.jonas.object.gui;
 
+import de.jonas.object.GenerationProgress;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 
 import javax.swing.JLabel;
@@ -10,12 +12,18 @@ import javax.swing.JLabel;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics;
+import java.awt.GraphicsConfiguration;
+import java.awt.image.BufferedImage;
 import java.util.Arrays;
 import java.util.Comparator;
 
 /**
- * Mithilfe des {@link Draw}, werden alle nötigen Grafiken auf das jeweilige Fenster gezeichnet, damit die visuelle
- * grundlage für einen {@link de.jonas.CouponGenerator} geschaffen wird.
+ * <p>Mithilfe des {@link Draw}, werden alle nötigen Grafiken auf das jeweilige Fenster gezeichnet, damit die visuelle
+ * grundlage für einen {@link de.jonas.CouponGenerator} geschaffen wird.</p>
+ * <p>Alle unveränderlichen Grafiken, also der Hintergrund, die Überschrift, das innere Rechteck und die Attribute,
+ * werden nur einmalig in ein Bild außerhalb des Bildschirms gezeichnet, welches erst bei einer Größenänderung neu
+ * erstellt wird. Jedes Neuzeichnen kopiert nur noch dieses Bild und zeichnet den Fortschritt und die Vorschau
+ * darüber.</p>
  */
 @NotNull
 @RequiredArgsConstructor
@@ -38,6 +46,21 @@ public final class Draw extends JLabel {
     private static final int ATTRIBUTES_BEGIN_X = 110;
     /** Die X-Koordinate, ab wo die Attribute des Gutscheins beginnen. */
     private static final int ATTRIBUTES_BEGIN_Y = 120;
+    /** Die Y-Koordinate des Fortschrittsbalkens. */
+    private static final int PROGRESS_Y = 55;
+    /** Die Höhe des Fortschrittsbalkens. */
+    private static final int PROGRESS_HEIGHT = 25;
+    /** Die Schriftart, mit der der Fortschritt in den Fortschrittsbalken geschrieben wird. */
+    @NotNull
+    private static final Font PROGRESS_FONT = new Font("Arial", Font.PLAIN, 12);
+    /** Die X-Koordinate des Bereichs, in dem die Vorschau eines Gutscheins gezeichnet wird. */
+    public static final int PREVIEW_X = 375;
+    /** Die Y-Koordinate des Bereichs, in dem die Vorschau eines Gutscheins gezeichnet wird. */
+    public static final int PREVIEW_Y = 95;
+    /** Die Breite des Bereichs, in dem die Vorschau eines Gutscheins gezeichnet wird. */
+    public static final int PREVIEW_WIDTH = 105;
+    /** Die Höhe des Bereichs, in dem die Vorschau eines Gutscheins gezeichnet wird. */
+    public static final int PREVIEW_HEIGHT = 100;
     /** Der Multiplikator des Zeilenabstandes. */
     private static final double LINE_SPACING_MULTIPLIER = 1.5;
     /** Alle Attribute. */
@@ -67,14 +90,73 @@ public final class Draw extends JLabel {
             .max(Comparator.comparing(String::length))
             .orElseThrow(NullPointerException::new)
     ) + ATTRIBUTES_BEGIN_X + 50;
+    /** Der Fortschritt der aktuellen Generierung oder {@code null}, falls gerade nichts generiert wird. */
+    @Nullable
+    private GenerationProgress progress;
+    /** Die Vorschau eines einzelnen Gutscheins oder {@code null}, falls es gerade keine gültige Vorschau gibt. */
+    @Nullable
+    private BufferedImage preview;
+    /** Alle unveränderlichen Grafiken, in der Größe, in der sie zuletzt gezeichnet wurden. */
+    @Nullable
+    private BufferedImage chrome;
     //</editor-fold>
 
     //<editor-fold desc="implementation">
     @Override
-    @SuppressWarnings("checkstyle:MagicNumber")
     protected void paintComponent(@NotNull final Graphics g) {
         super.paintComponent(g);
 
+        // draw static graphics, which are only rebuilt on resize
+        if (this.chrome == null || this.chrome.getWidth() != super.getWidth()
+            || this.chrome.getHeight() != super.getHeight()) {
+            this.chrome = createChrome();
+        }
+
+        g.drawImage(this.chrome, 0, 0, null);
+
+        // draw progress
+        if (this.progress != null) drawProgress(g, this.progress);
+
+        // draw preview
+        if (this.preview != null) drawPreview(g, this.preview);
+    }
+    //</editor-fold>
+
+    /**
+     * Zeichnet alle unveränderlichen Grafiken in ein neues Bild außerhalb des Bildschirms, welches genauso groß ist wie
+     * dieses {@link Draw}. Das Bild ist, wenn möglich, mit dem Bildschirm kompatibel, damit es schnell kopiert werden
+     * kann.
+     *
+     * @return Das Bild mit allen unveränderlichen Grafiken.
+     */
+    @NotNull
+    private BufferedImage createChrome() {
+        final int width = Math.max(1, super.getWidth());
+        final int height = Math.max(1, super.getHeight());
+        final GraphicsConfiguration configuration = super.getGraphicsConfiguration();
+
+        final BufferedImage image = (configuration == null)
+            ? new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB)
+            : configuration.createCompatibleImage(width, height);
+        final Graphics g = image.createGraphics();
+
+        try {
+            drawChrome(g);
+        } finally {
+            g.dispose();
+        }
+
+        return image;
+    }
+
+    /**
+     * Zeichnet alle unveränderlichen Grafiken, also den Hintergrund, die Überschrift, das innere Rechteck und die
+     * Attribute.
+     *
+     * @param g Das {@link Graphics}, womit gezeichnet wird.
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    private void drawChrome(@NotNull final Graphics g) {
         // draw background
         g.setColor(Color.LIGHT_GRAY);
         g.fillRect(
@@ -110,7 +192,93 @@ public final class Draw extends JLabel {
         // draw 'x' for size
         g.drawString("x", this.objectX + 70, getAttributeY(4) - 5);
     }
-    //</editor-fold>
+
+    /**
+     * Aktualisiert den Fortschritt der aktuellen Generierung, welcher als Fortschrittsbalken unterhalb der Überschrift
+     * gezeichnet wird. Dabei wird ausschließlich der Bereich des Fortschrittsbalkens neu gezeichnet. Diese Methode muss
+     * aus dem Event-Dispatch-Thread aufgerufen werden.
+     *
+     * @param progress Der Fortschritt der aktuellen Generierung oder {@code null}, um den Fortschrittsbalken zu
+     *                 entfernen.
+     */
+    public void setProgress(@Nullable final GenerationProgress progress) {
+        this.progress = progress;
+
+        super.repaint(
+            INNER_RECT_MARGIN - 10,
+            PROGRESS_Y,
+            super.getWidth() - (2 * INNER_RECT_MARGIN),
+            PROGRESS_HEIGHT
+        );
+    }
+
+    /**
+     * Aktualisiert die Vorschau eines einzelnen Gutscheins, welche innerhalb des inneren Rechtecks neben den Attributen
+     * gezeichnet wird. Dabei wird ausschließlich der Bereich der Vorschau neu gezeichnet. Diese Methode muss aus dem
+     * Event-Dispatch-Thread aufgerufen werden.
+     *
+     * @param preview Die Vorschau eines einzelnen Gutscheins, welche höchstens {@link #PREVIEW_WIDTH} breit und
+     *                {@link #PREVIEW_HEIGHT} hoch ist, oder {@code null}, um die Vorschau zu entfernen.
+     */
+    public void setPreview(@Nullable final BufferedImage preview) {
+        this.preview = preview;
+
+        super.repaint(PREVIEW_X, PREVIEW_Y, PREVIEW_WIDTH, PREVIEW_HEIGHT);
+    }
+
+    /**
+     * Zeichnet die Vorschau eines einzelnen Gutscheins zentriert in ihren Bereich.
+     *
+     * @param g       Das {@link Graphics}, womit gezeichnet wird.
+     * @param preview Die Vorschau, welche gezeichnet wird.
+     */
+    private void drawPreview(@NotNull final Graphics g, @NotNull final BufferedImage preview) {
+        g.drawImage(
+            preview,
+            PREVIEW_X + ((PREVIEW_WIDTH - preview.getWidth()) / 2),
+            PREVIEW_Y + ((PREVIEW_HEIGHT - preview.getHeight()) / 2),
+            null
+        );
+    }
+
+    /**
+     * Zeichnet den Fortschrittsbalken mit der Anzahl an gesetzten Gutscheinen, geschriebenen Seiten und geschriebenen
+     * Bytes.
+     *
+     * @param g        Das {@link Graphics}, womit gezeichnet wird.
+     * @param progress Der Fortschritt, welcher gezeichnet wird.
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    private void drawProgress(@NotNull final Graphics g, @NotNull final GenerationProgress progress) {
+        final int x = INNER_RECT_MARGIN - 10;
+        final int width = super.getWidth() - (2 * INNER_RECT_MARGIN);
+
+        // draw bar
+        g.setColor(Color.WHITE);
+        g.fillRect(x, PROGRESS_Y, width, PROGRESS_HEIGHT);
+
+        g.setColor(Color.DARK_GRAY);
+        g.fillRect(x, PROGRESS_Y, (int) (width * progress.getFraction()), PROGRESS_HEIGHT);
+
+        // draw text
+        final String text = String.format(
+            "%d / %d Gutscheine - %d Seiten - %d KB",
+            progress.getCouponsLaidOut(),
+            progress.getTotalCoupons(),
+            progress.getPagesWritten(),
+            progress.getBytesWritten() / 1024
+        );
+
+        g.setFont(PROGRESS_FONT);
+        g.setXORMode(Color.WHITE);
+        g.setColor(Color.BLACK);
+        g.drawString(
+            text,
+            x + (width / 2) - (g.getFontMetrics().stringWidth(text) / 2),
+            PROGRESS_Y + (PROGRESS_HEIGHT / 2) + (g.getFontMetrics().getAscent() / 2) - 2
+        );
+        g.setPaintMode();
+    }
 
     //<editor-fold desc="utility">
 
@@ -0,0 +1,111 @@
+package de.jonas.server;
+
+import de.jonas.object.Coupon;
+import de.jonas.object.OutputProfile;
+import de.jonas.object.RenderMode;
+import de.jonas.utility.Parameters;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.util.Map;
+
+/**
+ * Eine {@link CouponRequest} beschreibt eine einzelne Anfrage an den {@link CouponServer}. Sie enthält genau die
+ * Parameter des Konstruktors eines {@link Coupon} und optional das {@link OutputProfile} unter {@code profile}. Zwei
+ * Anfragen mit denselben Parametern sind gleich und ergeben dasselbe PDF-Dokument.
+ */
+@Getter
+@NotNull
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public final class CouponRequest {
+
+    //<editor-fold desc="CONSTANTS">
+    /**
+     * Die maximale Anzahl an Gutscheinen einer einzelnen Anfrage. Größere Mengen werden über {@code --batch} statt über
+     * den Server generiert.
+     */
+    public static final int MAX_AMOUNT = 100_000;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der Empfänger der Gutscheine. */
+    @NotNull
+    private final String recipient;
+    /** Der Anlass für die Gutscheine. */
+    @NotNull
+    private final String reason;
+    /** Der Ersteller der Gutscheine. */
+    @NotNull
+    private final String creator;
+    /** Die Breite eines Gutscheins. */
+    @Range(from = 1, to = Coupon.MAX_WIDTH)
+    private final int width;
+    /** Die Höhe eines Gutscheins. */
+    @Range(from = 1, to = Coupon.MAX_HEIGHT)
+    private final int height;
+    /** Die Anzahl an Gutscheinen. */
+    @Range(from = 1, to = MAX_AMOUNT)
+    private final int amount;
+    /** Die Skalierung des Gutscheins. */
+    @Range(from = 0, to = Coupon.MAX_SCALING)
+    private final int scaling;
+    /** Das {@link OutputProfile}, mit dem das PDF-Dokument geschrieben wird. */
+    @NotNull
+    private final OutputProfile outputProfile;
+    //</editor-fold>
+
+
+    /**
+     * Erzeugt eine neue {@link CouponRequest} anhand aller Parameter einer Anfrage.
+     *
+     * @param values Alle Parameter der Anfrage, anhand ihres Namens.
+     *
+     * @return Die erzeugte {@link CouponRequest}.
+     *
+     * @throws IllegalArgumentException Wenn ein Parameter fehlt oder ungültig ist.
+     */
+    @NotNull
+    public static CouponRequest of(@NotNull final Map<String, String> values) {
+        final String profile = values.get("profile");
+
+        return new CouponRequest(
+            Parameters.getText(values, "recipient"),
+            Parameters.getText(values, "reason"),
+            Parameters.getText(values, "creator"),
+            Parameters.getNumber(values, "width", 1, Coupon.MAX_WIDTH),
+            Parameters.getNumber(values, "height", 1, Coupon.MAX_HEIGHT),
+            Parameters.getNumber(values, "amount", 1, MAX_AMOUNT),
+            Parameters.getNumber(values, "scaling", 0, Coupon.MAX_SCALING),
+            (profile == null) ? OutputProfile.BALANCED : OutputProfile.fromName(profile)
+        );
+    }
+
+    /**
+     * Erzeugt aus dieser {@link CouponRequest} den entsprechenden {@link Coupon}, welcher das Template nur einmalig
+     * zeichnet und direkt in das vorab berechnete Raster setzt.
+     *
+     * @return Der {@link Coupon}, welcher durch diese {@link CouponRequest} beschrieben wird.
+     */
+    @NotNull
+    public Coupon toCoupon() {
+        final Coupon coupon = new Coupon(
+            this.recipient,
+            this.reason,
+            this.creator,
+            this.width,
+            this.height,
+            this.amount,
+            this.scaling
+        );
+        coupon.setRenderMode(RenderMode.GRID);
+        coupon.setOutputProfile(this.outputProfile);
+
+        return coupon;
+    }
+
+}
@@ -0,0 +1,454 @@
+package de.jonas.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import de.jonas.cache.PdfCache;
+import de.jonas.utility.JsonObjectParser;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * <p>Ein {@link CouponServer} ist ein eingebetteter HTTP-Dienst, welcher unter {@code POST /coupons} die Parameter
+ * eines {@link de.jonas.object.Coupon} als JSON-Objekt entgegennimmt und das generierte PDF-Dokument zurückschickt.</p>
+ * <p>Die Anfragen werden, sofern die JVM dies unterstützt, auf virtuellen Threads und ansonsten auf einer festen Anzahl
+ * an Threads bearbeitet. Die Anzahl an gleichzeitig bearbeiteten Anfragen ist begrenzt; jede weitere Anfrage wird
+ * bereits vom Thread, der die Verbindungen annimmt, mit {@code 503} abgelehnt, bevor sie an die Threads übergeben wird,
+ * sodass sich keine Anfragen vor der Ablehnung in deren Warteschlange ansammeln.</p>
+ * <p>Kleine Anfragen werden gebündelt: Treffen mehrere gleiche Anfragen ein, während eine davon noch generiert wird,
+ * warten alle anderen auf deren Ergebnis, anstatt dasselbe Dokument erneut zu generieren. Größere Anfragen werden
+ * zunächst in eine temporäre Datei generiert, ohne das Dokument im Arbeitsspeicher zu halten, und erst nach einer
+ * erfolgreichen Generierung zurückgeschickt.</p>
+ * <p>Optional werden alle generierten Dokumente in einem {@link PdfCache} abgelegt, sodass eine wiederholte Anfrage
+ * direkt beantwortet wird. Dessen Zähler sind dann unter {@code GET /stats} als JSON-Objekt abrufbar.</p>
+ */
+@NotNull
+public final class CouponServer {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Der Pfad, unter dem die Gutscheine generiert werden. */
+    @NotNull
+    public static final String PATH = "/coupons";
+    /** Der Pfad, unter dem die Zähler des {@link PdfCache} abgerufen werden. */
+    @NotNull
+    public static final String STATS_PATH = "/stats";
+    /** Die maximale Anzahl an Gutscheinen, bis zu der eine Anfrage im Arbeitsspeicher generiert und gebündelt wird. */
+    private static final int BATCH_MAX_AMOUNT = 1000;
+    /** Die maximale Größe des JSON-Objekts einer Anfrage in Bytes. */
+    private static final int MAX_REQUEST_SIZE = 64 * 1024;
+    /** Der Status-Code für eine erfolgreiche Anfrage. */
+    private static final int STATUS_OK = 200;
+    /** Der Status-Code für eine ungültige Anfrage. */
+    private static final int STATUS_BAD_REQUEST = 400;
+    /** Der Status-Code für eine Anfrage mit einer nicht unterstützten Methode. */
+    private static final int STATUS_METHOD_NOT_ALLOWED = 405;
+    /** Der Status-Code für einen Fehler während der Generierung. */
+    private static final int STATUS_INTERNAL_ERROR = 500;
+    /** Der Status-Code für eine Anfrage, die wegen zu vieler gleichzeitiger Anfragen abgelehnt wird. */
+    private static final int STATUS_UNAVAILABLE = 503;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der zugrundeliegende {@link HttpServer}. */
+    @NotNull
+    private final HttpServer server;
+    /** Die Threads, auf denen alle Anfragen bearbeitet werden. */
+    @NotNull
+    private final ExecutorService executor;
+    /** Begrenzt die Anzahl an gleichzeitig bearbeiteten Anfragen. */
+    @NotNull
+    private final Semaphore inFlight;
+    /** Alle kleinen Anfragen, die gerade generiert werden, mit ihrem zukünftigen Ergebnis. */
+    @NotNull
+    private final Map<CouponRequest, CompletableFuture<ByteBuffer>> pending = new ConcurrentHashMap<>();
+    /** Der {@link PdfCache}, in dem alle generierten Dokumente abgelegt werden, falls dieser genutzt wird. */
+    @Nullable
+    private final PdfCache cache;
+    /** Ob die Anfragen auf virtuellen Threads bearbeitet werden. */
+    @Getter
+    private final boolean virtualThreads;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt einen neuen {@link CouponServer}, welcher noch nicht gestartet ist.
+     *
+     * @param port        Der Port, auf dem der Dienst erreichbar ist oder {@code 0}, für einen beliebigen freien Port.
+     * @param workers     Die Anzahl an Threads, falls die JVM keine virtuellen Threads unterstützt.
+     * @param maxInFlight Die maximale Anzahl an gleichzeitig bearbeiteten Anfragen.
+     *
+     * @throws IOException Wenn der Port nicht geöffnet werden kann.
+     */
+    public CouponServer(
+        @Range(from = 0, to = 65535) final int port,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int workers,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int maxInFlight
+    ) throws IOException {
+        this(port, workers, maxInFlight, null);
+    }
+
+    /**
+     * Erzeugt einen neuen {@link CouponServer}, welcher noch nicht gestartet ist und alle generierten Dokumente in
+     * einem {@link PdfCache} ablegt.
+     *
+     * @param port        Der Port, auf dem der Dienst erreichbar ist oder {@code 0}, für einen beliebigen freien Port.
+     * @param workers     Die Anzahl an Threads, falls die JVM keine virtuellen Threads unterstützt.
+     * @param maxInFlight Die maximale Anzahl an gleichzeitig bearbeiteten Anfragen.
+     * @param cache       Der {@link PdfCache}, in dem alle generierten Dokumente abgelegt werden oder {@code null},
+     *                    falls jedes Dokument erneut generiert werden soll.
+     *
+     * @throws IOException Wenn der Port nicht geöffnet werden kann.
+     */
+    public CouponServer(
+        @Range(from = 0, to = 65535) final int port,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int workers,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int maxInFlight,
+        @Nullable final PdfCache cache
+    ) throws IOException {
+        @Nullable final ExecutorService virtual = createVirtualThreadExecutor();
+
+        this.virtualThreads = virtual != null;
+        this.executor = (virtual != null) ? virtual : Executors.newFixedThreadPool(workers);
+        this.inFlight = new Semaphore(maxInFlight);
+        this.cache = cache;
+
+        // without an executor the handlers run on the thread accepting the connections, which hands every request over
+        // to the workers only after it has been admitted
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.createContext(PATH, this::handle);
+        this.server.createContext(STATS_PATH, exchange -> dispatch(exchange, this::handleStats));
+    }
+    //</editor-fold>
+
+
+    /**
+     * Startet diesen {@link CouponServer}, sodass er Anfragen entgegennimmt.
+     */
+    public void start() {
+        this.server.start();
+    }
+
+    /**
+     * Beendet diesen {@link CouponServer} und wartet dabei höchstens eine bestimmte Anzahl an Sekunden auf laufende
+     * Anfragen.
+     *
+     * @param delay Die maximale Anzahl an Sekunden, die auf laufende Anfragen gewartet wird.
+     */
+    public void stop(@Range(from = 0, to = Integer.MAX_VALUE) final int delay) {
+        this.server.stop(delay);
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Gibt den Port zurück, auf dem dieser {@link CouponServer} erreichbar ist.
+     *
+     * @return Der Port, auf dem dieser {@link CouponServer} erreichbar ist.
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Nimmt eine einzelne Anfrage entgegen. Ist bereits die maximale Anzahl an Anfragen in Bearbeitung, wird die
+     * Anfrage direkt abgelehnt, ansonsten wird sie zur Bearbeitung an die Threads übergeben.
+     *
+     * @param exchange Die Anfrage und ihre Antwort.
+     *
+     * @throws IOException Wenn die Antwort einer abgelehnten Anfrage nicht geschrieben werden kann.
+     */
+    private void handle(@NotNull final HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equalsIgnoreCase("POST")) {
+            try {
+                sendError(exchange, STATUS_METHOD_NOT_ALLOWED, "Nur POST wird unterstützt.");
+            } finally {
+                exchange.close();
+            }
+            return;
+        }
+
+        if (!this.inFlight.tryAcquire()) {
+            try {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendError(exchange, STATUS_UNAVAILABLE, "Zu viele gleichzeitige Anfragen.");
+            } finally {
+                exchange.close();
+            }
+            return;
+        }
+
+        final boolean dispatched = dispatch(exchange, admitted -> {
+            try {
+                respond(admitted);
+            } finally {
+                this.inFlight.release();
+            }
+        });
+
+        if (!dispatched) this.inFlight.release();
+    }
+
+    /**
+     * Übergibt eine Anfrage an die Threads, welche sie mit einem bestimmten {@link HttpHandler} bearbeiten und
+     * anschließend schließen. Ein Fehler während der Bearbeitung wird ausgegeben und bricht nur diese Anfrage ab.
+     *
+     * @param exchange Die Anfrage und ihre Antwort.
+     * @param handler  Der {@link HttpHandler}, mit dem die Anfrage bearbeitet wird.
+     *
+     * @return Ob die Anfrage übergeben wurde; andernfalls wird dieser {@link CouponServer} bereits beendet und die
+     *     Anfrage direkt geschlossen.
+     */
+    private boolean dispatch(@NotNull final HttpExchange exchange, @NotNull final HttpHandler handler) {
+        try {
+            this.executor.execute(() -> {
+                try {
+                    handler.handle(exchange);
+                } catch (@NotNull final IOException ignored) {
+                    // the client has closed the connection, so no response can be sent anymore
+                } catch (@NotNull final Exception e) {
+                    // unexpected runtime and sneakily thrown document exceptions abort only this request
+                    System.err.println("Fehler beim Bearbeiten einer Anfrage: " + e);
+                } finally {
+                    exchange.close();
+                }
+            });
+            return true;
+        } catch (@NotNull final RejectedExecutionException e) {
+            exchange.close();
+            return false;
+        }
+    }
+
+    /**
+     * Schickt die Zähler des {@link PdfCache} als JSON-Objekt zurück.
+     *
+     * @param exchange Die Anfrage und ihre Antwort.
+     *
+     * @throws IOException Wenn die Antwort nicht geschrieben werden kann.
+     */
+    private void handleStats(@NotNull final HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equalsIgnoreCase("GET")) {
+                sendError(exchange, STATUS_METHOD_NOT_ALLOWED, "Nur GET wird unterstützt.");
+                return;
+            }
+
+            final String json = (this.cache == null) ? "{}" : this.cache.getStatistics().toJson();
+            final byte[] body = json.getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(STATUS_OK, body.length);
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Liest die Parameter einer Anfrage ein und schickt das generierte PDF-Dokument zurück.
+     *
+     * @param exchange Die Anfrage und ihre Antwort.
+     *
+     * @throws IOException Wenn die Anfrage nicht gelesen oder die Antwort nicht geschrieben werden kann.
+     */
+    private void respond(@NotNull final HttpExchange exchange) throws IOException {
+        final CouponRequest request;
+
+        try {
+            request = CouponRequest.of(JsonObjectParser.parse(readBody(exchange.getRequestBody())));
+        } catch (@NotNull final IllegalArgumentException e) {
+            sendError(exchange, STATUS_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/pdf");
+
+        // render large documents into a temporary file instead of memory, unless they are cached on disk
+        if (request.getAmount() > BATCH_MAX_AMOUNT && this.cache == null) {
+            respondFromFile(exchange, request);
+            return;
+        }
+
+        final ByteBuffer pdf;
+
+        try {
+            pdf = generateBatched(request);
+        } catch (@NotNull final Throwable e) {
+            // sneakily thrown document exceptions and errors are answered like any other failed generation
+            sendError(exchange, STATUS_INTERNAL_ERROR, "Die Generierung ist fehlgeschlagen.");
+            return;
+        }
+
+        exchange.sendResponseHeaders(STATUS_OK, pdf.remaining());
+
+        try (WritableByteChannel out = Channels.newChannel(exchange.getResponseBody())) {
+            while (pdf.hasRemaining()) out.write(pdf);
+        }
+    }
+
+    /**
+     * Generiert eine große Anfrage in eine temporäre Datei und schickt diese anschließend zurück. Da die Header erst
+     * nach der vollständigen Generierung gesendet werden, kann ein Fehler noch mit {@code 500} beantwortet werden,
+     * anstatt ein abgeschnittenes Dokument als erfolgreich zu beenden.
+     *
+     * @param exchange Die Anfrage und ihre Antwort.
+     * @param request  Die Anfrage.
+     *
+     * @throws IOException Wenn die temporäre Datei nicht erstellt oder die Antwort nicht geschrieben werden kann.
+     */
+    private static void respondFromFile(
+        @NotNull final HttpExchange exchange,
+        @NotNull final CouponRequest request
+    ) throws IOException {
+        final Path file = Files.createTempFile("coupons", ".pdf");
+
+        try {
+            try {
+                request.toCoupon().generate(file.toFile());
+            } catch (@NotNull final Throwable e) {
+                // the document exception of the generation is thrown sneakily
+                sendError(exchange, STATUS_INTERNAL_ERROR, "Die Generierung ist fehlgeschlagen.");
+                return;
+            }
+
+            exchange.sendResponseHeaders(STATUS_OK, Files.size(file));
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                Files.copy(file, out);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Generiert eine kleine Anfrage im Arbeitsspeicher oder entnimmt sie dem {@link PdfCache}. Wird eine gleiche
+     * Anfrage bereits generiert, wird auf deren Ergebnis gewartet, anstatt das Dokument erneut zu generieren.
+     *
+     * @param request Die Anfrage.
+     *
+     * @return Das generierte PDF-Dokument.
+     */
+    @NotNull
+    private ByteBuffer generateBatched(@NotNull final CouponRequest request) {
+        final CompletableFuture<ByteBuffer> own = new CompletableFuture<>();
+        final CompletableFuture<ByteBuffer> running = this.pending.putIfAbsent(request, own);
+
+        // join identical request which is already being generated
+        if (running != null) {
+            try {
+                return running.join().duplicate();
+            } catch (@NotNull final CompletionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        try {
+            final ByteBuffer pdf = (this.cache == null)
+                ? request.toCoupon().generateToBuffer()
+                : this.cache.get(request.toCoupon());
+            own.complete(pdf);
+            return pdf.duplicate();
+        } catch (@NotNull final Throwable e) {
+            // every failure, even a sneakily thrown one, has to release the waiting identical requests
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.pending.remove(request, own);
+        }
+    }
+
+    /**
+     * Liest den Inhalt einer Anfrage ein, welcher höchstens {@link #MAX_REQUEST_SIZE} Bytes groß sein darf.
+     *
+     * @param in Der Inhalt der Anfrage.
+     *
+     * @return Der Inhalt der Anfrage als Text.
+     *
+     * @throws IOException Wenn der Inhalt nicht gelesen werden kann.
+     */
+    @NotNull
+    private static String readBody(@NotNull final InputStream in) throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        int read;
+
+        while ((read = in.read(buffer)) != -1) {
+            body.write(buffer, 0, read);
+
+            if (body.size() > MAX_REQUEST_SIZE) throw new IllegalArgumentException("Die Anfrage ist zu groß.");
+        }
+
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Schickt eine Fehlermeldung als Text zurück.
+     *
+     * @param exchange Die Anfrage und ihre Antwort.
+     * @param status   Der Status-Code der Antwort.
+     * @param message  Die Fehlermeldung.
+     *
+     * @throws IOException Wenn die Antwort nicht geschrieben werden kann.
+     */
+    private static void sendError(
+        @NotNull final HttpExchange exchange,
+        final int status,
+        @NotNull final String message
+    ) throws IOException {
+        final byte[] body = message.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Erzeugt einen {@link ExecutorService}, welcher jede Anfrage auf einem eigenen virtuellen Thread bearbeitet,
+     * sofern die JVM virtuelle Threads unterstützt.
+     *
+     * @return Der {@link ExecutorService} mit virtuellen Threads oder {@code null}, falls die JVM diese nicht
+     *     unterstützt.
+     */
+    @Nullable
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (@NotNull final ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+}
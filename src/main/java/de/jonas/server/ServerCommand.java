@@ -0,0 +1,140 @@
+package de.jonas.server;
+
+import de.jonas.cache.PdfCache;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+
+/**
+ * <p>Der {@link ServerCommand} startet einen {@link CouponServer} über die Kommandozeile:</p>
+ * <pre>java -jar CouponGenerator.jar --server &lt;Port&gt; [--workers &lt;Anzahl&gt;] [--max-in-flight &lt;Anzahl&gt;]
+ *     [--cache &lt;Verzeichnis&gt;]</pre>
+ * <p>Standardmäßig wird ein Thread pro Prozessor genutzt und doppelt so viele Anfragen gleichzeitig bearbeitet, wie
+ * es Threads gibt. Wird ein Verzeichnis für den {@link PdfCache} angegeben, werden alle generierten Dokumente
+ * zwischengespeichert. Der {@link CouponServer} läuft so lange, bis die JVM beendet wird.</p>
+ */
+@NotNull
+public final class ServerCommand {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Das Argument, mit dem der Port angegeben wird. */
+    @NotNull
+    public static final String SERVER_ARGUMENT = "--server";
+    /** Das Argument, mit dem die Anzahl an Threads angegeben wird. */
+    @NotNull
+    private static final String WORKERS_ARGUMENT = "--workers";
+    /** Das Argument, mit dem die maximale Anzahl an gleichzeitig bearbeiteten Anfragen angegeben wird. */
+    @NotNull
+    private static final String MAX_IN_FLIGHT_ARGUMENT = "--max-in-flight";
+    /** Das Argument, mit dem das Verzeichnis des {@link PdfCache} angegeben wird. */
+    @NotNull
+    private static final String CACHE_ARGUMENT = "--cache";
+    /** Der höchste gültige Port. */
+    private static final int MAX_PORT = 65535;
+    /** Die maximale Größe aller Dokumente des {@link PdfCache} im Arbeitsspeicher in Bytes. */
+    private static final long CACHE_MEMORY_BYTES = 64L * 1024 * 1024;
+    /** Die maximale Größe eines einzelnen Dokuments, bis zu der es im Arbeitsspeicher gehalten wird. */
+    private static final int CACHE_MEMORY_ENTRY_MAX_BYTES = 1024 * 1024;
+    /** Die maximale Größe aller Dokumente des {@link PdfCache} auf der Festplatte in Bytes. */
+    private static final long CACHE_DISK_BYTES = 1024L * 1024 * 1024;
+    /** Die Beschreibung, wie der {@link ServerCommand} aufgerufen wird. */
+    @NotNull
+    private static final String USAGE = "Nutzung: --server <Port> [--workers <Anzahl>] [--max-in-flight <Anzahl>]"
+        + " [--cache <Verzeichnis>]";
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Der Konstruktor dieser Klasse ist privat, da es sich um eine reine Hilfsklasse handelt.
+     */
+    private ServerCommand() {
+        throw new UnsupportedOperationException();
+    }
+    //</editor-fold>
+
+
+    /**
+     * Führt den {@link ServerCommand} mit den Argumenten der Kommandozeile aus und startet den {@link CouponServer}.
+     *
+     * @param args Die Argumente der Kommandozeile.
+     *
+     * @return Der Exit-Code der Anwendung, falls die Argumente ungültig sind, ansonsten {@code -1}, da die Anwendung
+     *     weiterläuft.
+     *
+     * @throws Exception Wenn der {@link CouponServer} nicht gestartet werden kann.
+     */
+    public static int execute(@NotNull final String @NotNull [] args) throws Exception {
+        int port = -1;
+        int workers = Runtime.getRuntime().availableProcessors();
+        @Nullable Integer maxInFlight = null;
+        @Nullable File cacheDirectory = null;
+
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length) {
+                System.err.println(USAGE);
+                return 2;
+            }
+
+            switch (args[i]) {
+                case SERVER_ARGUMENT:
+                    port = parseNumber(args[++i]);
+                    break;
+                case WORKERS_ARGUMENT:
+                    workers = parseNumber(args[++i]);
+                    break;
+                case MAX_IN_FLIGHT_ARGUMENT:
+                    maxInFlight = parseNumber(args[++i]);
+                    break;
+                case CACHE_ARGUMENT:
+                    cacheDirectory = new File(args[++i]);
+                    break;
+                default:
+                    System.err.println(USAGE);
+                    return 2;
+            }
+        }
+
+        if (port < 0 || port > MAX_PORT || workers < 1 || (maxInFlight != null && maxInFlight < 1)) {
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        // the default depends on the number of threads, which may only be known after all arguments have been read
+        if (maxInFlight == null) maxInFlight = 2 * workers;
+
+        @Nullable final PdfCache cache = (cacheDirectory == null) ? null : new PdfCache(
+            CACHE_MEMORY_BYTES,
+            CACHE_MEMORY_ENTRY_MAX_BYTES,
+            cacheDirectory,
+            CACHE_DISK_BYTES
+        );
+        final CouponServer server = new CouponServer(port, workers, maxInFlight, cache);
+        server.start();
+
+        System.out.println(
+            "Gutschein-Dienst läuft unter http://localhost:" + server.getPort() + CouponServer.PATH
+                + (server.isVirtualThreads() ? " (virtuelle Threads)" : " (" + workers + " Threads)")
+        );
+        return -1;
+    }
+
+    /**
+     * Liest die Zahl eines Arguments, ohne bei einer ungültigen Zahl eine Exception zu werfen, damit stattdessen die
+     * Nutzung ausgegeben werden kann.
+     *
+     * @param argument Das Argument der Kommandozeile.
+     *
+     * @return Die Zahl des Arguments oder {@code -1}, falls es sich um keine gültige Zahl handelt.
+     */
+    private static int parseNumber(@NotNull final String argument) {
+        try {
+            return Integer.parseInt(argument);
+        } catch (@NotNull final NumberFormatException e) {
+            return -1;
+        }
+    }
+
+}
@@ -0,0 +1,5 @@
+/**
+ * In diesem Package befinden sich alle Klassen des eingebetteten HTTP-Dienstes, über den andere Anwendungen Gutscheine
+ * generieren lassen können, ohne dafür jedes Mal eine eigene JVM zu starten.
+ */
+package de.jonas.server;
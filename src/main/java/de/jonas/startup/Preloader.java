@@ -0,0 +1,70 @@
+package de.jonas.startup;
+
+import de.jonas.object.Coupon;
+import de.jonas.object.CouponRasterizer;
+import de.jonas.object.gui.Draw;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>Der {@link Preloader} lädt iText und alle Schriftarten, während der Nutzer noch die Attribute der Gutscheine
+ * eingibt. Dafür wird einmalig ein einzelner Gutschein im Arbeitsspeicher generiert und als Vorschau gezeichnet, sodass
+ * anschließend alle Klassen geladen und initialisiert, die Metriken der Schriftarten eingelesen und die wichtigsten
+ * Methoden bereits mehrfach ausgeführt wurden.</p>
+ * <p>Ohne den {@link Preloader} würde all dies erst beim Generieren des ersten PDF-Dokuments bzw. beim Zeichnen der
+ * ersten Vorschau geschehen, also genau dann, wenn der Nutzer auf das Ergebnis wartet.</p>
+ */
+@NotNull
+public final class Preloader {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Der Name des Threads, in dem iText im Hintergrund geladen wird. */
+    @NotNull
+    private static final String THREAD_NAME = "Vorbereitung";
+    /** Die Breite des Gutscheins, welcher zum Laden generiert wird. */
+    private static final int WIDTH = 150;
+    /** Die Höhe des Gutscheins, welcher zum Laden generiert wird. */
+    private static final int HEIGHT = 200;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Der Konstruktor dieser Klasse ist privat, da es sich um eine reine Hilfsklasse handelt.
+     */
+    private Preloader() {
+        throw new UnsupportedOperationException();
+    }
+    //</editor-fold>
+
+
+    /**
+     * Startet das Laden von iText in einem eigenen Thread mit niedriger Priorität, damit das bereits geöffnete Fenster
+     * weiterhin flüssig bedient werden kann. Der Thread hält die JVM nicht am Leben.
+     */
+    public static void start() {
+        final Thread thread = new Thread(Preloader::preload, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Lädt iText und alle Schriftarten im aktuellen Thread, indem ein einzelner Gutschein generiert und als Vorschau
+     * gezeichnet wird. Schlägt dies fehl, wird der Fehler ignoriert, da er spätestens bei der eigentlichen Generierung
+     * erneut auftritt und dort angezeigt wird.
+     */
+    public static void preload() {
+        try {
+            final Coupon coupon = new Coupon("Max Mustermann", "Geburtstag", "Jonas", WIDTH, HEIGHT, 1, 0);
+
+            coupon.generateToBuffer();
+            new CouponRasterizer().rasterizeToFit(coupon, Draw.PREVIEW_WIDTH, Draw.PREVIEW_HEIGHT);
+        } catch (@NotNull final RuntimeException ignored) {
+            return;
+        }
+
+        StartupTiming.mark(StartupMilestone.PRELOADED);
+    }
+
+}
@@ -0,0 +1,30 @@
+package de.jonas.startup;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Ein {@link StartupMilestone} ist ein Zeitpunkt während des Starts der Anwendung, dessen Abstand zum Start der JVM
+ * von der {@link StartupTiming} gemessen wird. Jeder Meilenstein wird nur beim ersten Erreichen gemessen.
+ */
+@Getter
+@NotNull
+@RequiredArgsConstructor
+public enum StartupMilestone {
+
+    /** Das Fenster der grafischen Oberfläche wurde geöffnet und kann vom Nutzer bedient werden. */
+    WINDOW("erstes Fenster"),
+    /** iText und alle Schriftarten wurden vom {@link Preloader} im Hintergrund geladen. */
+    PRELOADED("iText geladen"),
+    /** Das erste PDF-Dokument wurde vollständig generiert und in einer Datei gespeichert. */
+    FIRST_PDF("erstes PDF");
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der Name dieses Meilensteins, wie er in der Ausgabe der {@link StartupTiming} angezeigt wird. */
+    @NotNull
+    private final String label;
+    //</editor-fold>
+
+}
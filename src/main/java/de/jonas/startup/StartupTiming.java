@@ -0,0 +1,68 @@
+package de.jonas.startup;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Die {@link StartupTiming} misst, wie lange es nach dem Start der JVM dauert, bis ein {@link StartupMilestone}
+ * erreicht wird. Die Messung ist standardmäßig deaktiviert und wird über eine System-Property aktiviert, woraufhin
+ * jeder Meilenstein beim ersten Erreichen auf {@link System#err} ausgegeben wird:</p>
+ * <pre>java -Dcoupon.startupTiming=true -jar CouponGenerator.jar</pre>
+ * <p>Wird zusätzlich {@code -Dcoupon.startupTiming.exitAfter=<Meilenstein>} übergeben, wird die JVM direkt nach
+ * diesem Meilenstein beendet, damit sich z.B. die Zeit bis zum ersten Fenster automatisiert und wiederholt vermessen
+ * lässt.</p>
+ */
+@NotNull
+public final class StartupTiming {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die System-Property, mit der die Messung aktiviert wird. */
+    @NotNull
+    public static final String ENABLED_PROPERTY = "coupon.startupTiming";
+    /** Die System-Property, mit welcher der {@link StartupMilestone} angegeben wird, nach dem die JVM beendet wird. */
+    @NotNull
+    public static final String EXIT_AFTER_PROPERTY = "coupon.startupTiming.exitAfter";
+    /** Ob die Messung aktiviert ist. */
+    private static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+    /** Alle {@link StartupMilestone Meilensteine}, die bereits erreicht wurden. */
+    @NotNull
+    private static final Set<StartupMilestone> REACHED = ConcurrentHashMap.newKeySet();
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Der Konstruktor dieser Klasse ist privat, da es sich um eine reine Hilfsklasse handelt.
+     */
+    private StartupTiming() {
+        throw new UnsupportedOperationException();
+    }
+    //</editor-fold>
+
+
+    /**
+     * Markiert, dass ein {@link StartupMilestone} erreicht wurde, und gibt die seit dem Start der JVM vergangene Zeit
+     * aus, sofern die Messung aktiviert ist und der Meilenstein zum ersten Mal erreicht wurde. Ist die Messung
+     * deaktiviert, kostet ein Aufruf dieser Methode nahezu nichts.
+     *
+     * @param milestone Der {@link StartupMilestone}, der erreicht wurde.
+     */
+    public static void mark(@NotNull final StartupMilestone milestone) {
+        if (!ENABLED || !REACHED.add(milestone)) return;
+
+        // take the time before the management classes are loaded, so that loading them is not measured
+        final long now = System.currentTimeMillis();
+        final long elapsed = now - ManagementFactory.getRuntimeMXBean().getStartTime();
+
+        System.err.println(
+            "Startzeit: " + milestone.name() + " (" + milestone.getLabel() + ") nach " + elapsed + " ms"
+        );
+
+        if (milestone.name().equals(System.getProperty(EXIT_AFTER_PROPERTY))) System.exit(0);
+    }
+
+}
@@ -0,0 +1,172 @@
+package de.jonas.startup;
+
+import de.jonas.batch.BatchCommand;
+import de.jonas.batch.BatchJob;
+import de.jonas.gui.Gui;
+import de.jonas.object.BarcodeType;
+import de.jonas.object.Coupon;
+import de.jonas.object.RenderMode;
+import de.jonas.object.SequentialSerialGenerator;
+import de.jonas.object.gui.Draw;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.SwingUtilities;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * <p>Der {@link TrainingCommand} führt alle typischen Abläufe der Anwendung einmal aus, damit die JVM dabei ein Archiv
+ * für Class Data Sharing (AppCDS) anlegen kann. In diesem Archiv liegen alle dabei geladenen Klassen bereits
+ * eingelesen und geprüft vor, sodass sie bei jedem weiteren Start nur noch in den Speicher abgebildet werden:</p>
+ * <pre>java -XX:ArchiveClassesAtExit=CouponGenerator.jsa -jar CouponGenerator.jar --cds-training</pre>
+ * <p>Mit dem Maven-Profil {@code cds} wird das Archiv beim Bauen automatisch neben der Jar-Datei angelegt
+ * ({@code mvn package -Pcds}) und kann anschließend bei jedem Start übergeben werden:</p>
+ * <pre>java -XX:SharedArchiveFile=CouponGenerator.jsa -jar CouponGenerator.jar</pre>
+ * <p>Das Archiv gehört zu genau der Jar-Datei und JVM, mit der es angelegt wurde. Passt es nicht, startet die JVM ohne
+ * Archiv und somit lediglich etwas langsamer. Zum Anlegen des Archivs wird mindestens Java 13 benötigt.</p>
+ */
+@NotNull
+public final class TrainingCommand {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Das Argument, mit dem der {@link TrainingCommand} ausgeführt wird. */
+    @NotNull
+    public static final String TRAINING_ARGUMENT = "--cds-training";
+    /** Die Beschreibung, wie der {@link TrainingCommand} aufgerufen wird. */
+    @NotNull
+    private static final String USAGE = "Nutzung: --cds-training";
+    /** Der Titel, mit dem die grafische Oberfläche gezeichnet wird. */
+    @NotNull
+    private static final String TITLE = "Gutschein-Generator";
+    /** Die Breite bzw. Höhe, in der die grafische Oberfläche gezeichnet wird. */
+    private static final int DRAW_SIZE = 500;
+    /** Die Breite der Gutscheine, die generiert werden. */
+    private static final int COUPON_WIDTH = 150;
+    /** Die Höhe der Gutscheine, die generiert werden. */
+    private static final int COUPON_HEIGHT = 200;
+    /** Die Anzahl an Gutscheinen, die in jeder Art und Weise generiert werden. */
+    private static final int AMOUNT = 20;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Der Konstruktor dieser Klasse ist privat, da es sich um eine reine Hilfsklasse handelt.
+     */
+    private TrainingCommand() {
+        throw new UnsupportedOperationException();
+    }
+    //</editor-fold>
+
+
+    /**
+     * Führt den {@link TrainingCommand} mit den Argumenten der Kommandozeile aus. Alle dabei generierten Dateien werden
+     * in einem temporären Verzeichnis abgelegt und am Ende wieder gelöscht.
+     *
+     * @param args Die Argumente der Kommandozeile.
+     *
+     * @return Der Exit-Code der Anwendung.
+     *
+     * @throws Exception Wenn einer der Abläufe fehlschlägt.
+     */
+    public static int execute(@NotNull final String @NotNull [] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        final File directory = Files.createTempDirectory("coupon-training").toFile();
+
+        try {
+            trainGeneration(directory);
+            trainBatch(directory);
+            Preloader.preload();
+            SwingUtilities.invokeAndWait(TrainingCommand::trainGui);
+        } finally {
+            final File[] files = directory.listFiles();
+
+            if (files != null) {
+                for (@NotNull final File file : files) Files.deleteIfExists(file.toPath());
+            }
+
+            Files.deleteIfExists(directory.toPath());
+        }
+
+        return 0;
+    }
+
+    /**
+     * Generiert Gutscheine in jeder {@link RenderMode Art und Weise} und mit jedem {@link BarcodeType}, so wie es die
+     * grafische Oberfläche, der Server und die Stapelverarbeitung tun.
+     *
+     * @param directory Das Verzeichnis, in dem die Dateien abgelegt werden.
+     */
+    private static void trainGeneration(@NotNull final File directory) {
+        for (@NotNull final RenderMode renderMode : RenderMode.values()) {
+            for (@NotNull final BarcodeType barcodeType : BarcodeType.values()) {
+                final Coupon coupon = createCoupon();
+                coupon.setRenderMode(renderMode);
+                coupon.setBarcodeType(barcodeType);
+                coupon.setSerialGenerator((barcodeType == BarcodeType.NONE) ? null : new SequentialSerialGenerator(1));
+                coupon.generateToBuffer();
+            }
+        }
+
+        createCoupon().generate(new File(directory, "training.pdf"));
+    }
+
+    /**
+     * Führt die Stapelverarbeitung mit einer Auftragsdatei aus, die genau einen Auftrag enthält.
+     *
+     * @param directory Das Verzeichnis, in dem die Auftragsdatei und das generierte Dokument abgelegt werden.
+     *
+     * @throws Exception Wenn die Auftragsdatei nicht geschrieben oder gelesen werden kann.
+     */
+    private static void trainBatch(@NotNull final File directory) throws Exception {
+        final File jobFile = new File(directory, "training.csv");
+        final String job = String.join(",", BatchJob.COLUMNS) + System.lineSeparator()
+            + "Max Mustermann,Geburtstag,Jonas," + COUPON_WIDTH + "," + COUPON_HEIGHT + "," + AMOUNT + ",1,"
+            + new File(directory, "batch.pdf").getAbsolutePath() + System.lineSeparator();
+
+        Files.write(jobFile.toPath(), job.getBytes(StandardCharsets.UTF_8));
+
+        if (BatchCommand.execute(new String[]{BatchCommand.BATCH_ARGUMENT, jobFile.getPath()}) != 0) {
+            throw new IOException("Die Stapelverarbeitung ist fehlgeschlagen.");
+        }
+    }
+
+    /**
+     * Erzeugt die grafische Oberfläche, ohne sie anzuzeigen, und zeichnet ihren Hintergrund in ein Bild. Ohne
+     * Bildschirm kann kein Fenster erzeugt werden, weshalb dann lediglich der Hintergrund gezeichnet wird. Diese
+     * Methode muss im Event-Dispatch-Thread aufgerufen werden.
+     */
+    private static void trainGui() {
+        if (!GraphicsEnvironment.isHeadless()) new Gui().dispose();
+
+        final Draw draw = new Draw(TITLE);
+        draw.setSize(DRAW_SIZE, DRAW_SIZE);
+
+        final BufferedImage image = new BufferedImage(DRAW_SIZE, DRAW_SIZE, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D graphics = image.createGraphics();
+        draw.paint(graphics);
+        graphics.dispose();
+    }
+
+    /**
+     * Erzeugt einen {@link Coupon} mit typischen Attributen.
+     *
+     * @return Der erzeugte {@link Coupon}.
+     */
+    @NotNull
+    private static Coupon createCoupon() {
+        return new Coupon("Max Mustermann", "Geburtstag", "Jonas", COUPON_WIDTH, COUPON_HEIGHT, AMOUNT, 1);
+    }
+
+}
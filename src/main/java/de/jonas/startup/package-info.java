@@ -0,0 +1,5 @@
+/**
+ * In diesem Package befinden sich alle Klassen, die den Start der Anwendung beschleunigen oder vermessen, also das
+ * Vorladen von iText im Hintergrund, das Anlegen eines Archivs für Class Data Sharing und die Messung der Startzeit.
+ */
+package de.jonas.startup;
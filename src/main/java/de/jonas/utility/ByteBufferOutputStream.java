@@ -0,0 +1,39 @@
+package de.jonas.utility;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Ein {@link ByteBufferOutputStream} ist ein {@link ByteArrayOutputStream}, dessen geschriebene Bytes ohne eine
+ * weitere Kopie als {@link ByteBuffer} herausgegeben werden können.
+ */
+@NotNull
+public final class ByteBufferOutputStream extends ByteArrayOutputStream {
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt einen neuen {@link ByteBufferOutputStream} mit einer bestimmten anfänglichen Kapazität.
+     *
+     * @param capacity Die anfängliche Kapazität in Bytes.
+     */
+    public ByteBufferOutputStream(final int capacity) {
+        super(capacity);
+    }
+    //</editor-fold>
+
+
+    /**
+     * Gibt alle bisher geschriebenen Bytes als {@link ByteBuffer} zurück. Der {@link ByteBuffer} teilt sich den
+     * Speicher mit diesem Stream und darf deshalb erst genutzt werden, wenn nichts mehr geschrieben wird.
+     *
+     * @return Alle bisher geschriebenen Bytes als {@link ByteBuffer}, bereit zum Lesen.
+     */
+    @NotNull
+    public synchronized ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(super.buf, 0, super.count);
+    }
+
+}
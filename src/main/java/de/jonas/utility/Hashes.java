@@ -0,0 +1,73 @@
+package de.jonas.utility;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Mithilfe der {@link Hashes} lassen sich SHA-256-Hashes in hexadezimaler Darstellung berechnen, z.B. um Dateien,
+ * zwischengespeicherte Dokumente oder Aufträge anhand ihres Inhalts zu identifizieren.
+ */
+@NotNull
+public final class Hashes {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Alle Ziffern des Hexadezimalsystems, mit denen ein Hash kodiert wird. */
+    private static final char @NotNull [] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Der Konstruktor dieser Klasse ist privat, da es sich um eine reine Hilfsklasse handelt.
+     */
+    private Hashes() {
+        throw new UnsupportedOperationException();
+    }
+    //</editor-fold>
+
+
+    /**
+     * Berechnet den SHA-256-Hash eines Textes, welcher dafür in UTF-8 kodiert wird.
+     *
+     * @param text Der Text.
+     *
+     * @return Der Hash in hexadezimaler Darstellung.
+     */
+    @NotNull
+    public static String sha256(@NotNull final String text) {
+        return sha256(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Berechnet den SHA-256-Hash über beliebige Bytes, z.B. über den Inhalt einer Datei.
+     *
+     * @param data Die Bytes.
+     *
+     * @return Der Hash in hexadezimaler Darstellung.
+     */
+    @NotNull
+    public static String sha256(final byte @NotNull [] data) {
+        final MessageDigest digest;
+
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (@NotNull final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        final byte[] bytes = digest.digest(data);
+        final char[] hex = new char[bytes.length * 2];
+
+        for (int i = 0; i < bytes.length; i++) {
+            hex[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            hex[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+
+        return new String(hex);
+    }
+
+}
@@ -0,0 +1,221 @@
+package de.jonas.utility;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Mithilfe des {@link JsonObjectParser} lässt sich ein flaches JSON-Objekt, also ein Objekt, welches ausschließlich
+ * Zeichenketten, Zahlen, Wahrheitswerte oder {@code null} als Werte enthält, in eine {@link Map} umwandeln. Alle Werte
+ * werden dabei als {@link String} übernommen.
+ */
+@NotNull
+public final class JsonObjectParser {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der JSON-Text, welcher umgewandelt wird. */
+    @NotNull
+    private final String json;
+    /** Die aktuelle Position im JSON-Text. */
+    private int position;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt einen neuen {@link JsonObjectParser} für einen bestimmten JSON-Text.
+     *
+     * @param json Der JSON-Text, welcher umgewandelt wird.
+     */
+    private JsonObjectParser(@NotNull final String json) {
+        this.json = json;
+    }
+    //</editor-fold>
+
+
+    /**
+     * Wandelt ein flaches JSON-Objekt in eine {@link Map} um, in der alle Schlüssel in ihrer ursprünglichen Reihenfolge
+     * auf ihren jeweiligen Wert abgebildet werden.
+     *
+     * @param json Das flache JSON-Objekt.
+     *
+     * @return Alle Schlüssel und Werte des JSON-Objekts.
+     *
+     * @throws IllegalArgumentException Wenn der Text kein gültiges, flaches JSON-Objekt ist.
+     */
+    @NotNull
+    public static Map<String, String> parse(@NotNull final String json) {
+        return new JsonObjectParser(json).parseObject();
+    }
+
+    /**
+     * Liest das gesamte JSON-Objekt ein.
+     *
+     * @return Alle Schlüssel und Werte des JSON-Objekts.
+     */
+    @NotNull
+    private Map<String, String> parseObject() {
+        final Map<String, String> values = new LinkedHashMap<>();
+
+        expect('{');
+        skipWhitespace();
+
+        if (peek() == '}') {
+            this.position++;
+            return values;
+        }
+
+        while (true) {
+            skipWhitespace();
+            final String key = parseString();
+
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+
+            values.put(key, parseValue());
+
+            skipWhitespace();
+            final char next = next();
+
+            if (next == '}') break;
+            if (next != ',') throw error("',' oder '}' erwartet");
+        }
+
+        skipWhitespace();
+        if (this.position != this.json.length()) throw error("Ende des Objekts erwartet");
+
+        return values;
+    }
+
+    /**
+     * Liest einen einzelnen Wert ein.
+     *
+     * @return Der eingelesene Wert als {@link String} oder {@code null}, falls der Wert {@code null} ist.
+     */
+    private String parseValue() {
+        final char first = peek();
+
+        if (first == '"') return parseString();
+        if (first == '{' || first == '[') throw error("verschachtelte Werte werden nicht unterstützt");
+
+        final int start = this.position;
+
+        while (this.position < this.json.length() && ",} \t\r\n".indexOf(this.json.charAt(this.position)) < 0) {
+            this.position++;
+        }
+
+        final String literal = this.json.substring(start, this.position);
+
+        if (literal.isEmpty()) throw error("Wert erwartet");
+
+        return literal.equals("null") ? null : literal;
+    }
+
+    /**
+     * Liest eine Zeichenkette inklusive ihrer Escape-Sequenzen ein.
+     *
+     * @return Die eingelesene Zeichenkette.
+     */
+    @NotNull
+    @SuppressWarnings("checkstyle:MagicNumber")
+    private String parseString() {
+        expect('"');
+
+        final StringBuilder builder = new StringBuilder();
+
+        while (true) {
+            final char current = next();
+
+            if (current == '"') return builder.toString();
+
+            if (current != '\\') {
+                builder.append(current);
+                continue;
+            }
+
+            final char escaped = next();
+
+            switch (escaped) {
+                case 'b':
+                    builder.append('\b');
+                    break;
+                case 'f':
+                    builder.append('\f');
+                    break;
+                case 'n':
+                    builder.append('\n');
+                    break;
+                case 'r':
+                    builder.append('\r');
+                    break;
+                case 't':
+                    builder.append('\t');
+                    break;
+                case 'u':
+                    if (this.position + 4 > this.json.length()) throw error("ungültige Escape-Sequenz");
+                    builder.append((char) Integer.parseInt(this.json.substring(this.position, this.position + 4), 16));
+                    this.position += 4;
+                    break;
+                default:
+                    builder.append(escaped);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Überspringt alle Leerzeichen ab der aktuellen Position.
+     */
+    private void skipWhitespace() {
+        while (this.position < this.json.length() && Character.isWhitespace(this.json.charAt(this.position))) {
+            this.position++;
+        }
+    }
+
+    /**
+     * Liest ein bestimmtes Zeichen ein und wirft einen Fehler, wenn an der aktuellen Position ein anderes Zeichen
+     * steht.
+     *
+     * @param expected Das erwartete Zeichen.
+     */
+    private void expect(final char expected) {
+        if (next() != expected) throw error("'" + expected + "' erwartet");
+    }
+
+    /**
+     * Gibt das Zeichen an der aktuellen Position zurück, ohne die Position zu verändern.
+     *
+     * @return Das Zeichen an der aktuellen Position.
+     */
+    private char peek() {
+        if (this.position >= this.json.length()) throw error("unerwartetes Ende");
+        return this.json.charAt(this.position);
+    }
+
+    /**
+     * Gibt das Zeichen an der aktuellen Position zurück und springt zum nächsten Zeichen.
+     *
+     * @return Das Zeichen an der aktuellen Position.
+     */
+    private char next() {
+        final char current = peek();
+        this.position++;
+        return current;
+    }
+
+    /**
+     * Erzeugt einen Fehler, welcher die aktuelle Position im JSON-Text enthält.
+     *
+     * @param message Die Beschreibung des Fehlers.
+     *
+     * @return Der erzeugte Fehler.
+     */
+    @NotNull
+    private IllegalArgumentException error(@NotNull final String message) {
+        return new IllegalArgumentException("Ungültiges JSON an Position " + this.position + ": " + message);
+    }
+
+}
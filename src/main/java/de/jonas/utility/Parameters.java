@@ -0,0 +1,103 @@
+package de.jonas.utility;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.Map;
+
+/**
+ * Mithilfe der {@link Parameters} lassen sich einzelne Werte aus einer {@link Map} von Parametern, wie sie z.B. aus
+ * einer Zeile einer Auftragsdatei oder aus einer Anfrage stammen, auslesen und überprüfen.
+ */
+@NotNull
+public final class Parameters {
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Der Konstruktor dieser Klasse ist privat, da es sich um eine reine Hilfsklasse handelt.
+     */
+    private Parameters() {
+        throw new UnsupportedOperationException();
+    }
+    //</editor-fold>
+
+
+    /**
+     * Gibt den Text eines bestimmten Parameters zurück.
+     *
+     * @param values Alle Parameter, anhand ihres Namens.
+     * @param name   Der Name des Parameters.
+     *
+     * @return Der Text des Parameters.
+     *
+     * @throws IllegalArgumentException Wenn der Parameter fehlt oder leer ist.
+     */
+    @NotNull
+    public static String getText(@NotNull final Map<String, String> values, @NotNull final String name) {
+        @Nullable final String value = values.get(name);
+
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Der Wert für '" + name + "' fehlt.");
+        }
+
+        return value;
+    }
+
+    /**
+     * Gibt die nicht negative Zahl eines bestimmten Parameters zurück.
+     *
+     * @param values Alle Parameter, anhand ihres Namens.
+     * @param name   Der Name des Parameters.
+     *
+     * @return Die Zahl des Parameters.
+     *
+     * @throws IllegalArgumentException Wenn der Parameter fehlt oder keine gültige Zahl ist.
+     */
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    public static int getNumber(@NotNull final Map<String, String> values, @NotNull final String name) {
+        final String value = getText(values, name).trim();
+
+        if (!value.matches("[0-9]+")) {
+            throw new IllegalArgumentException("Der Wert für '" + name + "' ist keine gültige Zahl: " + value);
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (@NotNull final NumberFormatException e) {
+            throw new IllegalArgumentException("Der Wert für '" + name + "' ist zu groß: " + value, e);
+        }
+    }
+
+    /**
+     * Gibt die Zahl eines bestimmten Parameters zurück, welche innerhalb eines bestimmten Bereichs liegen muss.
+     *
+     * @param values Alle Parameter, anhand ihres Namens.
+     * @param name   Der Name des Parameters.
+     * @param min    Der kleinste erlaubte Wert.
+     * @param max    Der größte erlaubte Wert.
+     *
+     * @return Die Zahl des Parameters.
+     *
+     * @throws IllegalArgumentException Wenn der Parameter fehlt, keine gültige Zahl ist oder außerhalb des Bereichs
+     *                                  liegt.
+     */
+    public static int getNumber(
+        @NotNull final Map<String, String> values,
+        @NotNull final String name,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int min,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int max
+    ) {
+        final int number = getNumber(values, name);
+
+        if (number < min || number > max) {
+            throw new IllegalArgumentException(
+                "Der Wert für '" + name + "' muss zwischen " + min + " und " + max + " liegen: " + number
+            );
+        }
+
+        return number;
+    }
+
+}
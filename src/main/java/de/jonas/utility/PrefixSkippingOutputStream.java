@@ -0,0 +1,70 @@
+package de.jonas.utility;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Ein {@link PrefixSkippingOutputStream} verwirft eine feste Anzahl an Bytes am Anfang und leitet erst alle
+ * nachfolgenden Bytes an einen anderen {@link OutputStream} weiter. Damit lässt sich eine Ausgabe, die immer mit dem
+ * bisherigen Inhalt einer Datei beginnt, direkt an das Ende dieser Datei anhängen, ohne den bisherigen Inhalt erneut zu
+ * schreiben.
+ */
+@NotNull
+public final class PrefixSkippingOutputStream extends FilterOutputStream {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Anzahl an Bytes, die noch verworfen werden, bevor die Bytes weitergeleitet werden. */
+    private long remaining;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt einen neuen {@link PrefixSkippingOutputStream}, welcher eine bestimmte Anzahl an Bytes verwirft.
+     *
+     * @param out    Der {@link OutputStream}, an den alle Bytes nach dem Anfang weitergeleitet werden.
+     * @param prefix Die Anzahl an Bytes am Anfang, die verworfen werden.
+     */
+    public PrefixSkippingOutputStream(
+        @NotNull final OutputStream out,
+        @Range(from = 0, to = Long.MAX_VALUE) final long prefix
+    ) {
+        super(out);
+        this.remaining = prefix;
+    }
+    //</editor-fold>
+
+
+    /**
+     * Prüft, ob bereits alle Bytes des Anfangs geschrieben und verworfen wurden.
+     *
+     * @return Ob bereits alle Bytes des Anfangs geschrieben und verworfen wurden.
+     */
+    public boolean isPrefixSkipped() {
+        return this.remaining == 0;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        if (this.remaining > 0) {
+            this.remaining--;
+            return;
+        }
+
+        super.out.write(b);
+    }
+
+    @Override
+    public void write(final byte @NotNull [] b, final int off, final int len) throws IOException {
+        final int skipped = (int) Math.min(this.remaining, len);
+        this.remaining -= skipped;
+
+        if (skipped < len) super.out.write(b, off + skipped, len - skipped);
+    }
+
+}
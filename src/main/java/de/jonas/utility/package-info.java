@@ -0,0 +1,4 @@
+/**
+ * In diesem Package befinden sich allgemeine Hilfsklassen, die von mehreren Teilen der Anwendung genutzt werden.
+ */
+package de.jonas.utility;
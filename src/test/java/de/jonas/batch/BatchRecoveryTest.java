@@ -0,0 +1,173 @@
+package de.jonas.batch;
+
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Prüft, dass ein {@link BatchRunner} einen abgebrochenen Durchlauf mithilfe seines {@link BatchJournal} fortsetzt.
+ * Dafür wird die Generierung direkt nach einem bestimmten Abschnitt abgebrochen und anschließend mit demselben Journal
+ * wiederholt. Das fortgesetzte Dokument muss Seite für Seite mit einem Dokument übereinstimmen, welches ohne
+ * Unterbrechung generiert wurde, und darf keinen bereits gesicherten Abschnitt erneut generieren.
+ */
+public final class BatchRecoveryTest {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Anzahl an Seiten eines Abschnitts, klein genug für viele Abschnitte pro Dokument. */
+    private static final int CHECKPOINT_PAGES = 2;
+    /** Der Abschnitt, nach dem der erste Durchlauf abgebrochen wird. */
+    private static final int FAILED_SEGMENT = 2;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der temporäre Ordner, in dem alle Dokumente und das Journal abgelegt werden. */
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+    //</editor-fold>
+
+
+    /**
+     * Bricht die Generierung nach einem Abschnitt ab, setzt sie fort und vergleicht das Ergebnis mit einem Dokument,
+     * das ohne Unterbrechung generiert wurde.
+     *
+     * @throws Exception Wenn ein Dokument nicht generiert oder gelesen werden kann.
+     */
+    @Test
+    public void resumedRunProducesSamePages() throws Exception {
+        final File expected = new File(this.folder.newFolder("reference"), "coupons.pdf");
+        final File actual = new File(this.folder.newFolder("recovered"), "coupons.pdf");
+        final File journal = new File(this.folder.getRoot(), "batch.journal");
+
+        final BatchResult reference = new BatchRunner(1).run(createJobs(expected));
+        assertEquals(1, reference.getDocuments());
+
+        final BatchRunner failing = createRunner(journal);
+        failing.setSegmentListener(segment -> {
+            if (segment == FAILED_SEGMENT) throw new IllegalStateException("Absturz nach Abschnitt " + segment);
+        });
+
+        final BatchResult failed = failing.run(createJobs(actual));
+        assertEquals(1, failed.getFailed());
+        assertFalse("Das Dokument wurde trotz des Abbruchs abgelegt.", actual.exists());
+        assertEquals(FAILED_SEGMENT + 1, getSegmentEntries(journal).size());
+
+        final BatchResult resumed = createRunner(journal).run(createJobs(actual));
+        assertEquals(0, resumed.getFailed());
+        assertEquals(1, resumed.getDocuments());
+
+        final List<String> segments = getSegmentEntries(journal);
+        assertTrue("Das Dokument hat zu wenige Abschnitte.", segments.size() > FAILED_SEGMENT + 1);
+        assertEquals(
+            "Ein gesicherter Abschnitt wurde erneut generiert.",
+            segments.size(),
+            new HashSet<>(segments).size()
+        );
+
+        assertSamePages(expected, actual);
+        assertArrayEquals(new String[] {actual.getName()}, actual.getParentFile().list());
+    }
+
+    /**
+     * Erzeugt einen {@link BatchRunner} mit einem {@link BatchJournal} und sehr kleinen Abschnitten.
+     *
+     * @param journal Die Datei des Journals.
+     *
+     * @return Der erzeugte {@link BatchRunner}.
+     */
+    @NotNull
+    private static BatchRunner createRunner(@NotNull final File journal) {
+        final BatchRunner runner = new BatchRunner(1);
+        runner.setJournal(journal);
+        runner.setCheckpointPages(CHECKPOINT_PAGES);
+
+        return runner;
+    }
+
+    /**
+     * Erzeugt den einzigen {@link BatchJob Auftrag} eines Durchlaufs.
+     *
+     * @param output Die Datei, in die das Dokument geschrieben wird.
+     *
+     * @return Alle Aufträge des Durchlaufs.
+     */
+    @NotNull
+    private static List<BatchJob> createJobs(@NotNull final File output) {
+        return Collections.singletonList(
+            new BatchJob("Max Mustermann", "Geburtstag", "Jonas", 60, 40, 400, 1, output)
+        );
+    }
+
+    /**
+     * Gibt alle Einträge für gesicherte Abschnitte im Journal zurück, jeweils bestehend aus dem Schlüssel des
+     * Dokuments und dem Index des Abschnitts.
+     *
+     * @param journal Die Datei des Journals.
+     *
+     * @return Alle Einträge für Abschnitte, in ihrer Reihenfolge und einschließlich mehrfacher Einträge.
+     *
+     * @throws IOException Wenn das Journal nicht gelesen werden kann.
+     */
+    @NotNull
+    private static List<String> getSegmentEntries(@NotNull final File journal) throws IOException {
+        final List<String> segments = new ArrayList<>();
+
+        for (@NotNull final String line : Files.readAllLines(journal.toPath(), StandardCharsets.UTF_8)) {
+            final String[] fields = line.split(" ");
+            if (fields[0].equals("SEGMENT")) segments.add(fields[1] + ' ' + fields[2]);
+        }
+
+        return segments;
+    }
+
+    /**
+     * Prüft, dass zwei Dokumente dieselbe Anzahl an Seiten haben und jede Seite dieselbe Größe und denselben Text hat.
+     *
+     * @param expected Das ohne Unterbrechung generierte Dokument.
+     * @param actual   Das fortgesetzte Dokument.
+     *
+     * @throws IOException Wenn ein Dokument nicht gelesen werden kann.
+     */
+    private static void assertSamePages(@NotNull final File expected, @NotNull final File actual) throws IOException {
+        final PdfReader expectedReader = new PdfReader(expected.getAbsolutePath());
+        final PdfReader actualReader = new PdfReader(actual.getAbsolutePath());
+
+        try {
+            final int pages = expectedReader.getNumberOfPages();
+            assertEquals(pages, actualReader.getNumberOfPages());
+
+            for (int page = 1; page <= pages; page++) {
+                assertEquals(
+                    expectedReader.getPageSize(page).toString(),
+                    actualReader.getPageSize(page).toString()
+                );
+                assertEquals(
+                    "Seite " + page + " hat einen anderen Text.",
+                    PdfTextExtractor.getTextFromPage(expectedReader, page),
+                    PdfTextExtractor.getTextFromPage(actualReader, page)
+                );
+            }
+        } finally {
+            expectedReader.close();
+            actualReader.close();
+        }
+    }
+
+}
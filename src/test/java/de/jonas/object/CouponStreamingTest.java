@@ -0,0 +1,126 @@
+package de.jonas.object;
+
+import com.itextpdf.text.DocumentException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.OutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Prüft, dass ein {@link Coupon} seine Tabelle während der Generierung regelmäßig in das Dokument schreibt, anstatt
+ * alle Zellen bis zum Ende im Arbeitsspeicher zu halten. Die Tests laufen in einer eigenen JVM mit nur 32 MB Heap,
+ * weshalb sie mit einem {@link OutOfMemoryError} fehlschlagen würden, sobald der Speicherbedarf mit der Anzahl an
+ * Gutscheinen wächst.
+ */
+public final class CouponStreamingTest {
+
+    //<editor-fold desc="CONSTANTS">
+    /**
+     * Die Anzahl an Gutscheinen, die generiert werden. Ohne regelmäßiges Schreiben würden bereits die Zellen dieser
+     * Gutscheine den Heap überschreiten.
+     */
+    private static final int AMOUNT = 200_000;
+    //</editor-fold>
+
+
+    /**
+     * Aktiviert die Erfassung der {@link GenerationMetrics}, damit die Anzahl an gesetzten Gutscheinen und Seiten
+     * geprüft werden kann.
+     */
+    @Before
+    public void enableMetrics() {
+        GenerationMetrics.setEnabled(true);
+        GenerationMetrics.resetTotal();
+    }
+
+    /**
+     * Deaktiviert die Erfassung der {@link GenerationMetrics} wieder.
+     */
+    @After
+    public void disableMetrics() {
+        GenerationMetrics.setEnabled(false);
+        GenerationMetrics.resetTotal();
+    }
+
+    /**
+     * Generiert {@value #AMOUNT} Gutscheine über den standardmäßigen {@link RenderMode#TABLE} in einen
+     * {@link OutputStream}, der alle Bytes verwirft.
+     *
+     * @throws DocumentException Wenn die Kapazität einer Seite nicht vermessen werden kann.
+     */
+    @Test
+    public void generatesManyCouponsWithSmallHeap() throws DocumentException {
+        assertStreams(RenderMode.TABLE);
+    }
+
+    /**
+     * Generiert {@value #AMOUNT} Gutscheine über {@link RenderMode#TEMPLATE}, welches dieselbe Tabelle wie
+     * {@link RenderMode#TABLE} schreibt, den Text aber nur einmal setzt, in einen {@link OutputStream}, der alle
+     * Bytes verwirft.
+     *
+     * @throws DocumentException Wenn die Kapazität einer Seite nicht vermessen werden kann.
+     */
+    @Test
+    public void generatesManyTemplateCouponsWithSmallHeap() throws DocumentException {
+        assertStreams(RenderMode.TEMPLATE);
+    }
+
+    /**
+     * Generiert {@value #AMOUNT} Gutscheine im übergebenen {@link RenderMode} und prüft, dass jeder Gutschein gesetzt
+     * wurde und das Dokument genau so viele Seiten hat, wie für diese Gutscheine benötigt werden.
+     *
+     * @param renderMode Der {@link RenderMode}, in dem die Gutscheine generiert werden.
+     *
+     * @throws DocumentException Wenn die Kapazität einer Seite nicht vermessen werden kann.
+     */
+    private static void assertStreams(@NotNull final RenderMode renderMode) throws DocumentException {
+        final Coupon coupon = new Coupon("Max Mustermann", "Geburtstag", "Jonas", 150, 100, AMOUNT, 1);
+        coupon.setRenderMode(renderMode);
+
+        final int[] capacity = coupon.measurePageCapacity();
+        assertTrue("Die weiteren Seiten fassen unterschiedlich viele Gutscheine.", capacity[1] > 0);
+        final int expectedPages = 1 + ((AMOUNT - capacity[0] + capacity[1] - 1) / capacity[1]);
+
+        // measuring the capacity generates a document as well, which must not be counted
+        GenerationMetrics.resetTotal();
+
+        final CountingOutputStream out = new CountingOutputStream();
+        coupon.generate(out);
+
+        final GenerationMetrics metrics = GenerationMetrics.getTotal();
+        assertEquals("Es wurde nicht genau ein Dokument generiert.", 1, metrics.getDocuments());
+        assertEquals("Es wurden nicht alle Gutscheine gesetzt.", AMOUNT, metrics.getCoupons());
+        assertEquals("Das Dokument hat nicht die erwartete Anzahl an Seiten.", expectedPages, metrics.getPages());
+        assertEquals("Es wurden nicht alle Bytes geschrieben.", out.count, metrics.getBytes());
+    }
+
+
+    /**
+     * Ein {@link CountingOutputStream} verwirft alle geschriebenen Bytes und zählt sie lediglich.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        //<editor-fold desc="LOCAL FIELDS">
+        /** Die Anzahl an bisher geschriebenen Bytes. */
+        private long count;
+        //</editor-fold>
+
+
+        @Override
+        public void write(final int b) {
+            this.count++;
+        }
+
+        @Override
+        public void write(final byte @NotNull [] b, final int off, final int len) {
+            this.count += len;
+        }
+
+    }
+
+}